@@ -0,0 +1,27 @@
+package no.mnemonic.services.grafeo.api.exceptions;
+
+/**
+ * A ServiceOverloadedException is thrown when the service backend rejects a request because the number of concurrent
+ * requests exceeds the current concurrency limit. Clients should back off and retry the request later.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+  private static final long serialVersionUID = 4419272958812447025L;
+
+  private final String messageTemplate;
+
+  public ServiceOverloadedException(String message, String messageTemplate) {
+    super(message);
+    this.messageTemplate = messageTemplate;
+  }
+
+  /**
+   * Returns an error message template which can be used to translate an error message.
+   *
+   * @return Error message template
+   */
+  public String getMessageTemplate() {
+    return messageTemplate;
+  }
+
+}
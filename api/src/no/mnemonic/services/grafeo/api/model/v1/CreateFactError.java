@@ -0,0 +1,42 @@
+package no.mnemonic.services.grafeo.api.model.v1;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@Schema(description = "Describes why creating a Fact as part of a bulk request failed.")
+public class CreateFactError {
+
+  @Schema(description = "Error message", example = "Fact did not pass validation against FactType.", requiredMode = REQUIRED)
+  private final String message;
+  @Schema(description = "Error message template which can be used for translation", example = "fact.not.valid", requiredMode = REQUIRED)
+  private final String messageTemplate;
+  @Schema(description = "Property of the request causing the error", example = "value")
+  private final String property;
+  @Schema(description = "Invalid value of the property", example = "something")
+  private final String value;
+
+  public CreateFactError(String message, String messageTemplate, String property, String value) {
+    this.message = message;
+    this.messageTemplate = messageTemplate;
+    this.property = property;
+    this.value = value;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String getMessageTemplate() {
+    return messageTemplate;
+  }
+
+  public String getProperty() {
+    return property;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+}
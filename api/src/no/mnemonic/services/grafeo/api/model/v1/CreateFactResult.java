@@ -0,0 +1,77 @@
+package no.mnemonic.services.grafeo.api.model.v1;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@Schema(description = "Result of creating one Fact as part of a bulk request.")
+public class CreateFactResult {
+
+  @Schema(description = "Position of the Fact in the bulk request", example = "0", requiredMode = REQUIRED)
+  private final int index;
+  @Schema(description = "Created Fact (not set if creating the Fact failed)")
+  private final Fact fact;
+  @Schema(description = "Errors which prevented creating the Fact (not set if the Fact was created)")
+  private final List<CreateFactError> errors;
+
+  private CreateFactResult(int index, Fact fact, List<CreateFactError> errors) {
+    this.index = index;
+    this.fact = fact;
+    this.errors = ObjectUtils.ifNotNull(errors, Collections::unmodifiableList);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public Fact getFact() {
+    return fact;
+  }
+
+  public List<CreateFactError> getErrors() {
+    return errors;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private int index;
+    private Fact fact;
+    private List<CreateFactError> errors;
+
+    private Builder() {
+    }
+
+    public CreateFactResult build() {
+      return new CreateFactResult(index, fact, errors);
+    }
+
+    public Builder setIndex(int index) {
+      this.index = index;
+      return this;
+    }
+
+    public Builder setFact(Fact fact) {
+      this.fact = fact;
+      return this;
+    }
+
+    public Builder setErrors(List<CreateFactError> errors) {
+      this.errors = ObjectUtils.ifNotNull(errors, Collections::unmodifiableList);
+      return this;
+    }
+
+    public Builder addError(CreateFactError error) {
+      this.errors = ListUtils.addToList(this.errors, error);
+      return this;
+    }
+  }
+
+}
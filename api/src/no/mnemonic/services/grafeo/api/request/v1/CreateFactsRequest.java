@@ -0,0 +1,40 @@
+package no.mnemonic.services.grafeo.api.request.v1;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.api.request.ValidatingRequest;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@Schema(description = "Create multiple new Facts at once.")
+public class CreateFactsRequest implements ValidatingRequest {
+
+  public static final int MAX_FACTS = 1000;
+
+  // The Facts themselves are validated individually while they are created, such that one invalid Fact doesn't
+  // reject the whole request.
+  @Schema(description = "Facts to create (at most 1000 per request)", requiredMode = REQUIRED)
+  @NotEmpty
+  @Size(max = MAX_FACTS)
+  private List<CreateFactRequest> facts;
+
+  public List<CreateFactRequest> getFacts() {
+    return facts;
+  }
+
+  public CreateFactsRequest setFacts(List<CreateFactRequest> facts) {
+    this.facts = ObjectUtils.ifNotNull(facts, ListUtils::list);
+    return this;
+  }
+
+  public CreateFactsRequest addFact(CreateFactRequest fact) {
+    this.facts = ListUtils.addToList(this.facts, fact);
+    return this;
+  }
+
+}
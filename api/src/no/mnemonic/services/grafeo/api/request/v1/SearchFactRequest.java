@@ -15,6 +15,10 @@ import java.util.UUID;
 @Schema(description = "Search for Facts.")
 public class SearchFactRequest implements TimeFieldSearchRequest, ValidatingRequest {
 
+  public enum CountStrategy {
+    exact, approximate
+  }
+
   @Schema(description = "Only return Facts matching a keyword query")
   private String keywords;
   @Schema(description = "Only return Facts bound to specific Objects")
@@ -55,6 +59,9 @@ public class SearchFactRequest implements TimeFieldSearchRequest, ValidatingRequ
   @Schema(description = "Limit the number of returned Facts (default 25, 0 means all)", example = "25")
   @Min(0)
   private Integer limit;
+  @Schema(description = "Specify how the total number of matching Facts is calculated (default 'exact'). " +
+          "'approximate' is considerably cheaper but might count the same Fact multiple times", example = "exact")
+  private CountStrategy countStrategy;
 
   public String getKeywords() {
     return keywords;
@@ -267,4 +274,13 @@ public class SearchFactRequest implements TimeFieldSearchRequest, ValidatingRequ
     return this;
   }
 
+  public CountStrategy getCountStrategy() {
+    return countStrategy;
+  }
+
+  public SearchFactRequest setCountStrategy(CountStrategy countStrategy) {
+    this.countStrategy = countStrategy;
+    return this;
+  }
+
 }
@@ -242,6 +242,23 @@ public interface GrafeoService extends Service {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Create multiple new Facts at once. Facts are created independently of each other, i.e. if one Fact cannot be created
+   * the other Facts are still created. The returned results describe for every requested Fact whether it was created.
+   * The Facts are created one by one while the results are consumed, thus, the results must be consumed completely.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing new Facts.
+   * @return One result per requested Fact (in the same order as the request).
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   */
+  default ResultSet<CreateFactResult> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch meta Facts bound to another Fact.
    *
@@ -0,0 +1,61 @@
+package no.mnemonic.services.grafeo.api.request.v1;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CreateFactsRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    String json = "{ facts : [{ type : 'factType1', value : 'factValue1' }, { type : 'factType2', value : 'factValue2' }] }";
+
+    CreateFactsRequest request = getMapper().readValue(json, CreateFactsRequest.class);
+    assertEquals(2, request.getFacts().size());
+    assertEquals("factType1", request.getFacts().get(0).getType());
+    assertEquals("factValue1", request.getFacts().get(0).getValue());
+    assertEquals("factType2", request.getFacts().get(1).getType());
+    assertEquals("factValue2", request.getFacts().get(1).getValue());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest());
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnSize() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest()
+            .setFacts(IntStream.rangeClosed(0, CreateFactsRequest.MAX_FACTS)
+                    .mapToObj(i -> new CreateFactRequest().setType("type"))
+                    .collect(Collectors.toList()))
+    );
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationIgnoresNestedFacts() {
+    // Nested Facts are validated individually while they are created.
+    assertTrue(getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest().setType("type"))
+            .addFact(new CreateFactRequest())
+    ).isEmpty());
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest().setType("type").setValue("value"))
+    ).isEmpty());
+  }
+
+}
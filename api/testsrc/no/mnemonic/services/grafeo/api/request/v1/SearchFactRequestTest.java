@@ -31,7 +31,8 @@ public class SearchFactRequestTest extends AbstractRequestTest {
             "maximum : 0.2," +
             "dimension : 'trust'," +
             "includeRetracted : true," +
-            "limit : 25" +
+            "limit : 25," +
+            "countStrategy : 'approximate'" +
             "}", objectID, factID);
 
     SearchFactRequest request = getMapper().readValue(json, SearchFactRequest.class);
@@ -49,6 +50,7 @@ public class SearchFactRequestTest extends AbstractRequestTest {
     assertEquals(Dimension.trust, request.getDimension());
     assertTrue(request.getIncludeRetracted());
     assertEquals(25, request.getLimit().intValue());
+    assertEquals(SearchFactRequest.CountStrategy.approximate, request.getCountStrategy());
   }
 
   @Test
@@ -0,0 +1,48 @@
+package no.mnemonic.services.grafeo.api.service.v1;
+
+import no.mnemonic.services.grafeo.api.model.v1.Namespace;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XStreamBinarySerializerTest {
+
+  private final XStreamBinarySerializer serializer = XStreamBinarySerializer.builder()
+          .setAllowedClass(UUID.class)
+          .setAllowedClassesRegex("no.mnemonic.services.grafeo.api.model.*")
+          .build();
+
+  @Test
+  public void testSerializerID() {
+    assertEquals(XStreamBinarySerializer.SERIALIZER_ID, serializer.serializerID());
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    Namespace namespace = Namespace.builder()
+            .setId(UUID.randomUUID())
+            .setName("namespace")
+            .build();
+
+    Namespace decoded = serializer.deserialize(serializer.serialize(namespace), getClass().getClassLoader());
+    assertEquals(namespace.getId(), decoded.getId());
+    assertEquals(namespace.getName(), decoded.getName());
+    assertEquals(1L, serializer.getMetrics().getData("serializeCount").longValue());
+    assertEquals(1L, serializer.getMetrics().getData("deserializeCount").longValue());
+  }
+
+  @Test
+  public void testDeserializeRejectsClassNotInAllowList() throws Exception {
+    XStreamBinarySerializer restricted = XStreamBinarySerializer.builder()
+            .setAllowedClass(UUID.class)
+            .build();
+
+    byte[] encoded = serializer.serialize(Namespace.builder().setName("namespace").build());
+    assertThrows(IOException.class, () -> restricted.deserialize(encoded, getClass().getClassLoader()));
+    assertEquals(1L, restricted.getMetrics().getData("deserializeErrors").longValue());
+  }
+
+}
@@ -4,6 +4,9 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import com.google.inject.name.Names;
 import no.mnemonic.commons.container.PropertiesResolver;
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraMigrateFactBindingsHandler;
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraMigrateFactByTimestampHandler;
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraMigrateObjectFactBindingHandler;
 import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraMigrateTimeGlobalFlagHandler;
 import no.mnemonic.services.grafeo.dao.modules.CassandraModule;
 import picocli.CommandLine.*;
@@ -20,7 +23,10 @@ import java.util.Properties;
 public class MigrateCommand implements Runnable {
 
   public enum Migration {
-    timeGlobalFlag
+    timeGlobalFlag,
+    factByTimestampShards,
+    objectFactBindingBuckets,
+    factBindings
   }
 
   @Parameters(
@@ -64,9 +70,21 @@ public class MigrateCommand implements Runnable {
     // Read the application properties from the given configuration file and set up the ComponentContainer.
     Properties applicationProperties = PropertiesResolver.loadPropertiesFile(configurationFile);
     ComponentContainerWrapper wrapper = new ComponentContainerWrapper(new MigrateCommandModule(applicationProperties));
-    // Execute the command inside the ComponentContainer. The implementation is delegated to CassandraMigrateTimeGlobalFlagHandler
-    // which is currently the only available migration.
-    wrapper.execute(() -> wrapper.getBean(CassandraMigrateTimeGlobalFlagHandler.class).migrate(startTimestamp, endTimestamp));
+    // Execute the command inside the ComponentContainer. The implementation is delegated to the handler of the selected migration.
+    switch (migration) {
+      case timeGlobalFlag:
+        wrapper.execute(() -> wrapper.getBean(CassandraMigrateTimeGlobalFlagHandler.class).migrate(startTimestamp, endTimestamp));
+        break;
+      case factByTimestampShards:
+        wrapper.execute(() -> wrapper.getBean(CassandraMigrateFactByTimestampHandler.class).migrate(startTimestamp, endTimestamp));
+        break;
+      case objectFactBindingBuckets:
+        wrapper.execute(() -> wrapper.getBean(CassandraMigrateObjectFactBindingHandler.class).migrate(startTimestamp, endTimestamp));
+        break;
+      case factBindings:
+        wrapper.execute(() -> wrapper.getBean(CassandraMigrateFactBindingsHandler.class).migrate(startTimestamp, endTimestamp));
+        break;
+    }
   }
 
   private static class MigrateCommandModule extends AbstractModule {
@@ -83,8 +101,11 @@ public class MigrateCommand implements Runnable {
 
       // Bind application properties to make them available for injection.
       Names.bindProperties(binder(), applicationProperties);
-      // Handler must be a singleton in order to be handled by the ComponentContainer.
+      // Handlers must be singletons in order to be handled by the ComponentContainer.
       bind(CassandraMigrateTimeGlobalFlagHandler.class).in(Scopes.SINGLETON);
+      bind(CassandraMigrateFactByTimestampHandler.class).in(Scopes.SINGLETON);
+      bind(CassandraMigrateObjectFactBindingHandler.class).in(Scopes.SINGLETON);
+      bind(CassandraMigrateFactBindingsHandler.class).in(Scopes.SINGLETON);
     }
   }
 }
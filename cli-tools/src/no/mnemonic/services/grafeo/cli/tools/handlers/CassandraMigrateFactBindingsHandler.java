@@ -0,0 +1,60 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+@Singleton
+public class CassandraMigrateFactBindingsHandler {
+
+  private static final Logger LOGGER = Logging.getLogger(CassandraMigrateFactBindingsHandler.class);
+
+  @Dependency
+  private final FactManager factManager;
+
+  private final CassandraFactProcessor factProcessor;
+
+  @Inject
+  public CassandraMigrateFactBindingsHandler(FactManager factManager, CassandraFactProcessor factProcessor) {
+    this.factManager = factManager;
+    this.factProcessor = factProcessor;
+  }
+
+  /**
+   * Migrate the bindings of Facts in Cassandra from the legacy JSON string to the native 'object_bindings' column.
+   * <p>
+   * Fetches all Facts created between startTimestamp and endTimestamp from Cassandra and stores their bindings natively
+   * if they are only available as a JSON string. Already migrated Facts are skipped.
+   *
+   * @param startTimestamp Timestamp to start migrating
+   * @param endTimestamp   Timestamp to stop migrating
+   */
+  public void migrate(Instant startTimestamp, Instant endTimestamp) {
+    LOGGER.info("Migrate bindings of Facts between %s and %s.", startTimestamp, endTimestamp);
+
+    LongAdder processedFacts = new LongAdder();
+    LongAdder migratedFacts = new LongAdder();
+    factProcessor.process(fact -> {
+      if (migrateSingleFact(fact)) migratedFacts.increment();
+      processedFacts.increment();
+    }, startTimestamp, endTimestamp, false);
+
+    LOGGER.info("Finished migrating, processed %d Facts and migrated %d Facts in total.",
+            processedFacts.longValue(), migratedFacts.longValue());
+  }
+
+  boolean migrateSingleFact(FactEntity fact) {
+    if (!fact.hasLegacyBindings()) return false;
+
+    // Saving the Fact again stores the bindings parsed from the JSON string in the native column.
+    factManager.saveFact(fact.setBindings(fact.getBindings()));
+    return true;
+  }
+}
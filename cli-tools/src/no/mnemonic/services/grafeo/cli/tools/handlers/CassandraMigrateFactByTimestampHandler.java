@@ -0,0 +1,48 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Singleton
+public class CassandraMigrateFactByTimestampHandler {
+
+  private static final Logger LOGGER = Logging.getLogger(CassandraMigrateFactByTimestampHandler.class);
+
+  @Dependency
+  private final FactManager factManager;
+
+  @Inject
+  public CassandraMigrateFactByTimestampHandler(FactManager factManager) {
+    this.factManager = factManager;
+  }
+
+  /**
+   * Migrate the fact_by_timestamp table to the sharded fact_by_timestamp table in Cassandra.
+   * <p>
+   * Copies all entries of the hourly buckets between startTimestamp and endTimestamp into the sharded table.
+   * Buckets which have already been migrated can safely be migrated again.
+   *
+   * @param startTimestamp Timestamp to start migrating
+   * @param endTimestamp   Timestamp to stop migrating
+   */
+  public void migrate(Instant startTimestamp, Instant endTimestamp) {
+    LOGGER.info("Migrate fact_by_timestamp table between %s and %s.", startTimestamp, endTimestamp);
+
+    long migratedEntries = 0;
+    // The table is partitioned by hour, thus, include the whole bucket of startTimestamp.
+    for (Instant bucket = startTimestamp.truncatedTo(ChronoUnit.HOURS); bucket.isBefore(endTimestamp); bucket = bucket.plus(1, ChronoUnit.HOURS)) {
+      int migrated = factManager.migrateFactByTimestamp(bucket.toEpochMilli());
+      LOGGER.debug("Migrated %d entries of bucket %s.", migrated, bucket);
+      migratedEntries += migrated;
+    }
+
+    LOGGER.info("Finished migrating, migrated %d entries in total.", migratedEntries);
+  }
+}
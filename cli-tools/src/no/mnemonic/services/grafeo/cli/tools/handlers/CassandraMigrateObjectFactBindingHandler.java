@@ -0,0 +1,69 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+@Singleton
+public class CassandraMigrateObjectFactBindingHandler {
+
+  private static final Logger LOGGER = Logging.getLogger(CassandraMigrateObjectFactBindingHandler.class);
+
+  @Dependency
+  private final ObjectManager objectManager;
+
+  private final CassandraFactProcessor factProcessor;
+
+  @Inject
+  public CassandraMigrateObjectFactBindingHandler(ObjectManager objectManager, CassandraFactProcessor factProcessor) {
+    this.objectManager = objectManager;
+    this.factProcessor = factProcessor;
+  }
+
+  /**
+   * Migrate the object_fact_binding table to the bucketed object_fact_binding table in Cassandra.
+   * <p>
+   * Fetches all Facts created between startTimestamp and endTimestamp from Cassandra and copies the bindings between
+   * the Facts and their Objects into the bucketed table. Bindings which have already been migrated are skipped.
+   *
+   * @param startTimestamp Timestamp to start migrating
+   * @param endTimestamp   Timestamp to stop migrating
+   */
+  public void migrate(Instant startTimestamp, Instant endTimestamp) {
+    LOGGER.info("Migrate object_fact_binding table for Facts between %s and %s.", startTimestamp, endTimestamp);
+
+    LongAdder processedFacts = new LongAdder();
+    LongAdder migratedBindings = new LongAdder();
+    factProcessor.process(fact -> {
+      migratedBindings.add(migrateSingleFact(fact));
+      processedFacts.increment();
+    }, startTimestamp, endTimestamp, false);
+
+    LOGGER.info("Finished migrating, processed %d Facts and migrated %d bindings in total.",
+            processedFacts.longValue(), migratedBindings.longValue());
+  }
+
+  int migrateSingleFact(FactEntity fact) {
+    if (CollectionUtils.isEmpty(fact.getBindings())) return 0;
+
+    int migrated = 0;
+    for (FactEntity.FactObjectBinding binding : fact.getBindings()) {
+      boolean copied = objectManager.migrateObjectFactBinding(new ObjectFactBindingEntity()
+              .setObjectID(binding.getObjectID())
+              .setFactID(fact.getId())
+              .setDirection(binding.getDirection()), fact.getTimestamp());
+      if (copied) migrated++;
+    }
+
+    return migrated;
+  }
+}
@@ -0,0 +1,64 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.Direction;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CassandraMigrateFactBindingsHandlerTest {
+
+  @Mock
+  private FactManager factManager;
+  @Mock
+  private CassandraFactProcessor factProcessor;
+  @InjectMocks
+  private CassandraMigrateFactBindingsHandler handler;
+
+  @Test
+  public void testMigrateInvokesFactProcessor() {
+    Instant start = Instant.parse("2021-01-01T12:00:00.000Z");
+    Instant stop = Instant.parse("2021-01-01T17:30:00.000Z");
+
+    assertDoesNotThrow(() -> handler.migrate(start, stop));
+    verify(factProcessor).process(notNull(), eq(start), eq(stop), eq(false));
+  }
+
+  @Test
+  public void testMigrateSkipsFactWithNativeBindings() {
+    FactEntity fact = new FactEntity().setBindings(ListUtils.list(new FactEntity.FactObjectBinding()
+            .setObjectID(UUID.randomUUID())
+            .setDirection(Direction.BiDirectional)));
+
+    assertFalse(handler.migrateSingleFact(fact));
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testMigrateSkipsFactWithoutBindings() {
+    assertFalse(handler.migrateSingleFact(new FactEntity()));
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testMigrateFactWithLegacyBindings() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact = new FactEntity().setBindingsStored(String.format("[{\"objectID\":\"%s\",\"direction\":3}]", objectID));
+
+    assertTrue(handler.migrateSingleFact(fact));
+    verify(factManager).saveFact(argThat(entity -> !entity.hasLegacyBindings()
+            && entity.getBindings().size() == 1
+            && objectID.equals(entity.getBindings().get(0).getObjectID())));
+  }
+}
@@ -0,0 +1,44 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CassandraMigrateFactByTimestampHandlerTest {
+
+  @Mock
+  private FactManager factManager;
+  @InjectMocks
+  private CassandraMigrateFactByTimestampHandler handler;
+
+  @Test
+  public void testMigrateAllBuckets() {
+    Instant start = Instant.parse("2021-01-01T12:30:00.000Z");
+    Instant stop = Instant.parse("2021-01-01T15:00:00.000Z");
+
+    assertDoesNotThrow(() -> handler.migrate(start, stop));
+    verify(factManager).migrateFactByTimestamp(Instant.parse("2021-01-01T12:00:00.000Z").toEpochMilli());
+    verify(factManager).migrateFactByTimestamp(Instant.parse("2021-01-01T13:00:00.000Z").toEpochMilli());
+    verify(factManager).migrateFactByTimestamp(Instant.parse("2021-01-01T14:00:00.000Z").toEpochMilli());
+    verifyNoMoreInteractions(factManager);
+  }
+
+  @Test
+  public void testMigrateWithinSingleBucket() {
+    Instant start = Instant.parse("2021-01-01T12:10:00.000Z");
+    Instant stop = Instant.parse("2021-01-01T12:20:00.000Z");
+
+    assertDoesNotThrow(() -> handler.migrate(start, stop));
+    verify(factManager).migrateFactByTimestamp(Instant.parse("2021-01-01T12:00:00.000Z").toEpochMilli());
+    verifyNoMoreInteractions(factManager);
+  }
+}
@@ -0,0 +1,67 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.Direction;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CassandraMigrateObjectFactBindingHandlerTest {
+
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private CassandraFactProcessor factProcessor;
+  @InjectMocks
+  private CassandraMigrateObjectFactBindingHandler handler;
+
+  @Test
+  public void testMigrateInvokesFactProcessor() {
+    Instant start = Instant.parse("2021-01-01T12:00:00.000Z");
+    Instant stop = Instant.parse("2021-01-01T17:30:00.000Z");
+
+    assertDoesNotThrow(() -> handler.migrate(start, stop));
+    verify(factProcessor).process(notNull(), eq(start), eq(stop), eq(false));
+  }
+
+  @Test
+  public void testMigrateSkipsFactWithoutBindings() {
+    assertEquals(0, handler.migrateSingleFact(new FactEntity()));
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testMigrateFactWithBindings() {
+    FactEntity.FactObjectBinding source = new FactEntity.FactObjectBinding()
+            .setObjectID(UUID.randomUUID())
+            .setDirection(Direction.FactIsDestination);
+    FactEntity.FactObjectBinding destination = new FactEntity.FactObjectBinding()
+            .setObjectID(UUID.randomUUID())
+            .setDirection(Direction.FactIsSource);
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTimestamp(123456789)
+            .setBindings(ListUtils.list(source, destination));
+    // The first binding is copied, the second binding has already been migrated before.
+    when(objectManager.migrateObjectFactBinding(any(), anyLong())).thenReturn(true, false);
+
+    assertEquals(1, handler.migrateSingleFact(fact));
+    verify(objectManager).migrateObjectFactBinding(argThat(binding -> Objects.equals(binding.getObjectID(), source.getObjectID())
+            && Objects.equals(binding.getFactID(), fact.getId()) && binding.getDirection() == Direction.FactIsDestination), eq(fact.getTimestamp()));
+    verify(objectManager).migrateObjectFactBinding(argThat(binding -> Objects.equals(binding.getObjectID(), destination.getObjectID())
+            && Objects.equals(binding.getFactID(), fact.getId()) && binding.getDirection() == Direction.FactIsSource), eq(fact.getTimestamp()));
+  }
+}
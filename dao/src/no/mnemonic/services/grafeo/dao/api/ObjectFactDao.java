@@ -5,10 +5,12 @@ import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactCommentRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,6 +53,17 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Fetch the access summary of an Object, i.e. the aggregated access information of all Facts bound to the Object.
+   * Returns NULL if the Object's UUID is not given.
+   *
+   * @param id UUID of Object
+   * @return Access summary of the Object identified by its UUID
+   */
+  default ObjectAccessSummaryRecord getObjectAccessSummary(UUID id) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Calculate statistics about Facts bound to one or more Objects.
    *
@@ -81,6 +94,16 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Fetch multiple Facts by their UUIDs in one batch. Facts which cannot be found are omitted from the result.
+   *
+   * @param ids UUIDs of Facts
+   * @return Iterator providing the found Facts in the order of the given UUIDs
+   */
+  default Iterator<FactRecord> getFacts(Collection<UUID> ids) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Store a new Fact. The caller must ensure that the same Fact (by UUID and logically) is not stored twice. Use
    * {@link #retrieveExistingFact(FactRecord)} to check if a Fact already exists and {@link #refreshFact(FactRecord)}
@@ -182,4 +205,15 @@ public interface ObjectFactDao {
   default Iterator<FactRecord> retrieveMetaFacts(UUID id) {
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * Retrieve meta Facts bound to multiple other Facts (identified by their UUIDs) in one batch. The returned meta Facts
+   * reference the Fact they are bound to via 'inReferenceToID'.
+   *
+   * @param ids UUIDs of Facts
+   * @return Iterator providing the resolved meta Facts of all given Facts
+   */
+  default Iterator<FactRecord> retrieveMetaFacts(Collection<UUID> ids) {
+    throw new UnsupportedOperationException();
+  }
 }
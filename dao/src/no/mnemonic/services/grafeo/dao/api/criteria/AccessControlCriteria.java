@@ -3,6 +3,7 @@ package no.mnemonic.services.grafeo.dao.api.criteria;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -42,6 +43,20 @@ public class AccessControlCriteria {
     return availableOrganizationID;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    AccessControlCriteria that = (AccessControlCriteria) o;
+    return Objects.equals(currentUserIdentities, that.currentUserIdentities) &&
+            Objects.equals(availableOrganizationID, that.availableOrganizationID);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(currentUserIdentities, availableOrganizationID);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
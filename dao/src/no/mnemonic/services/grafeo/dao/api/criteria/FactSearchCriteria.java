@@ -6,6 +6,7 @@ import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -92,6 +93,10 @@ public class FactSearchCriteria {
     }
   }
 
+  public enum CountStrategy {
+    exact, approximate
+  }
+
   // Filter returned Facts based on those fields.
   private final Set<UUID> factID;
   private final Set<UUID> factTypeID;
@@ -125,6 +130,7 @@ public class FactSearchCriteria {
   private final Integer minimumFactsCount;
   private final Integer maximumFactsCount;
   private final int limit;
+  private final CountStrategy countStrategy;
 
   // Fields required for access control.
   private final AccessControlCriteria accessControlCriteria;
@@ -156,6 +162,7 @@ public class FactSearchCriteria {
                              Integer minimumFactsCount,
                              Integer maximumFactsCount,
                              int limit,
+                             CountStrategy countStrategy,
                              AccessControlCriteria accessControlCriteria,
                              IndexSelectCriteria indexSelectCriteria) {
     if (accessControlCriteria == null) throw new IllegalArgumentException("Missing required field 'accessControlCriteria'.");
@@ -192,6 +199,7 @@ public class FactSearchCriteria {
     this.numberFieldStrategy = !CollectionUtils.isEmpty(numberFieldStrategy) ? numberFieldStrategy :
             SetUtils.set(NumberFieldStrategy.all);
     this.numberMatchStrategy = ObjectUtils.ifNull(numberMatchStrategy, MatchStrategy.any);
+    this.countStrategy = ObjectUtils.ifNull(countStrategy, CountStrategy.exact);
   }
 
   /**
@@ -423,6 +431,19 @@ public class FactSearchCriteria {
     return limit;
   }
 
+  /**
+   * Specify how the total amount of matching Facts is calculated. Defaults to 'exact'.
+   * <p>
+   * 'exact' calculates the number of unique Facts (exact up to 10.000, approximate above). 'approximate' skips this
+   * expensive calculation and counts matching documents instead, i.e. with daily indices a Fact can be counted multiple
+   * times. Note that this option is only applied to Fact search.
+   *
+   * @return Strategy used for calculating the count
+   */
+  public CountStrategy getCountStrategy() {
+    return countStrategy;
+  }
+
   /**
    * Specify criteria required for access control. This field is required.
    *
@@ -466,6 +487,48 @@ public class FactSearchCriteria {
             maximumFactsCount == null;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    FactSearchCriteria that = (FactSearchCriteria) o;
+    return limit == that.limit &&
+            Objects.equals(factID, that.factID) &&
+            Objects.equals(factTypeID, that.factTypeID) &&
+            Objects.equals(factValue, that.factValue) &&
+            Objects.equals(inReferenceTo, that.inReferenceTo) &&
+            Objects.equals(organizationID, that.organizationID) &&
+            Objects.equals(originID, that.originID) &&
+            Objects.equals(objectID, that.objectID) &&
+            Objects.equals(objectTypeID, that.objectTypeID) &&
+            Objects.equals(objectValue, that.objectValue) &&
+            Objects.equals(keywords, that.keywords) &&
+            Objects.equals(keywordFieldStrategy, that.keywordFieldStrategy) &&
+            Objects.equals(keywordMatchStrategy, that.keywordMatchStrategy) &&
+            Objects.equals(startTimestamp, that.startTimestamp) &&
+            Objects.equals(endTimestamp, that.endTimestamp) &&
+            Objects.equals(timeFieldStrategy, that.timeFieldStrategy) &&
+            Objects.equals(timeMatchStrategy, that.timeMatchStrategy) &&
+            Objects.equals(minNumber, that.minNumber) &&
+            Objects.equals(maxNumber, that.maxNumber) &&
+            Objects.equals(numberFieldStrategy, that.numberFieldStrategy) &&
+            Objects.equals(numberMatchStrategy, that.numberMatchStrategy) &&
+            Objects.equals(factBinding, that.factBinding) &&
+            Objects.equals(minimumFactsCount, that.minimumFactsCount) &&
+            Objects.equals(maximumFactsCount, that.maximumFactsCount) &&
+            Objects.equals(countStrategy, that.countStrategy) &&
+            Objects.equals(accessControlCriteria, that.accessControlCriteria) &&
+            Objects.equals(indexSelectCriteria, that.indexSelectCriteria);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(factID, factTypeID, factValue, inReferenceTo, organizationID, originID, objectID, objectTypeID, objectValue,
+            keywords, keywordFieldStrategy, keywordMatchStrategy, startTimestamp, endTimestamp, timeFieldStrategy, timeMatchStrategy,
+            minNumber, maxNumber, numberFieldStrategy, numberMatchStrategy, factBinding, minimumFactsCount, maximumFactsCount, limit,
+            countStrategy, accessControlCriteria, indexSelectCriteria);
+  }
+
   /**
    * Create a new builder instance from an existing FactSearchCriteria object. All fields set in the criteria will be
    * copied to the new builder. Useful for creating a new criteria from a given criteria with only small modifications.
@@ -498,6 +561,7 @@ public class FactSearchCriteria {
             .setMinimumFactsCount(minimumFactsCount)
             .setMaximumFactsCount(maximumFactsCount)
             .setLimit(limit)
+            .setCountStrategy(countStrategy)
             .setAccessControlCriteria(accessControlCriteria)
             .setIndexSelectCriteria(indexSelectCriteria);
   }
@@ -540,6 +604,7 @@ public class FactSearchCriteria {
     private Integer minimumFactsCount;
     private Integer maximumFactsCount;
     private int limit;
+    private CountStrategy countStrategy;
 
     // Fields required for access control.
     private AccessControlCriteria accessControlCriteria;
@@ -554,7 +619,7 @@ public class FactSearchCriteria {
       return new FactSearchCriteria(factID, factTypeID, factValue, inReferenceTo, organizationID, originID, objectID, objectTypeID,
               objectValue, keywords, keywordFieldStrategy, keywordMatchStrategy, startTimestamp, endTimestamp, timeFieldStrategy,
               timeMatchStrategy, minNumber, maxNumber, numberFieldStrategy, numberMatchStrategy, factBinding, minimumFactsCount,
-              maximumFactsCount, limit, accessControlCriteria, indexSelectCriteria);
+              maximumFactsCount, limit, countStrategy, accessControlCriteria, indexSelectCriteria);
     }
 
     public Builder setFactID(Set<UUID> factID) {
@@ -737,6 +802,11 @@ public class FactSearchCriteria {
       return this;
     }
 
+    public Builder setCountStrategy(CountStrategy countStrategy) {
+      this.countStrategy = countStrategy;
+      return this;
+    }
+
     public Builder setAccessControlCriteria(AccessControlCriteria accessControlCriteria) {
       this.accessControlCriteria = accessControlCriteria;
       return this;
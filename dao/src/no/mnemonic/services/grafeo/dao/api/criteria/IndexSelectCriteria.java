@@ -1,5 +1,7 @@
 package no.mnemonic.services.grafeo.dao.api.criteria;
 
+import java.util.Objects;
+
 /**
  * Criteria to decide which indices in ElasticSearch will be queried.
  */
@@ -34,6 +36,20 @@ public class IndexSelectCriteria {
     return indexEndTimestamp;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    IndexSelectCriteria that = (IndexSelectCriteria) o;
+    return indexStartTimestamp == that.indexStartTimestamp &&
+            indexEndTimestamp == that.indexEndTimestamp;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(indexStartTimestamp, indexEndTimestamp);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
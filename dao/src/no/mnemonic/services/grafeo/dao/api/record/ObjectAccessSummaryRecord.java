@@ -0,0 +1,73 @@
+package no.mnemonic.services.grafeo.dao.api.record;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Record summarizing the access information of all Facts bound to an Object.
+ * <p>
+ * It contains the AccessModes of all bound Facts, the Organizations of all bound Facts with AccessMode RoleBased
+ * and the Subjects which are part of the ACL of any bound Fact which is not public.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ObjectAccessSummaryRecord {
+
+  private UUID objectID;
+  private Set<FactRecord.AccessMode> accessModes;
+  private Set<UUID> organizationIDs;
+  private Set<UUID> subjectIDs;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectAccessSummaryRecord setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public Set<FactRecord.AccessMode> getAccessModes() {
+    return accessModes;
+  }
+
+  public ObjectAccessSummaryRecord setAccessModes(Set<FactRecord.AccessMode> accessModes) {
+    this.accessModes = accessModes;
+    return this;
+  }
+
+  public ObjectAccessSummaryRecord addAccessMode(FactRecord.AccessMode accessMode) {
+    this.accessModes = SetUtils.addToSet(this.accessModes, accessMode);
+    return this;
+  }
+
+  public Set<UUID> getOrganizationIDs() {
+    return organizationIDs;
+  }
+
+  public ObjectAccessSummaryRecord setOrganizationIDs(Set<UUID> organizationIDs) {
+    this.organizationIDs = organizationIDs;
+    return this;
+  }
+
+  public ObjectAccessSummaryRecord addOrganizationID(UUID organizationID) {
+    this.organizationIDs = SetUtils.addToSet(this.organizationIDs, organizationID);
+    return this;
+  }
+
+  public Set<UUID> getSubjectIDs() {
+    return subjectIDs;
+  }
+
+  public ObjectAccessSummaryRecord setSubjectIDs(Set<UUID> subjectIDs) {
+    this.subjectIDs = subjectIDs;
+    return this;
+  }
+
+  public ObjectAccessSummaryRecord addSubjectID(UUID subjectID) {
+    this.subjectIDs = SetUtils.addToSet(this.subjectIDs, subjectID);
+    return this;
+  }
+}
@@ -3,6 +3,9 @@ package no.mnemonic.services.grafeo.dao.cassandra;
 import com.codahale.metrics.*;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metrics.DefaultNodeMetric;
@@ -24,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -46,11 +50,15 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
   private final String dataCenter;
   private final int port;
   private final Set<String> contactPoints;
+  private final int speculativeExecutionMax;
+  private final long speculativeExecutionDelay;
 
-  private ClusterManager(String dataCenter, int port, Set<String> contactPoints) {
+  private ClusterManager(String dataCenter, int port, Set<String> contactPoints, int speculativeExecutionMax, long speculativeExecutionDelay) {
     this.dataCenter = dataCenter;
     this.port = port;
     this.contactPoints = contactPoints;
+    this.speculativeExecutionMax = speculativeExecutionMax;
+    this.speculativeExecutionDelay = speculativeExecutionDelay;
   }
 
   @Override
@@ -92,6 +100,7 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
     if (session == null) {
       // Configure and create a session connecting to Cassandra.
       CompletableFuture<CqlSession> future = CqlSession.builder()
+              .withConfigLoader(createConfigLoader())
               .withLocalDatacenter(dataCenter)
               .addContactPoints(contactPoints.stream()
                       .map(cp -> new InetSocketAddress(cp, port))
@@ -127,6 +136,19 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
     }
   }
 
+  private DriverConfigLoader createConfigLoader() {
+    // Start from application.conf and only override options explicitly specified in the application properties.
+    ProgrammaticDriverConfigLoaderBuilder builder = DriverConfigLoader.programmaticBuilder();
+    if (speculativeExecutionMax > 0) {
+      builder.withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, speculativeExecutionMax);
+    }
+    if (speculativeExecutionDelay > 0) {
+      builder.withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, Duration.ofMillis(speculativeExecutionDelay));
+    }
+
+    return builder.build();
+  }
+
   private void initializeKeyspace() {
     try (InputStream stream = ClusterManager.class.getClassLoader().getResourceAsStream(KEYSPACE_CQL);
          InputStreamReader reader = new InputStreamReader(stream)) {
@@ -181,12 +203,18 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
     Gauge<?> availableStreams = getNodeMetric(driverMetrics, node, DefaultNodeMetric.AVAILABLE_STREAMS, Gauge.class);
     Gauge<?> orphanedStreams = getNodeMetric(driverMetrics, node, DefaultNodeMetric.ORPHANED_STREAMS, Gauge.class);
     Gauge<?> inFlight = getNodeMetric(driverMetrics, node, DefaultNodeMetric.IN_FLIGHT, Gauge.class);
+    Timer cqlMessages = getNodeMetric(driverMetrics, node, DefaultNodeMetric.CQL_MESSAGES, Timer.class);
+    Counter speculativeExecutions = getNodeMetric(driverMetrics, node, DefaultNodeMetric.SPECULATIVE_EXECUTIONS, Counter.class);
 
     return new MetricsData()
             .addData("openConnections", (Integer) openConnections.getValue())
             .addData("availableStreams", (Integer) availableStreams.getValue())
             .addData("orphanedStreams", (Integer) orphanedStreams.getValue())
-            .addData("inFlight", (Integer) inFlight.getValue());
+            .addData("inFlight", (Integer) inFlight.getValue())
+            .addData("cqlMessages.count", cqlMessages.getCount())
+            .addData("cqlMessages.latency.median", cqlMessages.getSnapshot().getMedian())
+            .addData("cqlMessages.latency.99percentile", cqlMessages.getSnapshot().get99thPercentile())
+            .addData("speculativeExecutions", speculativeExecutions.getCount());
   }
 
   private <M extends Metric> M getSessionMetric(com.datastax.oss.driver.api.core.metrics.Metrics driverMetrics,
@@ -224,12 +252,14 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
     private String dataCenter;
     private int port;
     private Set<String> contactPoints;
+    private int speculativeExecutionMax;
+    private long speculativeExecutionDelay;
 
     private Builder() {
     }
 
     public ClusterManager build() {
-      return new ClusterManager(dataCenter, port, contactPoints);
+      return new ClusterManager(dataCenter, port, contactPoints, speculativeExecutionMax, speculativeExecutionDelay);
     }
 
     public Builder setDataCenter(String dataCenter) {
@@ -251,6 +281,24 @@ public class ClusterManager implements LifecycleAspect, MetricAspect {
       this.contactPoints = SetUtils.addToSet(this.contactPoints, contactPoint);
       return this;
     }
+
+    /**
+     * Override the maximum number of executions of a read including the initial execution (set to 1 to disable
+     * speculative executions). If not set the value from application.conf is used.
+     */
+    public Builder setSpeculativeExecutionMax(int speculativeExecutionMax) {
+      this.speculativeExecutionMax = speculativeExecutionMax;
+      return this;
+    }
+
+    /**
+     * Override the delay in milliseconds before a read is sent to another replica. If not set the value from
+     * application.conf is used.
+     */
+    public Builder setSpeculativeExecutionDelay(long speculativeExecutionDelay) {
+      this.speculativeExecutionDelay = speculativeExecutionDelay;
+      return this;
+    }
   }
 
 }
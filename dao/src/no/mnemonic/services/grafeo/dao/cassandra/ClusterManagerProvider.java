@@ -17,6 +17,12 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
   @Inject
   @Named("grafeo.cassandra.contact.points")
   private String contactPoints;
+  @com.google.inject.Inject(optional = true)
+  @Named("grafeo.cassandra.speculative.execution.max")
+  private String speculativeExecutionMax = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("grafeo.cassandra.speculative.execution.delay.ms")
+  private String speculativeExecutionDelay = "0";
 
   @Override
   public ClusterManager get() {
@@ -24,6 +30,8 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
             .setDataCenter(dataCenter)
             .setPort(Integer.parseInt(port))
             .setContactPoints(SetUtils.set(contactPoints.split(",")))
+            .setSpeculativeExecutionMax(Integer.parseInt(speculativeExecutionMax))
+            .setSpeculativeExecutionDelay(Long.parseLong(speculativeExecutionDelay))
             .build();
   }
 
@@ -1,8 +1,11 @@
 package no.mnemonic.services.grafeo.dao.cassandra;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
@@ -16,10 +19,14 @@ import no.mnemonic.services.grafeo.dao.cassandra.mapper.FactDao;
 import no.mnemonic.services.grafeo.dao.cassandra.mapper.FactTypeDao;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.StreamSupport;
@@ -37,6 +44,7 @@ public class FactManager implements LifecycleAspect {
 
   private FactTypeDao factTypeDao;
   private FactDao factDao;
+  private boolean legacyFactByTimestampReadEnabled = true;
 
   @Inject
   public FactManager(ClusterManager clusterManager) {
@@ -56,6 +64,19 @@ public class FactManager implements LifecycleAspect {
     // NOOP
   }
 
+  /**
+   * Controls whether Facts are also looked up in the legacy (non-sharded) fact_by_timestamp table. Set this to false
+   * after all existing entries have been migrated into the sharded table.
+   *
+   * @param legacyFactByTimestampReadEnabled Whether to read from the legacy fact_by_timestamp table (default true)
+   * @return this
+   */
+  @com.google.inject.Inject(optional = true)
+  public FactManager setLegacyFactByTimestampReadEnabled(@Named("grafeo.dao.fact.by.timestamp.legacy.read.enabled") boolean legacyFactByTimestampReadEnabled) {
+    this.legacyFactByTimestampReadEnabled = legacyFactByTimestampReadEnabled;
+    return this;
+  }
+
   /* FactTypeEntity-related methods */
 
   public FactTypeEntity getFactType(UUID id) {
@@ -84,6 +105,21 @@ public class FactManager implements LifecycleAspect {
     return factTypeDao.fetch().all();
   }
 
+  /**
+   * Fetch all FactTypes and put them into the caches, e.g. to warm up the caches during startup.
+   *
+   * @return All FactTypes
+   */
+  public List<FactTypeEntity> preloadFactTypes() {
+    List<FactTypeEntity> types = fetchFactTypes();
+    for (FactTypeEntity type : types) {
+      factTypeByIdCache.put(type.getId(), type);
+      factTypeByNameCache.put(type.getName(), type);
+    }
+
+    return types;
+  }
+
   public FactTypeEntity saveFactType(FactTypeEntity type) {
     if (type == null) return null;
 
@@ -191,20 +227,58 @@ public class FactManager implements LifecycleAspect {
 
   /* FactByTimestampEntity-related methods */
 
+  /**
+   * Save a FactByTimestamp entry. The entry is stored in the sharded fact_by_timestamp table where the shard is
+   * derived from the Fact ID, i.e. the writes of one hour are spread across multiple partitions.
+   *
+   * @param entity Entry to save
+   * @return Saved entry
+   */
   public FactByTimestampEntity saveFactByTimestamp(FactByTimestampEntity entity) {
     if (entity == null) return null;
     if (getFact(entity.getFactID()) == null)
       throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entity.getFactID()));
-    if (factDao.getFactByTimestamp(entity.getHourOfDay(), entity.getTimestamp(), entity.getFactID()) != null)
+
+    ShardedFactByTimestampEntity sharded = toSharded(entity);
+    if (factDao.getShardedFactByTimestamp(sharded.getHourOfDay(), sharded.getShard(), sharded.getTimestamp(), sharded.getFactID()) != null)
       throw new ImmutableViolationException("It is not allowed to update a FactByTimestamp entry.");
 
-    factDao.save(entity);
+    factDao.save(sharded);
 
     return entity;
   }
 
+  /**
+   * Copy all entries of one hourly bucket from the legacy fact_by_timestamp table into the sharded table.
+   * Copying is idempotent, thus, the migration of a bucket can safely be repeated.
+   *
+   * @param hourOfDay Hourly bucket to migrate
+   * @return Number of copied entries
+   */
+  public int migrateFactByTimestamp(long hourOfDay) {
+    int count = 0;
+    for (FactByTimestampEntity legacy : factDao.fetchFactByTimestamp(hourOfDay)) {
+      factDao.save(toSharded(legacy));
+      count++;
+    }
+
+    return count;
+  }
+
   /* FactExistenceEntity-related methods */
 
+  /**
+   * Iterate through the hash values of all stored Facts. This performs a full scan of the fact_existence table,
+   * thus, it should only be used for infrequent maintenance tasks, e.g. when (re-)building a filter of all Facts.
+   *
+   * @return Iterator over all Fact hash values
+   */
+  public Iterator<String> fetchFactHashes() {
+    return StreamSupport.stream(factDao.fetchFactExistence().spliterator(), false)
+            .map(FactExistenceEntity::getFactHash)
+            .iterator();
+  }
+
   public FactExistenceEntity saveFactExistence(FactExistenceEntity entity) {
     if (entity == null) return null;
     if (getFact(entity.getFactID()) == null)
@@ -238,9 +312,28 @@ public class FactManager implements LifecycleAspect {
 
   /* Private helper methods and classes */
 
+  private static ShardedFactByTimestampEntity toSharded(FactByTimestampEntity entity) {
+    return new ShardedFactByTimestampEntity()
+            .setHourOfDay(entity.getHourOfDay())
+            .setShard(ShardedFactByTimestampEntity.calculateShard(entity.getFactID()))
+            .setTimestamp(entity.getTimestamp())
+            .setFactID(entity.getFactID());
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      // Rethrow the original exception from the driver in order to behave like the synchronous methods.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+  }
+
   /**
    * {@link Iterator} which uses the fact_by_timestamp table to look up Facts within a given timeframe.
-   * It goes through all hourly buckets within the timeframe and fetches the Facts for each bucket.
+   * It goes through all hourly buckets within the timeframe and fetches the Facts for each bucket. All shards of
+   * one bucket are fetched concurrently and merged in order to return the Facts of a bucket sorted by timestamp.
    */
   private class FactByTimestampIterator implements Iterator<FactEntity> {
 
@@ -283,20 +376,103 @@ public class FactManager implements LifecycleAspect {
     private Iterator<FactEntity> nextBatch() {
       LOGGER.debug("Fetch next batch from Cassandra for bucket %s.", currentBucket);
 
-      // Fetch entities from the fact_by_timestamp lookup table for the current bucket and use the Fact IDs to fetch the actual data.
-      Iterator<FactEntity> facts = StreamSupport.stream(factDao.fetchFactByTimestamp(currentBucket.toEpochMilli()).spliterator(), false)
-              // Filter out entities which aren't within the given startTimestamp/endTimestamp interval. Note that
-              // startTimestamp/endTimestamp might not be aligned with the current bucket, i.e. given with minutes, seconds...
-              .filter(byTimestamp -> byTimestamp.getTimestamp() >= startTimestamp)
-              .filter(byTimestamp -> byTimestamp.getTimestamp() < endTimestamp)
-              .map(byTimestamp -> getFact(byTimestamp.getFactID()))
-              .filter(Objects::nonNull)
-              .iterator();
+      long hourOfDay = currentBucket.toEpochMilli();
+      // Send the queries for all shards of the current bucket at once. Every shard is ordered by timestamp, thus, the
+      // shards are streamed page by page and merged instead of loading the whole bucket into memory.
+      List<Iterator<FactByTimestampEntity>> sources = new ArrayList<>();
+      for (int shard = 0; shard < ShardedFactByTimestampEntity.SHARDS; shard++) {
+        sources.add(Iterators.transform(new AsyncPagingIterator<>(factDao.fetchShardedFactByTimestampAsync(hourOfDay, shard)),
+                byTimestamp -> new FactByTimestampEntity()
+                        .setHourOfDay(byTimestamp.getHourOfDay())
+                        .setTimestamp(byTimestamp.getTimestamp())
+                        .setFactID(byTimestamp.getFactID())));
+      }
+      if (legacyFactByTimestampReadEnabled) {
+        sources.add(factDao.fetchFactByTimestamp(hourOfDay).iterator());
+      }
 
       // Advance to the next bucket for the next batch.
       currentBucket = currentBucket.plus(1, ChronoUnit.HOURS);
 
-      return facts;
+      Iterator<FactByTimestampEntity> entries = Iterators.mergeSorted(sources, Comparator.comparingLong(FactByTimestampEntity::getTimestamp));
+      return new MergedBucketIterator(entries, startTimestamp, endTimestamp);
+    }
+  }
+
+  /**
+   * Resolves the Facts of one bucket from the merged fact_by_timestamp entries ordered by timestamp (oldest first).
+   */
+  private class MergedBucketIterator extends AbstractIterator<FactEntity> {
+
+    private final Iterator<FactByTimestampEntity> entries;
+    private final long startTimestamp;
+    private final long endTimestamp;
+    // Fact IDs returned for the current timestamp. Entries which have already been migrated exist in both tables
+    // with the same timestamp, thus, it's sufficient to de-duplicate entries within one timestamp.
+    private final Set<UUID> currentFactIDs = new HashSet<>();
+    private long currentTimestamp = -1;
+
+    private MergedBucketIterator(Iterator<FactByTimestampEntity> entries, long startTimestamp, long endTimestamp) {
+      this.entries = entries;
+      this.startTimestamp = startTimestamp;
+      this.endTimestamp = endTimestamp;
+    }
+
+    @Override
+    protected FactEntity computeNext() {
+      while (entries.hasNext()) {
+        FactByTimestampEntity byTimestamp = entries.next();
+        // Filter out entities which aren't within the given startTimestamp/endTimestamp interval. Note that
+        // startTimestamp/endTimestamp might not be aligned with the current bucket, i.e. given with minutes, seconds...
+        if (byTimestamp.getTimestamp() < startTimestamp) continue;
+        // All remaining entries are newer, no need to fetch them.
+        if (byTimestamp.getTimestamp() >= endTimestamp) break;
+
+        if (byTimestamp.getTimestamp() != currentTimestamp) {
+          currentTimestamp = byTimestamp.getTimestamp();
+          currentFactIDs.clear();
+        }
+        if (!currentFactIDs.add(byTimestamp.getFactID())) continue;
+
+        // Use the Fact IDs from the fact_by_timestamp lookup table to fetch the actual data.
+        FactEntity fact = getFact(byTimestamp.getFactID());
+        if (fact != null) return fact;
+      }
+
+      return endOfData();
+    }
+  }
+
+  /**
+   * {@link Iterator} over the results of an asynchronous query. The next page is requested as soon as the current page
+   * is received, thus, it's fetched while the current page is consumed.
+   */
+  private static class AsyncPagingIterator<T> implements Iterator<T> {
+
+    private CompletableFuture<MappedAsyncPagingIterable<T>> nextPage;
+    private Iterator<T> currentPage = Collections.emptyIterator();
+
+    private AsyncPagingIterator(CompletionStage<MappedAsyncPagingIterable<T>> firstPage) {
+      this.nextPage = firstPage.toCompletableFuture();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!currentPage.hasNext()) {
+        if (nextPage == null) return false;
+
+        MappedAsyncPagingIterable<T> page = await(nextPage);
+        currentPage = page.currentPage().iterator();
+        nextPage = page.hasMorePages() ? page.fetchNextPage().toCompletableFuture() : null;
+      }
+
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      return currentPage.next();
     }
   }
 
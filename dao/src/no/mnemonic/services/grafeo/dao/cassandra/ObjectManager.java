@@ -1,14 +1,22 @@
 package no.mnemonic.services.grafeo.dao.cassandra;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.BucketedObjectFactBindingEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectByTypeValueEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingBucketEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.exceptions.ImmutableViolationException;
@@ -16,28 +24,46 @@ import no.mnemonic.services.grafeo.dao.cassandra.mapper.ObjectDao;
 import no.mnemonic.services.grafeo.dao.cassandra.mapper.ObjectTypeDao;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class ObjectManager implements LifecycleAspect {
 
+  private static final Logger LOGGER = Logging.getLogger(ObjectManager.class);
+
+  // Number of ObjectFactBindings fetched from Cassandra with one query.
+  private static final int BINDINGS_PAGE_SIZE = 1000;
+  // Buckets holding more bindings than this are reported as they will cause large partitions in Cassandra.
+  private static final int BINDINGS_BUCKET_SIZE_WARNING_THRESHOLD = 100_000;
+
   @Dependency
   private final ClusterManager clusterManager;
 
   private final LoadingCache<UUID, ObjectTypeEntity> objectTypeByIdCache;
   private final LoadingCache<String, ObjectTypeEntity> objectTypeByNameCache;
+  // Remembers recently recorded buckets in order to skip writing the same bucket again for every binding.
+  private final Cache<String, Boolean> recordedBucketsCache;
 
   private ObjectTypeDao objectTypeDao;
   private ObjectDao objectDao;
+  private boolean legacyObjectFactBindingEnabled = true;
 
   @Inject
   public ObjectManager(ClusterManager clusterManager) {
     this.clusterManager = clusterManager;
     this.objectTypeByIdCache = createObjectTypeByIdCache();
     this.objectTypeByNameCache = createObjectTypeByNameCache();
+    this.recordedBucketsCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .maximumSize(100_000)
+            .build();
   }
 
   @Override
@@ -51,6 +77,20 @@ public class ObjectManager implements LifecycleAspect {
     // NOOP
   }
 
+  /**
+   * Controls whether the legacy (non-bucketed) object_fact_binding table is used. If enabled, ObjectFactBindings are
+   * written into both tables but only read from the legacy table. Set this to false after all existing bindings have
+   * been migrated into the bucketed table.
+   *
+   * @param legacyObjectFactBindingEnabled Whether to use the legacy object_fact_binding table (default true)
+   * @return this
+   */
+  @com.google.inject.Inject(optional = true)
+  public ObjectManager setLegacyObjectFactBindingEnabled(@Named("grafeo.dao.object.fact.binding.legacy.enabled") boolean legacyObjectFactBindingEnabled) {
+    this.legacyObjectFactBindingEnabled = legacyObjectFactBindingEnabled;
+    return this;
+  }
+
   /* ObjectTypeEntity-related methods */
 
   public ObjectTypeEntity getObjectType(UUID id) {
@@ -79,6 +119,21 @@ public class ObjectManager implements LifecycleAspect {
     return objectTypeDao.fetch().all();
   }
 
+  /**
+   * Fetch all ObjectTypes and put them into the caches, e.g. to warm up the caches during startup.
+   *
+   * @return All ObjectTypes
+   */
+  public List<ObjectTypeEntity> preloadObjectTypes() {
+    List<ObjectTypeEntity> types = fetchObjectTypes();
+    for (ObjectTypeEntity type : types) {
+      objectTypeByIdCache.put(type.getId(), type);
+      objectTypeByNameCache.put(type.getName(), type);
+    }
+
+    return types;
+  }
+
   public ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
     if (type == null) return null;
 
@@ -137,24 +192,209 @@ public class ObjectManager implements LifecycleAspect {
 
   /* ObjectFactBindingEntity-related methods */
 
+  /**
+   * Fetch all ObjectFactBindings of an Object. The bindings are fetched lazily page by page, one bucket after another,
+   * i.e. the bindings of Objects with a huge number of Facts are never loaded with one big query. At most one page is
+   * fetched ahead of the consumer.
+   *
+   * @param id Object ID
+   * @return Iterator over all bindings of the Object
+   */
   public Iterator<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
     if (id == null) return Collections.emptyIterator();
-    return objectDao.fetchObjectFactBindings(id).iterator();
+    if (legacyObjectFactBindingEnabled) return objectDao.fetchObjectFactBindings(id).iterator();
+    return new BucketedObjectFactBindingIterator(id);
   }
 
-  public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
+  /**
+   * Save an ObjectFactBinding. The binding is stored in the bucket of the day when the bound Fact was created.
+   *
+   * @param binding       Binding to save
+   * @param factTimestamp Timestamp when the bound Fact was created
+   * @return Saved binding
+   */
+  public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding, long factTimestamp) {
     if (binding == null) return null;
     if (getObject(binding.getObjectID()) == null)
       throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
-    if (objectDao.getObjectFactBinding(binding.getObjectID(), binding.getFactID()) != null)
+    if (existsObjectFactBinding(binding, factTimestamp))
       throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
 
-    objectDao.save(binding);
+    if (legacyObjectFactBindingEnabled) {
+      objectDao.save(binding);
+    }
+    saveBucketedObjectFactBinding(binding, factTimestamp);
 
     return binding;
   }
 
-  /* Private helper methods */
+  /**
+   * Copy an ObjectFactBinding from the legacy object_fact_binding table into the bucketed table. Bindings which
+   * already exist in the bucketed table are skipped, thus, the migration can safely be repeated.
+   *
+   * @param binding       Binding to migrate
+   * @param factTimestamp Timestamp when the bound Fact was created
+   * @return True if the binding has been copied, false if it already existed
+   */
+  public boolean migrateObjectFactBinding(ObjectFactBindingEntity binding, long factTimestamp) {
+    if (binding == null) return false;
+    if (existsBucketedObjectFactBinding(binding.getObjectID(), binding.getFactID(), factTimestamp)) return false;
+
+    saveBucketedObjectFactBinding(binding, factTimestamp);
+
+    return true;
+  }
+
+  /* ObjectAccessSummaryEntity-related methods */
+
+  public ObjectAccessSummaryEntity getObjectAccessSummary(UUID id) {
+    if (id == null) return null;
+    return objectDao.getObjectAccessSummary(id);
+  }
+
+  public ObjectAccessSummaryEntity saveObjectAccessSummary(ObjectAccessSummaryEntity summary) {
+    if (summary == null) return null;
+    if (summary.getObjectID() == null) throw new IllegalArgumentException("Missing required field 'objectID'.");
+
+    // Merge the given summary into the existing one. Never mark the summary as incomplete again.
+    objectDao.mergeObjectAccessSummary(summary.getObjectID(), SetUtils.set(summary.getAccessModes()),
+            SetUtils.set(summary.getOrganizationIDs()), SetUtils.set(summary.getSubjectIDs()));
+    if (summary.isComplete()) {
+      objectDao.markObjectAccessSummaryComplete(summary.getObjectID());
+    }
+
+    return summary;
+  }
+
+  /* Private helper methods and classes */
+
+  private boolean existsObjectFactBinding(ObjectFactBindingEntity binding, long factTimestamp) {
+    // While the legacy table is still in use it's complete and a point query is sufficient.
+    if (legacyObjectFactBindingEnabled) return objectDao.getObjectFactBinding(binding.getObjectID(), binding.getFactID()) != null;
+    return existsBucketedObjectFactBinding(binding.getObjectID(), binding.getFactID(), factTimestamp);
+  }
+
+  private boolean existsBucketedObjectFactBinding(UUID objectID, UUID factID, long factTimestamp) {
+    // The bucket is derived from the Fact's timestamp, thus, a single point query is sufficient.
+    int bucket = BucketedObjectFactBindingEntity.calculateBucket(factTimestamp);
+    return objectDao.getBucketedObjectFactBinding(objectID, bucket, factID) != null;
+  }
+
+  private void saveBucketedObjectFactBinding(ObjectFactBindingEntity binding, long factTimestamp) {
+    int bucket = BucketedObjectFactBindingEntity.calculateBucket(factTimestamp);
+
+    // Record the bucket before saving the binding, such that readers never miss a binding.
+    String recordedBucket = binding.getObjectID() + ":" + bucket;
+    if (recordedBucketsCache.getIfPresent(recordedBucket) == null) {
+      objectDao.save(new ObjectFactBindingBucketEntity()
+              .setObjectID(binding.getObjectID())
+              .setBucket(bucket));
+      recordedBucketsCache.put(recordedBucket, Boolean.TRUE);
+    }
+
+    objectDao.save(new BucketedObjectFactBindingEntity()
+            .setObjectID(binding.getObjectID())
+            .setBucket(bucket)
+            .setFactID(binding.getFactID())
+            .setDirection(binding.getDirection()));
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      // Rethrow the original exception from the driver in order to behave like the synchronous methods.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+  }
+
+  /**
+   * {@link Iterator} which goes through all buckets of an Object in the bucketed object_fact_binding table. Only the
+   * buckets recorded for the Object are read. Every bucket is fetched in pages of {@link #BINDINGS_PAGE_SIZE} bindings
+   * where each page is requested with an independent query continuing after the last fetched Fact ID. This keeps every
+   * single query small and cheap for Cassandra. The next page is requested while the current page is consumed, but
+   * never more than one page ahead.
+   */
+  private class BucketedObjectFactBindingIterator implements Iterator<ObjectFactBindingEntity> {
+
+    private final UUID objectID;
+    private final Iterator<ObjectFactBindingBucketEntity> buckets;
+    private CompletableFuture<BindingsPage> nextPage;
+    private Iterator<BucketedObjectFactBindingEntity> currentPage = Collections.emptyIterator();
+    private int currentBucket;
+    private long currentBucketSize;
+
+    private BucketedObjectFactBindingIterator(UUID objectID) {
+      this.objectID = objectID;
+      this.buckets = objectDao.fetchObjectFactBindingBuckets(objectID).iterator();
+      this.nextPage = fetchFirstPageOfNextBucket();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!currentPage.hasNext()) {
+        if (nextPage == null) return false;
+
+        BindingsPage page = await(nextPage);
+        checkBucketSize(page);
+        currentPage = page.bindings().iterator();
+        // Request the following page before the current page is consumed.
+        nextPage = page.exhausted()
+                ? fetchFirstPageOfNextBucket()
+                : fetchPage(page.bucket(), page.bindings().get(page.bindings().size() - 1).getFactID());
+      }
+
+      return true;
+    }
+
+    @Override
+    public ObjectFactBindingEntity next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      BucketedObjectFactBindingEntity binding = currentPage.next();
+      return new ObjectFactBindingEntity()
+              .setObjectID(binding.getObjectID())
+              .setFactID(binding.getFactID())
+              .setDirection(binding.getDirection());
+    }
+
+    private CompletableFuture<BindingsPage> fetchFirstPageOfNextBucket() {
+      if (!buckets.hasNext()) return null;
+      return fetchPage(buckets.next().getBucket(), null);
+    }
+
+    private CompletableFuture<BindingsPage> fetchPage(int bucket, UUID after) {
+      CompletionStage<MappedAsyncPagingIterable<BucketedObjectFactBindingEntity>> query = after == null
+              ? objectDao.fetchBucketedObjectFactBindingsAsync(objectID, bucket, BINDINGS_PAGE_SIZE)
+              : objectDao.fetchBucketedObjectFactBindingsAfterAsync(objectID, bucket, after, BINDINGS_PAGE_SIZE);
+      return query.thenApply(result -> {
+        List<BucketedObjectFactBindingEntity> bindings = new ArrayList<>();
+        result.currentPage().forEach(bindings::add);
+        // If the driver returned fewer rows than requested the remaining rows are fetched with the next query.
+        boolean exhausted = bindings.isEmpty() || (bindings.size() < BINDINGS_PAGE_SIZE && !result.hasMorePages());
+        return new BindingsPage(bucket, bindings, exhausted);
+      }).toCompletableFuture();
+    }
+
+    private void checkBucketSize(BindingsPage page) {
+      if (page.bucket() != currentBucket) {
+        currentBucket = page.bucket();
+        currentBucketSize = 0;
+      }
+
+      long previousSize = currentBucketSize;
+      currentBucketSize += page.bindings().size();
+      // Report an oversized bucket once, when it crosses the threshold.
+      if (previousSize <= BINDINGS_BUCKET_SIZE_WARNING_THRESHOLD && currentBucketSize > BINDINGS_BUCKET_SIZE_WARNING_THRESHOLD) {
+        LOGGER.warning("Bucket %d of Object with id = %s holds more than %d ObjectFactBindings.",
+                currentBucket, objectID, BINDINGS_BUCKET_SIZE_WARNING_THRESHOLD);
+      }
+    }
+  }
+
+  private record BindingsPage(int bucket, List<BucketedObjectFactBindingEntity> bindings, boolean exhausted) {
+  }
 
   private LoadingCache<UUID, ObjectTypeEntity> createObjectTypeByIdCache() {
     return CacheBuilder.newBuilder()
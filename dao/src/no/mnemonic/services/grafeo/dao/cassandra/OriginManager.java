@@ -72,6 +72,21 @@ public class OriginManager implements LifecycleAspect {
     return originDao.fetch().all();
   }
 
+  /**
+   * Fetch all Origins and put them into the caches, e.g. to warm up the caches during startup.
+   *
+   * @return All Origins
+   */
+  public List<OriginEntity> preloadOrigins() {
+    List<OriginEntity> origins = fetchOrigins();
+    for (OriginEntity origin : origins) {
+      originByIdCache.put(origin.getId(), origin);
+      originByNameCache.put(origin.getName(), origin);
+    }
+
+    return origins;
+  }
+
   public OriginEntity saveOrigin(OriginEntity origin) {
     if (origin == null) return null;
 
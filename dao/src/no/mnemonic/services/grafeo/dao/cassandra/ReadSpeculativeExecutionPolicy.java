@@ -0,0 +1,62 @@
+package no.mnemonic.services.grafeo.dao.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.specex.SpeculativeExecutionPolicy;
+
+/**
+ * {@link SpeculativeExecutionPolicy} which sends a request to another replica if the first replica hasn't responded
+ * within a configured delay, but only for reads (SELECT statements). This bounds the latency of reads by the fastest
+ * healthy replica, e.g. when one Cassandra node is stalled by a GC pause. Writes are never executed speculatively in
+ * order to not increase the load on the cluster. Note that the driver additionally requires requests to be idempotent,
+ * thus, all reads are marked with @StatementAttributes(idempotence = true) in the mappers.
+ * <p>
+ * Configured in application.conf with the same options as the driver's ConstantSpeculativeExecutionPolicy, i.e.
+ * 'max-executions' (including the initial execution) and 'delay'.
+ */
+public class ReadSpeculativeExecutionPolicy implements SpeculativeExecutionPolicy {
+
+  private final int maxExecutions;
+  private final long delayMillis;
+
+  public ReadSpeculativeExecutionPolicy(DriverContext context, String profileName) {
+    DriverExecutionProfile profile = context.getConfig().getProfile(profileName);
+    this.maxExecutions = profile.getInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX);
+    this.delayMillis = profile.getDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY).toMillis();
+    if (maxExecutions < 1) {
+      throw new IllegalArgumentException(String.format("Option '%s' must be at least 1.", DefaultDriverOption.SPECULATIVE_EXECUTION_MAX.getPath()));
+    }
+    if (delayMillis < 0) {
+      throw new IllegalArgumentException(String.format("Option '%s' must be positive.", DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY.getPath()));
+    }
+  }
+
+  @Override
+  public long nextExecution(Node node, CqlIdentifier keyspace, Request request, int runningExecutions) {
+    // Returning a negative value means that no further execution is started.
+    if (runningExecutions >= maxExecutions || !isRead(request)) return -1;
+    return delayMillis;
+  }
+
+  @Override
+  public void close() {
+    // NOOP
+  }
+
+  static boolean isRead(Request request) {
+    String query = null;
+    if (request instanceof BoundStatement) {
+      query = ((BoundStatement) request).getPreparedStatement().getQuery();
+    } else if (request instanceof SimpleStatement) {
+      query = ((SimpleStatement) request).getQuery();
+    }
+
+    return query != null && query.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+  }
+}
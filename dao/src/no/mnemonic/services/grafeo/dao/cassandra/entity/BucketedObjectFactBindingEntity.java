@@ -0,0 +1,84 @@
+package no.mnemonic.services.grafeo.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.ClusteringColumn;
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.BucketedObjectFactBindingEntity.TABLE;
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+
+/**
+ * Replaces {@link ObjectFactBindingEntity}. The bindings of one Object are split up into one partition per day, where
+ * the bucket of a binding is derived from the timestamp of the bound Fact. The partitions of Objects bound to a huge
+ * number of Facts stop growing after one day, and the bucket of a binding is always known without a lookup. The
+ * buckets used by an Object are recorded in {@link ObjectFactBindingBucketEntity}.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class BucketedObjectFactBindingEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_binding_bucketed";
+  // Changing the size of the buckets requires migrating all existing data!
+  private static final long BUCKET_SIZE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  @PartitionKey(0)
+  @CqlName("object_id")
+  private UUID objectID;
+  @PartitionKey(1)
+  @CqlName("bucket")
+  private int bucket;
+  @ClusteringColumn
+  @CqlName("fact_id")
+  private UUID factID;
+  private Direction direction;
+
+  /**
+   * Calculate the bucket a binding is stored in.
+   *
+   * @param factTimestamp Timestamp when the bound Fact was created
+   * @return Bucket, i.e. the number of days since epoch
+   */
+  public static int calculateBucket(long factTimestamp) {
+    return (int) Math.floorDiv(factTimestamp, BUCKET_SIZE_MILLIS);
+  }
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public BucketedObjectFactBindingEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public int getBucket() {
+    return bucket;
+  }
+
+  public BucketedObjectFactBindingEntity setBucket(int bucket) {
+    this.bucket = bucket;
+    return this;
+  }
+
+  public UUID getFactID() {
+    return factID;
+  }
+
+  public BucketedObjectFactBindingEntity setFactID(UUID factID) {
+    this.factID = factID;
+    return this;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public BucketedObjectFactBindingEntity setDirection(Direction direction) {
+    this.direction = direction;
+    return this;
+  }
+}
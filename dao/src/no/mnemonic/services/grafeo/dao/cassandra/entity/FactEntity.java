@@ -3,13 +3,12 @@ package no.mnemonic.services.grafeo.dao.cassandra.entity;
 import com.datastax.oss.driver.api.mapper.annotations.CqlName;
 import com.datastax.oss.driver.api.mapper.annotations.Entity;
 import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
-import com.datastax.oss.driver.api.mapper.annotations.Transient;
+import com.datastax.oss.driver.api.mapper.annotations.TransientProperties;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
@@ -42,7 +41,6 @@ public class FactEntity implements CassandraEntity {
 
   private static final ObjectMapper mapper = JsonMapper.builder().build();
   private static final ObjectReader reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, FactObjectBinding.class));
-  private static final ObjectWriter writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, FactObjectBinding.class));
   private static final Logger logger = Logging.getLogger(FactEntity.class);
 
   public enum Flag implements CassandraEnum<Flag> {
@@ -100,12 +98,14 @@ public class FactEntity implements CassandraEntity {
   private long timestamp;
   @CqlName("last_seen_timestamp")
   private long lastSeenTimestamp;
-  // In order to not create another table bindings are stored as a JSON string.
+  // Bindings used to be stored as a JSON string. This column is only read for Facts which haven't been migrated yet.
   @CqlName("bindings")
   private String bindingsStored;
-  // But they are also available as objects.
-  @Transient
+  // Bindings are stored as a list of user defined types which are decoded by the driver.
+  @CqlName("object_bindings")
   private List<FactObjectBinding> bindings;
+  // Bindings parsed from the JSON string, only populated on demand.
+  private List<FactObjectBinding> legacyBindings;
   @CqlName("source_object_id")
   private UUID sourceObjectID;
   @CqlName("destination_object_id")
@@ -236,36 +236,45 @@ public class FactEntity implements CassandraEntity {
   }
 
   public FactEntity setBindingsStored(String bindingsStored) {
+    // Only parsed lazily in getBindings() if the Fact doesn't have native bindings.
     this.bindingsStored = bindingsStored;
-
-    try {
-      this.bindings = !StringUtils.isBlank(bindingsStored) ? reader.readValue(bindingsStored) : null;
-    } catch (IOException ex) {
-      logAndRethrow(ex, String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
-    }
-
+    this.legacyBindings = null;
     return this;
   }
 
   public List<FactObjectBinding> getBindings() {
-    return bindings;
+    if (!hasLegacyBindings()) return bindings;
+
+    // Fall back to the JSON string for Facts stored before bindings were stored natively. Because the mapper also uses
+    // this method when saving a Fact, saving such a Fact again will store its bindings natively.
+    if (legacyBindings == null) {
+      try {
+        this.legacyBindings = reader.readValue(bindingsStored);
+      } catch (IOException ex) {
+        logAndRethrow(ex, String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
+      }
+    }
+
+    return legacyBindings;
   }
 
   public FactEntity setBindings(List<FactObjectBinding> bindings) {
     this.bindings = bindings;
-
-    try {
-      this.bindingsStored = !CollectionUtils.isEmpty(bindings) ? writer.writeValueAsString(bindings) : null;
-    } catch (IOException ex) {
-      logAndRethrow(ex, String.format("Could not write 'bindings' for Fact with id = %s.", getId()));
-    }
-
     return this;
   }
 
   public FactEntity addBinding(FactObjectBinding binding) {
-    // Need to call setBindings() in order to store JSON blob.
-    return setBindings(ListUtils.addToList(bindings, binding));
+    return setBindings(ListUtils.addToList(getBindings(), binding));
+  }
+
+  /**
+   * Whether the bindings of this Fact are only available as the legacy JSON string and haven't been migrated to the
+   * native 'object_bindings' column yet. Note that the driver decodes an unset list column as an empty list.
+   *
+   * @return True if the bindings need to be migrated
+   */
+  public boolean hasLegacyBindings() {
+    return CollectionUtils.isEmpty(bindings) && !StringUtils.isBlank(bindingsStored);
   }
 
   public UUID getSourceObjectID() {
@@ -309,8 +318,16 @@ public class FactEntity implements CassandraEntity {
     throw new UncheckedIOException(msg, ex);
   }
 
+  /**
+   * Binding between a Fact and an Object, stored as the user defined type 'fact_object_binding'. The JSON annotations
+   * are only required to read legacy bindings from the JSON string.
+   */
+  @Entity(defaultKeyspace = KEY_SPACE)
+  @CqlName("fact_object_binding")
+  @TransientProperties("directionValue")
   public static class FactObjectBinding {
 
+    @CqlName("object_id")
     private UUID objectID;
     @JsonIgnore
     private Direction direction;
@@ -0,0 +1,97 @@
+package no.mnemonic.services.grafeo.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity.TABLE;
+
+/**
+ * Summarizes the access information of all Facts bound to one Object. It holds the AccessModes of the bound Facts,
+ * the Organizations of bound Facts with AccessMode RoleBased and the Subjects in the ACLs of non-public bound Facts.
+ * <p>
+ * All fields only ever grow because Facts cannot be unbound from an Object, a Fact's AccessMode cannot be changed
+ * and ACL entries cannot be removed. The 'complete' field marks that the summary covers all bindings of the Object.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class ObjectAccessSummaryEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_access_summary";
+
+  @PartitionKey
+  @CqlName("object_id")
+  private UUID objectID;
+  @CqlName("access_modes")
+  private Set<AccessMode> accessModes;
+  @CqlName("organization_ids")
+  private Set<UUID> organizationIDs;
+  @CqlName("subject_ids")
+  private Set<UUID> subjectIDs;
+  private boolean complete;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectAccessSummaryEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public Set<AccessMode> getAccessModes() {
+    return accessModes;
+  }
+
+  public ObjectAccessSummaryEntity setAccessModes(Set<AccessMode> accessModes) {
+    this.accessModes = accessModes;
+    return this;
+  }
+
+  public ObjectAccessSummaryEntity addAccessMode(AccessMode accessMode) {
+    this.accessModes = SetUtils.addToSet(this.accessModes, accessMode);
+    return this;
+  }
+
+  public Set<UUID> getOrganizationIDs() {
+    return organizationIDs;
+  }
+
+  public ObjectAccessSummaryEntity setOrganizationIDs(Set<UUID> organizationIDs) {
+    this.organizationIDs = organizationIDs;
+    return this;
+  }
+
+  public ObjectAccessSummaryEntity addOrganizationID(UUID organizationID) {
+    this.organizationIDs = SetUtils.addToSet(this.organizationIDs, organizationID);
+    return this;
+  }
+
+  public Set<UUID> getSubjectIDs() {
+    return subjectIDs;
+  }
+
+  public ObjectAccessSummaryEntity setSubjectIDs(Set<UUID> subjectIDs) {
+    this.subjectIDs = subjectIDs;
+    return this;
+  }
+
+  public ObjectAccessSummaryEntity addSubjectID(UUID subjectID) {
+    this.subjectIDs = SetUtils.addToSet(this.subjectIDs, subjectID);
+    return this;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public ObjectAccessSummaryEntity setComplete(boolean complete) {
+    this.complete = complete;
+    return this;
+  }
+}
@@ -0,0 +1,47 @@
+package no.mnemonic.services.grafeo.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.ClusteringColumn;
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+
+import java.util.UUID;
+
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingBucketEntity.TABLE;
+
+/**
+ * Records which buckets of {@link BucketedObjectFactBindingEntity} contain bindings of an Object, such that reading
+ * all bindings of an Object only queries the buckets which actually exist.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class ObjectFactBindingBucketEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_binding_bucket";
+
+  @PartitionKey
+  @CqlName("object_id")
+  private UUID objectID;
+  @ClusteringColumn
+  @CqlName("bucket")
+  private int bucket;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectFactBindingBucketEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public int getBucket() {
+    return bucket;
+  }
+
+  public ObjectFactBindingBucketEntity setBucket(int bucket) {
+    this.bucket = bucket;
+    return this;
+  }
+}
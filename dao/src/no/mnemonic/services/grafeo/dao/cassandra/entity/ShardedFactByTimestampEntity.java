@@ -0,0 +1,84 @@
+package no.mnemonic.services.grafeo.dao.cassandra.entity;
+
+import com.datastax.oss.driver.api.mapper.annotations.ClusteringColumn;
+import com.datastax.oss.driver.api.mapper.annotations.CqlName;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
+import com.datastax.oss.driver.api.mapper.annotations.PartitionKey;
+
+import java.util.UUID;
+
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.services.grafeo.dao.cassandra.entity.ShardedFactByTimestampEntity.TABLE;
+
+/**
+ * Replaces {@link FactByTimestampEntity}. The hourly buckets are split up into {@link #SHARDS} partitions each, where
+ * the shard of a Fact is derived from its ID. This distributes the writes of one hour across the cluster and keeps
+ * the partitions small.
+ */
+@Entity(defaultKeyspace = KEY_SPACE)
+@CqlName(TABLE)
+public class ShardedFactByTimestampEntity implements CassandraEntity {
+
+  public static final String TABLE = "fact_by_timestamp_sharded";
+  // Changing the number of shards requires migrating all existing data!
+  public static final int SHARDS = 16;
+
+  @PartitionKey(0)
+  @CqlName("hour_of_day")
+  private long hourOfDay;
+  @PartitionKey(1)
+  @CqlName("shard")
+  private int shard;
+  @ClusteringColumn(0)
+  @CqlName("timestamp")
+  private long timestamp;
+  @ClusteringColumn(1)
+  @CqlName("fact_id")
+  private UUID factID;
+
+  /**
+   * Calculate the shard a Fact is stored in.
+   *
+   * @param factID ID of the Fact
+   * @return Shard between 0 (inclusive) and {@link #SHARDS} (exclusive)
+   */
+  public static int calculateShard(UUID factID) {
+    return Math.floorMod(factID.hashCode(), SHARDS);
+  }
+
+  public long getHourOfDay() {
+    return hourOfDay;
+  }
+
+  public ShardedFactByTimestampEntity setHourOfDay(long hourOfDay) {
+    this.hourOfDay = hourOfDay;
+    return this;
+  }
+
+  public int getShard() {
+    return shard;
+  }
+
+  public ShardedFactByTimestampEntity setShard(int shard) {
+    this.shard = shard;
+    return this;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public ShardedFactByTimestampEntity setTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+    return this;
+  }
+
+  public UUID getFactID() {
+    return factID;
+  }
+
+  public ShardedFactByTimestampEntity setFactID(UUID factID) {
+    this.factID = factID;
+    return this;
+  }
+}
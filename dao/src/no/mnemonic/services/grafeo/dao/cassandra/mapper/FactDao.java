@@ -1,10 +1,12 @@
 package no.mnemonic.services.grafeo.dao.cassandra.mapper;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.*;
 
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -18,6 +20,7 @@ public interface FactDao {
   @Insert
   void save(FactEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactEntity get(UUID id);
 
@@ -26,9 +29,11 @@ public interface FactDao {
   @Insert
   void save(MetaFactBindingEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   MetaFactBindingEntity getMetaFactBinding(UUID factID, UUID metaFactID);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + MetaFactBindingEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<MetaFactBindingEntity> fetchMetaFactBindings(UUID id);
 
@@ -37,28 +42,50 @@ public interface FactDao {
   @Insert
   void save(FactByTimestampEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactByTimestampEntity getFactByTimestamp(long hourOfDay, long timestamp, UUID factID);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactByTimestampEntity.TABLE + " WHERE hour_of_day = :hourOfDay")
   PagingIterable<FactByTimestampEntity> fetchFactByTimestamp(long hourOfDay);
 
+  /* ShardedFactByTimestampEntity-related methods */
+
+  @Insert
+  void save(ShardedFactByTimestampEntity entity);
+
+  @StatementAttributes(idempotence = true)
+  @Select
+  ShardedFactByTimestampEntity getShardedFactByTimestamp(long hourOfDay, int shard, long timestamp, UUID factID);
+
+  @StatementAttributes(idempotence = true)
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ShardedFactByTimestampEntity.TABLE + " WHERE hour_of_day = :hourOfDay AND shard = :shard")
+  CompletionStage<MappedAsyncPagingIterable<ShardedFactByTimestampEntity>> fetchShardedFactByTimestampAsync(long hourOfDay, int shard);
+
   /* FactExistenceEntity-related methods */
 
   @Insert
   void save(FactExistenceEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactExistenceEntity getFactExistence(String factHash);
 
+  @StatementAttributes(idempotence = true)
+  @Query("SELECT * FROM " + KEY_SPACE + "." + FactExistenceEntity.TABLE)
+  PagingIterable<FactExistenceEntity> fetchFactExistence();
+
   /* FactRefreshLogEntity-related methods */
 
   @Insert
   void save(FactRefreshLogEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactRefreshLogEntity getFactRefreshLogEntry(UUID factID, long refreshTimestamp);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactRefreshLogEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactRefreshLogEntity> fetchFactRefreshLog(UUID id);
 
@@ -67,9 +94,11 @@ public interface FactDao {
   @Insert
   void save(FactAclEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactAclEntity getAclEntry(UUID factID, UUID id);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactAclEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactAclEntity> fetchAcl(UUID id);
 
@@ -78,9 +107,11 @@ public interface FactDao {
   @Insert
   void save(FactCommentEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactCommentEntity getComment(UUID factID, UUID id);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactCommentEntity> fetchComments(UUID id);
 
@@ -16,12 +16,15 @@ public interface FactTypeDao {
   @Insert
   void save(FactTypeEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   FactTypeEntity get(UUID id);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactTypeEntity.TABLE + " WHERE name = :name")
   FactTypeEntity get(String name);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactTypeEntity.TABLE)
   PagingIterable<FactTypeEntity> fetch();
 
@@ -1,12 +1,19 @@
 package no.mnemonic.services.grafeo.dao.cassandra.mapper;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.AccessMode;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.BucketedObjectFactBindingEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectByTypeValueEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingBucketEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -20,6 +27,7 @@ public interface ObjectDao {
   @Insert
   void save(ObjectEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   ObjectEntity get(UUID id);
 
@@ -28,6 +36,7 @@ public interface ObjectDao {
   @Insert
   void save(ObjectByTypeValueEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   ObjectByTypeValueEntity getObjectByTypeValue(UUID objectTypeID, String objectValue);
 
@@ -36,10 +45,55 @@ public interface ObjectDao {
   @Insert
   void save(ObjectFactBindingEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   ObjectFactBindingEntity getObjectFactBinding(UUID objectID, UUID factID);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
   PagingIterable<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id);
 
+  /* BucketedObjectFactBindingEntity-related methods */
+
+  @Insert
+  void save(BucketedObjectFactBindingEntity entity);
+
+  @StatementAttributes(idempotence = true)
+  @Select
+  BucketedObjectFactBindingEntity getBucketedObjectFactBinding(UUID objectID, int bucket, UUID factID);
+
+  @StatementAttributes(idempotence = true)
+  @Query("SELECT * FROM " + KEY_SPACE + "." + BucketedObjectFactBindingEntity.TABLE +
+          " WHERE object_id = :id AND bucket = :bucket LIMIT :limit")
+  CompletionStage<MappedAsyncPagingIterable<BucketedObjectFactBindingEntity>> fetchBucketedObjectFactBindingsAsync(UUID id, int bucket, int limit);
+
+  @StatementAttributes(idempotence = true)
+  @Query("SELECT * FROM " + KEY_SPACE + "." + BucketedObjectFactBindingEntity.TABLE +
+          " WHERE object_id = :id AND bucket = :bucket AND fact_id > :after LIMIT :limit")
+  CompletionStage<MappedAsyncPagingIterable<BucketedObjectFactBindingEntity>> fetchBucketedObjectFactBindingsAfterAsync(UUID id, int bucket, UUID after, int limit);
+
+  /* ObjectFactBindingBucketEntity-related methods */
+
+  @Insert
+  void save(ObjectFactBindingBucketEntity entity);
+
+  @StatementAttributes(idempotence = true)
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingBucketEntity.TABLE + " WHERE object_id = :id")
+  PagingIterable<ObjectFactBindingBucketEntity> fetchObjectFactBindingBuckets(UUID id);
+
+  /* ObjectAccessSummaryEntity-related methods */
+
+  @StatementAttributes(idempotence = true)
+  @Select
+  ObjectAccessSummaryEntity getObjectAccessSummary(UUID objectID);
+
+  // Use collection additions instead of an @Insert such that concurrent writers never overwrite each other.
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectAccessSummaryEntity.TABLE +
+          " SET access_modes = access_modes + :accessModes, organization_ids = organization_ids + :organizationIDs," +
+          " subject_ids = subject_ids + :subjectIDs WHERE object_id = :objectID")
+  void mergeObjectAccessSummary(UUID objectID, Set<AccessMode> accessModes, Set<UUID> organizationIDs, Set<UUID> subjectIDs);
+
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectAccessSummaryEntity.TABLE + " SET complete = true WHERE object_id = :objectID")
+  void markObjectAccessSummaryComplete(UUID objectID);
+
 }
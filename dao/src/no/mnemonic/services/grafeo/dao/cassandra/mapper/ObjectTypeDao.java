@@ -16,12 +16,15 @@ public interface ObjectTypeDao {
   @Insert
   void save(ObjectTypeEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   ObjectTypeEntity get(UUID id);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectTypeEntity.TABLE + " WHERE name = :name")
   ObjectTypeEntity get(String name);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectTypeEntity.TABLE)
   PagingIterable<ObjectTypeEntity> fetch();
 
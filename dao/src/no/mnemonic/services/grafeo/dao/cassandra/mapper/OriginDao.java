@@ -16,12 +16,15 @@ public interface OriginDao {
   @Insert
   void save(OriginEntity entity);
 
+  @StatementAttributes(idempotence = true)
   @Select
   OriginEntity get(UUID id);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + OriginEntity.TABLE + " WHERE name = :name")
   OriginEntity get(String name);
 
+  @StatementAttributes(idempotence = true)
   @Query("SELECT * FROM " + KEY_SPACE + "." + OriginEntity.TABLE)
   PagingIterable<OriginEntity> fetch();
 
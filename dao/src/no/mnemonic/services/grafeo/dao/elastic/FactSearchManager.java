@@ -4,6 +4,7 @@ import co.elastic.clients.elasticsearch._types.*;
 import co.elastic.clients.elasticsearch._types.aggregations.*;
 import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import co.elastic.clients.elasticsearch.core.*;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.core.search.ResponseBody;
 import co.elastic.clients.elasticsearch.core.search.TotalHits;
@@ -40,6 +41,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +78,8 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   private static final String DAILY_TEMPLATE_JSON = "template_daily.json";
   private static final String TIME_GLOBAL_TEMPLATE_JSON = "template_time_global.json";
   private static final int MAX_RESULT_WINDOW = 10_000; // Must be the same value as specified in template_base.json.
+  private static final int BULK_INDEX_MAX_ATTEMPTS = 3;
+  private static final long BULK_INDEX_RETRY_BACKOFF_MILLIS = 100;
 
   private static final String FACTS_COUNT_AGGREGATION_NAME = "FactsCountAggregation";
   private static final String NESTED_OBJECTS_AGGREGATION_NAME = "NestedObjectsAggregation";
@@ -97,6 +101,7 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   private final PerformanceMonitor factSearchNextMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
   private final PerformanceMonitor objectSearchMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
   private final PerformanceMonitor objectStatisticsMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+  private final LongAdder permanentIndexFailureCount = new LongAdder();
 
   @Dependency
   private final ClientFactory clientFactory;
@@ -145,7 +150,8 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
             .addData("objectSearchInvocations", objectSearchMonitor.getTotalInvocations())
             .addData("objectSearchTimeSpent", objectSearchMonitor.getTotalTimeSpent())
             .addData("objectStatisticsInvocations", objectStatisticsMonitor.getTotalInvocations())
-            .addData("objectStatisticsTimeSpent", objectStatisticsMonitor.getTotalTimeSpent());
+            .addData("objectStatisticsTimeSpent", objectStatisticsMonitor.getTotalTimeSpent())
+            .addData("permanentIndexFailureCount", permanentIndexFailureCount.longValue());
   }
 
   /**
@@ -210,6 +216,51 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return fact;
   }
 
+  /**
+   * Index multiple Facts into ElasticSearch using bulk requests. Failures of single Facts are classified by their status:
+   * Facts rejected temporarily (429 or 5xx) are retried a few times, Facts failing permanently (e.g. because of mapping
+   * errors) are logged and skipped, and thus, not contained in the returned list. If temporarily rejected Facts still
+   * fail after all retries an exception is thrown, in which case the whole batch must be retried (re-indexing a Fact
+   * is idempotent).
+   *
+   * @param facts Facts to index
+   * @param index Index into which the Facts will be indexed
+   * @return Indexed Facts
+   */
+  public List<FactDocument> indexFacts(List<FactDocument> facts, TargetIndex index) {
+    if (CollectionUtils.isEmpty(facts)) return ListUtils.list();
+    List<FactDocument> documents = facts.stream()
+            .filter(fact -> fact != null && fact.getId() != null)
+            .collect(Collectors.toList());
+    if (documents.isEmpty()) return documents;
+
+    List<FactDocument> indexed = new ArrayList<>(documents.size());
+    List<FactDocument> pending = documents;
+    for (int attempt = 1; ; attempt++) {
+      pending = bulkIndexFacts(pending, index, indexed);
+      if (pending.isEmpty()) break;
+
+      if (attempt >= BULK_INDEX_MAX_ATTEMPTS) {
+        LOGGER.warning("Could not bulk index %d Facts after %d attempts.", pending.size(), attempt);
+        throw new IllegalStateException(String.format("Could not bulk index %d Facts after %d attempts.", pending.size(), attempt));
+      }
+      backOffBulkIndex(attempt);
+    }
+
+    LOGGER.debug("Successfully bulk indexed %d Facts.", indexed.size());
+    return indexed;
+  }
+
+  /**
+   * Determine whether a bulk item which failed with the given status can be retried.
+   *
+   * @param status HTTP status of the failed bulk item
+   * @return True if the failure is temporary
+   */
+  static boolean isRetryableStatus(int status) {
+    return status == 429 || status >= 500;
+  }
+
   /**
    * Search for Facts indexed in ElasticSearch by a given search criteria. Only Facts satisfying the search criteria
    * will be returned. Returns a result container which will stream out the results from ElasticSearch. It will not
@@ -238,7 +289,7 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
       return ScrollingSearchResult.<UUID>builder().build();
     }
 
-    int count = retrieveCountFromAggregations(response.aggregations(), FACTS_COUNT_AGGREGATION_NAME);
+    int count = retrieveFactsCount(response, criteria.getCountStrategy());
 
     LOGGER.debug("Successfully initiated streaming of search results. Start fetching data.");
     return ScrollingSearchResult.<UUID>builder()
@@ -476,15 +527,21 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   }
 
   private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria) {
-    return searchRequestBuilder(criteria.getIndexSelectCriteria())
+    SearchRequest.Builder builder = searchRequestBuilder(criteria.getIndexSelectCriteria())
             // Not interested in the source as only the UUID of the matching document is needed.
             .source(s -> s.fetch(false))
             .size(searchScrollSize)
             .scroll(t -> t.time(searchScrollExpiration))
-            .query(buildFactsQuery(criteria))
-            // Use an aggregation to calculate the count because with daily indices the search result will contain duplicates.
-            .aggregations(FACTS_COUNT_AGGREGATION_NAME, buildFactsCountAggregation())
-            .build();
+            .query(buildFactsQuery(criteria));
+
+    if (criteria.getCountStrategy() == FactSearchCriteria.CountStrategy.exact) {
+      // Use an aggregation to calculate the count because with daily indices the search result will contain duplicates.
+      builder.aggregations(FACTS_COUNT_AGGREGATION_NAME, buildFactsCountAggregation());
+    }
+
+    // Otherwise skip the expensive aggregation. ElasticSearch doesn't allow to disable or limit 'track_total_hits'
+    // in a scroll context, thus, the total hits are always available and can be used as an approximate count.
+    return builder.build();
   }
 
   private SearchRequest buildObjectsSearchRequest(FactSearchCriteria criteria) {
@@ -834,6 +891,15 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
                                                     .field("lastSeenTimestamp"))))))));
   }
 
+  private int retrieveFactsCount(SearchResponse<Void> response, FactSearchCriteria.CountStrategy countStrategy) {
+    if (countStrategy == FactSearchCriteria.CountStrategy.exact) {
+      return retrieveCountFromAggregations(response.aggregations(), FACTS_COUNT_AGGREGATION_NAME);
+    }
+
+    // The total hits count every matching document, i.e. a Fact stored in multiple daily indices is counted multiple times.
+    return ObjectUtils.ifNotNull(response.hits().total(), total -> (int) total.value(), -1);
+  }
+
   private int retrieveCountFromAggregations(Map<String, Aggregate> aggregations, String aggregationName) {
     Aggregate countAggregation = resolveChildAggregation(aggregations, aggregationName);
     if (countAggregation == null || !countAggregation.isCardinality()) {
@@ -966,6 +1032,56 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
             .build()._toQuery();
   }
 
+  private List<FactDocument> bulkIndexFacts(List<FactDocument> documents, TargetIndex index, List<FactDocument> indexed) {
+    BulkResponse response;
+    try (TimerContext ignored = TimerContext.timerMillis(indexMonitor::invoked)) {
+      BulkRequest.Builder request = new BulkRequest.Builder()
+              .refresh(isTestEnvironment ? Refresh.True : Refresh.False);
+      for (FactDocument fact : documents) {
+        request.operations(op -> op.index(i -> i
+                .index(resolveIndexName(fact, index))
+                .id(fact.getId().toString())
+                .document(fact)));
+      }
+      response = clientFactory.getClient().bulk(request.build());
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to bulk index %d Facts.", documents.size()));
+    }
+
+    if (!response.errors()) {
+      indexed.addAll(documents);
+      return ListUtils.list();
+    }
+
+    // The response contains one item per operation in the same order as the request.
+    List<FactDocument> retryable = new ArrayList<>();
+    List<BulkResponseItem> items = response.items();
+    for (int i = 0; i < documents.size(); i++) {
+      FactDocument fact = documents.get(i);
+      BulkResponseItem item = i < items.size() ? items.get(i) : null;
+      if (item == null || (item.error() != null && isRetryableStatus(item.status()))) {
+        retryable.add(fact);
+      } else if (item.error() != null) {
+        permanentIndexFailureCount.increment();
+        LOGGER.warning("Could not index Fact with id = %s, skipping it (status = %d, reason = %s).",
+                fact.getId(), item.status(), item.error().reason());
+      } else {
+        indexed.add(fact);
+      }
+    }
+
+    return retryable;
+  }
+
+  private void backOffBulkIndex(int attempt) {
+    try {
+      Thread.sleep(BULK_INDEX_RETRY_BACKOFF_MILLIS * attempt);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying to bulk index Facts.", ex);
+    }
+  }
+
   private RuntimeException logAndExit(Exception ex, String msg) {
     LOGGER.error(ex, msg);
     return new IllegalStateException(msg, ex);
@@ -2,12 +2,15 @@ package no.mnemonic.services.grafeo.dao.facade;
 
 import com.google.common.collect.Streams;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactCommentRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
@@ -21,7 +24,10 @@ import no.mnemonic.services.grafeo.dao.elastic.result.SearchResult;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.converters.ObjectAccessSummaryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.helpers.ConcurrentFactLoader;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactExistenceFilter;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedFactResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
@@ -45,8 +51,11 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   private final FactRecordConverter factRecordConverter;
   private final FactAclEntryRecordConverter factAclEntryRecordConverter;
   private final FactCommentRecordConverter factCommentRecordConverter;
+  private final ObjectAccessSummaryRecordConverter objectAccessSummaryRecordConverter;
   private final CachedObjectResolver objectResolver;
   private final CachedFactResolver factResolver;
+  private final FactExistenceFilter factExistenceFilter;
+  private final ConcurrentFactLoader factLoader;
   private final Consumer<FactRecord> dcReplicationConsumer;
 
   @Inject
@@ -57,8 +66,11 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
                              FactRecordConverter factRecordConverter,
                              FactAclEntryRecordConverter factAclEntryRecordConverter,
                              FactCommentRecordConverter factCommentRecordConverter,
+                             ObjectAccessSummaryRecordConverter objectAccessSummaryRecordConverter,
                              CachedObjectResolver objectResolver,
                              CachedFactResolver factResolver,
+                             FactExistenceFilter factExistenceFilter,
+                             ConcurrentFactLoader factLoader,
                              Consumer<FactRecord> dcReplicationConsumer) {
     this.objectManager = objectManager;
     this.factManager = factManager;
@@ -67,8 +79,11 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     this.factRecordConverter = factRecordConverter;
     this.factAclEntryRecordConverter = factAclEntryRecordConverter;
     this.factCommentRecordConverter = factCommentRecordConverter;
+    this.objectAccessSummaryRecordConverter = objectAccessSummaryRecordConverter;
     this.objectResolver = objectResolver;
     this.factResolver = factResolver;
+    this.factExistenceFilter = factExistenceFilter;
+    this.factLoader = factLoader;
     this.dcReplicationConsumer = dcReplicationConsumer;
   }
 
@@ -95,6 +110,19 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return record;
   }
 
+  @Override
+  public ObjectAccessSummaryRecord getObjectAccessSummary(UUID id) {
+    if (id == null) return null;
+
+    ObjectAccessSummaryEntity summary = objectManager.getObjectAccessSummary(id);
+    if (summary == null || !summary.isComplete()) {
+      // The summary is missing or only covers Facts added after it was introduced. Rebuild it once from all bindings.
+      summary = rebuildObjectAccessSummary(id);
+    }
+
+    return objectAccessSummaryRecordConverter.fromEntity(summary);
+  }
+
   @Override
   public ObjectStatisticsContainer calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
     // Just delegate it to FactSearchManager, nothing else needs to be done.
@@ -128,6 +156,13 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return factResolver.getFact(id);
   }
 
+  @Override
+  public Iterator<FactRecord> getFacts(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return Collections.emptyIterator();
+    // Load all Facts concurrently from Cassandra (or cache).
+    return factLoader.load(ids.iterator(), factResolver::getFact);
+  }
+
   @Override
   public FactRecord storeFact(FactRecord record) {
     if (record == null) return null;
@@ -142,6 +177,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     factManager.saveFact(entity);
     saveFactExistence(record);
     saveFactObjectBindings(entity);
+    saveObjectAccessSummaries(record, createObjectAccessSummary(record));
     saveMetaFactBindings(entity);
     saveFactByTimestamp(entity);
     saveFactRefreshLog(record);
@@ -196,9 +232,13 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   public Optional<FactRecord> retrieveExistingFact(FactRecord record) {
     if (record == null) return Optional.empty();
 
+    // Skip the lookup completely if the filter knows that the Fact hasn't been stored yet.
+    String hash = FactRecordHasher.toHash(record);
+    if (!factExistenceFilter.mightContain(hash)) return Optional.empty();
+
     // Delegate resolution of Fact by its hash value to CachedFactResolver.
     // This will return null if the Fact doesn't exist yet.
-    return Optional.ofNullable(factResolver.getFact(FactRecordHasher.toHash(record)));
+    return Optional.ofNullable(factResolver.getFact(hash));
   }
 
   @Override
@@ -249,21 +289,32 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   @Override
   public Iterator<FactRecord> retrieveObjectFacts(UUID id) {
     // Use Cassandra lookup table to resolve all Facts bound to the given Object ID.
-    return Streams.stream(objectManager.fetchObjectFactBindings(id))
+    // The Facts are loaded concurrently while the consumer is iterating over the results.
+    Iterator<UUID> factIDs = Streams.stream(objectManager.fetchObjectFactBindings(id))
             .map(ObjectFactBindingEntity::getFactID)
-            .map(factResolver::getFact)
-            .filter(Objects::nonNull)
             .iterator();
+    return factLoader.load(factIDs, factResolver::getFact);
   }
 
   @Override
   public Iterator<FactRecord> retrieveMetaFacts(UUID id) {
     // Use Cassandra lookup table to resolve all meta Facts bound to the given Fact ID.
-    return Streams.stream(factManager.fetchMetaFactBindings(id))
+    // The Facts are loaded concurrently while the consumer is iterating over the results.
+    Iterator<UUID> metaFactIDs = Streams.stream(factManager.fetchMetaFactBindings(id))
             .map(MetaFactBindingEntity::getMetaFactID)
-            .map(factResolver::getFact)
-            .filter(Objects::nonNull)
             .iterator();
+    return factLoader.load(metaFactIDs, factResolver::getFact);
+  }
+
+  @Override
+  public Iterator<FactRecord> retrieveMetaFacts(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return Collections.emptyIterator();
+    // Resolve the meta Fact bindings of all given Facts and load all meta Facts concurrently in one batch.
+    Iterator<UUID> metaFactIDs = ids.stream()
+            .flatMap(id -> Streams.stream(factManager.fetchMetaFactBindings(id)))
+            .map(MetaFactBindingEntity::getMetaFactID)
+            .iterator();
+    return factLoader.load(metaFactIDs, factResolver::getFact);
   }
 
   private void saveFactExistence(FactRecord fact) {
@@ -275,6 +326,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
             .setFactHash(hash)
             .setFactID(fact.getId())
     );
+    // Make the new Fact known to the filter only after the lookup table entry exists.
+    factExistenceFilter.put(hash);
   }
 
   private void saveFactObjectBindings(FactEntity fact) {
@@ -285,7 +338,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       objectManager.saveObjectFactBinding(new ObjectFactBindingEntity()
               .setObjectID(binding.getObjectID())
               .setFactID(fact.getId())
-              .setDirection(binding.getDirection())
+              .setDirection(binding.getDirection()), fact.getTimestamp()
       );
     }
   }
@@ -344,6 +397,52 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     }
 
     factManager.saveFactAclEntry(factAclEntryRecordConverter.toEntity(entry, fact.getId()));
+
+    // Subjects in the ACL of a public Fact don't influence access to the Fact's Objects.
+    if (fact.getAccessMode() != FactRecord.AccessMode.Public && entry.getSubjectID() != null) {
+      saveObjectAccessSummaries(fact, new ObjectAccessSummaryEntity().addSubjectID(entry.getSubjectID()));
+    }
+  }
+
+  private void saveObjectAccessSummaries(FactRecord fact, ObjectAccessSummaryEntity summary) {
+    // Merge the access information of the Fact into the summaries of all Objects bound to the Fact.
+    for (ObjectRecord object : SetUtils.set(fact.getSourceObject(), fact.getDestinationObject())) {
+      if (object == null || object.getId() == null) continue;
+      objectManager.saveObjectAccessSummary(summary.setObjectID(object.getId()));
+    }
+  }
+
+  private ObjectAccessSummaryEntity rebuildObjectAccessSummary(UUID objectID) {
+    ObjectAccessSummaryEntity summary = new ObjectAccessSummaryEntity().setObjectID(objectID);
+    retrieveObjectFacts(objectID).forEachRemaining(fact -> {
+      mergeObjectAccessSummary(summary, fact);
+      if (fact.getAccessMode() == FactRecord.AccessMode.Public) return;
+      ListUtils.list(fact.getAcl())
+              .stream()
+              .map(FactAclEntryRecord::getSubjectID)
+              .filter(Objects::nonNull)
+              .forEach(summary::addSubjectID);
+    });
+
+    // Fact stores and ACL grants happening during the rebuild are merged by the writers themselves,
+    // thus, it's safe to mark the summary as complete afterwards.
+    return objectManager.saveObjectAccessSummary(summary.setComplete(true));
+  }
+
+  private ObjectAccessSummaryEntity createObjectAccessSummary(FactRecord fact) {
+    // ACL entries are not included here because they are merged when saved, see saveAclEntry().
+    return mergeObjectAccessSummary(new ObjectAccessSummaryEntity(), fact);
+  }
+
+  private ObjectAccessSummaryEntity mergeObjectAccessSummary(ObjectAccessSummaryEntity summary, FactRecord fact) {
+    if (fact.getAccessMode() == null) return summary;
+
+    summary.addAccessMode(AccessMode.valueOf(fact.getAccessMode().name()));
+    if (fact.getAccessMode() == FactRecord.AccessMode.RoleBased && fact.getOrganizationID() != null) {
+      summary.addOrganizationID(fact.getOrganizationID());
+    }
+
+    return summary;
   }
 
   private void saveComments(FactRecord fact) {
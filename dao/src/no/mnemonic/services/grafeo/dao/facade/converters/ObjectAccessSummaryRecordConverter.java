@@ -0,0 +1,32 @@
+package no.mnemonic.services.grafeo.dao.facade.converters;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity;
+
+import java.util.stream.Collectors;
+
+/**
+ * Class for converting {@link ObjectAccessSummaryRecord}s.
+ */
+public class ObjectAccessSummaryRecordConverter {
+
+  /**
+   * Convert {@link ObjectAccessSummaryEntity} to {@link ObjectAccessSummaryRecord}.
+   *
+   * @param entity Access summary to convert
+   * @return Converted access summary
+   */
+  public ObjectAccessSummaryRecord fromEntity(ObjectAccessSummaryEntity entity) {
+    if (entity == null) return null;
+    return new ObjectAccessSummaryRecord()
+            .setObjectID(entity.getObjectID())
+            .setAccessModes(SetUtils.set(entity.getAccessModes())
+                    .stream()
+                    .map(mode -> FactRecord.AccessMode.valueOf(mode.name()))
+                    .collect(Collectors.toSet()))
+            .setOrganizationIDs(SetUtils.set(entity.getOrganizationIDs()))
+            .setSubjectIDs(SetUtils.set(entity.getSubjectIDs()));
+  }
+}
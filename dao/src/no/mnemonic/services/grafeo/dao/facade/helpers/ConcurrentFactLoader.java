@@ -0,0 +1,223 @@
+package no.mnemonic.services.grafeo.dao.facade.helpers;
+
+import no.mnemonic.commons.component.LifecycleAspect;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Helper which resolves a sequence of Fact IDs into Facts while loading multiple Facts concurrently.
+ * <p>
+ * The returned {@link Iterator} reads ahead of the consumer and keeps multiple Fact loads in flight. Because the
+ * read-ahead also advances the source iterator the next page of the underlying lookup table is fetched while the Facts
+ * of the current page are still being loaded. The order of the source is preserved.
+ * <p>
+ * The read-ahead starts small and grows by one for every Fact the consumer takes, up to the configured maximum. This
+ * way a consumer which only looks at the first few Facts doesn't trigger a full window of loads, while a consumer which
+ * iterates over all Facts quickly reaches full concurrency. A consumer which stops early should close the returned
+ * {@link CloseableIterator} in order to cancel loads which are still pending.
+ * <p>
+ * If the loader hasn't been started or concurrency is disabled Facts are loaded sequentially on the calling thread.
+ */
+@Singleton
+public class ConcurrentFactLoader implements LifecycleAspect {
+
+  private static final int DEFAULT_THREADS = 16;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 32;
+  private static final int INITIAL_READ_AHEAD = 2;
+
+  private int threads = DEFAULT_THREADS;
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+  private ExecutorService executor;
+
+  @Override
+  public void startComponent() {
+    if (threads < 1 || maxInFlight <= 1) return;
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor == null) return;
+    executor.shutdownNow();
+    executor = null;
+  }
+
+  /**
+   * Resolve all IDs from a source iterator using the given loader. IDs which resolve to null are skipped.
+   *
+   * @param ids    Source of IDs (e.g. from a Cassandra lookup table)
+   * @param loader Function resolving one ID (must be thread-safe)
+   * @param <T>    Type of resolved values
+   * @return Iterator over resolved values in the order of the source
+   */
+  public <T> CloseableIterator<T> load(Iterator<UUID> ids, Function<UUID, T> loader) {
+    ExecutorService currentExecutor = executor;
+    if (currentExecutor == null) return new SequentialIterator<>(ids, loader);
+    return new PrefetchingIterator<>(ids, loader, currentExecutor, maxInFlight);
+  }
+
+  /**
+   * Set the number of threads shared by all iterators to load Facts.
+   *
+   * @param threads Number of loader threads (default 16)
+   * @return this
+   */
+  @com.google.inject.Inject(optional = true)
+  public ConcurrentFactLoader setThreads(@Named("grafeo.dao.fact.prefetch.threads") int threads) {
+    this.threads = threads;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of Fact loads one iterator keeps in flight. An iterator starts with a smaller read-ahead
+   * and only reaches this maximum while its consumer keeps on iterating. A value of 1 disables concurrent loading.
+   *
+   * @param maxInFlight Maximum number of concurrent loads per iterator (default 32)
+   * @return this
+   */
+  @com.google.inject.Inject(optional = true)
+  public ConcurrentFactLoader setMaxInFlight(@Named("grafeo.dao.fact.prefetch.max.in.flight") int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  /**
+   * {@link Iterator} which holds on to resources until it is exhausted or closed.
+   *
+   * @param <T> Type of iterated values
+   */
+  public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+    /**
+     * Release all resources held by the iterator. Afterwards, the iterator doesn't return any more values.
+     */
+    @Override
+    void close();
+  }
+
+  private abstract static class ResolvingIterator<T> implements CloseableIterator<T> {
+    private T next;
+    private boolean closed;
+
+    @Override
+    public boolean hasNext() {
+      if (closed) return false;
+
+      while (next == null) {
+        if (!hasMore()) return false;
+        next = resolveNext();
+      }
+
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      T current = next;
+      next = null;
+      return current;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      next = null;
+      release();
+    }
+
+    abstract boolean hasMore();
+
+    abstract void release();
+
+    abstract T resolveNext();
+  }
+
+  private static class SequentialIterator<T> extends ResolvingIterator<T> {
+    private final Iterator<UUID> ids;
+    private final Function<UUID, T> loader;
+
+    private SequentialIterator(Iterator<UUID> ids, Function<UUID, T> loader) {
+      this.ids = ids;
+      this.loader = loader;
+    }
+
+    @Override
+    boolean hasMore() {
+      return ids.hasNext();
+    }
+
+    @Override
+    T resolveNext() {
+      return loader.apply(ids.next());
+    }
+
+    @Override
+    void release() {
+      // Nothing is loaded ahead of the consumer.
+    }
+  }
+
+  private static class PrefetchingIterator<T> extends ResolvingIterator<T> {
+    private final Iterator<UUID> ids;
+    private final Function<UUID, T> loader;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Deque<Future<T>> inFlight = new ArrayDeque<>();
+    private int readAhead;
+
+    private PrefetchingIterator(Iterator<UUID> ids, Function<UUID, T> loader, ExecutorService executor, int maxInFlight) {
+      this.ids = ids;
+      this.loader = loader;
+      this.executor = executor;
+      this.maxInFlight = maxInFlight;
+      this.readAhead = Math.min(INITIAL_READ_AHEAD, maxInFlight);
+    }
+
+    @Override
+    boolean hasMore() {
+      // Top up the in-flight loads before waiting for the oldest one.
+      while (inFlight.size() < readAhead && ids.hasNext()) {
+        UUID id = ids.next();
+        inFlight.add(executor.submit(() -> loader.apply(id)));
+      }
+
+      return !inFlight.isEmpty();
+    }
+
+    @Override
+    T resolveNext() {
+      try {
+        T value = inFlight.poll().get();
+        // The consumer keeps on iterating, thus, widen the read-ahead for the next top-up.
+        readAhead = Math.min(readAhead + 1, maxInFlight);
+        return value;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while loading Facts.", ex);
+      } catch (ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+        throw new IllegalStateException("Failed to load Facts.", ex.getCause());
+      }
+    }
+
+    @Override
+    void release() {
+      // Don't interrupt loads which are already running, only prevent pending loads from being started.
+      inFlight.forEach(future -> future.cancel(false));
+      inFlight.clear();
+    }
+  }
+}
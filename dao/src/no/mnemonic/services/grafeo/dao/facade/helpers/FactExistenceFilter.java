@@ -0,0 +1,32 @@
+package no.mnemonic.services.grafeo.dao.facade.helpers;
+
+/**
+ * Probabilistic filter over the hash values of all stored Facts (as calculated by {@link FactRecordHasher}).
+ * <p>
+ * The filter is used to skip looking up a Fact by its hash value when the Fact definitely does not exist yet.
+ * Implementations must never return false from {@link #mightContain(String)} for a hash value of a stored Fact,
+ * i.e. they must answer 'maybe' whenever they cannot guarantee a correct negative answer (e.g. while the filter
+ * is still being built). False positives are allowed and only cost an additional lookup.
+ */
+public interface FactExistenceFilter {
+
+  /**
+   * Test whether a Fact with the given hash value might have been stored.
+   *
+   * @param factHash Hash value of Fact
+   * @return False if the Fact definitely has not been stored, true otherwise
+   */
+  boolean mightContain(String factHash);
+
+  /**
+   * Record that a Fact with the given hash value has been stored.
+   * <p>
+   * The default implementation does nothing, which is correct for filters which always answer 'maybe'.
+   *
+   * @param factHash Hash value of Fact
+   */
+  default void put(String factHash) {
+    // NOOP
+  }
+
+}
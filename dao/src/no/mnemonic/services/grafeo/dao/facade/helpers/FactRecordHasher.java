@@ -1,6 +1,5 @@
 package no.mnemonic.services.grafeo.dao.facade.helpers;
 
-import com.google.common.hash.Hashing;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -9,9 +8,13 @@ import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
 import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Class to calculate the hash value (SHA256) of a {@link FactRecord}. Facts which are logically considered to be the
@@ -40,11 +43,15 @@ import java.util.Locale;
  * If "value" is unset omit it, i.e. use "value=".
  * <p>
  * Calculate the hash value as SHA256($string).
+ * <p>
+ * The implementation never assembles the string. Instead, it streams the UTF-8 encoded fields directly into a
+ * thread-confined, reusable {@link MessageDigest}, which produces exactly the same hash value.
  */
 public class FactRecordHasher {
 
   private static final Logger LOGGER = Logging.getLogger(FactRecordHasher.class);
   private static final String NULL_REPLACEMENT = "NULL";
+  private static final ThreadLocal<Sha256Sink> SINK = ThreadLocal.withInitial(Sha256Sink::new);
 
   private FactRecordHasher() {
   }
@@ -58,12 +65,24 @@ public class FactRecordHasher {
   public static String toHash(FactRecord record) {
     if (record == null) throw new IllegalArgumentException("'record' cannot be null!");
 
-    String formatted = formatFactRecord(record);
     if (LOGGER.isDebug()) {
-      LOGGER.debug("Formatted FactRecord: " + formatted);
+      LOGGER.debug("Formatted FactRecord: " + formatFactRecord(record));
     }
 
-    String hashed = calculateSha256(formatted);
+    String hashed = SINK.get()
+            .reset()
+            .putField("typeID=", record.getTypeID())
+            .putField(";originID=", record.getOriginID())
+            .putField(";organizationID=", record.getOrganizationID())
+            .putField(";accessMode=", record.getAccessMode())
+            .putConfidence(";confidence=", record.getConfidence())
+            .putField(";inReferenceToID=", record.getInReferenceToID())
+            .putField(";sourceObjectID=", ObjectUtils.ifNotNull(record.getSourceObject(), ObjectRecord::getId))
+            .putField(";destinationObjectID=", ObjectUtils.ifNotNull(record.getDestinationObject(), ObjectRecord::getId))
+            .putField(";isBidirectionalBinding=", record.isBidirectionalBinding())
+            // If 'value' is unset omit it completely (see formatFactRecord()).
+            .putValue(";value=", record.getValue())
+            .hash();
     if (LOGGER.isDebug()) {
       LOGGER.debug("Hashed FactRecord: " + hashed);
     }
@@ -112,16 +131,14 @@ public class FactRecordHasher {
   }
 
   static String formatFloatingPoint(float number) {
+    return createDecimalFormat().format(number);
+  }
+
+  private static DecimalFormat createDecimalFormat() {
     // Ensure locale-independent and constant formatting with values rounded to two decimal points.
     DecimalFormat format = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
     format.setRoundingMode(RoundingMode.HALF_UP);
-    return format.format(number);
-  }
-
-  private static String calculateSha256(String input) {
-    return Hashing.sha256()
-            .hashString(input, StandardCharsets.UTF_8)
-            .toString();
+    return format;
   }
 
   private static String formatObjectRecord(ObjectRecord record) {
@@ -131,4 +148,156 @@ public class FactRecordHasher {
   private static String nullSafeString(Object object) {
     return ObjectUtils.ifNotNull(object, Object::toString, NULL_REPLACEMENT);
   }
+
+  /**
+   * Per-thread state which UTF-8 encodes the formatted fields into a small buffer and feeds it into a SHA256 digest.
+   * All buffers are reused between invocations, thus, an instance must never be shared between threads.
+   */
+  private static class Sha256Sink {
+
+    private static final byte[] NULL_BYTES = NULL_REPLACEMENT.getBytes(StandardCharsets.UTF_8);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int BUFFER_SIZE = 1024;
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final DecimalFormat confidenceFormat = createDecimalFormat();
+    private final StringBuffer confidenceBuffer = new StringBuffer();
+    private final FieldPosition confidencePosition = new FieldPosition(0);
+    private final char[] hexOutput = new char[64];
+    private int position;
+
+    private Sha256Sink() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        // Every Java platform is required to support SHA-256.
+        throw new IllegalStateException("SHA-256 is not available.", ex);
+      }
+    }
+
+    private Sha256Sink reset() {
+      // Discard any leftovers from a previous invocation which failed halfway.
+      digest.reset();
+      position = 0;
+      return this;
+    }
+
+    private Sha256Sink putField(String label, UUID id) {
+      putAscii(label);
+      if (id == null) {
+        putBytes(NULL_BYTES);
+      } else {
+        putUUID(id);
+      }
+      return this;
+    }
+
+    private Sha256Sink putField(String label, Enum<?> value) {
+      putAscii(label);
+      if (value == null) {
+        putBytes(NULL_BYTES);
+      } else {
+        putChars(value.toString());
+      }
+      return this;
+    }
+
+    private Sha256Sink putField(String label, boolean value) {
+      putAscii(label);
+      putAscii(value ? "true" : "false");
+      return this;
+    }
+
+    private Sha256Sink putConfidence(String label, float confidence) {
+      putAscii(label);
+      confidenceBuffer.setLength(0);
+      putChars(confidenceFormat.format(confidence, confidenceBuffer, confidencePosition));
+      return this;
+    }
+
+    private Sha256Sink putValue(String label, String value) {
+      putAscii(label);
+      if (value != null) {
+        putChars(value);
+      }
+      return this;
+    }
+
+    private String hash() {
+      flush();
+      byte[] result = digest.digest();
+      for (int i = 0; i < result.length; i++) {
+        hexOutput[2 * i] = HEX_DIGITS[(result[i] >> 4) & 0xf];
+        hexOutput[2 * i + 1] = HEX_DIGITS[result[i] & 0xf];
+      }
+      return new String(hexOutput);
+    }
+
+    private void putUUID(UUID id) {
+      // Same output as UUID.toString() without creating the intermediate string.
+      putHex(id.getMostSignificantBits() >>> 32, 8);
+      putByte('-');
+      putHex(id.getMostSignificantBits() >>> 16, 4);
+      putByte('-');
+      putHex(id.getMostSignificantBits(), 4);
+      putByte('-');
+      putHex(id.getLeastSignificantBits() >>> 48, 4);
+      putByte('-');
+      putHex(id.getLeastSignificantBits(), 12);
+    }
+
+    private void putHex(long value, int digits) {
+      for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+        putByte(HEX_DIGITS[(int) (value >>> shift) & 0xf]);
+      }
+    }
+
+    private void putAscii(String ascii) {
+      for (int i = 0; i < ascii.length(); i++) {
+        putByte(ascii.charAt(i));
+      }
+    }
+
+    private void putChars(CharSequence chars) {
+      // Encode as UTF-8 the same way as String.getBytes(UTF_8), i.e. replace unpaired surrogates with '?'.
+      for (int i = 0; i < chars.length(); i++) {
+        char c = chars.charAt(i);
+        if (c < 0x80) {
+          putByte(c);
+        } else if (c < 0x800) {
+          putByte(0xc0 | (c >> 6));
+          putByte(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+          putByte(0xf0 | (codePoint >> 18));
+          putByte(0x80 | ((codePoint >> 12) & 0x3f));
+          putByte(0x80 | ((codePoint >> 6) & 0x3f));
+          putByte(0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+          putByte('?');
+        } else {
+          putByte(0xe0 | (c >> 12));
+          putByte(0x80 | ((c >> 6) & 0x3f));
+          putByte(0x80 | (c & 0x3f));
+        }
+      }
+    }
+
+    private void putBytes(byte[] bytes) {
+      for (byte b : bytes) {
+        putByte(b);
+      }
+    }
+
+    private void putByte(int b) {
+      if (position == buffer.length) flush();
+      buffer[position++] = (byte) b;
+    }
+
+    private void flush() {
+      digest.update(buffer, 0, position);
+      position = 0;
+    }
+  }
 }
@@ -9,18 +9,23 @@ import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * {@link CachedFactResolver} implementation which is backed by a {@link Map}.
+ * <p>
+ * Concurrent cache misses for the same key on one node are coalesced into a single load from Cassandra.
  */
+@Singleton
 public class MapBackedFactResolver implements CachedFactResolver {
 
   private final FactManager factManager;
   private final FactRecordConverter factRecordConverter;
   private final Map<UUID, FactRecord> factByIdCache;
-  private final Map<String, UUID> factByHashCache;
+  private final SingleFlightLoader<UUID, FactRecord> factByIdLoader;
+  private final SingleFlightLoader<String, UUID> factByHashLoader;
 
   @Inject
   public MapBackedFactResolver(
@@ -31,14 +36,15 @@ public class MapBackedFactResolver implements CachedFactResolver {
     this.factManager = factManager;
     this.factRecordConverter = factRecordConverter;
     this.factByIdCache = factByIdCache;
-    this.factByHashCache = factByHashCache;
+    this.factByIdLoader = new SingleFlightLoader<>(factByIdCache);
+    this.factByHashLoader = new SingleFlightLoader<>(factByHashCache);
   }
 
   @Override
   public FactRecord getFact(UUID id) {
     if (id == null) return null;
 
-    return factByIdCache.computeIfAbsent(id,
+    return factByIdLoader.computeIfAbsent(id,
             key -> factRecordConverter.fromEntity(factManager.getFact(id)));
   }
 
@@ -47,7 +53,7 @@ public class MapBackedFactResolver implements CachedFactResolver {
     if (StringUtils.isBlank(factHash)) return null;
 
     // Look up UUID from 'factByHashCache' and use the result to fetch the actual record from 'factByIdCache'.
-    UUID id = factByHashCache.computeIfAbsent(factHash,
+    UUID id = factByHashLoader.computeIfAbsent(factHash,
             key -> ObjectUtils.ifNotNull(factManager.getFact(factHash), FactEntity::getId));
     return getFact(id);
   }
@@ -7,18 +7,22 @@ import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * {@link CachedObjectResolver} implementation which is backed by a {@link Map}.
+ * <p>
+ * Concurrent cache misses for the same key on one node are coalesced into a single load from Cassandra.
  */
+@Singleton
 public class MapBackedObjectResolver implements CachedObjectResolver {
 
   private final ObjectManager objectManager;
   private final ObjectRecordConverter objectRecordConverter;
-  private final Map<UUID, ObjectRecord> objectByIdCache;
-  private final Map<String, ObjectRecord> objectByTypeValueCache;
+  private final SingleFlightLoader<UUID, ObjectRecord> objectByIdLoader;
+  private final SingleFlightLoader<String, ObjectRecord> objectByTypeValueLoader;
 
   @Inject
   public MapBackedObjectResolver(
@@ -28,15 +32,15 @@ public class MapBackedObjectResolver implements CachedObjectResolver {
           @DaoCache Map<String, ObjectRecord> objectByTypeValueCache) {
     this.objectManager = objectManager;
     this.objectRecordConverter = objectRecordConverter;
-    this.objectByIdCache = objectByIdCache;
-    this.objectByTypeValueCache = objectByTypeValueCache;
+    this.objectByIdLoader = new SingleFlightLoader<>(objectByIdCache);
+    this.objectByTypeValueLoader = new SingleFlightLoader<>(objectByTypeValueCache);
   }
 
   @Override
   public ObjectRecord getObject(UUID id) {
     if (id == null) return null;
 
-    return objectByIdCache.computeIfAbsent(id,
+    return objectByIdLoader.computeIfAbsent(id,
             key -> objectRecordConverter.fromEntity(objectManager.getObject(id)));
   }
 
@@ -44,7 +48,7 @@ public class MapBackedObjectResolver implements CachedObjectResolver {
   public ObjectRecord getObject(String type, String value) {
     if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
 
-    return objectByTypeValueCache.computeIfAbsent(createCacheKey(type, value),
+    return objectByTypeValueLoader.computeIfAbsent(createCacheKey(type, value),
             key -> objectRecordConverter.fromEntity(objectManager.getObject(type, value)));
   }
 
@@ -0,0 +1,68 @@
+package no.mnemonic.services.grafeo.dao.facade.resolvers;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Helper which loads missing values into a cache {@link Map} and coalesces concurrent loads of the same key.
+ * <p>
+ * When multiple threads miss the same key at the same time only the first thread executes the loader, all other
+ * threads wait for its result. This prevents that a popular entry which has just expired is loaded by every thread
+ * at once. The coalescing is node local, coalescing across nodes is up to the {@link Map} implementation.
+ *
+ * @param <K> Type of cache key
+ * @param <V> Type of cache value
+ */
+class SingleFlightLoader<K, V> {
+
+  private final Map<K, V> cache;
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  SingleFlightLoader(Map<K, V> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Same semantics as {@link Map#computeIfAbsent(Object, Function)}, but with concurrent loads of the same key coalesced.
+   *
+   * @param key    Key to look up
+   * @param loader Function to load the value if it isn't cached
+   * @return Cached or loaded value (or null if the loader returned null)
+   */
+  V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+    V cached = cache.get(key);
+    if (cached != null) return cached;
+
+    CompletableFuture<V> load = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+    if (running != null) {
+      // Another thread is already loading the same key, wait for its result.
+      return await(running);
+    }
+
+    try {
+      V value = cache.computeIfAbsent(key, loader);
+      load.complete(value);
+      return value;
+    } catch (RuntimeException ex) {
+      load.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, load);
+    }
+  }
+
+  private V await(CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (CompletionException ex) {
+      // Rethrow the exception of the loading thread.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+  }
+}
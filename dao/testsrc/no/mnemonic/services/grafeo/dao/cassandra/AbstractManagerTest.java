@@ -53,6 +53,10 @@ public abstract class AbstractManagerTest {
     cassandra.execInContainer("cqlsh", "-f", "/tmp/truncate.cql");
   }
 
+  protected static ClusterManager getClusterManager() {
+    return clusterManager;
+  }
+
   protected FactManager getFactManager() {
     return factManager;
   }
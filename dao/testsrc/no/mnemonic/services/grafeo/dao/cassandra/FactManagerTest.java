@@ -148,6 +148,21 @@ public class FactManagerTest extends AbstractManagerTest {
     assertFact(entity, getFactManager().getFact(entity.getId()));
   }
 
+  @Test
+  public void testSaveFactWithLegacyBindingsStoresNativeBindings() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity entity = createFact(createAndSaveFactType().getId())
+            .setBindings(null)
+            .setBindingsStored(String.format("[{\"objectID\":\"%s\",\"direction\":3}]", objectID));
+    getFactManager().saveFact(entity);
+
+    FactEntity actual = getFactManager().getFact(entity.getId());
+    assertFalse(actual.hasLegacyBindings());
+    assertEquals(1, actual.getBindings().size());
+    assertEquals(objectID, actual.getBindings().get(0).getObjectID());
+    assertEquals(Direction.BiDirectional, actual.getBindings().get(0).getDirection());
+  }
+
   @Test
   public void testGetFactWithNonExistingFact() {
     assertNull(getFactManager().getFact((UUID) null));
@@ -288,6 +303,78 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(ListUtils.list(fact1.getId(), fact2.getId()), actual);
   }
 
+  @Test
+  public void testFetchFactsWithinTimeframeSingleBucketSortedAcrossShards() {
+    long timestamp = 1609502400000L;
+
+    FactTypeEntity type = createAndSaveFactType();
+    List<UUID> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      expected.add(createAndSaveFactWithTimestamp(type, timestamp + i * 1000).getId());
+    }
+
+    List<UUID> actual = ListUtils.list(getFactManager().getFactsWithin(timestamp, timestamp + 3600000), FactEntity::getId);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testFetchFactsWithinTimeframeFromLegacyTable() {
+    long timestamp = 1609504200000L;
+    FactEntity fact = createAndSaveFactWithLegacyTimestamp(createAndSaveFactType(), timestamp);
+
+    List<UUID> actual = ListUtils.list(getFactManager().getFactsWithin(timestamp - 1000, timestamp + 1000), FactEntity::getId);
+    assertEquals(ListUtils.list(fact.getId()), actual);
+
+    getFactManager().setLegacyFactByTimestampReadEnabled(false);
+    assertTrue(ListUtils.list(getFactManager().getFactsWithin(timestamp - 1000, timestamp + 1000)).isEmpty());
+  }
+
+  @Test
+  public void testFetchFactsWithinTimeframeMergesLegacyAndShardedTables() {
+    long timestamp = 1609502400000L;
+
+    FactTypeEntity type = createAndSaveFactType();
+    List<UUID> expected = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      FactEntity fact = i % 2 == 0
+              ? createAndSaveFactWithTimestamp(type, timestamp + i * 1000)
+              : createAndSaveFactWithLegacyTimestamp(type, timestamp + i * 1000);
+      expected.add(fact.getId());
+    }
+
+    List<UUID> actual = ListUtils.list(getFactManager().getFactsWithin(timestamp, timestamp + 3600000), FactEntity::getId);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testMigrateFactByTimestamp() {
+    long timestamp = 1609504200000L;
+    long hourOfDay = Instant.ofEpochMilli(timestamp).truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+    FactEntity fact = createAndSaveFactWithLegacyTimestamp(createAndSaveFactType(), timestamp);
+
+    assertEquals(1, getFactManager().migrateFactByTimestamp(hourOfDay));
+    // Migrated entries exist in both tables but must only be returned once.
+    assertEquals(ListUtils.list(fact.getId()), ListUtils.list(getFactManager().getFactsWithin(timestamp - 1000, timestamp + 1000), FactEntity::getId));
+
+    getFactManager().setLegacyFactByTimestampReadEnabled(false);
+    assertEquals(ListUtils.list(fact.getId()), ListUtils.list(getFactManager().getFactsWithin(timestamp - 1000, timestamp + 1000), FactEntity::getId));
+  }
+
+  @Test
+  public void testMigrateFactByTimestampTwice() {
+    long timestamp = 1609504200000L;
+    long hourOfDay = Instant.ofEpochMilli(timestamp).truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+    createAndSaveFactWithLegacyTimestamp(createAndSaveFactType(), timestamp);
+
+    assertEquals(1, getFactManager().migrateFactByTimestamp(hourOfDay));
+    assertEquals(1, getFactManager().migrateFactByTimestamp(hourOfDay));
+  }
+
+  @Test
+  public void testMigrateFactByTimestampWithoutFacts() {
+    assertEquals(0, getFactManager().migrateFactByTimestamp(1609502400000L));
+  }
+
   @Test
   public void testFetchFactsWithinTimeframeWithoutFacts() {
     assertTrue(ListUtils.list(getFactManager().getFactsWithin(1609500600000L, 1609507800000L)).isEmpty());
@@ -463,6 +550,19 @@ public class FactManagerTest extends AbstractManagerTest {
     assertThrows(ImmutableViolationException.class, () -> getFactManager().saveFactExistence(entity));
   }
 
+  @Test
+  public void testFetchFactHashes() {
+    FactExistenceEntity entity = createFactExistence(createAndSaveFact().getId());
+    getFactManager().saveFactExistence(entity);
+
+    assertEquals(ListUtils.list(entity.getFactHash()), ListUtils.list(getFactManager().fetchFactHashes()));
+  }
+
+  @Test
+  public void testFetchFactHashesWithoutFacts() {
+    assertFalse(getFactManager().fetchFactHashes().hasNext());
+  }
+
   @Test
   public void testSaveAndFetchFactRefreshLog() {
     FactEntity fact = createAndSaveFact();
@@ -622,6 +722,20 @@ public class FactManagerTest extends AbstractManagerTest {
     return getFactManager().saveFact(createFact(typeID, value));
   }
 
+  private FactEntity createAndSaveFactWithLegacyTimestamp(FactTypeEntity type, long timestamp) {
+    FactEntity fact = createFact(type.getId())
+            .setTimestamp(timestamp);
+
+    getFactManager().saveFact(fact);
+    // Write directly into the legacy table which isn't written by FactManager anymore.
+    getClusterManager().getCassandraMapper().getFactDao().save(new FactByTimestampEntity()
+            .setHourOfDay(Instant.ofEpochMilli(timestamp).truncatedTo(ChronoUnit.HOURS).toEpochMilli())
+            .setTimestamp(timestamp)
+            .setFactID(fact.getId()));
+
+    return fact;
+  }
+
   private FactEntity createAndSaveFactWithTimestamp(FactTypeEntity type, long timestamp) {
     FactEntity fact = createFact(type.getId())
             .setTimestamp(timestamp);
@@ -685,7 +799,11 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
     assertEquals(expected.getSourceObjectID(), actual.getSourceObjectID());
     assertEquals(expected.getDestinationObjectID(), actual.getDestinationObjectID());
-    assertEquals(expected.getBindingsStored(), actual.getBindingsStored());
+    assertEquals(expected.getBindings().size(), actual.getBindings().size());
+    for (int i = 0; i < expected.getBindings().size(); i++) {
+      assertEquals(expected.getBindings().get(i).getObjectID(), actual.getBindings().get(i).getObjectID());
+      assertEquals(expected.getBindings().get(i).getDirection(), actual.getBindings().get(i).getDirection());
+    }
   }
 
   private void assertFactAclEntry(FactAclEntity expected, FactAclEntity actual) {
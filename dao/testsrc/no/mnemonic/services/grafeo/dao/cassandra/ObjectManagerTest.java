@@ -1,22 +1,26 @@
 package no.mnemonic.services.grafeo.dao.cassandra;
 
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.AccessMode;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.BucketedObjectFactBindingEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.Direction;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.exceptions.ImmutableViolationException;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ObjectManagerTest extends AbstractManagerTest {
 
+  private static final long FACT_TIMESTAMP = 1_600_000_000_000L;
+
   @Test
   public void testSaveAndGetObjectTypeById() {
     ObjectTypeEntity entity = createAndSaveObjectType();
@@ -188,24 +192,160 @@ public class ObjectManagerTest extends AbstractManagerTest {
   @Test
   public void testSaveObjectFactBindingReturnsSameEntity() {
     ObjectFactBindingEntity binding = createObjectFactBinding(createAndSaveObject().getId());
-    assertSame(binding, getObjectManager().saveObjectFactBinding(binding));
+    assertSame(binding, getObjectManager().saveObjectFactBinding(binding, FACT_TIMESTAMP));
   }
 
   @Test
   public void testSaveObjectFactBindingReturnsNullOnNullInput() {
-    assertNull(getObjectManager().saveObjectFactBinding(null));
+    assertNull(getObjectManager().saveObjectFactBinding(null, FACT_TIMESTAMP));
   }
 
   @Test
   public void testSaveObjectFactBindingWithNonExistingObjectThrowsException() {
-    assertThrows(IllegalArgumentException.class, () -> getObjectManager().saveObjectFactBinding(createObjectFactBinding(UUID.randomUUID())));
+    assertThrows(IllegalArgumentException.class, () -> getObjectManager().saveObjectFactBinding(createObjectFactBinding(UUID.randomUUID()), FACT_TIMESTAMP));
   }
 
   @Test
   public void testSaveObjectFactBindingTwiceThrowsException() {
     ObjectFactBindingEntity binding = createObjectFactBinding(createAndSaveObject().getId());
-    assertDoesNotThrow(() -> getObjectManager().saveObjectFactBinding(binding));
-    assertThrows(ImmutableViolationException.class, () -> getObjectManager().saveObjectFactBinding(binding));
+    assertDoesNotThrow(() -> getObjectManager().saveObjectFactBinding(binding, FACT_TIMESTAMP));
+    assertThrows(ImmutableViolationException.class, () -> getObjectManager().saveObjectFactBinding(binding, FACT_TIMESTAMP));
+  }
+
+  @Test
+  public void testSaveAndFetchBucketedObjectFactBindings() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(object.getId());
+
+    List<ObjectFactBindingEntity> actual = ListUtils.list(getObjectManager().fetchObjectFactBindings(object.getId()));
+    assertEquals(1, actual.size());
+    assertObjectFactBinding(binding, actual.get(0));
+  }
+
+  @Test
+  public void testSaveBucketedObjectFactBindingIntoBucketOfFactTimestamp() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(createAndSaveObject().getId());
+
+    int bucket = BucketedObjectFactBindingEntity.calculateBucket(FACT_TIMESTAMP);
+    assertNotNull(getClusterManager().getCassandraMapper().getObjectDao()
+            .getBucketedObjectFactBinding(binding.getObjectID(), bucket, binding.getFactID()));
+  }
+
+  @Test
+  public void testFetchBucketedObjectFactBindingsFromMultipleBuckets() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    ObjectFactBindingEntity first = getObjectManager().saveObjectFactBinding(createObjectFactBinding(object.getId()), FACT_TIMESTAMP);
+    ObjectFactBindingEntity second = getObjectManager().saveObjectFactBinding(createObjectFactBinding(object.getId()),
+            FACT_TIMESTAMP + TimeUnit.DAYS.toMillis(1));
+
+    List<ObjectFactBindingEntity> actual = ListUtils.list(getObjectManager().fetchObjectFactBindings(object.getId()));
+    assertEquals(SetUtils.set(first.getFactID(), second.getFactID()), SetUtils.set(actual, ObjectFactBindingEntity::getFactID));
+  }
+
+  @Test
+  public void testFetchBucketedObjectFactBindingsMultiplePages() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    Set<UUID> expected = new HashSet<>();
+    for (int i = 0; i < 1500; i++) {
+      expected.add(createAndSaveObjectFactBinding(object.getId()).getFactID());
+    }
+
+    List<ObjectFactBindingEntity> actual = ListUtils.list(getObjectManager().fetchObjectFactBindings(object.getId()));
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected, SetUtils.set(actual, ObjectFactBindingEntity::getFactID));
+  }
+
+  @Test
+  public void testFetchBucketedObjectFactBindingsWithNonExistingObject() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    assertEquals(0, ListUtils.list(getObjectManager().fetchObjectFactBindings(UUID.randomUUID())).size());
+  }
+
+  @Test
+  public void testSaveBucketedObjectFactBindingTwiceThrowsException() {
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    ObjectFactBindingEntity binding = createObjectFactBinding(createAndSaveObject().getId());
+    assertDoesNotThrow(() -> getObjectManager().saveObjectFactBinding(binding, FACT_TIMESTAMP));
+    assertThrows(ImmutableViolationException.class, () -> getObjectManager().saveObjectFactBinding(binding, FACT_TIMESTAMP));
+  }
+
+  @Test
+  public void testMigrateObjectFactBinding() {
+    ObjectFactBindingEntity binding = createObjectFactBinding(createAndSaveObject().getId());
+    // Write directly into the legacy table only.
+    getClusterManager().getCassandraMapper().getObjectDao().save(binding);
+
+    assertTrue(getObjectManager().migrateObjectFactBinding(binding, FACT_TIMESTAMP));
+    assertFalse(getObjectManager().migrateObjectFactBinding(binding, FACT_TIMESTAMP));
+
+    getObjectManager().setLegacyObjectFactBindingEnabled(false);
+    List<ObjectFactBindingEntity> actual = ListUtils.list(getObjectManager().fetchObjectFactBindings(binding.getObjectID()));
+    assertEquals(1, actual.size());
+    assertObjectFactBinding(binding, actual.get(0));
+  }
+
+  @Test
+  public void testMigrateObjectFactBindingSkipsAlreadyWrittenBinding() {
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(createAndSaveObject().getId());
+    assertFalse(getObjectManager().migrateObjectFactBinding(binding, FACT_TIMESTAMP));
+  }
+
+  @Test
+  public void testMigrateObjectFactBindingWithNullInput() {
+    assertFalse(getObjectManager().migrateObjectFactBinding(null, FACT_TIMESTAMP));
+  }
+
+  @Test
+  public void testSaveAndGetObjectAccessSummary() {
+    ObjectAccessSummaryEntity summary = new ObjectAccessSummaryEntity()
+            .setObjectID(UUID.randomUUID())
+            .addAccessMode(AccessMode.RoleBased)
+            .addOrganizationID(UUID.randomUUID())
+            .addSubjectID(UUID.randomUUID());
+    getObjectManager().saveObjectAccessSummary(summary);
+
+    ObjectAccessSummaryEntity actual = getObjectManager().getObjectAccessSummary(summary.getObjectID());
+    assertEquals(summary.getObjectID(), actual.getObjectID());
+    assertEquals(summary.getAccessModes(), actual.getAccessModes());
+    assertEquals(summary.getOrganizationIDs(), actual.getOrganizationIDs());
+    assertEquals(summary.getSubjectIDs(), actual.getSubjectIDs());
+    assertFalse(actual.isComplete());
+  }
+
+  @Test
+  public void testSaveObjectAccessSummaryMergesWithExistingSummary() {
+    UUID objectID = UUID.randomUUID();
+    UUID organizationID1 = UUID.randomUUID();
+    UUID organizationID2 = UUID.randomUUID();
+    getObjectManager().saveObjectAccessSummary(new ObjectAccessSummaryEntity()
+            .setObjectID(objectID)
+            .addAccessMode(AccessMode.RoleBased)
+            .addOrganizationID(organizationID1)
+            .setComplete(true));
+    getObjectManager().saveObjectAccessSummary(new ObjectAccessSummaryEntity()
+            .setObjectID(objectID)
+            .addAccessMode(AccessMode.Public)
+            .addOrganizationID(organizationID2));
+
+    ObjectAccessSummaryEntity actual = getObjectManager().getObjectAccessSummary(objectID);
+    assertEquals(SetUtils.set(AccessMode.RoleBased, AccessMode.Public), actual.getAccessModes());
+    assertEquals(SetUtils.set(organizationID1, organizationID2), actual.getOrganizationIDs());
+    assertTrue(actual.isComplete());
+  }
+
+  @Test
+  public void testGetObjectAccessSummaryWithNonExistingObject() {
+    assertNull(getObjectManager().getObjectAccessSummary(null));
+    assertNull(getObjectManager().getObjectAccessSummary(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testSaveObjectAccessSummaryReturnsNullOnNullInput() {
+    assertNull(getObjectManager().saveObjectAccessSummary(null));
   }
 
   private ObjectTypeEntity createObjectType() {
@@ -263,7 +403,7 @@ public class ObjectManagerTest extends AbstractManagerTest {
   }
 
   private ObjectFactBindingEntity createAndSaveObjectFactBinding(UUID objectID) {
-    return getObjectManager().saveObjectFactBinding(createObjectFactBinding(objectID));
+    return getObjectManager().saveObjectFactBinding(createObjectFactBinding(objectID), FACT_TIMESTAMP);
   }
 
   private void assertObjectType(ObjectTypeEntity expected, ObjectTypeEntity actual) {
@@ -101,6 +101,17 @@ public class OriginManagerTest extends AbstractManagerTest {
     assertOrigins(expected, actual);
   }
 
+  @Test
+  public void testPreloadOriginsPopulatesCaches() {
+    createAndSaveOrigins(3);
+    List<OriginEntity> preloaded = getOriginManager().preloadOrigins();
+
+    for (OriginEntity origin : preloaded) {
+      assertSame(origin, getOriginManager().getOrigin(origin.getId()));
+      assertSame(origin, getOriginManager().getOrigin(origin.getName()));
+    }
+  }
+
   private OriginEntity createOrigin() {
     return createOrigin("origin");
   }
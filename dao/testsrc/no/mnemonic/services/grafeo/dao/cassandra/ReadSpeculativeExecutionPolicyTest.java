@@ -0,0 +1,93 @@
+package no.mnemonic.services.grafeo.dao.cassandra;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.session.Request;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadSpeculativeExecutionPolicyTest {
+
+  @Mock
+  private DriverContext context;
+  @Mock
+  private DriverConfig config;
+  @Mock
+  private DriverExecutionProfile profile;
+
+  @Test
+  public void testInitializeWithInvalidMaxExecutions() {
+    mockProfile(0, Duration.ofMillis(100));
+    assertThrows(IllegalArgumentException.class, () -> new ReadSpeculativeExecutionPolicy(context, "default"));
+  }
+
+  @Test
+  public void testInitializeWithInvalidDelay() {
+    mockProfile(2, Duration.ofMillis(-1));
+    assertThrows(IllegalArgumentException.class, () -> new ReadSpeculativeExecutionPolicy(context, "default"));
+  }
+
+  @Test
+  public void testNextExecutionForRead() {
+    ReadSpeculativeExecutionPolicy policy = createPolicy(3, Duration.ofMillis(100));
+    Request request = SimpleStatement.newInstance("SELECT * FROM act.fact WHERE id = ?");
+
+    assertEquals(100, policy.nextExecution(null, null, request, 1));
+    assertEquals(100, policy.nextExecution(null, null, request, 2));
+    assertEquals(-1, policy.nextExecution(null, null, request, 3));
+  }
+
+  @Test
+  public void testNextExecutionForWrite() {
+    ReadSpeculativeExecutionPolicy policy = createPolicy(3, Duration.ofMillis(100));
+    Request request = SimpleStatement.newInstance("INSERT INTO act.fact (id) VALUES (?)");
+
+    assertEquals(-1, policy.nextExecution(null, null, request, 1));
+  }
+
+  @Test
+  public void testIsReadWithBoundStatement() {
+    assertTrue(ReadSpeculativeExecutionPolicy.isRead(mockBoundStatement("SELECT * FROM act.fact")));
+    assertTrue(ReadSpeculativeExecutionPolicy.isRead(mockBoundStatement("  select * from act.fact")));
+    assertFalse(ReadSpeculativeExecutionPolicy.isRead(mockBoundStatement("UPDATE act.object_fact_binding_count SET binding_count = binding_count + 1")));
+    assertFalse(ReadSpeculativeExecutionPolicy.isRead(mockBoundStatement("DELETE FROM act.fact WHERE id = ?")));
+  }
+
+  @Test
+  public void testIsReadWithUnknownRequest() {
+    assertFalse(ReadSpeculativeExecutionPolicy.isRead(mock(Request.class)));
+  }
+
+  private ReadSpeculativeExecutionPolicy createPolicy(int maxExecutions, Duration delay) {
+    mockProfile(maxExecutions, delay);
+    return new ReadSpeculativeExecutionPolicy(context, "default");
+  }
+
+  private void mockProfile(int maxExecutions, Duration delay) {
+    when(context.getConfig()).thenReturn(config);
+    when(config.getProfile("default")).thenReturn(profile);
+    when(profile.getInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX)).thenReturn(maxExecutions);
+    when(profile.getDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY)).thenReturn(delay);
+  }
+
+  private BoundStatement mockBoundStatement(String query) {
+    PreparedStatement prepared = mock(PreparedStatement.class);
+    when(prepared.getQuery()).thenReturn(query);
+    BoundStatement statement = mock(BoundStatement.class);
+    when(statement.getPreparedStatement()).thenReturn(prepared);
+    return statement;
+  }
+}
@@ -8,41 +8,80 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class FactEntityTest {
   private static final ObjectMapper mapper = JsonMapper.builder().build();
   private static final ObjectReader reader = mapper.reader();
+  private static final String LEGACY_BINDINGS = "[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":1},{\"objectID\":\"95959968-f2fb-4913-9c0b-fc1b9144b60f\",\"direction\":3}]";
 
   @Test
-  public void setBindingsFromObjects() throws IOException {
+  public void setBindingsFromObjects() {
     List<FactEntity.FactObjectBinding> bindings = Arrays.asList(
             createFactObjectBinding(Direction.FactIsSource),
             createFactObjectBinding(Direction.BiDirectional)
     );
     FactEntity entity = new FactEntity().setBindings(bindings);
 
-    assertFactObjectBindings(bindings, entity.getBindingsStored());
+    assertSame(bindings, entity.getBindings());
+    assertNull(entity.getBindingsStored());
+    assertFalse(entity.hasLegacyBindings());
   }
 
   @Test
-  public void addBindingFromObject() throws IOException {
+  public void addBindingFromObject() {
+    FactEntity.FactObjectBinding first = createFactObjectBinding(Direction.FactIsSource);
+    FactEntity.FactObjectBinding second = createFactObjectBinding(Direction.BiDirectional);
     FactEntity entity = new FactEntity()
-            .addBinding(createFactObjectBinding(Direction.FactIsSource))
-            .addBinding(createFactObjectBinding(Direction.BiDirectional));
+            .addBinding(first)
+            .addBinding(second);
 
-    assertFactObjectBindings(entity.getBindings(), entity.getBindingsStored());
+    assertEquals(Arrays.asList(first, second), entity.getBindings());
+    assertNull(entity.getBindingsStored());
   }
 
   @Test
   public void setBindingsFromString() throws IOException {
-    String bindings = "[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":1},{\"objectID\":\"95959968-f2fb-4913-9c0b-fc1b9144b60f\",\"direction\":3}]";
-    FactEntity entity = new FactEntity().setBindingsStored(bindings);
+    FactEntity entity = new FactEntity().setBindingsStored(LEGACY_BINDINGS);
 
-    assertFactObjectBindings(entity.getBindings(), bindings);
+    assertTrue(entity.hasLegacyBindings());
+    assertFactObjectBindings(entity.getBindings(), LEGACY_BINDINGS);
+  }
+
+  @Test
+  public void setBindingsFromStringWithEmptyNativeBindings() throws IOException {
+    // The driver decodes an unset list column as an empty list.
+    FactEntity entity = new FactEntity()
+            .setBindings(Collections.emptyList())
+            .setBindingsStored(LEGACY_BINDINGS);
+
+    assertTrue(entity.hasLegacyBindings());
+    assertFactObjectBindings(entity.getBindings(), LEGACY_BINDINGS);
+  }
+
+  @Test
+  public void nativeBindingsTakePrecedenceOverString() {
+    List<FactEntity.FactObjectBinding> bindings = Collections.singletonList(createFactObjectBinding(Direction.FactIsDestination));
+    FactEntity entity = new FactEntity()
+            .setBindingsStored(LEGACY_BINDINGS)
+            .setBindings(bindings);
+
+    assertFalse(entity.hasLegacyBindings());
+    assertSame(bindings, entity.getBindings());
+  }
+
+  @Test
+  public void addBindingToLegacyBindings() {
+    FactEntity entity = new FactEntity()
+            .setBindingsStored(LEGACY_BINDINGS)
+            .addBinding(createFactObjectBinding(Direction.FactIsSource));
+
+    assertFalse(entity.hasLegacyBindings());
+    assertEquals(3, entity.getBindings().size());
   }
 
   private FactEntity.FactObjectBinding createFactObjectBinding(Direction direction) {
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.dao.elastic;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
 import org.junit.jupiter.api.Test;
 
@@ -88,4 +89,41 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     assertFactDocument(fact, fetchedFact);
   }
 
+  @Test
+  public void testIndexFactsNullOrEmpty() {
+    assertTrue(getFactSearchManager().indexFacts(null, TimeGlobal).isEmpty());
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(), TimeGlobal).isEmpty());
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(new FactDocument()), TimeGlobal).isEmpty());
+  }
+
+  @Test
+  public void testIndexFactsAndGetFacts() {
+    FactDocument fact1 = createFactDocument(DAY1);
+    FactDocument fact2 = createFactDocument(DAY1);
+    assertEquals(2, getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2), TimeGlobal).size());
+
+    assertFactDocument(fact1, getFactSearchManager().getFact(fact1.getId(), TimeGlobal.getName()));
+    assertFactDocument(fact2, getFactSearchManager().getFact(fact2.getId(), TimeGlobal.getName()));
+  }
+
+  @Test
+  public void testIndexFactsIntoDailyIndices() {
+    FactDocument fact1 = createFactDocument(Instant.parse("2022-03-22T13:13:13Z").toEpochMilli());
+    FactDocument fact2 = createFactDocument(Instant.parse("2022-03-23T13:13:13Z").toEpochMilli());
+    getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2), Daily);
+
+    assertFactDocument(fact1, getFactSearchManager().getFact(fact1.getId(), Daily.getName() + "2022-03-22"));
+    assertFactDocument(fact2, getFactSearchManager().getFact(fact2.getId(), Daily.getName() + "2022-03-23"));
+  }
+
+  @Test
+  public void testIsRetryableStatus() {
+    assertTrue(FactSearchManager.isRetryableStatus(429));
+    assertTrue(FactSearchManager.isRetryableStatus(500));
+    assertTrue(FactSearchManager.isRetryableStatus(503));
+    assertFalse(FactSearchManager.isRetryableStatus(400));
+    assertFalse(FactSearchManager.isRetryableStatus(404));
+    assertFalse(FactSearchManager.isRetryableStatus(409));
+  }
+
 }
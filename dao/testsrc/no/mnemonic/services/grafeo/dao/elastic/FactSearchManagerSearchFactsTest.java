@@ -509,6 +509,31 @@ public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
     assertEquals(3, ListUtils.list(result).size());
   }
 
+  @Test
+  public void testSearchFactsPopulateSearchResultWithApproximateCount() {
+    indexFact(d -> d);
+    indexFact(d -> d);
+    indexFact(d -> d);
+
+    ScrollingSearchResult<UUID> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b
+            .setCountStrategy(FactSearchCriteria.CountStrategy.approximate)));
+    assertEquals(3, result.getCount());
+    assertEquals(3, ListUtils.list(result).size());
+  }
+
+  @Test
+  public void testSearchFactsWithDailyIndicesAndApproximateCount() {
+    FactDocument fact = indexFact(d -> d.setLastSeenTimestamp(DAY2));
+    indexFact(d -> d.setId(fact.getId()).setLastSeenTimestamp(DAY3));
+
+    // The approximate count includes the same Fact from multiple daily indices, the exact count removes duplicates.
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setIndexSelectCriteria(createIndexSelectCriteria(DAY2, DAY3)));
+    assertEquals(1, getFactSearchManager().searchFacts(criteria).getCount());
+    assertEquals(2, getFactSearchManager().searchFacts(criteria.toBuilder()
+            .setCountStrategy(FactSearchCriteria.CountStrategy.approximate)
+            .build()).getCount());
+  }
+
   @Test
   public void testSearchFactsWithDailyIndices() {
     indexFact(d -> d.setLastSeenTimestamp(DAY1));
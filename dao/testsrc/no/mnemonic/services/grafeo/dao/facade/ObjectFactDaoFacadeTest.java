@@ -1,6 +1,7 @@
 package no.mnemonic.services.grafeo.dao.facade;
 
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.criteria.AccessControlCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.IndexSelectCriteria;
@@ -8,6 +9,7 @@ import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactCommentRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
@@ -21,7 +23,10 @@ import no.mnemonic.services.grafeo.dao.elastic.result.SearchResult;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.converters.ObjectAccessSummaryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.helpers.ConcurrentFactLoader;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactExistenceFilter;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedFactResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
@@ -29,9 +34,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -67,10 +75,16 @@ public class ObjectFactDaoFacadeTest {
   @Mock
   private FactCommentRecordConverter factCommentRecordConverter;
   @Mock
+  private ObjectAccessSummaryRecordConverter objectAccessSummaryRecordConverter;
+  @Mock
   private CachedObjectResolver objectResolver;
   @Mock
   private CachedFactResolver factResolver;
   @Mock
+  private FactExistenceFilter factExistenceFilter;
+  @Spy
+  private ConcurrentFactLoader factLoader = new ConcurrentFactLoader();
+  @Mock
   private Consumer<FactRecord> dcReplicationConsumer;
   @InjectMocks
   private ObjectFactDaoFacade dao;
@@ -96,6 +110,57 @@ public class ObjectFactDaoFacadeTest {
     verify(objectResolver).getObject(type, value);
   }
 
+  @Test
+  public void testGetObjectAccessSummaryWithNull() {
+    assertNull(dao.getObjectAccessSummary(null));
+  }
+
+  @Test
+  public void testGetObjectAccessSummaryWithCompleteSummary() {
+    UUID id = UUID.randomUUID();
+    ObjectAccessSummaryEntity entity = new ObjectAccessSummaryEntity().setObjectID(id).setComplete(true);
+    ObjectAccessSummaryRecord record = new ObjectAccessSummaryRecord();
+    when(objectManager.getObjectAccessSummary(id)).thenReturn(entity);
+    when(objectAccessSummaryRecordConverter.fromEntity(entity)).thenReturn(record);
+
+    assertSame(record, dao.getObjectAccessSummary(id));
+    verify(objectManager, never()).fetchObjectFactBindings(any());
+    verify(objectManager, never()).saveObjectAccessSummary(any());
+  }
+
+  @Test
+  public void testGetObjectAccessSummaryRebuildsIncompleteSummary() {
+    UUID objectID = UUID.randomUUID();
+    FactRecord publicFact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()));
+    FactRecord roleBasedFact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setOrganizationID(UUID.randomUUID())
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()));
+    when(objectManager.getObjectAccessSummary(objectID)).thenReturn(new ObjectAccessSummaryEntity().setObjectID(objectID));
+    when(objectManager.fetchObjectFactBindings(objectID)).thenReturn(ListUtils.list(
+            new ObjectFactBindingEntity().setFactID(publicFact.getId()),
+            new ObjectFactBindingEntity().setFactID(roleBasedFact.getId())
+    ).iterator());
+    when(factResolver.getFact(publicFact.getId())).thenReturn(publicFact);
+    when(factResolver.getFact(roleBasedFact.getId())).thenReturn(roleBasedFact);
+    when(objectManager.saveObjectAccessSummary(notNull())).then(i -> i.getArgument(0));
+
+    dao.getObjectAccessSummary(objectID);
+    verify(objectManager).saveObjectAccessSummary(argThat(summary -> {
+      assertEquals(objectID, summary.getObjectID());
+      assertEquals(SetUtils.set(AccessMode.Public, AccessMode.RoleBased), summary.getAccessModes());
+      assertEquals(SetUtils.set(roleBasedFact.getOrganizationID()), summary.getOrganizationIDs());
+      assertEquals(SetUtils.set(roleBasedFact.getAcl().get(0).getSubjectID()), summary.getSubjectIDs());
+      assertTrue(summary.isComplete());
+      return true;
+    }));
+    verify(objectAccessSummaryRecordConverter).fromEntity(notNull());
+  }
+
   @Test
   public void testStoreObjectWithNull() {
     assertNull(dao.storeObject(null));
@@ -233,6 +298,7 @@ public class ObjectFactDaoFacadeTest {
       assertEquals(record.getId(), factExistence.getFactID());
       return true;
     }));
+    verify(factExistenceFilter).put(FactRecordHasher.toHash(record));
   }
 
   @Test
@@ -242,6 +308,7 @@ public class ObjectFactDaoFacadeTest {
             .setDirection(Direction.BiDirectional);
     FactEntity entity = new FactEntity()
             .setId(UUID.randomUUID())
+            .setTimestamp(123456789)
             .addBinding(binding);
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
 
@@ -251,6 +318,25 @@ public class ObjectFactDaoFacadeTest {
       assertEquals(binding.getDirection(), b.getDirection());
       assertEquals(entity.getId(), b.getFactID());
       return true;
+    }), eq(entity.getTimestamp()));
+  }
+
+  @Test
+  public void testStoreFactSavesObjectAccessSummary() {
+    FactRecord record = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceObject(new ObjectRecord().setId(UUID.randomUUID()));
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
+
+    dao.storeFact(record);
+    verify(objectManager).saveObjectAccessSummary(argThat(summary -> {
+      assertEquals(record.getSourceObject().getId(), summary.getObjectID());
+      assertEquals(SetUtils.set(AccessMode.RoleBased), summary.getAccessModes());
+      assertEquals(SetUtils.set(record.getOrganizationID()), summary.getOrganizationIDs());
+      assertFalse(summary.isComplete());
+      return true;
     }));
   }
 
@@ -525,10 +611,21 @@ public class ObjectFactDaoFacadeTest {
     verifyNoInteractions(factResolver);
   }
 
+  @Test
+  public void testRetrieveExistingFactSkipsLookupOfNewFact() {
+    FactRecord record = new FactRecord();
+    String hash = FactRecordHasher.toHash(record);
+
+    assertFalse(dao.retrieveExistingFact(record).isPresent());
+    verify(factExistenceFilter).mightContain(hash);
+    verifyNoInteractions(factResolver);
+  }
+
   @Test
   public void testRetrieveExistingFactNotFound() {
     FactRecord record = new FactRecord();
     String hash = FactRecordHasher.toHash(record);
+    when(factExistenceFilter.mightContain(hash)).thenReturn(true);
 
     assertFalse(dao.retrieveExistingFact(record).isPresent());
     verify(factResolver).getFact(hash);
@@ -538,6 +635,7 @@ public class ObjectFactDaoFacadeTest {
   public void testRetrieveExistingFactFound() {
     FactRecord record = new FactRecord();
     String hash = FactRecordHasher.toHash(record);
+    when(factExistenceFilter.mightContain(hash)).thenReturn(true);
     when(factResolver.getFact(hash)).thenReturn(record);
 
     Optional<FactRecord> result = dao.retrieveExistingFact(record);
@@ -611,6 +709,37 @@ public class ObjectFactDaoFacadeTest {
     verify(factAclEntryRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
+  @Test
+  public void testStoreFactAclEntrySavesObjectAccessSummary() {
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .setSourceObject(new ObjectRecord().setId(UUID.randomUUID()));
+    FactAclEntryRecord entry = new FactAclEntryRecord().setSubjectID(UUID.randomUUID());
+    when(factManager.getFact(fact.getId())).thenReturn(new FactEntity());
+    mockReindexingOfFact(fact);
+
+    dao.storeFactAclEntry(fact, entry);
+    verify(objectManager).saveObjectAccessSummary(argThat(summary -> {
+      assertEquals(fact.getSourceObject().getId(), summary.getObjectID());
+      assertEquals(SetUtils.set(entry.getSubjectID()), summary.getSubjectIDs());
+      return true;
+    }));
+  }
+
+  @Test
+  public void testStoreFactAclEntryForPublicFactSkipsObjectAccessSummary() {
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setSourceObject(new ObjectRecord().setId(UUID.randomUUID()));
+    when(factManager.getFact(fact.getId())).thenReturn(new FactEntity());
+    mockReindexingOfFact(fact);
+
+    dao.storeFactAclEntry(fact, new FactAclEntryRecord().setSubjectID(UUID.randomUUID()));
+    verify(objectManager, never()).saveObjectAccessSummary(any());
+  }
+
   @Test
   public void testStoreFactAclEntryReindexFact() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID());
@@ -652,6 +781,27 @@ public class ObjectFactDaoFacadeTest {
     verify(factCommentRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
+  @Test
+  public void testGetFactsWithoutIds() {
+    assertFalse(dao.getFacts(null).hasNext());
+    assertFalse(dao.getFacts(Collections.emptyList()).hasNext());
+    verifyNoInteractions(factResolver);
+  }
+
+  @Test
+  public void testGetFactsOmitsUnknownFacts() {
+    UUID knownID = UUID.randomUUID();
+    UUID unknownID = UUID.randomUUID();
+    FactRecord fact = new FactRecord().setId(knownID);
+    when(factResolver.getFact(knownID)).thenReturn(fact);
+
+    Iterator<FactRecord> facts = dao.getFacts(ListUtils.list(unknownID, knownID));
+    assertSame(fact, facts.next());
+    assertFalse(facts.hasNext());
+    verify(factResolver).getFact(knownID);
+    verify(factResolver).getFact(unknownID);
+  }
+
   @Test
   public void testRetrieveObjectFactsNoResults() {
     UUID objectID = UUID.randomUUID();
@@ -702,6 +852,36 @@ public class ObjectFactDaoFacadeTest {
     verify(factResolver).getFact(metaFactID);
   }
 
+  @Test
+  public void testRetrieveMetaFactsForMultipleFactsWithoutIds() {
+    assertFalse(dao.retrieveMetaFacts((Collection<UUID>) null).hasNext());
+    assertFalse(dao.retrieveMetaFacts(Collections.<UUID>emptyList()).hasNext());
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testRetrieveMetaFactsForMultipleFacts() {
+    UUID firstFactID = UUID.randomUUID();
+    UUID secondFactID = UUID.randomUUID();
+    UUID firstMetaFactID = UUID.randomUUID();
+    UUID secondMetaFactID = UUID.randomUUID();
+    FactRecord firstMetaFact = new FactRecord().setId(firstMetaFactID).setInReferenceToID(firstFactID);
+    FactRecord secondMetaFact = new FactRecord().setId(secondMetaFactID).setInReferenceToID(secondFactID);
+    when(factManager.fetchMetaFactBindings(firstFactID)).thenReturn(ListUtils.list(new MetaFactBindingEntity()
+            .setFactID(firstFactID)
+            .setMetaFactID(firstMetaFactID)).iterator());
+    when(factManager.fetchMetaFactBindings(secondFactID)).thenReturn(ListUtils.list(new MetaFactBindingEntity()
+            .setFactID(secondFactID)
+            .setMetaFactID(secondMetaFactID)).iterator());
+    when(factResolver.getFact(firstMetaFactID)).thenReturn(firstMetaFact);
+    when(factResolver.getFact(secondMetaFactID)).thenReturn(secondMetaFact);
+
+    Iterator<FactRecord> metaFacts = dao.retrieveMetaFacts(ListUtils.list(firstFactID, secondFactID));
+    assertSame(firstMetaFact, metaFacts.next());
+    assertSame(secondMetaFact, metaFacts.next());
+    assertFalse(metaFacts.hasNext());
+  }
+
 
   private void mockReindexingOfFact(FactRecord fact) {
     // Mock methods required for reindexing.
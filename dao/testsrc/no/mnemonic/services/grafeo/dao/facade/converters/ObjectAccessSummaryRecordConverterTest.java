@@ -0,0 +1,48 @@
+package no.mnemonic.services.grafeo.dao.facade.converters;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.AccessMode;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectAccessSummaryEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectAccessSummaryRecordConverterTest {
+
+  private final ObjectAccessSummaryRecordConverter converter = new ObjectAccessSummaryRecordConverter();
+
+  @Test
+  public void testFromEntityWithNullEntity() {
+    assertNull(converter.fromEntity(null));
+  }
+
+  @Test
+  public void testFromEntityWithEmptyEntity() {
+    ObjectAccessSummaryRecord record = converter.fromEntity(new ObjectAccessSummaryEntity());
+    assertNotNull(record);
+    assertEquals(SetUtils.set(), record.getAccessModes());
+    assertEquals(SetUtils.set(), record.getOrganizationIDs());
+    assertEquals(SetUtils.set(), record.getSubjectIDs());
+  }
+
+  @Test
+  public void testFromEntityWithFullEntity() {
+    ObjectAccessSummaryEntity entity = new ObjectAccessSummaryEntity()
+            .setObjectID(UUID.randomUUID())
+            .addAccessMode(AccessMode.Public)
+            .addAccessMode(AccessMode.RoleBased)
+            .addOrganizationID(UUID.randomUUID())
+            .addSubjectID(UUID.randomUUID());
+
+    ObjectAccessSummaryRecord record = converter.fromEntity(entity);
+    assertNotNull(record);
+    assertEquals(entity.getObjectID(), record.getObjectID());
+    assertEquals(SetUtils.set(FactRecord.AccessMode.Public, FactRecord.AccessMode.RoleBased), record.getAccessModes());
+    assertEquals(entity.getOrganizationIDs(), record.getOrganizationIDs());
+    assertEquals(entity.getSubjectIDs(), record.getSubjectIDs());
+  }
+}
@@ -0,0 +1,202 @@
+package no.mnemonic.services.grafeo.dao.facade.helpers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentFactLoaderTest {
+
+  private final ConcurrentFactLoader loader = new ConcurrentFactLoader()
+          .setThreads(4)
+          .setMaxInFlight(4);
+
+  @AfterEach
+  public void tearDown() {
+    loader.stopComponent();
+  }
+
+  @Test
+  public void testLoadSequentiallyWhenNotStarted() {
+    List<UUID> ids = createIDs(10);
+    assertEquals(ids, drain(loader.load(ids.iterator(), id -> id)));
+  }
+
+  @Test
+  public void testLoadSequentiallyWhenConcurrencyDisabled() {
+    loader.setMaxInFlight(1).startComponent();
+    List<UUID> ids = createIDs(10);
+    assertEquals(ids, drain(loader.load(ids.iterator(), id -> id)));
+  }
+
+  @Test
+  public void testLoadPreservesOrder() {
+    loader.startComponent();
+    List<UUID> ids = createIDs(100);
+    assertEquals(ids, drain(loader.load(ids.iterator(), id -> {
+      sleepRandomly();
+      return id;
+    })));
+  }
+
+  @Test
+  public void testLoadSkipsNullValues() {
+    loader.startComponent();
+    List<UUID> ids = createIDs(10);
+    List<UUID> expected = ListUtils.list(ids.get(1), ids.get(5));
+    assertEquals(expected, drain(loader.load(ids.iterator(), id -> expected.contains(id) ? id : null)));
+  }
+
+  @Test
+  public void testLoadConcurrently() {
+    loader.startComponent();
+    // The first loads wait until the initial read-ahead has been started, i.e. only if they run concurrently all IDs are returned.
+    CountDownLatch latch = new CountDownLatch(2);
+    Iterator<UUID> iterator = loader.load(createIDs(4).iterator(), id -> {
+      latch.countDown();
+      return await(latch) ? id : null;
+    });
+
+    assertEquals(4, drain(iterator).size());
+  }
+
+  @Test
+  public void testLoadPropagatesException() {
+    loader.startComponent();
+    Iterator<UUID> iterator = loader.load(createIDs(10).iterator(), id -> {
+      throw new IllegalArgumentException("test");
+    });
+
+    assertThrows(IllegalArgumentException.class, iterator::hasNext);
+  }
+
+  @Test
+  public void testNextThrowsWhenExhausted() {
+    loader.startComponent();
+    Iterator<UUID> iterator = loader.load(createIDs(1).iterator(), id -> id);
+
+    assertNotNull(iterator.next());
+    assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  public void testLoadRampsUpReadAhead() {
+    loader.startComponent();
+    List<UUID> ids = createIDs(10);
+    AtomicInteger consumed = new AtomicInteger();
+    Iterator<UUID> iterator = loader.load(count(ids.iterator(), consumed), id -> id);
+
+    // Initially only a small number of Facts is loaded ahead of the consumer.
+    assertEquals(ids.get(0), iterator.next());
+    assertEquals(2, consumed.get());
+    // Every consumed Fact widens the read-ahead until the maximum is reached.
+    assertEquals(ids.get(1), iterator.next());
+    assertEquals(4, consumed.get());
+    assertEquals(ids.subList(2, 10), drain(iterator));
+  }
+
+  @Test
+  public void testCloseCancelsPendingLoads() throws Exception {
+    ConcurrentFactLoader singleThreadLoader = new ConcurrentFactLoader()
+            .setThreads(1)
+            .setMaxInFlight(4);
+    singleThreadLoader.startComponent();
+    try {
+      List<UUID> ids = createIDs(10);
+      Set<UUID> loaded = ConcurrentHashMap.newKeySet();
+      CountDownLatch blockedLoadStarted = new CountDownLatch(1);
+      CountDownLatch block = new CountDownLatch(1);
+      CountDownLatch blockedLoadDone = new CountDownLatch(1);
+      ConcurrentFactLoader.CloseableIterator<UUID> iterator = singleThreadLoader.load(ids.iterator(), id -> {
+        loaded.add(id);
+        if (id.equals(ids.get(2))) {
+          blockedLoadStarted.countDown();
+          await(block);
+          blockedLoadDone.countDown();
+        }
+        return id;
+      });
+
+      assertEquals(ids.get(0), iterator.next());
+      assertEquals(ids.get(1), iterator.next());
+      // The third load blocks the only loader thread while the fourth load is still pending.
+      assertTrue(blockedLoadStarted.await(1, TimeUnit.SECONDS));
+      iterator.close();
+      block.countDown();
+      assertTrue(blockedLoadDone.await(1, TimeUnit.SECONDS));
+      Thread.sleep(50);
+
+      assertFalse(loaded.contains(ids.get(3)));
+      assertFalse(iterator.hasNext());
+    } finally {
+      singleThreadLoader.stopComponent();
+    }
+  }
+
+  @Test
+  public void testCloseSequentialIterator() {
+    ConcurrentFactLoader.CloseableIterator<UUID> iterator = loader.load(createIDs(10).iterator(), id -> id);
+
+    assertNotNull(iterator.next());
+    iterator.close();
+    assertFalse(iterator.hasNext());
+  }
+
+  private Iterator<UUID> count(Iterator<UUID> iterator, AtomicInteger counter) {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public UUID next() {
+        counter.incrementAndGet();
+        return iterator.next();
+      }
+    };
+  }
+
+  private List<UUID> createIDs(int count) {
+    return IntStream.range(0, count)
+            .mapToObj(i -> UUID.randomUUID())
+            .collect(Collectors.toList());
+  }
+
+  private <T> List<T> drain(Iterator<T> iterator) {
+    List<T> result = new ArrayList<>();
+    iterator.forEachRemaining(result::add);
+    return result;
+  }
+
+  private void sleepRandomly() {
+    try {
+      Thread.sleep((long) (Math.random() * 5));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(1, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
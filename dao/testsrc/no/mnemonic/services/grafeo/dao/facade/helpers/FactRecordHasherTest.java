@@ -1,9 +1,15 @@
 package no.mnemonic.services.grafeo.dao.facade.helpers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -148,6 +154,33 @@ public class FactRecordHasherTest {
     assertEquals("fb1ed7ed28239f2771a0233ce07566c500108a7c78a2e0bed3983c406033d467", FactRecordHasher.toHash(createFactRecord().setValue("%n")));
   }
 
+  @Test
+  public void testToHashWithMultiByteValues() {
+    for (String value : new String[]{"\u00C6\u00D8\u00C5 \u00E6\u00F8\u00E5", "\u4E2D\u6587", "\uD83D\uDE00", "x\uD800y", "\uDC00", "abc".repeat(1000) + "\u00F8"}) {
+      FactRecord record = createFactRecord().setValue(value);
+      assertEquals(toLegacyHash(record), FactRecordHasher.toHash(record));
+    }
+  }
+
+  @Test
+  public void testToHashMatchesCompatibilityCorpus() throws Exception {
+    // Each line contains the fields of a FactRecord and the hash value calculated by the original string-based algorithm.
+    ObjectMapper mapper = new ObjectMapper();
+    int count = 0;
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            ClassLoader.getSystemResourceAsStream("fact-record-hashes.jsonl"), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        JsonNode entry = mapper.readTree(line);
+        assertEquals(entry.get("hash").textValue(), FactRecordHasher.toHash(toFactRecord(entry)), line);
+        count++;
+      }
+    }
+
+    assertTrue(count > 0);
+  }
+
   @Test
   public void testFormatFactRecordEmpty() {
     String emptyFactRecordString = "typeID=NULL;" +
@@ -190,6 +223,39 @@ public class FactRecordHasherTest {
     assertEquals("1.00", FactRecordHasher.formatFloatingPoint(1));
   }
 
+  private String toLegacyHash(FactRecord record) {
+    return Hashing.sha256()
+            .hashString(FactRecordHasher.formatFactRecord(record), StandardCharsets.UTF_8)
+            .toString();
+  }
+
+  private FactRecord toFactRecord(JsonNode entry) {
+    FactRecord record = new FactRecord()
+            .setTypeID(toUUID(entry.get("typeID")))
+            .setOriginID(toUUID(entry.get("originID")))
+            .setOrganizationID(toUUID(entry.get("organizationID")))
+            .setConfidence(entry.get("confidence").floatValue())
+            .setInReferenceToID(toUUID(entry.get("inReferenceToID")))
+            .setBidirectionalBinding(entry.get("bidirectionalBinding").booleanValue())
+            .setValue(entry.get("value").textValue());
+
+    if (!entry.get("accessMode").isNull()) {
+      record.setAccessMode(FactRecord.AccessMode.valueOf(entry.get("accessMode").textValue()));
+    }
+    if (!entry.get("sourceObjectID").isNull()) {
+      record.setSourceObject(new ObjectRecord().setId(toUUID(entry.get("sourceObjectID"))));
+    }
+    if (!entry.get("destinationObjectID").isNull()) {
+      record.setDestinationObject(new ObjectRecord().setId(toUUID(entry.get("destinationObjectID"))));
+    }
+
+    return record;
+  }
+
+  private UUID toUUID(JsonNode node) {
+    return node.isNull() ? null : UUID.fromString(node.textValue());
+  }
+
   private FactRecord createFactRecord() {
     return new FactRecord()
             .setId(UUID.fromString("00000000-0000-0000-0000-000000000001"))
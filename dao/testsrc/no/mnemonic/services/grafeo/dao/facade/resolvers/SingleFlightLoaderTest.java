@@ -0,0 +1,87 @@
+package no.mnemonic.services.grafeo.dao.facade.resolvers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightLoaderTest {
+
+  private final Map<String, String> cache = new ConcurrentHashMap<>();
+  private final SingleFlightLoader<String, String> loader = new SingleFlightLoader<>(cache);
+
+  @Test
+  public void testComputeIfAbsentReturnsCachedValue() {
+    cache.put("key", "cached");
+    assertEquals("cached", loader.computeIfAbsent("key", key -> fail("Loader must not be called.")));
+  }
+
+  @Test
+  public void testComputeIfAbsentLoadsMissingValue() {
+    assertEquals("loaded", loader.computeIfAbsent("key", key -> "loaded"));
+    assertEquals("loaded", cache.get("key"));
+  }
+
+  @Test
+  public void testComputeIfAbsentDoesNotCacheNull() {
+    assertNull(loader.computeIfAbsent("key", key -> null));
+    assertFalse(cache.containsKey("key"));
+  }
+
+  @Test
+  public void testComputeIfAbsentRethrowsException() {
+    assertThrows(IllegalStateException.class, () -> loader.computeIfAbsent("key", key -> {
+      throw new IllegalStateException();
+    }));
+    // A failed load must not block subsequent loads.
+    assertEquals("loaded", loader.computeIfAbsent("key", key -> "loaded"));
+  }
+
+  @Test
+  public void testComputeIfAbsentCoalescesConcurrentLoads() throws Exception {
+    int threads = 8;
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch finishLoad = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      Future<String> first = executor.submit(() -> loader.computeIfAbsent("key", key -> {
+        loads.incrementAndGet();
+        loadStarted.countDown();
+        awaitUninterruptibly(finishLoad);
+        return "loaded";
+      }));
+      assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+      // All other threads miss while the first load is still in flight.
+      CompletableFuture<?>[] others = new CompletableFuture[threads - 1];
+      for (int i = 0; i < others.length; i++) {
+        others[i] = CompletableFuture.supplyAsync(() -> loader.computeIfAbsent("key", key -> {
+          loads.incrementAndGet();
+          return "other";
+        }), executor);
+      }
+
+      finishLoad.countDown();
+      assertEquals("loaded", first.get(5, TimeUnit.SECONDS));
+      for (CompletableFuture<?> other : others) {
+        assertEquals("loaded", other.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
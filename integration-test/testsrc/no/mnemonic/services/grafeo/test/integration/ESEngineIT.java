@@ -80,7 +80,7 @@ public class ESEngineIT {
     }
 
     // Verify that Hazelcast to ElasticSearch handler has called the DAO to index the Fact.
-    verify(factSearchManager).indexFact(argThat(doc -> Objects.equals(fact.getId(), doc.getId())), notNull());
+    verify(factSearchManager).indexFacts(argThat(docs -> docs.size() == 1 && Objects.equals(fact.getId(), docs.get(0).getId())), notNull());
   }
 
   private boolean factProcessed() {
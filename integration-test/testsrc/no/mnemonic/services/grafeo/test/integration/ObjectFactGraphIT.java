@@ -16,6 +16,7 @@ import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactExistenceFilter;
 import no.mnemonic.services.grafeo.dao.modules.DaoModule;
 import no.mnemonic.services.grafeo.service.contexts.SecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
@@ -386,6 +387,8 @@ public class ObjectFactGraphIT {
       bind(new TypeLiteral<Map<String, UUID>>() {})
               .annotatedWith(DaoCache.class)
               .toInstance(new HashMap<>());
+      // Don't filter lookups of existing Facts.
+      bind(FactExistenceFilter.class).toInstance(factHash -> true);
 
       // Bind SecurityContext to a mock implementation.
       bind(SecurityContext.class).toProvider(() -> mockSecurityContext);
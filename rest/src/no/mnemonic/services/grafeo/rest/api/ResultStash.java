@@ -10,6 +10,7 @@ import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.rest.providers.ObjectMapperResolver;
 
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
@@ -23,6 +24,14 @@ import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
 @Schema(description = "Container for all responses from the API.")
 public class ResultStash<T> {
 
+  /**
+   * Media type of newline-delimited JSON responses. Each result is written as one JSON document per line, followed by
+   * a trailer line containing all fields of {@link ResultStash} except 'data'. This allows clients to process large
+   * results incrementally instead of parsing the whole response at once.
+   */
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+  public static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+
   @Schema(description = "Status code returned from API", example = "200", requiredMode = REQUIRED)
   private final int responseCode;
   @Schema(description = "Maximum number of returned results", example = "25", requiredMode = REQUIRED)
@@ -92,6 +101,34 @@ public class ResultStash<T> {
             .buildResponse();
   }
 
+  public static <T> Response buildResponse(ResultSet<T> result, HttpHeaders headers) {
+    Builder<Object> builder = ResultStash.builder()
+            .setLimit(result.getLimit())
+            .setCount(result.getCount())
+            .setData(result);
+    return acceptsNdjson(headers) ? builder.buildNdjsonResponse() : builder.buildResponse();
+  }
+
+  /**
+   * Determines whether a client prefers newline-delimited JSON over normal JSON. Only an explicitly requested
+   * {@link #APPLICATION_NDJSON} results in newline-delimited JSON, wildcards always fall back to normal JSON.
+   *
+   * @param headers Headers of the current request
+   * @return True if newline-delimited JSON should be returned
+   */
+  static boolean acceptsNdjson(HttpHeaders headers) {
+    if (headers == null) return false;
+
+    // Acceptable media types are sorted by the client's preference.
+    for (MediaType type : headers.getAcceptableMediaTypes()) {
+      if (type.isWildcardType() || type.isWildcardSubtype()) return false;
+      if (APPLICATION_NDJSON_TYPE.isCompatible(type)) return true;
+      if (MediaType.APPLICATION_JSON_TYPE.isCompatible(type)) return false;
+    }
+
+    return false;
+  }
+
   public static <T> Builder<T> builder() {
     return new Builder<>();
   }
@@ -126,6 +163,39 @@ public class ResultStash<T> {
               .build();
     }
 
+    public Response buildNdjsonResponse() {
+      return Response
+              .status(status)
+              .type(APPLICATION_NDJSON_TYPE)
+              .entity((StreamingOutput) output -> {
+                try (JsonGenerator gen = ObjectMapperResolver.getInstance().getFactory().createGenerator(output)) {
+                  // Separate root values by newlines instead of the default space.
+                  gen.setRootValueSeparator(null);
+
+                  // Write one line per result. This will fetch all results from the service layer but only holds
+                  // a single result in memory at a time.
+                  int size = writeLines(data, gen);
+
+                  // Write trailer line with the metadata which is only known after all results have been written.
+                  gen.writeStartObject();
+                  gen.writeNumberField("responseCode", status.getStatusCode());
+                  gen.writeNumberField("limit", limit);
+                  gen.writeNumberField("count", count);
+                  gen.writeNumberField("size", size);
+                  gen.writeObjectField("messages", messages);
+                  gen.writeEndObject();
+                  gen.writeRaw('\n');
+                  gen.flush();
+                } finally {
+                  // Ensure that resources are released!
+                  if (data instanceof Closeable closeable) {
+                    closeable.close();
+                  }
+                }
+              })
+              .build();
+    }
+
     public Builder<T> setStatus(Response.Status status) {
       this.status = status;
       return this;
@@ -182,6 +252,31 @@ public class ResultStash<T> {
       this.messages = ListUtils.addToList(this.messages, error);
       return this;
     }
+
+    private static int writeLines(Object data, JsonGenerator gen) throws IOException {
+      Iterator iterator;
+      if (data instanceof Iterable) {
+        iterator = ((Iterable) data).iterator();
+      } else if (data instanceof Iterator) {
+        iterator = (Iterator) data;
+      } else {
+        // Not a collection, write single object as-is and set 'size' to 0 (same as ResultStashSerializer).
+        if (data != null) {
+          gen.writeObject(data);
+          gen.writeRaw('\n');
+        }
+        return 0;
+      }
+
+      int size = 0;
+      while (iterator.hasNext()) {
+        gen.writeObject(iterator.next());
+        gen.writeRaw('\n');
+        size++;
+      }
+
+      return size;
+    }
   }
 
   /**
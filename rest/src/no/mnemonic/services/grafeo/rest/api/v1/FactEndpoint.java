@@ -14,6 +14,7 @@ import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
 import no.mnemonic.services.grafeo.api.exceptions.ObjectNotFoundException;
 import no.mnemonic.services.grafeo.api.model.v1.AclEntry;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactResult;
 import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.model.v1.FactComment;
 import no.mnemonic.services.grafeo.api.request.v1.*;
@@ -28,6 +29,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.time.Instant;
@@ -85,7 +88,7 @@ public class FactEndpoint {
   @POST
   @Path("/search")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Search for Facts.",
           description = """
@@ -128,9 +131,10 @@ public class FactEndpoint {
   })
   @RolesAllowed("viewGrafeoFact")
   public Response searchFacts(
-          @Parameter(description = "Request to search for Facts.") @NotNull @Valid SearchFactRequest request
+          @Parameter(description = "Request to search for Facts.") @NotNull @Valid SearchFactRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchFacts(credentialsResolver.getRequestHeader(), request));
+    return buildResponse(service.searchFacts(credentialsResolver.getRequestHeader(), request), headers);
   }
 
   @POST
@@ -177,6 +181,39 @@ public class FactEndpoint {
             .buildResponse();
   }
 
+  @POST
+  @Path("/bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(
+          summary = "Create multiple new Facts at once.",
+          description = """
+                  This operation creates multiple new Facts with one request (at most 1000 Facts per request). Every
+                  Fact is handled exactly like when it is created with the single Fact operation, however, types,
+                  Origins, Organizations, Objects and Subjects shared by the requested Facts are only resolved once.
+                  
+                  The Facts are created independently of each other. If one Fact cannot be created, e.g. because it
+                  doesn't pass validation or the user isn't allowed to create it, the other Facts are still created.
+                  The response contains one result per requested Fact (in the same order as the request) holding either
+                  the created Fact or the errors which prevented creating it. The results are streamed to the client.
+                  """
+  )
+  @ApiResponses({
+          @ApiResponse(
+                  responseCode = "200",
+                  description = "Facts were processed, see the individual results.",
+                  content = @Content(schema = @Schema(implementation = ResultStashListCreateFactResult.class))),
+          @ApiResponse(responseCode = "401", description = "User could not be authenticated."),
+          @ApiResponse(responseCode = "403", description = "User is not allowed to perform this operation."),
+          @ApiResponse(responseCode = "412", description = "Any parameter has an invalid format.")
+  })
+  @RolesAllowed("addGrafeoFact")
+  public Response createFacts(
+          @Parameter(description = "Request to create Facts.") @NotNull @Valid CreateFactsRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return buildResponse(service.createFacts(credentialsResolver.getRequestHeader(), request));
+  }
+
   @GET
   @Path("/uuid/{fact}/meta")
   @Produces(MediaType.APPLICATION_JSON)
@@ -446,6 +483,9 @@ public class FactEndpoint {
   static class ResultStashListFact extends ResultStash<List<Fact>> {
   }
 
+  private static class ResultStashListCreateFactResult extends ResultStash<List<CreateFactResult>> {
+  }
+
   private static class ResultStashFactComment extends ResultStash<FactComment> {
   }
 
@@ -26,6 +26,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.time.Instant;
@@ -120,7 +122,7 @@ public class ObjectEndpoint {
   @POST
   @Path("/uuid/{id}/facts")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Retrieve Facts bound to a specific Object.",
           description = """
@@ -145,15 +147,16 @@ public class ObjectEndpoint {
   @RolesAllowed("viewGrafeoFact")
   public Response searchObjectFactsById(
           @PathParam("id") @Parameter(description = "UUID of Object.") @NotNull @Valid UUID id,
-          @Parameter(description = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request
+          @Parameter(description = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjectFacts(credentialsResolver.getRequestHeader(), request.setObjectID(id)));
+    return buildResponse(service.searchObjectFacts(credentialsResolver.getRequestHeader(), request.setObjectID(id)), headers);
   }
 
   @POST
   @Path("/{type}/{value}/facts")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Retrieve Facts bound to a specific Object.",
           description = """
@@ -179,15 +182,16 @@ public class ObjectEndpoint {
   public Response searchObjectFactsByTypeValue(
           @PathParam("type") @Parameter(description = "Type name of Object.") @NotBlank String type,
           @PathParam("value") @Parameter(description = "Value of Object.") @NotBlank String value,
-          @Parameter(description = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request
+          @Parameter(description = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjectFacts(credentialsResolver.getRequestHeader(), request.setObjectType(type).setObjectValue(value)));
+    return buildResponse(service.searchObjectFacts(credentialsResolver.getRequestHeader(), request.setObjectType(type).setObjectValue(value)), headers);
   }
 
   @POST
   @Path("/search")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Search for Objects.",
           description = """
@@ -236,9 +240,10 @@ public class ObjectEndpoint {
   })
   @RolesAllowed("viewGrafeoFact")
   public Response searchObjects(
-          @Parameter(description = "Request to search for Objects.") @NotNull @Valid SearchObjectRequest request
+          @Parameter(description = "Request to search for Objects.") @NotNull @Valid SearchObjectRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjects(credentialsResolver.getRequestHeader(), request));
+    return buildResponse(service.searchObjects(credentialsResolver.getRequestHeader(), request), headers);
   }
 
   private Long parseTimestamp(String parameter, String timestamp) throws InvalidArgumentException {
@@ -24,6 +24,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.UUID;
@@ -46,7 +48,7 @@ public class TraverseEndpoint {
   @POST
   @Path("/object/{id}")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Traverse the Object/Fact graph starting at a specific Object.",
           description = """
@@ -98,17 +100,18 @@ public class TraverseEndpoint {
   @RolesAllowed("traverseGrafeoFact")
   public Response traverseByObjectId(
           @PathParam("id") @Parameter(description = "UUID of Object.") @NotNull @Valid UUID id,
-          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphRequest request
+          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
     return buildResponse(service.traverse(
             credentialsResolver.getRequestHeader(),
-            TraverseGraphByObjectsRequest.from(request, id.toString())));
+            TraverseGraphByObjectsRequest.from(request, id.toString())), headers);
   }
 
   @POST
   @Path("/object/{type}/{value}")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Traverse the Object/Fact graph starting at a specific Object.",
           description = """
@@ -131,17 +134,18 @@ public class TraverseEndpoint {
   public Response traverseByObjectTypeValue(
           @PathParam("type") @Parameter(description = "Type name of Object.") @NotBlank String type,
           @PathParam("value") @Parameter(description = "Value of Object.") @NotBlank String value,
-          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphRequest request
+          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
     return buildResponse(service.traverse(
             credentialsResolver.getRequestHeader(),
-            TraverseGraphByObjectsRequest.from(request, type + "/" + value)));
+            TraverseGraphByObjectsRequest.from(request, type + "/" + value)), headers);
   }
 
   @POST
   @Path("/objects")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Traverse the Object/Fact graph starting at a list of Objects.",
           description = """
@@ -164,15 +168,16 @@ public class TraverseEndpoint {
   })
   @RolesAllowed("traverseGrafeoFact")
   public Response traverseByObjects(
-          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphByObjectsRequest request
+          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphByObjectsRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
-    return buildResponse(service.traverse(credentialsResolver.getRequestHeader(), request));
+    return buildResponse(service.traverse(credentialsResolver.getRequestHeader(), request), headers);
   }
 
   @POST
   @Path("/objects/search")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, ResultStash.APPLICATION_NDJSON})
   @Operation(
           summary = "Traverse the Object/Fact graph after performing an Object search.",
           description = """
@@ -199,8 +204,9 @@ public class TraverseEndpoint {
   })
   @RolesAllowed("traverseGrafeoFact")
   public Response traverseByObjectSearch(
-          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphByObjectSearchRequest request
+          @Parameter(description = "Request to traverse graph.") @NotNull @Valid TraverseGraphByObjectSearchRequest request,
+          @Context HttpHeaders headers
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
-    return buildResponse(service.traverse(credentialsResolver.getRequestHeader(), request));
+    return buildResponse(service.traverse(credentialsResolver.getRequestHeader(), request), headers);
   }
 }
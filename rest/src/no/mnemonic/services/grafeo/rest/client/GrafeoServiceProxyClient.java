@@ -5,12 +5,14 @@ import no.mnemonic.commons.metrics.MetricAspect;
 import no.mnemonic.commons.metrics.MetricException;
 import no.mnemonic.commons.metrics.Metrics;
 import no.mnemonic.commons.metrics.MetricsGroup;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.ServiceTimeOutException;
 import no.mnemonic.services.common.api.proxy.client.ServiceClient;
 import no.mnemonic.services.common.api.proxy.client.ServiceV1HttpClient;
 import no.mnemonic.services.common.api.proxy.serializer.Serializer;
 import no.mnemonic.services.common.api.proxy.serializer.XStreamSerializer;
 import no.mnemonic.services.grafeo.api.service.v1.GrafeoService;
+import no.mnemonic.services.grafeo.api.service.v1.XStreamBinarySerializer;
 
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
@@ -26,6 +28,25 @@ import java.util.concurrent.atomic.AtomicReference;
 @Singleton
 public class GrafeoServiceProxyClient implements Provider<GrafeoService>, MetricAspect {
 
+  // Common Java classes used in responses. Need to explicitly define Set/List because
+  // XStream doesn't provide default converters for UnmodifiableSet/UnmodifiableList.
+  // Additionally, allow all response classes defined in the API (including exceptions).
+  private static final Set<Class<?>> ALLOWED_CLASSES = SetUtils.set(
+          String.class,
+          UUID.class,
+          Set.class,
+          List.class,
+          ServiceTimeOutException.class
+  );
+  private static final Set<String> ALLOWED_CLASSES_REGEX = SetUtils.set(
+          "java.util.Collections\\$EmptySet",
+          "java.util.Collections\\$EmptyList",
+          "java.util.Collections\\$UnmodifiableSet",
+          "java.util.Collections\\$UnmodifiableList",
+          "no.mnemonic.services.grafeo.api.model.*",
+          "no.mnemonic.services.grafeo.api.exceptions.*"
+  );
+
   private final AtomicReference<Instance> instance = new AtomicReference<>();
 
   private final String baseURI;
@@ -34,6 +55,7 @@ public class GrafeoServiceProxyClient implements Provider<GrafeoService>, Metric
   private final int expeditePort;
 
   private int maxConcurrentRequests = 20;
+  private boolean binarySerializer;
 
   @Inject
   public GrafeoServiceProxyClient(
@@ -77,29 +99,24 @@ public class GrafeoServiceProxyClient implements Provider<GrafeoService>, Metric
     ServiceClient<GrafeoService> serviceClient = ServiceClient.<GrafeoService>builder()
             .setProxyInterface(GrafeoService.class)
             .setV1HttpClient(httpClient)
-            .setSerializer(createXStreamSerializer())
+            .setSerializer(binarySerializer ? createXStreamBinarySerializer() : createXStreamSerializer())
             .build();
     return new Instance(serviceClient, httpClient);
   }
 
   private Serializer createXStreamSerializer() {
-    // XStreamSerializer is the only serializer supported by the server.
-    return XStreamSerializer.builder()
-            // Common Java classes used in responses. Need to explicitly define Set/List because
-            // XStream doesn't provide default converters for UnmodifiableSet/UnmodifiableList.
-            .setAllowedClass(String.class)
-            .setAllowedClass(UUID.class)
-            .setAllowedClass(Set.class)
-            .setAllowedClass(List.class)
-            .setAllowedClassesRegex("java.util.Collections\\$EmptySet")
-            .setAllowedClassesRegex("java.util.Collections\\$EmptyList")
-            .setAllowedClassesRegex("java.util.Collections\\$UnmodifiableSet")
-            .setAllowedClassesRegex("java.util.Collections\\$UnmodifiableList")
-            // Allow all response classes defined in the API (including exceptions).
-            .setAllowedClass(ServiceTimeOutException.class)
-            .setAllowedClassesRegex("no.mnemonic.services.grafeo.api.model.*")
-            .setAllowedClassesRegex("no.mnemonic.services.grafeo.api.exceptions.*")
-            .build();
+    XStreamSerializer.XStreamSerializerBuilder builder = XStreamSerializer.builder();
+    ALLOWED_CLASSES.forEach(builder::setAllowedClass);
+    ALLOWED_CLASSES_REGEX.forEach(builder::setAllowedClassesRegex);
+    return builder.build();
+  }
+
+  private Serializer createXStreamBinarySerializer() {
+    // Uses the same white-list as the XML-based serializer. The server accepts both formats.
+    XStreamBinarySerializer.Builder builder = XStreamBinarySerializer.builder();
+    ALLOWED_CLASSES.forEach(builder::setAllowedClass);
+    ALLOWED_CLASSES_REGEX.forEach(builder::setAllowedClassesRegex);
+    return builder.build();
   }
 
   private record Instance(ServiceClient<GrafeoService> serviceClient, ServiceV1HttpClient httpClient) {
@@ -111,4 +128,11 @@ public class GrafeoServiceProxyClient implements Provider<GrafeoService>, Metric
     this.maxConcurrentRequests = maxConcurrentRequests;
     return this;
   }
+
+  @Inject(optional = true)
+  public GrafeoServiceProxyClient setBinarySerializer(
+          @Named("grafeo.service.client.binary.serializer") boolean binarySerializer) {
+    this.binarySerializer = binarySerializer;
+    return this;
+  }
 }
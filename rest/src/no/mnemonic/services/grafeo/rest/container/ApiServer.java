@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.rest.container;
 
+import com.google.inject.Inject;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
@@ -10,19 +11,24 @@ import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
 
-import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 public class ApiServer implements LifecycleAspect {
 
   private static final Logger logger = Logging.getLogger(ApiServer.class);
 
+  private static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
   private final int port;
   private final GuiceResteasyBootstrapServletContextListener listener;
   private final Server server = new Server();
 
+  private boolean compressionEnabled = true;
+  private int compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
+
   @Inject
   public ApiServer(@Named("grafeo.api.server.port") String port, GuiceResteasyBootstrapServletContextListener listener) {
     this.port = Integer.parseInt(port);
@@ -45,7 +51,7 @@ public class ApiServer implements LifecycleAspect {
 
     // Starting up Jetty to serve the REST API.
     server.addConnector(connector);
-    server.setHandler(servletHandler);
+    server.setHandler(compressionEnabled ? createGzipHandler(servletHandler) : servletHandler);
 
     if (!LambdaUtils.tryTo(server::start, ex -> logger.error(ex, "Failed to start REST API."))) {
       throw new IllegalStateException("Failed to start REST API.");
@@ -58,4 +64,27 @@ public class ApiServer implements LifecycleAspect {
     LambdaUtils.tryTo(server::stop, ex -> logger.error(ex, "Failed to cleanly shutdown REST API."));
   }
 
+  @Inject(optional = true)
+  public ApiServer setCompressionEnabled(@Named("grafeo.api.compression.enabled") boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public ApiServer setCompressionMinSize(@Named("grafeo.api.compression.min.size") int compressionMinSize) {
+    this.compressionMinSize = compressionMinSize;
+    return this;
+  }
+
+  private GzipHandler createGzipHandler(ServletContextHandler servletHandler) {
+    // Compress responses on the fly for clients sending 'Accept-Encoding: gzip'. The handler compresses the output
+    // stream chunk by chunk, thus, responses streamed by ResultStash are never buffered completely in memory.
+    GzipHandler gzipHandler = new GzipHandler();
+    gzipHandler.setMinGzipSize(compressionMinSize);
+    // By default only GET requests are compressed, but search and traversal endpoints use POST.
+    gzipHandler.setIncludedMethods("GET", "POST");
+    gzipHandler.setHandler(servletHandler);
+    return gzipHandler;
+  }
+
 }
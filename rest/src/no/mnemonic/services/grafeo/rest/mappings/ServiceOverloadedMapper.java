@@ -0,0 +1,21 @@
+package no.mnemonic.services.grafeo.rest.mappings;
+
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
+import no.mnemonic.services.grafeo.rest.api.ResultStash;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ServiceOverloadedMapper implements ExceptionMapper<ServiceOverloadedException> {
+
+  @Override
+  public Response toResponse(ServiceOverloadedException ex) {
+    return ResultStash.builder()
+            .setStatus(Response.Status.SERVICE_UNAVAILABLE)
+            .addActionError(ex.getMessage(), ex.getMessageTemplate())
+            .buildResponse();
+  }
+
+}
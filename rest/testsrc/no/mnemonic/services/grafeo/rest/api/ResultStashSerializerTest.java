@@ -119,6 +119,42 @@ public class ResultStashSerializerTest {
     assertEquals(1, result.get("size").asInt());
   }
 
+  @Test
+  public void testNdjsonSerializationOfResultSet() throws Exception {
+    String ndjson = toJson(ResultStash.builder()
+            .setCount(25)
+            .setLimit(100)
+            .setData(StreamingResultSet.<Fact>builder()
+                    .setValues(ListUtils.list(
+                            Fact.builder().setId(UUID.randomUUID()).build(),
+                            Fact.builder().setId(UUID.randomUUID()).build()))
+                    .build())
+            .buildNdjsonResponse());
+    String[] lines = ndjson.split("\n");
+
+    assertEquals(3, lines.length);
+    assertTrue(mapper.readTree(lines[0]).get("id").isTextual());
+    assertTrue(mapper.readTree(lines[1]).get("id").isTextual());
+
+    JsonNode trailer = mapper.readTree(lines[2]);
+    assertEquals(200, trailer.get("responseCode").asInt());
+    assertEquals(25, trailer.get("count").asInt());
+    assertEquals(100, trailer.get("limit").asInt());
+    assertEquals(2, trailer.get("size").asInt());
+    assertTrue(ndjson.endsWith("\n"));
+  }
+
+  @Test
+  public void testNdjsonSerializationOfEmptyResult() throws Exception {
+    String ndjson = toJson(ResultStash.builder()
+            .setData(ListUtils.list())
+            .buildNdjsonResponse());
+    String[] lines = ndjson.split("\n");
+
+    assertEquals(1, lines.length);
+    assertEquals(0, mapper.readTree(lines[0]).get("size").asInt());
+  }
+
   private String toJson(Response response) throws Exception {
     try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
       ((StreamingOutput) response.getEntity()).write(baos);
@@ -1,19 +1,29 @@
 package no.mnemonic.services.grafeo.rest.api.v1;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import no.mnemonic.services.grafeo.api.model.v1.AclEntry;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactError;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactResult;
 import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.model.v1.FactComment;
 import no.mnemonic.services.grafeo.api.request.v1.*;
 import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
 import no.mnemonic.services.grafeo.rest.AbstractEndpointTest;
+import no.mnemonic.services.grafeo.rest.api.ResultStash;
 import org.junit.jupiter.api.Test;
 
 import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -51,6 +61,52 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getService(), times(1)).searchFacts(notNull(), isA(SearchFactRequest.class));
   }
 
+  @Test
+  public void testSearchFactsAsNdjson() throws Exception {
+    when(getService().searchFacts(any(), isA(SearchFactRequest.class))).then(i -> StreamingResultSet.<Fact>builder().setCount(5).setValues(createFacts()).build());
+
+    Response response = target("/v1/fact/search").request(ResultStash.APPLICATION_NDJSON).post(Entity.json(new SearchFactRequest()));
+    assertEquals(200, response.getStatus());
+    assertTrue(ResultStash.APPLICATION_NDJSON_TYPE.isCompatible(response.getMediaType()));
+
+    String[] lines = response.readEntity(String.class).split("\n");
+    assertEquals(4, lines.length);
+    JsonNode trailer = new ObjectMapper().readTree(lines[3]);
+    assertEquals(5, trailer.get("count").asInt());
+    assertEquals(3, trailer.get("size").asInt());
+
+    verify(getService(), times(1)).searchFacts(notNull(), isA(SearchFactRequest.class));
+  }
+
+  @Test
+  public void testSearchFactsPrefersJson() throws Exception {
+    when(getService().searchFacts(any(), isA(SearchFactRequest.class))).then(i -> StreamingResultSet.<Fact>builder().setValues(createFacts()).build());
+
+    Response response = target("/v1/fact/search").request("*/*").post(Entity.json(new SearchFactRequest()));
+    assertEquals(200, response.getStatus());
+    assertTrue(MediaType.APPLICATION_JSON_TYPE.isCompatible(response.getMediaType()));
+    assertEquals(3, getPayload(response).size());
+  }
+
+  @Test
+  public void testSearchFactsCompressed() throws Exception {
+    List<Fact> facts = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      facts.add(Fact.builder().setId(UUID.randomUUID()).setValue("value").build());
+    }
+    when(getService().searchFacts(any(), isA(SearchFactRequest.class))).then(i -> StreamingResultSet.<Fact>builder().setValues(facts).build());
+
+    Response response = target("/v1/fact/search").request()
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .post(Entity.json(new SearchFactRequest()));
+    assertEquals(200, response.getStatus());
+    assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+
+    try (InputStream payload = new GZIPInputStream(response.readEntity(InputStream.class))) {
+      assertEquals(100, new ObjectMapper().readTree(payload).get("data").size());
+    }
+  }
+
   @Test
   public void testCreateFact() throws Exception {
     UUID id = UUID.randomUUID();
@@ -63,6 +119,34 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getService(), times(1)).createFact(notNull(), isA(CreateFactRequest.class));
   }
 
+  @Test
+  public void testCreateFactsInBulk() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(getService().createFacts(any(), isA(CreateFactsRequest.class))).then(i -> {
+      assertEquals(2, i.<CreateFactsRequest>getArgument(1).getFacts().size());
+      return StreamingResultSet.<CreateFactResult>builder()
+              .setCount(2)
+              .setValues(List.of(
+                      CreateFactResult.builder().setIndex(0).setFact(Fact.builder().setId(id).build()).build(),
+                      CreateFactResult.builder().setIndex(1).addError(new CreateFactError("message", "template", "value", "invalid")).build()
+              ))
+              .build();
+    });
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createCreateFactRequest())
+            .addFact(createCreateFactRequest());
+    Response response = target("/v1/fact/bulk").request().post(Entity.json(request));
+    assertEquals(200, response.getStatus());
+
+    JsonNode payload = getPayload(response);
+    assertEquals(2, payload.size());
+    assertEquals(id.toString(), payload.get(0).get("fact").get("id").textValue());
+    assertEquals("template", payload.get(1).get("errors").get(0).get("messageTemplate").textValue());
+
+    verify(getService(), times(1)).createFacts(notNull(), isA(CreateFactsRequest.class));
+  }
+
   @Test
   public void testGetMetaFacts() throws Exception {
     UUID fact = UUID.randomUUID();
@@ -103,6 +103,13 @@ public class ExceptionMappingsTest extends AbstractEndpointTest {
     assertMessages(getMessages(response), "Request timed out, service may be overloaded or unavailable. Please try again later.", "service.timeout");
   }
 
+  @Test
+  public void testServiceOverloadedMapperReturns503() throws Exception {
+    Response response = executeRequest(new ServiceOverloadedException("message", "template"));
+    assertEquals(503, response.getStatus());
+    assertMessages(getMessages(response), "message", "template");
+  }
+
   @Test
   public void testFailedRequestValidationReturns412() throws Exception {
     CreateFactRequest request = new CreateFactRequest();
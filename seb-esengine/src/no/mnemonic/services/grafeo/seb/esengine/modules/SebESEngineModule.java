@@ -7,7 +7,9 @@ import no.mnemonic.messaging.documentchannel.DocumentSource;
 import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
 import no.mnemonic.services.grafeo.seb.esengine.v1.consumers.FactConsumer;
 import no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactHazelcastToElasticSearchHandler;
+import no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToElasticSearchHandler;
 import no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
 import no.mnemonic.services.grafeo.seb.esengine.v1.providers.FactKafkaSourceProvider;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
@@ -20,6 +22,8 @@ public class SebESEngineModule extends AbstractModule {
             .in(Scopes.SINGLETON);
     bind(FactKafkaToHazelcastHandler.class);
     bind(FactHazelcastToElasticSearchHandler.class);
+    bind(FactKafkaToElasticSearchHandler.class);
+    bind(AdaptiveIndexingController.class);
     bind(new TypeLiteral<TransactionalConsumer<FactSEB>>() {}).to(FactConsumer.class);
   }
 }
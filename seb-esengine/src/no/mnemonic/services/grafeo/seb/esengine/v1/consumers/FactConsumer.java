@@ -7,16 +7,19 @@ import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
 import no.mnemonic.services.grafeo.seb.esengine.v1.converters.FactConverter;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
 
 /**
- * Component which consumes {@link FactSEB} models, converts them to {@link FactDocument}, and indexes them into ElasticSearch.
+ * Component which consumes {@link FactSEB} models, converts them to {@link FactDocument}, and bulk indexes them into ElasticSearch.
  */
 public class FactConsumer implements TransactionalConsumer<FactSEB> {
 
@@ -24,28 +27,36 @@ public class FactConsumer implements TransactionalConsumer<FactSEB> {
 
   private final FactSearchManager factSearchManager;
   private final FactConverter factConverter;
+  private final AdaptiveIndexingController indexingController;
 
   @Inject
-  public FactConsumer(FactSearchManager factSearchManager, FactConverter factConverter) {
+  public FactConsumer(FactSearchManager factSearchManager, FactConverter factConverter, AdaptiveIndexingController indexingController) {
     this.factSearchManager = factSearchManager;
     this.factConverter = factConverter;
+    this.indexingController = indexingController;
   }
 
   @Override
   public void consume(Collection<FactSEB> items) {
     if (CollectionUtils.isEmpty(items)) return;
 
+    // Group Facts by their target index and index each group with bulk requests sized by the controller.
+    List<FactDocument> timeGlobal = new ArrayList<>();
+    List<FactDocument> daily = new ArrayList<>();
     for (FactSEB seb : items) {
       FactDocument document = factConverter.apply(seb);
       if (document != null) {
         LOGGER.debug("Indexing Fact with id = %s into ElasticSearch.", document.getId());
         if (seb.isSet(FactSEB.Flag.TimeGlobalIndex)) {
-          factSearchManager.indexFact(document, TimeGlobal);
+          timeGlobal.add(document);
         } else {
-          factSearchManager.indexFact(document, Daily);
+          daily.add(document);
         }
       }
     }
+
+    indexingController.index(timeGlobal, bulk -> factSearchManager.indexFacts(bulk, TimeGlobal));
+    indexingController.index(daily, bulk -> factSearchManager.indexFacts(bulk, Daily));
   }
 
   @Override
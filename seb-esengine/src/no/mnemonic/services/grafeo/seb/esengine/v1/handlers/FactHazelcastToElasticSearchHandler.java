@@ -1,27 +1,183 @@
 package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
 
+import com.google.inject.Inject;
 import com.hazelcast.core.HazelcastInstance;
-import no.mnemonic.services.common.hazelcast.consumer.HazelcastTransactionalConsumerHandler;
+import com.hazelcast.transaction.TransactionContext;
+import com.hazelcast.transaction.TransactionalQueue;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.*;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
 import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
-import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
 
 /**
  * Component which fetches {@link FactSEB} models from a Hazelcast queue and indexes them into ElasticSearch.
+ * <p>
+ * The number of workers is only an upper bound. How many workers write to ElasticSearch concurrently, and with which
+ * bulk size, is decided by {@link AdaptiveIndexingController} based on the observed indexing performance. Every worker
+ * first acquires a slot from the controller and only afterwards opens a queue transaction and takes up to the current
+ * bulk size of Facts from the queue. The transaction is committed once the Facts have been indexed, and rolled back
+ * otherwise, thus, no Fact is lost. Workers which have to wait for the controller don't consume from the queue which
+ * propagates backpressure to Kafka.
  */
 @Singleton
-public class FactHazelcastToElasticSearchHandler extends HazelcastTransactionalConsumerHandler<FactSEB> {
+public class FactHazelcastToElasticSearchHandler implements LifecycleAspect, MetricAspect {
 
-  private static final int WORKER_COUNT = 4;
+  private static final Logger LOGGER = Logging.getLogger(FactHazelcastToElasticSearchHandler.class);
+
+  private static final int DEFAULT_WORKER_COUNT = 8;
+  private static final long POLL_TIMEOUT_MILLIS = 1000;
+  private static final long FAILURE_BACKOFF_MILLIS = 1000;
+
+  private final HazelcastInstance hazelcastInstance;
+  private final Provider<TransactionalConsumer<FactSEB>> consumerProvider;
+  private final AdaptiveIndexingController indexingController;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final LongAdder batchCount = new LongAdder();
+  private final LongAdder documentCount = new LongAdder();
+  private final LongAdder failureCount = new LongAdder();
+  private final PerformanceMonitor indexMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+
+  private int workerCount = DEFAULT_WORKER_COUNT;
+  private ExecutorService executor;
 
   @Inject
-  public FactHazelcastToElasticSearchHandler(HazelcastInstance hazelcastInstance, Provider<TransactionalConsumer<FactSEB>> consumerProvider) {
-    super(hazelcastInstance, FACT_HAZELCAST_QUEUE_NAME, consumerProvider::get);
-    super.setWorkerCount(WORKER_COUNT);
+  public FactHazelcastToElasticSearchHandler(HazelcastInstance hazelcastInstance,
+                                             Provider<TransactionalConsumer<FactSEB>> consumerProvider,
+                                             AdaptiveIndexingController indexingController) {
+    this.hazelcastInstance = hazelcastInstance;
+    this.consumerProvider = consumerProvider;
+    this.indexingController = indexingController;
+  }
+
+  @Override
+  public void startComponent() {
+    running.set(true);
+    executor = Executors.newFixedThreadPool(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      executor.submit(this::work);
+    }
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor == null) return;
+
+    running.set(false);
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOGGER.warning("Workers did not stop in time. Force shutdown.");
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("batch.count", batchCount.longValue())
+            .addData("document.count", documentCount.longValue())
+            .addData("failure.count", failureCount.longValue())
+            .addData("indexInvocations", indexMonitor.getTotalInvocations())
+            .addData("indexTimeSpent", indexMonitor.getTotalTimeSpent());
+  }
+
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setWorkerCount(@Named("grafeo.seb.esengine.indexing.workers") int workerCount) {
+    this.workerCount = Math.max(1, workerCount);
+    return this;
+  }
+
+  private void work() {
+    TransactionalConsumer<FactSEB> consumer = consumerProvider.get();
+    try {
+      while (running.get()) {
+        // Wait for a free slot before taking anything from the queue, thus, no transaction is open while waiting.
+        int batchSize = indexingController.acquire();
+        boolean success;
+        try {
+          success = consumeBatch(consumer, batchSize);
+        } finally {
+          indexingController.release();
+        }
+
+        if (!success) backOff();
+      }
+    } catch (Exception ex) {
+      LOGGER.error(ex, "Unexpected error in worker. Worker terminates.");
+    } finally {
+      LambdaUtils.tryTo(consumer::close, ex -> LOGGER.warning(ex, "Could not close consumer."));
+    }
+  }
+
+  private boolean consumeBatch(TransactionalConsumer<FactSEB> consumer, int batchSize) {
+    TransactionContext context = hazelcastInstance.newTransactionContext();
+    context.beginTransaction();
+    try {
+      TransactionalQueue<FactSEB> queue = context.getQueue(FACT_HAZELCAST_QUEUE_NAME);
+      List<FactSEB> batch = new ArrayList<>(batchSize);
+      FactSEB item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      while (item != null) {
+        batch.add(item);
+        if (batch.size() >= batchSize) break;
+        item = queue.poll();
+      }
+
+      if (!batch.isEmpty()) {
+        try (TimerContext ignored = TimerContext.timerMillis(indexMonitor::invoked)) {
+          consumer.consume(batch);
+        }
+        batchCount.increment();
+        documentCount.add(batch.size());
+      }
+
+      context.commitTransaction();
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      running.set(false);
+      rollbackQuietly(context);
+      return true;
+    } catch (Exception ex) {
+      // The Facts are put back into the queue and consumed again.
+      LOGGER.error(ex, "Could not index batch of Facts. Batch will be consumed again.");
+      failureCount.increment();
+      rollbackQuietly(context);
+      return false;
+    }
+  }
+
+  private void rollbackQuietly(TransactionContext context) {
+    LambdaUtils.tryTo(context::rollbackTransaction, ex -> LOGGER.warning(ex, "Could not roll back queue transaction."));
+  }
+
+  private void backOff() {
+    try {
+      Thread.sleep(FAILURE_BACKOFF_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      running.set(false);
+    }
   }
 }
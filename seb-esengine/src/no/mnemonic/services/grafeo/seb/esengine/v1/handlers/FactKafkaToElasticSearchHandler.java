@@ -0,0 +1,208 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
+
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.*;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.messaging.documentchannel.DocumentBatch;
+import no.mnemonic.messaging.documentchannel.DocumentSource;
+import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
+import no.mnemonic.services.grafeo.seb.esengine.v1.providers.FactKafkaSourceProvider;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Component which fetches {@link FactSEB} models from Kafka and indexes them directly into ElasticSearch.
+ * <p>
+ * This is an alternative to the pipeline of {@link FactKafkaToHazelcastHandler} and {@link FactHazelcastToElasticSearchHandler}
+ * which avoids passing every Fact through a Hazelcast queue. Every worker owns its own Kafka consumer in the configured
+ * consumer group, thus, Kafka distributes the topic partitions among the workers (of all running instances). A polled
+ * batch is bulk indexed and acknowledged afterwards, i.e. the offsets are committed once the batch has been handled
+ * (auto-commit is disabled). Facts which ElasticSearch rejects permanently (e.g. because of mapping errors) are logged
+ * and skipped by {@link no.mnemonic.services.grafeo.dao.elastic.FactSearchManager#indexFacts}, thus, they don't block
+ * the partition. If a batch still fails because of temporary errors (429 or 5xx) the same documents are indexed again
+ * with an exponential back-off, without polling further and without leaving the consumer group, thus, a slow
+ * ElasticSearch cluster doesn't cause consumer group rebalances. Only if all retries fail the batch is rejected and the
+ * worker resumes from the last committed offsets with a new Kafka consumer.
+ * <p>
+ * The handler is only active if 'grafeo.seb.kafka.esengine.consumer.direct' is enabled.
+ */
+@Singleton
+public class FactKafkaToElasticSearchHandler implements LifecycleAspect, MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(FactKafkaToElasticSearchHandler.class);
+
+  private static final int DEFAULT_WORKER_COUNT = 4;
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+  private static final long FAILURE_BACKOFF_MILLIS = 1000;
+  private static final int DEFAULT_MAX_RETRIES = 5;
+
+  @Dependency
+  private final FactKafkaSourceProvider sourceProvider;
+  private final Provider<TransactionalConsumer<FactSEB>> consumerProvider;
+  private final AdaptiveIndexingController indexingController;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final LongAdder batchCount = new LongAdder();
+  private final LongAdder documentCount = new LongAdder();
+  private final LongAdder failureCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+  private final PerformanceMonitor indexMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+
+  private int workerCount = DEFAULT_WORKER_COUNT;
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+  private ExecutorService executor;
+
+  @Inject
+  public FactKafkaToElasticSearchHandler(FactKafkaSourceProvider sourceProvider,
+                                         Provider<TransactionalConsumer<FactSEB>> consumerProvider,
+                                         AdaptiveIndexingController indexingController) {
+    this.sourceProvider = sourceProvider;
+    this.consumerProvider = consumerProvider;
+    this.indexingController = indexingController;
+  }
+
+  @Override
+  public void startComponent() {
+    if (!sourceProvider.isDirectIngestionEnabled()) return;
+
+    running.set(true);
+    executor = Executors.newFixedThreadPool(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      executor.submit(this::work);
+    }
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor == null) return;
+
+    running.set(false);
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOGGER.warning("Workers did not stop in time. Force shutdown.");
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("batch.count", batchCount.longValue())
+            .addData("document.count", documentCount.longValue())
+            .addData("failure.count", failureCount.longValue())
+            .addData("retry.count", retryCount.longValue())
+            .addData("indexInvocations", indexMonitor.getTotalInvocations())
+            .addData("indexTimeSpent", indexMonitor.getTotalTimeSpent());
+  }
+
+  @Inject(optional = true)
+  public FactKafkaToElasticSearchHandler setWorkerCount(@Named("grafeo.seb.kafka.esengine.consumer.direct.workers") int workerCount) {
+    this.workerCount = workerCount;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public FactKafkaToElasticSearchHandler setMaxRetries(@Named("grafeo.seb.kafka.esengine.consumer.direct.retries") int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  private void work() {
+    // Kafka consumers must not be shared between threads, thus, every worker creates its own source.
+    DocumentSource<FactSEB> source = sourceProvider.createKafkaDocumentSource();
+    TransactionalConsumer<FactSEB> consumer = consumerProvider.get();
+    try {
+      while (running.get()) {
+        DocumentBatch<FactSEB> batch = source.poll(POLL_TIMEOUT);
+        if (batch == null || CollectionUtils.isEmpty(batch.getDocuments())) continue;
+
+        if (!indexWithRetries(consumer, batch)) {
+          // Last resort: re-create the source in order to resume from the last committed offsets,
+          // i.e. the failed batch is consumed again.
+          batch.reject();
+          closeQuietly(source);
+          source = sourceProvider.createKafkaDocumentSource();
+        }
+      }
+    } catch (Exception ex) {
+      LOGGER.error(ex, "Unexpected error in worker. Worker terminates.");
+    } finally {
+      closeQuietly(source);
+      LambdaUtils.tryTo(consumer::close, ex -> LOGGER.warning(ex, "Could not close consumer."));
+    }
+  }
+
+  private boolean indexWithRetries(TransactionalConsumer<FactSEB> consumer, DocumentBatch<FactSEB> batch) {
+    List<FactSEB> documents = new ArrayList<>(batch.getDocuments());
+    long backOffMillis = FAILURE_BACKOFF_MILLIS;
+    for (int attempt = 0; running.get(); attempt++) {
+      if (index(consumer, documents)) {
+        // Only commit the offsets after the documents have been written to ElasticSearch.
+        batch.acknowledge();
+        batchCount.increment();
+        documentCount.add(documents.size());
+        return true;
+      }
+
+      if (attempt >= maxRetries) break;
+      // Keep the consumer and retry the documents already polled. With the default settings the back-off sums up to
+      // about 30 seconds which stays well below Kafka's max.poll.interval.ms, thus, the consumer doesn't leave the group.
+      retryCount.increment();
+      backOff(backOffMillis);
+      backOffMillis *= 2;
+    }
+
+    return false;
+  }
+
+  private boolean index(TransactionalConsumer<FactSEB> consumer, List<FactSEB> documents) {
+    // Share the concurrency limit with the Hazelcast workers. Waiting here is fine because no transaction is open.
+    indexingController.acquire();
+    try (TimerContext ignored = TimerContext.timerMillis(indexMonitor::invoked)) {
+      consumer.consume(documents);
+      return true;
+    } catch (Exception ex) {
+      // Only temporary failures end up here, permanently failing Facts have already been skipped.
+      LOGGER.error(ex, "Could not index batch of %d Facts.", documents.size());
+      failureCount.increment();
+      return false;
+    } finally {
+      indexingController.release();
+    }
+  }
+
+  private void closeQuietly(DocumentSource<FactSEB> source) {
+    LambdaUtils.tryTo(source::close, ex -> LOGGER.warning(ex, "Could not close Kafka document source."));
+  }
+
+  private void backOff(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      running.set(false);
+    }
+  }
+}
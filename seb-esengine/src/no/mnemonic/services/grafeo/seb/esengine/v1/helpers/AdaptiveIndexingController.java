@@ -0,0 +1,227 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.helpers;
+
+import com.google.inject.Inject;
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
+
+/**
+ * Controls the size and concurrency of bulk requests sent to ElasticSearch based on the observed indexing performance.
+ * <p>
+ * Both the bulk size and the number of concurrent bulk requests (shared among all workers) follow an AIMD scheme:
+ * As long as bulk requests complete within the target latency the limits are increased additively, once a bulk
+ * request is slow or fails (e.g. because ElasticSearch rejects requests during merges) the limits are halved.
+ * The limits are halved at most once per observation window: Bulk requests which were started before the last
+ * decrease were sized with the old limits, thus, their latency doesn't trigger another decrease.
+ * This way indexing throughput follows the capacity of the ElasticSearch cluster instead of fixed constants.
+ * <p>
+ * Workers must {@link #acquire()} a slot before taking documents from their source, and only take as many documents as
+ * the returned bulk size. Workers waiting for a free slot don't consume from the Hazelcast queue (and don't hold a
+ * queue transaction open), thus, backpressure is propagated upstream.
+ */
+@Singleton
+public class AdaptiveIndexingController implements MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(AdaptiveIndexingController.class);
+
+  static final int MIN_BATCH_SIZE = 10;
+  static final int INITIAL_BATCH_SIZE = 100;
+  static final int BATCH_SIZE_INCREMENT = 50;
+  static final int DEFAULT_MAX_BATCH_SIZE = 5000;
+  static final int DEFAULT_MAX_CONCURRENCY = 8;
+  static final long DEFAULT_TARGET_LATENCY_MILLIS = 1000;
+
+  private final HazelcastInstance hazelcastInstance;
+  private final Clock clock;
+
+  private final AtomicLong bulkCount = new AtomicLong();
+  private final AtomicLong slowBulkCount = new AtomicLong();
+  private final AtomicLong failedBulkCount = new AtomicLong();
+  private final AtomicLong indexingLag = new AtomicLong();
+
+  private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+  private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+  private long targetLatency = DEFAULT_TARGET_LATENCY_MILLIS;
+
+  // Guarded by 'this'.
+  private int batchSize = INITIAL_BATCH_SIZE;
+  private int concurrencyLimit = 1;
+  private int inFlight;
+  private long lastDecrease = Long.MIN_VALUE;
+
+  @Inject
+  public AdaptiveIndexingController(HazelcastInstance hazelcastInstance) {
+    this(hazelcastInstance, Clock.systemUTC());
+  }
+
+  AdaptiveIndexingController(HazelcastInstance hazelcastInstance, Clock clock) {
+    this.hazelcastInstance = hazelcastInstance;
+    this.clock = clock;
+  }
+
+  /**
+   * Wait until the current concurrency limit allows another worker to index documents and occupy the slot.
+   * Every call must be followed by {@link #release()} once the worker has finished indexing.
+   *
+   * @return Number of documents the worker should take from its source
+   */
+  public synchronized int acquire() {
+    while (inFlight >= concurrencyLimit) {
+      try {
+        wait();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting to index documents.", ex);
+      }
+    }
+
+    inFlight++;
+    return batchSize;
+  }
+
+  /**
+   * Free a slot occupied with {@link #acquire()}.
+   */
+  public synchronized void release() {
+    inFlight--;
+    notifyAll();
+  }
+
+  /**
+   * Index documents by splitting them up into bulk requests of the current batch size. The latency of every bulk
+   * request is used to adapt the limits. If one bulk request fails the exception is propagated and the remaining
+   * documents aren't indexed, thus, the caller must retry the whole collection.
+   *
+   * @param documents  Documents to index
+   * @param bulkWriter Function which writes one bulk of documents to ElasticSearch
+   */
+  public void index(List<FactDocument> documents, Consumer<List<FactDocument>> bulkWriter) {
+    if (CollectionUtils.isEmpty(documents)) return;
+
+    int offset = 0;
+    while (offset < documents.size()) {
+      int size = Math.min(getBatchSize(), documents.size() - offset);
+      List<FactDocument> bulk = documents.subList(offset, offset + size);
+
+      long start = clock.millis();
+      try {
+        bulkWriter.accept(bulk);
+      } catch (RuntimeException ex) {
+        observe(size, start, -1);
+        throw ex;
+      }
+      observe(size, start, clock.millis() - start);
+      updateIndexingLag(bulk);
+      offset += size;
+    }
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    MetricsData metrics;
+    synchronized (this) {
+      metrics = new MetricsData()
+              .addData("batchSize", batchSize)
+              .addData("concurrencyLimit", concurrencyLimit)
+              .addData("inFlight", inFlight);
+    }
+
+    return metrics
+            .addData("bulkCount", bulkCount.get())
+            .addData("slowBulkCount", slowBulkCount.get())
+            .addData("failedBulkCount", failedBulkCount.get())
+            .addData("indexingLag", indexingLag.get())
+            .addData("queueDepth", hazelcastInstance.getQueue(FACT_HAZELCAST_QUEUE_NAME).size());
+  }
+
+  @Inject(optional = true)
+  public AdaptiveIndexingController setMaxBatchSize(@Named("grafeo.seb.esengine.indexing.max.batch.size") int maxBatchSize) {
+    this.maxBatchSize = Math.max(MIN_BATCH_SIZE, maxBatchSize);
+    return this;
+  }
+
+  @Inject(optional = true)
+  public AdaptiveIndexingController setMaxConcurrency(@Named("grafeo.seb.esengine.indexing.max.concurrency") int maxConcurrency) {
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    return this;
+  }
+
+  @Inject(optional = true)
+  public AdaptiveIndexingController setTargetLatency(@Named("grafeo.seb.esengine.indexing.target.latency") long targetLatency) {
+    this.targetLatency = targetLatency;
+    return this;
+  }
+
+  /**
+   * Returns the current bulk size.
+   *
+   * @return Current bulk size
+   */
+  public synchronized int getBatchSize() {
+    return batchSize;
+  }
+
+  synchronized int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  private synchronized void observe(int size, long start, long latency) {
+    bulkCount.incrementAndGet();
+
+    if (latency < 0) {
+      failedBulkCount.incrementAndGet();
+      decrease(start);
+    } else if (latency > targetLatency) {
+      slowBulkCount.incrementAndGet();
+      decrease(start);
+    } else {
+      increase(size);
+    }
+
+    // The concurrency limit might have been increased.
+    notifyAll();
+  }
+
+  private void increase(int size) {
+    concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1);
+    // Only grow the bulk size if the current size was actually used, otherwise a trickle of small bulks would inflate it.
+    if (size >= batchSize) {
+      batchSize = Math.min(maxBatchSize, batchSize + BATCH_SIZE_INCREMENT);
+    }
+  }
+
+  private void decrease(long start) {
+    // Bulk requests started before the last decrease already used the old limits, don't halve the limits again for them.
+    if (start < lastDecrease) return;
+    lastDecrease = clock.millis();
+
+    batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+    concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+    LOGGER.debug("Decreased bulk size to %d and concurrency to %d.", batchSize, concurrencyLimit);
+  }
+
+  private void updateIndexingLag(List<FactDocument> bulk) {
+    // Lag between a Fact being seen by the service and being indexed, measured for the oldest Fact in the bulk.
+    long oldest = bulk.stream()
+            .mapToLong(FactDocument::getLastSeenTimestamp)
+            .filter(timestamp -> timestamp > 0)
+            .min()
+            .orElse(clock.millis());
+    indexingLag.set(Math.max(0, clock.millis() - oldest));
+  }
+}
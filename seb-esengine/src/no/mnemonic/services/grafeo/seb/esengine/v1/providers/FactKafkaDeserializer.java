@@ -6,12 +6,19 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat.CONTENT_TYPE_BINARY;
+import static no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat.CONTENT_TYPE_HEADER;
+
 class FactKafkaDeserializer implements Deserializer<FactSEB> {
 
   private static final Logger LOGGER = Logging.getLogger(FactKafkaDeserializer.class);
@@ -23,9 +30,45 @@ class FactKafkaDeserializer implements Deserializer<FactSEB> {
     // Noop
   }
 
+  @Override
+  public FactSEB deserialize(String topic, Headers headers, byte[] data) {
+    Header contentType = headers != null ? headers.lastHeader(CONTENT_TYPE_HEADER) : null;
+    if (contentType == null || contentType.value() == null) {
+      // Messages written before the content type header was introduced.
+      return deserialize(topic, data);
+    }
+
+    if (CONTENT_TYPE_BINARY.equals(new String(contentType.value(), StandardCharsets.UTF_8))) {
+      return decodeBinary(data);
+    }
+
+    return decodeJson(data);
+  }
+
   @Override
   public FactSEB deserialize(String topic, byte[] data) {
     if (data == null) return null;
+    return FactSEBBinaryFormat.isBinary(data) ? decodeBinary(data) : decodeJson(data);
+  }
+
+  @Override
+  public void close() {
+    // Noop
+  }
+
+  private FactSEB decodeBinary(byte[] data) {
+    if (data == null) return null;
+
+    try {
+      return FactSEBBinaryFormat.decode(data);
+    } catch (UncheckedIOException ex) {
+      LOGGER.error(ex, "Failed to deserialize FactSEB.");
+      throw ex;
+    }
+  }
+
+  private FactSEB decodeJson(byte[] data) {
+    if (data == null) return null;
 
     try {
       return READER.readValue(data);
@@ -34,9 +77,4 @@ class FactKafkaDeserializer implements Deserializer<FactSEB> {
       throw new UncheckedIOException("Failed to deserialize FactSEB.", ex);
     }
   }
-
-  @Override
-  public void close() {
-    // Noop
-  }
 }
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.seb.esengine.v1.providers;
 
+import com.google.inject.Inject;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.messaging.documentchannel.DocumentSource;
@@ -8,7 +9,6 @@ import no.mnemonic.messaging.documentchannel.kafka.KafkaDocumentSource;
 import no.mnemonic.messaging.documentchannel.noop.NullDocumentSource;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
-import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
@@ -25,6 +25,8 @@ public class FactKafkaSourceProvider implements LifecycleAspect, Provider<Docume
   private final String consumerGroup;
   private final boolean consumerEnabled;
 
+  private boolean directIngestionEnabled;
+
   @Inject
   public FactKafkaSourceProvider(
           @Named("grafeo.seb.kafka.port") int port,
@@ -61,21 +63,55 @@ public class FactKafkaSourceProvider implements LifecycleAspect, Provider<Docume
     });
   }
 
-  private DocumentSource<FactSEB> createDocumentSource() {
-    if (!consumerEnabled) return new NullDocumentSource<>();
+  /**
+   * Returns true if Facts are indexed directly from Kafka into ElasticSearch without passing through Hazelcast.
+   *
+   * @return True if direct ingestion is enabled
+   */
+  public boolean isDirectIngestionEnabled() {
+    return consumerEnabled && directIngestionEnabled;
+  }
+
+  /**
+   * Creates a new {@link DocumentSource} with its own Kafka consumer which joins the configured consumer group.
+   * Each source is assigned its own share of the topic partitions by Kafka. The caller is responsible for closing it.
+   * <p>
+   * Auto-commit is disabled for the returned source. Offsets are only committed (synchronously) when the caller
+   * acknowledges a polled batch.
+   *
+   * @return New Kafka document source
+   */
+  public DocumentSource<FactSEB> createKafkaDocumentSource() {
+    return KafkaDocumentSource.<FactSEB>builder()
+            .setConsumerProvider(createKafkaConsumerProvider(false))
+            .setType(FactSEB.class)
+            .setTopicName(ListUtils.list(consumerTopics.split(",")))
+            .setCommitType(KafkaDocumentSource.CommitType.sync)
+            .build();
+  }
 
+  @Inject(optional = true)
+  public FactKafkaSourceProvider setDirectIngestionEnabled(@Named("grafeo.seb.kafka.esengine.consumer.direct") boolean directIngestionEnabled) {
+    this.directIngestionEnabled = directIngestionEnabled;
+    return this;
+  }
+
+  private DocumentSource<FactSEB> createDocumentSource() {
+    // In direct mode the Kafka consumers are owned by FactKafkaToElasticSearchHandler, thus, nothing is forwarded to Hazelcast.
+    if (!consumerEnabled || directIngestionEnabled) return new NullDocumentSource<>();
     return KafkaDocumentSource.<FactSEB>builder()
-            .setConsumerProvider(createKafkaConsumerProvider())
+            .setConsumerProvider(createKafkaConsumerProvider(true))
             .setType(FactSEB.class)
             .setTopicName(ListUtils.list(consumerTopics.split(",")))
             .build();
   }
 
-  private KafkaConsumerProvider createKafkaConsumerProvider() {
+  private KafkaConsumerProvider createKafkaConsumerProvider(boolean autoCommit) {
     return KafkaConsumerProvider.builder()
             .setGroupID(consumerGroup)
             .setKafkaHosts(contactPoints)
             .setKafkaPort(port)
+            .setAutoCommit(autoCommit)
             .addDeserializer(FactSEB.class, new FactKafkaDeserializer())
             .build();
   }
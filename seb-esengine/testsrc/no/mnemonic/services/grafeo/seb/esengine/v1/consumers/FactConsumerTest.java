@@ -1,18 +1,22 @@
 package no.mnemonic.services.grafeo.seb.esengine.v1.consumers;
 
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
 import no.mnemonic.services.grafeo.seb.esengine.v1.converters.FactConverter;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,9 +26,16 @@ public class FactConsumerTest {
   private FactSearchManager factSearchManager;
   @Mock
   private FactConverter factConverter;
-  @InjectMocks
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+
   private FactConsumer factConsumer;
 
+  @BeforeEach
+  public void setUp() {
+    factConsumer = new FactConsumer(factSearchManager, factConverter, new AdaptiveIndexingController(hazelcastInstance));
+  }
+
   @Test
   public void testConsumeNothing() {
     factConsumer.consume(null);
@@ -49,7 +60,8 @@ public class FactConsumerTest {
     factConsumer.consume(SetUtils.set(FactSEB.builder().build(), FactSEB.builder().build(), FactSEB.builder().build()));
 
     verify(factConverter, times(3)).apply(notNull());
-    verify(factSearchManager, times(3)).indexFact(notNull(), notNull());
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 3), eq(Daily));
+    verifyNoMoreInteractions(factSearchManager);
   }
 
   @Test
@@ -57,7 +69,8 @@ public class FactConsumerTest {
     when(factConverter.apply(any())).thenReturn(new FactDocument());
     factConsumer.consume(SetUtils.set(FactSEB.builder().build()));
 
-    verify(factSearchManager).indexFact(notNull(), eq(Daily));
+    verify(factSearchManager).indexFacts(notNull(), eq(Daily));
+    verifyNoMoreInteractions(factSearchManager);
   }
 
   @Test
@@ -65,6 +78,28 @@ public class FactConsumerTest {
     when(factConverter.apply(any())).thenReturn(new FactDocument());
     factConsumer.consume(SetUtils.set(FactSEB.builder().addFlag(FactSEB.Flag.TimeGlobalIndex).build()));
 
-    verify(factSearchManager).indexFact(notNull(), eq(TimeGlobal));
+    verify(factSearchManager).indexFacts(notNull(), eq(TimeGlobal));
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testConsumeGroupsFactsByIndex() {
+    when(factConverter.apply(any())).thenReturn(new FactDocument());
+    factConsumer.consume(ListUtils.list(
+            FactSEB.builder().build(),
+            FactSEB.builder().addFlag(FactSEB.Flag.TimeGlobalIndex).build(),
+            FactSEB.builder().build()));
+
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 1), eq(TimeGlobal));
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 2), eq(Daily));
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testConsumePropagatesIndexingFailure() {
+    when(factConverter.apply(any())).thenReturn(new FactDocument());
+    when(factSearchManager.indexFacts(any(), any())).thenThrow(IllegalStateException.class);
+
+    assertThrows(IllegalStateException.class, () -> factConsumer.consume(SetUtils.set(FactSEB.builder().build())));
   }
 }
@@ -0,0 +1,106 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.transaction.TransactionContext;
+import com.hazelcast.transaction.TransactionalQueue;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FactHazelcastToElasticSearchHandlerTest {
+
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private TransactionContext transactionContext;
+  @Mock
+  private TransactionalQueue<FactSEB> queue;
+  @Mock
+  private TransactionalConsumer<FactSEB> consumer;
+  @Mock
+  private AdaptiveIndexingController indexingController;
+
+  private FactHazelcastToElasticSearchHandler handler;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    when(hazelcastInstance.newTransactionContext()).thenReturn(transactionContext);
+    when(transactionContext.<FactSEB>getQueue(FACT_HAZELCAST_QUEUE_NAME)).thenReturn(queue);
+    when(queue.poll(anyLong(), any())).thenReturn(FactSEB.builder().build()).thenReturn(null);
+    when(queue.poll()).thenReturn(FactSEB.builder().build());
+    when(indexingController.acquire()).thenReturn(2);
+
+    handler = new FactHazelcastToElasticSearchHandler(hazelcastInstance, () -> consumer, indexingController).setWorkerCount(1);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    handler.stopComponent();
+  }
+
+  @Test
+  public void testAcquireSlotBeforeTakingFromQueue() throws Exception {
+    handler.startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    InOrder order = inOrder(indexingController, hazelcastInstance, consumer, transactionContext);
+    order.verify(indexingController).acquire();
+    order.verify(hazelcastInstance).newTransactionContext();
+    order.verify(consumer).consume(any());
+    order.verify(transactionContext).commitTransaction();
+    order.verify(indexingController).release();
+  }
+
+  @Test
+  public void testTakeAtMostBatchSizeFromQueue() throws Exception {
+    handler.startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    // The controller allows two Facts although more are available in the queue.
+    verify(consumer).consume(argThat(documents -> documents.size() == 2));
+    assertEquals(2, metric("document.count"));
+  }
+
+  @Test
+  public void testRollbackOnFailedIndexing() throws Exception {
+    doThrow(IllegalStateException.class).doNothing().when(consumer).consume(any());
+    when(queue.poll(anyLong(), any())).thenReturn(FactSEB.builder().build()).thenReturn(FactSEB.builder().build()).thenReturn(null);
+
+    handler.startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    assertEquals(1, metric("failure.count"));
+    verify(transactionContext).rollbackTransaction();
+    verify(indexingController, atLeast(2)).release();
+  }
+
+  private long metric(String name) {
+    try {
+      return Objects.requireNonNull(handler.getMetrics().getData(name)).longValue();
+    } catch (MetricException ex) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
+
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.messaging.documentchannel.DocumentBatch;
+import no.mnemonic.messaging.documentchannel.DocumentSource;
+import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
+import no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController;
+import no.mnemonic.services.grafeo.seb.esengine.v1.providers.FactKafkaSourceProvider;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FactKafkaToElasticSearchHandlerTest {
+
+  @Mock
+  private FactKafkaSourceProvider sourceProvider;
+  @Mock
+  private DocumentSource<FactSEB> source;
+  @Mock
+  private DocumentBatch<FactSEB> batch;
+  @Mock
+  private DocumentBatch<FactSEB> emptyBatch;
+  @Mock
+  private TransactionalConsumer<FactSEB> consumer;
+  @Mock
+  private AdaptiveIndexingController indexingController;
+
+  private FactKafkaToElasticSearchHandler handler;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    when(sourceProvider.isDirectIngestionEnabled()).thenReturn(true);
+    when(sourceProvider.createKafkaDocumentSource()).thenReturn(source);
+    when(batch.getDocuments()).thenReturn(SetUtils.set(FactSEB.builder().build()));
+    when(emptyBatch.getDocuments()).thenReturn(SetUtils.set());
+    when(source.poll(any())).thenReturn(batch).thenReturn(emptyBatch);
+
+    handler = new FactKafkaToElasticSearchHandler(sourceProvider, () -> consumer, indexingController).setWorkerCount(1);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    handler.stopComponent();
+  }
+
+  @Test
+  public void testDisabledDoesNotConsume() {
+    when(sourceProvider.isDirectIngestionEnabled()).thenReturn(false);
+    handler.startComponent();
+
+    verify(sourceProvider, never()).createKafkaDocumentSource();
+  }
+
+  @Test
+  public void testAcknowledgeAfterSuccessfulIndexing() throws Exception {
+    handler.startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    verify(consumer).consume(argThat(documents -> documents.size() == 1));
+    verify(batch).acknowledge();
+    verify(batch, never()).reject();
+    verify(indexingController).acquire();
+    verify(indexingController).release();
+  }
+
+  @Test
+  public void testRetryFailedIndexingWithoutRecreatingConsumer() throws Exception {
+    doThrow(IllegalStateException.class).doNothing().when(consumer).consume(any());
+
+    handler.startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    assertEquals(1, metric("failure.count"));
+    assertEquals(1, metric("retry.count"));
+    verify(consumer, times(2)).consume(argThat(documents -> documents.size() == 1));
+    verify(batch).acknowledge();
+    verify(batch, never()).reject();
+    // The same batch is retried, i.e. the Kafka consumer is kept and nothing is polled in between.
+    verify(sourceProvider, times(1)).createKafkaDocumentSource();
+  }
+
+  @Test
+  public void testRejectAndResumeAfterRetriesExhausted() throws Exception {
+    doThrow(IllegalStateException.class).doNothing().when(consumer).consume(any());
+    when(source.poll(any())).thenReturn(batch).thenReturn(batch).thenReturn(emptyBatch);
+
+    handler.setMaxRetries(0).startComponent();
+    assertTrue(LambdaUtils.waitFor(() -> metric("batch.count") == 1, 10, TimeUnit.SECONDS));
+
+    assertEquals(1, metric("failure.count"));
+    assertEquals(0, metric("retry.count"));
+    verify(batch).reject();
+    verify(batch).acknowledge();
+    // The source is re-created in order to resume from the last committed offsets.
+    verify(sourceProvider, times(2)).createKafkaDocumentSource();
+  }
+
+  private long metric(String name) {
+    try {
+      return Objects.requireNonNull(handler.getMetrics().getData(name)).longValue();
+    } catch (MetricException ex) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.helpers;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
+import static no.mnemonic.services.grafeo.seb.esengine.v1.helpers.AdaptiveIndexingController.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AdaptiveIndexingControllerTest {
+
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private Clock clock;
+
+  private AdaptiveIndexingController controller;
+
+  @BeforeEach
+  public void setUp() {
+    controller = new AdaptiveIndexingController(hazelcastInstance, clock);
+  }
+
+  @Test
+  public void testIndexNothing() {
+    controller.index(null, bulk -> fail("Writer must not be called."));
+    controller.index(new ArrayList<>(), bulk -> fail("Writer must not be called."));
+  }
+
+  @Test
+  public void testIndexSplitsDocumentsIntoBulks() {
+    List<Integer> bulkSizes = new ArrayList<>();
+    controller.index(createDocuments(INITIAL_BATCH_SIZE * 3 + BATCH_SIZE_INCREMENT), bulk -> bulkSizes.add(bulk.size()));
+
+    // The bulk size grows after every full and fast bulk.
+    assertEquals(List.of(INITIAL_BATCH_SIZE, INITIAL_BATCH_SIZE + BATCH_SIZE_INCREMENT, INITIAL_BATCH_SIZE), bulkSizes);
+  }
+
+  @Test
+  public void testIndexIncreasesLimitsAdditivelyOnFastBulks() {
+    controller.index(createDocuments(INITIAL_BATCH_SIZE), bulk -> {});
+
+    assertEquals(INITIAL_BATCH_SIZE + BATCH_SIZE_INCREMENT, controller.getBatchSize());
+    assertEquals(2, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexDoesNotIncreaseBatchSizeOnSmallBulks() {
+    controller.index(createDocuments(1), bulk -> {});
+
+    assertEquals(INITIAL_BATCH_SIZE, controller.getBatchSize());
+    assertEquals(2, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexRespectsMaximumLimits() {
+    controller.setMaxBatchSize(INITIAL_BATCH_SIZE + 1).setMaxConcurrency(1);
+    controller.index(createDocuments(INITIAL_BATCH_SIZE * 3), bulk -> {});
+
+    assertEquals(INITIAL_BATCH_SIZE + 1, controller.getBatchSize());
+    assertEquals(1, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexDecreasesLimitsMultiplicativelyOnSlowBulks() {
+    when(clock.millis()).thenReturn(0L, DEFAULT_TARGET_LATENCY_MILLIS + 1);
+    controller.index(createDocuments(INITIAL_BATCH_SIZE), bulk -> {});
+
+    assertEquals(INITIAL_BATCH_SIZE / 2, controller.getBatchSize());
+    assertEquals(1, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexDecreasesLimitsMultiplicativelyOnFailure() {
+    assertThrows(IllegalStateException.class, () -> controller.index(createDocuments(INITIAL_BATCH_SIZE), bulk -> {
+      throw new IllegalStateException();
+    }));
+
+    assertEquals(INITIAL_BATCH_SIZE / 2, controller.getBatchSize());
+    assertEquals(1, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexNeverDecreasesBelowMinimum() {
+    for (int i = 0; i < 10; i++) {
+      assertThrows(IllegalStateException.class, () -> controller.index(createDocuments(1), bulk -> {
+        throw new IllegalStateException();
+      }));
+    }
+
+    assertEquals(MIN_BATCH_SIZE, controller.getBatchSize());
+    assertEquals(1, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testIndexDecreasesLimitsOncePerObservationWindow() throws Exception {
+    AtomicLong now = new AtomicLong();
+    when(clock.millis()).thenAnswer(i -> now.get());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // First bulk is started at t=0 and completes slowly after the second bulk.
+    Thread slowWorker = new Thread(() -> controller.index(createDocuments(INITIAL_BATCH_SIZE), bulk -> {
+      started.countDown();
+      awaitQuietly(release);
+    }));
+    slowWorker.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // Second bulk is started at t=100 and is slow as well, it halves the limits.
+    now.set(100);
+    controller.index(createDocuments(INITIAL_BATCH_SIZE), bulk -> now.set(DEFAULT_TARGET_LATENCY_MILLIS * 2));
+    assertEquals(INITIAL_BATCH_SIZE / 2, controller.getBatchSize());
+
+    // The first bulk was started before the decrease, thus, it doesn't halve the limits again.
+    release.countDown();
+    slowWorker.join(TimeUnit.SECONDS.toMillis(5));
+    assertEquals(INITIAL_BATCH_SIZE / 2, controller.getBatchSize());
+
+    // A slow bulk started after the decrease belongs to the next observation window.
+    controller.index(createDocuments(INITIAL_BATCH_SIZE / 2), bulk -> now.addAndGet(DEFAULT_TARGET_LATENCY_MILLIS * 2));
+    assertEquals(INITIAL_BATCH_SIZE / 4, controller.getBatchSize());
+    assertEquals(1, controller.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testAcquireReturnsBatchSize() {
+    assertEquals(INITIAL_BATCH_SIZE, controller.acquire());
+    controller.release();
+  }
+
+  @Test
+  public void testAcquireWaitsForFreeSlot() throws Exception {
+    controller.acquire();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread worker = new Thread(() -> {
+      controller.acquire();
+      acquired.countDown();
+      controller.release();
+    });
+    worker.start();
+
+    // The initial concurrency limit is one, thus, the second worker must wait.
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    controller.release();
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  @Test
+  public void testGetMetrics() throws Exception {
+    IQueue<Object> queue = mock(IQueue.class);
+    when(queue.size()).thenReturn(42);
+    when(hazelcastInstance.getQueue(FACT_HAZELCAST_QUEUE_NAME)).thenReturn(queue);
+    when(clock.millis()).thenReturn(1000L);
+
+    controller.index(List.of(new FactDocument().setLastSeenTimestamp(400L)), bulk -> {});
+
+    Metrics metrics = controller.getMetrics();
+    assertEquals(1L, metrics.getData("bulkCount").longValue());
+    assertEquals(42L, metrics.getData("queueDepth").longValue());
+    assertEquals(600L, metrics.getData("indexingLag").longValue());
+  }
+
+  private void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private List<FactDocument> createDocuments(int count) {
+    return IntStream.range(0, count)
+            .mapToObj(i -> new FactDocument())
+            .collect(Collectors.toList());
+  }
+}
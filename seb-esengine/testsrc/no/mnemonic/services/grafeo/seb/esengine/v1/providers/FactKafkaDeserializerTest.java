@@ -4,10 +4,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.junit.jupiter.api.Test;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
+import static no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class FactKafkaDeserializerTest {
@@ -33,4 +39,47 @@ public class FactKafkaDeserializerTest {
     assertNotNull(actual);
     assertEquals(expected.getId(), actual.getId());
   }
+
+  @Test
+  public void testDeserializeBinaryWithContentTypeHeader() {
+    FactSEB expected = FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .build();
+
+    FactSEB actual = deserializer.deserialize("test", createHeaders(CONTENT_TYPE_BINARY), FactSEBBinaryFormat.encode(expected));
+    assertNotNull(actual);
+    assertEquals(expected.getId(), actual.getId());
+  }
+
+  @Test
+  public void testDeserializeJsonWithContentTypeHeader() throws Exception {
+    FactSEB expected = FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .build();
+
+    FactSEB actual = deserializer.deserialize("test", createHeaders(CONTENT_TYPE_JSON), WRITER.writeValueAsBytes(expected));
+    assertNotNull(actual);
+    assertEquals(expected.getId(), actual.getId());
+  }
+
+  @Test
+  public void testDeserializeWithoutContentTypeHeader() throws Exception {
+    FactSEB expected = FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .build();
+
+    // Without header the encoding is detected from the data.
+    assertEquals(expected.getId(), deserializer.deserialize("test", new RecordHeaders(), WRITER.writeValueAsBytes(expected)).getId());
+    assertEquals(expected.getId(), deserializer.deserialize("test", new RecordHeaders(), FactSEBBinaryFormat.encode(expected)).getId());
+    assertNull(deserializer.deserialize("test", new RecordHeaders(), WRITER.writeValueAsBytes(null)));
+  }
+
+  @Test
+  public void testDeserializeInvalidBinary() {
+    assertThrows(UncheckedIOException.class, () -> deserializer.deserialize("test", createHeaders(CONTENT_TYPE_BINARY), new byte[]{1, 1}));
+  }
+
+  private Headers createHeaders(String contentType) {
+    return new RecordHeaders().add(CONTENT_TYPE_HEADER, contentType.getBytes(StandardCharsets.UTF_8));
+  }
 }
@@ -0,0 +1,385 @@
+package no.mnemonic.services.grafeo.seb.model.v1;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact, schema-versioned binary encoding of {@link FactSEB}.
+ * <p>
+ * Compared to JSON, field names are omitted, UUIDs and timestamps are written as raw numbers, and enums as ordinals.
+ * The first byte of every encoded message contains the schema version. Decoding fails for unknown versions, thus,
+ * consumers must be upgraded before producers start writing a new version. Within one version the layout is fixed,
+ * and new enum constants may only be appended.
+ * <p>
+ * Layout of version 1 (all nullable values are prefixed with a presence marker, lengths are unsigned varints):
+ * id, type, value, inReferenceTo, organization, origin, addedBy, lastSeenBy, accessMode, trust, confidence,
+ * timestamp, lastSeenTimestamp, sourceObject, destinationObject, bidirectionalBinding, flags, acl.
+ * <p>
+ * Trust and confidence are rounded to two decimal points exactly like in the JSON format, thus, consumers receive
+ * the same Facts regardless of the format.
+ */
+public class FactSEBBinaryFormat {
+
+  /**
+   * Name of the message header which specifies how a message is encoded.
+   */
+  public static final String CONTENT_TYPE_HEADER = "content-type";
+  /**
+   * Content type of messages encoded as JSON. Messages without content type header are JSON as well.
+   */
+  public static final String CONTENT_TYPE_JSON = "application/json";
+  /**
+   * Content type of messages encoded with this binary format.
+   */
+  public static final String CONTENT_TYPE_BINARY = "application/x-grafeo-fact-seb";
+
+  static final byte VERSION_1 = 1;
+
+  private static final int DECIMAL_POINTS = 2;
+
+  private FactSEBBinaryFormat() {
+  }
+
+  /**
+   * Detect whether data is encoded with this binary format. Used as fallback if a message has no content type header.
+   * A JSON document can never start with a version byte, thus, both formats can be distinguished safely.
+   *
+   * @param data Encoded Fact
+   * @return True if data is encoded with the binary format
+   */
+  public static boolean isBinary(byte[] data) {
+    return data != null && data.length > 0 && data[0] == VERSION_1;
+  }
+
+  /**
+   * Encode a {@link FactSEB} into the binary format.
+   *
+   * @param fact Fact to encode
+   * @return Encoded Fact
+   */
+  public static byte[] encode(FactSEB fact) {
+    if (fact == null) return null;
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION_1);
+      writeUUID(out, fact.getId());
+      writeFactType(out, fact.getType());
+      writeString(out, fact.getValue());
+      writeFactInfo(out, fact.getInReferenceTo());
+      writeOrganization(out, fact.getOrganization());
+      writeOrigin(out, fact.getOrigin());
+      writeSubject(out, fact.getAddedBy());
+      writeSubject(out, fact.getLastSeenBy());
+      writeEnum(out, fact.getAccessMode());
+      out.writeFloat(round(fact.getTrust()));
+      out.writeFloat(round(fact.getConfidence()));
+      out.writeLong(fact.getTimestamp());
+      out.writeLong(fact.getLastSeenTimestamp());
+      writeObjectInfo(out, fact.getSourceObject());
+      writeObjectInfo(out, fact.getDestinationObject());
+      out.writeBoolean(fact.isBidirectionalBinding());
+      writeFlags(out, fact.getFlags());
+      writeAcl(out, fact.getAcl());
+    } catch (IOException ex) {
+      // Cannot happen when writing into a byte array.
+      throw new UncheckedIOException("Failed to encode FactSEB.", ex);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decode a {@link FactSEB} from the binary format.
+   *
+   * @param data Encoded Fact
+   * @return Decoded Fact
+   * @throws UncheckedIOException If the data cannot be decoded or is encoded with an unknown schema version
+   */
+  public static FactSEB decode(byte[] data) {
+    if (data == null) return null;
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      byte version = in.readByte();
+      if (version != VERSION_1) {
+        throw new IOException(String.format("Unsupported FactSEB binary format version %d.", version));
+      }
+
+      return FactSEB.builder()
+              .setId(readUUID(in))
+              .setType(readFactType(in))
+              .setValue(readString(in))
+              .setInReferenceTo(readFactInfo(in))
+              .setOrganization(readOrganization(in))
+              .setOrigin(readOrigin(in))
+              .setAddedBy(readSubject(in))
+              .setLastSeenBy(readSubject(in))
+              .setAccessMode(readEnum(in, FactSEB.AccessMode.values()))
+              .setTrust(in.readFloat())
+              .setConfidence(in.readFloat())
+              .setTimestamp(in.readLong())
+              .setLastSeenTimestamp(in.readLong())
+              .setSourceObject(readObjectInfo(in))
+              .setDestinationObject(readObjectInfo(in))
+              .setBidirectionalBinding(in.readBoolean())
+              .setFlags(readFlags(in))
+              .setAcl(readAcl(in))
+              .build();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to decode FactSEB.", ex);
+    }
+  }
+
+  private static void writeFactType(DataOutput out, FactTypeInfoSEB type) throws IOException {
+    if (writePresence(out, type)) {
+      writeUUID(out, type.getId());
+      writeString(out, type.getName());
+    }
+  }
+
+  private static FactTypeInfoSEB readFactType(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return FactTypeInfoSEB.builder()
+            .setId(readUUID(in))
+            .setName(readString(in))
+            .build();
+  }
+
+  private static void writeObjectType(DataOutput out, ObjectTypeInfoSEB type) throws IOException {
+    if (writePresence(out, type)) {
+      writeUUID(out, type.getId());
+      writeString(out, type.getName());
+    }
+  }
+
+  private static ObjectTypeInfoSEB readObjectType(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return ObjectTypeInfoSEB.builder()
+            .setId(readUUID(in))
+            .setName(readString(in))
+            .build();
+  }
+
+  private static void writeOrganization(DataOutput out, OrganizationInfoSEB organization) throws IOException {
+    if (writePresence(out, organization)) {
+      writeUUID(out, organization.getId());
+      writeString(out, organization.getName());
+    }
+  }
+
+  private static OrganizationInfoSEB readOrganization(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return OrganizationInfoSEB.builder()
+            .setId(readUUID(in))
+            .setName(readString(in))
+            .build();
+  }
+
+  private static void writeOrigin(DataOutput out, OriginInfoSEB origin) throws IOException {
+    if (writePresence(out, origin)) {
+      writeUUID(out, origin.getId());
+      writeString(out, origin.getName());
+    }
+  }
+
+  private static OriginInfoSEB readOrigin(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return OriginInfoSEB.builder()
+            .setId(readUUID(in))
+            .setName(readString(in))
+            .build();
+  }
+
+  private static void writeSubject(DataOutput out, SubjectInfoSEB subject) throws IOException {
+    if (writePresence(out, subject)) {
+      writeUUID(out, subject.getId());
+      writeString(out, subject.getName());
+    }
+  }
+
+  private static SubjectInfoSEB readSubject(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return SubjectInfoSEB.builder()
+            .setId(readUUID(in))
+            .setName(readString(in))
+            .build();
+  }
+
+  private static void writeFactInfo(DataOutput out, FactInfoSEB fact) throws IOException {
+    if (writePresence(out, fact)) {
+      writeUUID(out, fact.getId());
+      writeFactType(out, fact.getType());
+      writeString(out, fact.getValue());
+    }
+  }
+
+  private static FactInfoSEB readFactInfo(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return FactInfoSEB.builder()
+            .setId(readUUID(in))
+            .setType(readFactType(in))
+            .setValue(readString(in))
+            .build();
+  }
+
+  private static void writeObjectInfo(DataOutput out, ObjectInfoSEB object) throws IOException {
+    if (writePresence(out, object)) {
+      writeUUID(out, object.getId());
+      writeObjectType(out, object.getType());
+      writeString(out, object.getValue());
+    }
+  }
+
+  private static ObjectInfoSEB readObjectInfo(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return ObjectInfoSEB.builder()
+            .setId(readUUID(in))
+            .setType(readObjectType(in))
+            .setValue(readString(in))
+            .build();
+  }
+
+  private static void writeFlags(DataOutput out, Set<FactSEB.Flag> flags) throws IOException {
+    writeSize(out, flags);
+    if (flags == null) return;
+    for (FactSEB.Flag flag : flags) {
+      writeEnum(out, flag);
+    }
+  }
+
+  private static Set<FactSEB.Flag> readFlags(DataInputStream in) throws IOException {
+    int size = readSize(in);
+    if (size < 0) return null;
+
+    Set<FactSEB.Flag> flags = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      flags.add(readEnum(in, FactSEB.Flag.values()));
+    }
+    return flags;
+  }
+
+  private static void writeAcl(DataOutput out, Set<AclEntrySEB> acl) throws IOException {
+    writeSize(out, acl);
+    if (acl == null) return;
+    for (AclEntrySEB entry : acl) {
+      writeUUID(out, entry.getId());
+      writeSubject(out, entry.getSubject());
+      writeOrigin(out, entry.getOrigin());
+      out.writeLong(entry.getTimestamp());
+    }
+  }
+
+  private static Set<AclEntrySEB> readAcl(DataInputStream in) throws IOException {
+    int size = readSize(in);
+    if (size < 0) return null;
+
+    Set<AclEntrySEB> acl = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      acl.add(AclEntrySEB.builder()
+              .setId(readUUID(in))
+              .setSubject(readSubject(in))
+              .setOrigin(readOrigin(in))
+              .setTimestamp(in.readLong())
+              .build());
+    }
+    return acl;
+  }
+
+  private static boolean writePresence(DataOutput out, Object value) throws IOException {
+    out.writeBoolean(value != null);
+    return value != null;
+  }
+
+  private static void writeUUID(DataOutput out, UUID id) throws IOException {
+    if (writePresence(out, id)) {
+      out.writeLong(id.getMostSignificantBits());
+      out.writeLong(id.getLeastSignificantBits());
+    }
+  }
+
+  private static UUID readUUID(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return new UUID(in.readLong(), in.readLong());
+  }
+
+  private static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+
+    // Length is shifted by one in order to distinguish NULL from an empty string.
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length + 1);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = readVarInt(in) - 1;
+    if (length < 0) return null;
+    // Don't trust the encoded length, corrupted data must not cause huge allocations.
+    if (length > in.available()) {
+      throw new IOException(String.format("String length %d exceeds remaining data.", length));
+    }
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    // Ordinal is shifted by one in order to encode NULL as zero.
+    out.writeByte(value != null ? value.ordinal() + 1 : 0);
+  }
+
+  private static <T extends Enum<T>> T readEnum(DataInputStream in, T[] values) throws IOException {
+    int ordinal = in.readUnsignedByte() - 1;
+    if (ordinal < 0) return null;
+    if (ordinal >= values.length) throw new IOException(String.format("Unknown enum ordinal %d.", ordinal));
+    return values[ordinal];
+  }
+
+  private static void writeSize(DataOutput out, Set<?> set) throws IOException {
+    // Size is shifted by one in order to distinguish NULL from an empty set.
+    writeVarInt(out, set != null ? set.size() + 1 : 0);
+  }
+
+  private static int readSize(DataInputStream in) throws IOException {
+    int size = readVarInt(in) - 1;
+    // Every element requires at least one byte, thus, a larger size can only come from corrupted data.
+    if (size > in.available()) {
+      throw new IOException(String.format("Size %d exceeds remaining data.", size));
+    }
+    return size;
+  }
+
+  private static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static float round(float value) {
+    // Same rounding as applied by RoundingFloatSerializer when writing JSON.
+    return BigDecimal.valueOf(value)
+            .setScale(DECIMAL_POINTS, RoundingMode.HALF_UP)
+            .floatValue();
+  }
+
+  private static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IOException("Malformed varint.");
+  }
+}
@@ -0,0 +1,133 @@
+package no.mnemonic.services.grafeo.seb.model.v1;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FactSEBBinaryFormatTest extends AbstractSEBTest {
+
+  @Test
+  public void testEncodeDecodeNull() {
+    assertNull(FactSEBBinaryFormat.encode(null));
+    assertNull(FactSEBBinaryFormat.decode(null));
+  }
+
+  @Test
+  public void testEncodeDecodeEmptyFact() throws Exception {
+    FactSEB expected = FactSEB.builder().build();
+    FactSEB actual = FactSEBBinaryFormat.decode(FactSEBBinaryFormat.encode(expected));
+
+    assertEquals(getMapper().writeValueAsString(expected), getMapper().writeValueAsString(actual));
+  }
+
+  @Test
+  public void testEncodeDecodeFullFact() throws Exception {
+    FactSEB expected = createFact();
+    FactSEB actual = FactSEBBinaryFormat.decode(FactSEBBinaryFormat.encode(expected));
+
+    // Compare the JSON representation which covers all fields including the nested structures.
+    assertEquals(getMapper().writeValueAsString(expected), getMapper().writeValueAsString(actual));
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getTrust(), actual.getTrust(), 0.0);
+    assertEquals(expected.getConfidence(), actual.getConfidence(), 0.0);
+  }
+
+  @Test
+  public void testBinaryAndJsonFormatProduceEqualFacts() throws Exception {
+    FactSEB fact = createFact(0.123456f, 0.987654f);
+    FactSEB fromBinary = FactSEBBinaryFormat.decode(FactSEBBinaryFormat.encode(fact));
+    FactSEB fromJson = getMapper().readValue(getMapper().writeValueAsBytes(fact), FactSEB.class);
+
+    assertEquals(getMapper().writeValueAsString(fromJson), getMapper().writeValueAsString(fromBinary));
+    assertEquals(fromJson.getTrust(), fromBinary.getTrust(), 0.0);
+    assertEquals(fromJson.getConfidence(), fromBinary.getConfidence(), 0.0);
+    assertEquals(0.12f, fromBinary.getTrust(), 0.0);
+    assertEquals(0.99f, fromBinary.getConfidence(), 0.0);
+  }
+
+  @Test
+  public void testEncodeIsSmallerThanJson() throws Exception {
+    FactSEB fact = createFact();
+    assertTrue(FactSEBBinaryFormat.encode(fact).length * 2 < getMapper().writeValueAsBytes(fact).length);
+  }
+
+  @Test
+  public void testIsBinary() throws Exception {
+    assertTrue(FactSEBBinaryFormat.isBinary(FactSEBBinaryFormat.encode(createFact())));
+    assertFalse(FactSEBBinaryFormat.isBinary(getMapper().writeValueAsBytes(createFact())));
+    assertFalse(FactSEBBinaryFormat.isBinary("null".getBytes(StandardCharsets.UTF_8)));
+    assertFalse(FactSEBBinaryFormat.isBinary(new byte[0]));
+    assertFalse(FactSEBBinaryFormat.isBinary(null));
+  }
+
+  @Test
+  public void testDecodeUnknownVersion() {
+    byte[] data = FactSEBBinaryFormat.encode(createFact());
+    data[0] = FactSEBBinaryFormat.VERSION_1 + 1;
+    assertThrows(UncheckedIOException.class, () -> FactSEBBinaryFormat.decode(data));
+  }
+
+  @Test
+  public void testDecodeTruncatedData() {
+    byte[] data = FactSEBBinaryFormat.encode(createFact());
+    assertThrows(UncheckedIOException.class, () -> FactSEBBinaryFormat.decode(Arrays.copyOf(data, data.length / 2)));
+  }
+
+  @Test
+  public void testDecodeStringLengthExceedingData() {
+    // Version, no id, no type, followed by a value claiming to be Integer.MAX_VALUE - 1 bytes long.
+    byte[] data = {FactSEBBinaryFormat.VERSION_1, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'a'};
+    assertThrows(UncheckedIOException.class, () -> FactSEBBinaryFormat.decode(data));
+  }
+
+  private FactSEB createFact() {
+    return createFact(0.8f, 0.3f);
+  }
+
+  private FactSEB createFact(float trust, float confidence) {
+    return FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .setType(FactTypeInfoSEB.builder().setId(UUID.randomUUID()).setName("factType").build())
+            .setValue("value \u00e6\u00f8\u00e5 \ud83d\ude00")
+            .setInReferenceTo(FactInfoSEB.builder()
+                    .setId(UUID.randomUUID())
+                    .setType(FactTypeInfoSEB.builder().setId(UUID.randomUUID()).setName("referencedType").build())
+                    .setValue("referencedValue")
+                    .build())
+            .setOrganization(OrganizationInfoSEB.builder().setId(UUID.randomUUID()).setName("organization").build())
+            .setOrigin(OriginInfoSEB.builder().setId(UUID.randomUUID()).setName("origin").build())
+            .setAddedBy(SubjectInfoSEB.builder().setId(UUID.randomUUID()).setName("addedBy").build())
+            .setLastSeenBy(SubjectInfoSEB.builder().setId(UUID.randomUUID()).setName("lastSeenBy").build())
+            .setAccessMode(FactSEB.AccessMode.Explicit)
+            .setTrust(trust)
+            .setConfidence(confidence)
+            .setTimestamp(1480520821123L)
+            .setLastSeenTimestamp(1480520822456L)
+            .setSourceObject(ObjectInfoSEB.builder()
+                    .setId(UUID.randomUUID())
+                    .setType(ObjectTypeInfoSEB.builder().setId(UUID.randomUUID()).setName("ipv4").build())
+                    .setValue("1.1.1.1")
+                    .build())
+            .setDestinationObject(ObjectInfoSEB.builder()
+                    .setId(UUID.randomUUID())
+                    .setType(ObjectTypeInfoSEB.builder().setId(UUID.randomUUID()).setName("fqdn").build())
+                    .setValue("example.org")
+                    .build())
+            .setBidirectionalBinding(true)
+            .addFlag(FactSEB.Flag.RetractedHint)
+            .addFlag(FactSEB.Flag.TimeGlobalIndex)
+            .addAclEntry(AclEntrySEB.builder()
+                    .setId(UUID.randomUUID())
+                    .setSubject(SubjectInfoSEB.builder().setId(UUID.randomUUID()).setName("subject").build())
+                    .setOrigin(OriginInfoSEB.builder().setId(UUID.randomUUID()).setName("origin").build())
+                    .setTimestamp(1480520823000L)
+                    .build())
+            .build();
+  }
+}
@@ -1,37 +1,267 @@
 package no.mnemonic.services.grafeo.seb.producer.v1;
 
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.*;
+import no.mnemonic.messaging.documentchannel.DocumentChannel;
 import no.mnemonic.messaging.documentchannel.DocumentDestination;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 import no.mnemonic.services.grafeo.seb.producer.v1.converters.FactConverter;
 
-import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
  * Component which takes a {@link FactRecord}, converts it to a {@link FactSEB} model, and writes it to a Kafka topic.
+ * <p>
+ * Records are converted on the caller's thread, such that only immutable {@link FactSEB} models are buffered, and are
+ * put into a bounded in-memory buffer. A background thread drains the buffer in batches and hands each batch to the
+ * Kafka producer at once, flushing the producer after the batch instead of waiting for every single record. If the
+ * buffer is full the configured {@link OverflowPolicy} decides what happens with a record. Before the component is
+ * started and after it has been stopped records are published synchronously on the caller's thread.
+ * <p>
+ * Note that failures to convert or send a record are never propagated to the caller, also not when the record is
+ * published synchronously. They are logged and counted in the 'convertFailedCount' and 'sendFailedCount' metrics.
  */
-public class FactProducer implements Consumer<FactRecord> {
+@Singleton
+public class FactProducer implements Consumer<FactRecord>, LifecycleAspect, MetricAspect {
+
+  /**
+   * Policy applied when a record is published while the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Block the caller until space becomes available in the buffer (records are published in order, default).
+     */
+    Block,
+    /**
+     * Publish the record synchronously on the caller's thread (no record is lost, but it might overtake buffered records).
+     */
+    CallerRuns,
+    /**
+     * Drop the record (it is logged and counted).
+     */
+    Drop
+  }
 
   private static final Logger LOGGER = Logging.getLogger(FactProducer.class);
 
+  private static final int DEFAULT_BUFFER_CAPACITY = 10_000;
+  private static final int DEFAULT_BATCH_SIZE = 500;
+  private static final long POLL_TIMEOUT_MILLIS = 1000;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
   private final FactConverter converter;
+  @Dependency
   private final DocumentDestination<FactSEB> destination;
 
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final LongAdder bufferedCount = new LongAdder();
+  private final LongAdder publishedCount = new LongAdder();
+  private final LongAdder convertFailedCount = new LongAdder();
+  private final LongAdder sendFailedCount = new LongAdder();
+  private final LongAdder callerRunsCount = new LongAdder();
+  private final LongAdder blockedCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final PerformanceMonitor batchMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+
+  private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.Block;
+
+  private BlockingQueue<FactSEB> buffer;
+  private ExecutorService publisher;
+
   @Inject
   public FactProducer(FactConverter converter, DocumentDestination<FactSEB> destination) {
     this.converter = converter;
     this.destination = destination;
   }
 
+  @Override
+  public void startComponent() {
+    buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    publisher = Executors.newSingleThreadExecutor();
+    running.set(true);
+    publisher.submit(this::publishContinuously);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (!running.compareAndSet(true, false)) return;
+
+    publisher.shutdown();
+    try {
+      if (!publisher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        publisher.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      publisher.shutdownNow();
+    }
+
+    // Flush everything still buffered before the Kafka destination is closed. Records offered concurrently after
+    // this point are published by accept() itself because it re-checks the running flag.
+    List<FactSEB> remaining = new ArrayList<>();
+    buffer.drainTo(remaining);
+    publish(remaining);
+  }
+
   @Override
   public void accept(FactRecord fact) {
-    FactSEB seb = converter.apply(fact);
-    if (seb != null) {
-      LOGGER.debug("Sending Fact with id = %s to document channel.", seb.getId());
-      destination.getDocumentChannel().sendDocument(seb);
+    if (fact == null) return;
+
+    // Convert before buffering, the record might be modified by the caller afterwards.
+    FactSEB seb = convert(fact);
+    if (seb == null) return;
+
+    if (!running.get()) {
+      publish(Collections.singletonList(seb));
+      return;
+    }
+
+    if (buffer.offer(seb)) {
+      bufferedCount.increment();
+      publishIfStopped(seb);
+      return;
+    }
+
+    switch (overflowPolicy) {
+      case CallerRuns:
+        callerRunsCount.increment();
+        publish(Collections.singletonList(seb));
+        break;
+      case Drop:
+        droppedCount.increment();
+        LOGGER.warning("Buffer is full. Drop Fact with id = %s.", seb.getId());
+        break;
+      default:
+        blockedCount.increment();
+        putUninterruptibly(seb);
+        publishIfStopped(seb);
+    }
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("bufferSize", buffer != null ? buffer.size() : 0)
+            .addData("bufferedCount", bufferedCount.longValue())
+            .addData("publishedCount", publishedCount.longValue())
+            .addData("failedCount", convertFailedCount.longValue() + sendFailedCount.longValue())
+            .addData("convertFailedCount", convertFailedCount.longValue())
+            .addData("sendFailedCount", sendFailedCount.longValue())
+            .addData("callerRunsCount", callerRunsCount.longValue())
+            .addData("blockedCount", blockedCount.longValue())
+            .addData("droppedCount", droppedCount.longValue())
+            .addData("batchInvocations", batchMonitor.getTotalInvocations())
+            .addData("batchTimeSpent", batchMonitor.getTotalTimeSpent());
+  }
+
+  @Inject(optional = true)
+  public FactProducer setBufferCapacity(@Named("grafeo.seb.producer.buffer.capacity") int bufferCapacity) {
+    this.bufferCapacity = bufferCapacity;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public FactProducer setBatchSize(@Named("grafeo.seb.producer.batch.size") int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public FactProducer setOverflowPolicy(@Named("grafeo.seb.producer.overflow.policy") String overflowPolicy) {
+    this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy);
+    return this;
+  }
+
+  private void publishContinuously() {
+    while (running.get()) {
+      try {
+        FactSEB first = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+
+        List<FactSEB> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        buffer.drainTo(batch, batchSize - 1);
+        publish(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception ex) {
+        LOGGER.error(ex, "Unexpected error while publishing Facts.");
+      }
+    }
+  }
+
+  private FactSEB convert(FactRecord fact) {
+    try {
+      return converter.apply(fact);
+    } catch (Exception ex) {
+      // Failures are never propagated to the caller.
+      convertFailedCount.increment();
+      LOGGER.error(ex, "Could not convert Fact with id = %s.", fact.getId());
+      return null;
+    }
+  }
+
+  private void publish(List<FactSEB> batch) {
+    if (batch.isEmpty()) return;
+
+    try (TimerContext ignored = TimerContext.timerMillis(batchMonitor::invoked)) {
+      DocumentChannel<FactSEB> channel = destination.getDocumentChannel();
+      int sent = 0;
+      for (FactSEB seb : batch) {
+        // A single failing Fact must not prevent the rest of the batch from being published.
+        try {
+          LOGGER.debug("Sending Fact with id = %s to document channel.", seb.getId());
+          channel.sendDocument(seb);
+          sent++;
+        } catch (Exception ex) {
+          sendFailedCount.increment();
+          LOGGER.error(ex, "Could not send Fact with id = %s to document channel.", seb.getId());
+        }
+      }
+
+      // The Kafka producer batches the records internally, only wait for the whole batch to be sent.
+      try {
+        channel.flush();
+        publishedCount.add(sent);
+      } catch (Exception ex) {
+        sendFailedCount.add(sent);
+        LOGGER.error(ex, "Could not send batch of %d Facts to document channel.", sent);
+      }
+    }
+  }
+
+  private void publishIfStopped(FactSEB seb) {
+    // The component might have been stopped after the running flag was checked, and the buffer might already have
+    // been flushed. Only publish the record if it's still in the buffer, otherwise it has been flushed already.
+    if (!running.get() && buffer.remove(seb)) {
+      publish(Collections.singletonList(seb));
+    }
+  }
+
+  private void putUninterruptibly(FactSEB seb) {
+    try {
+      buffer.put(seb);
+      bufferedCount.increment();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      // Don't lose the record if interrupted while waiting.
+      publish(Collections.singletonList(seb));
     }
   }
 }
@@ -1,12 +1,12 @@
 package no.mnemonic.services.grafeo.seb.producer.v1.providers;
 
+import com.google.inject.Inject;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.messaging.documentchannel.DocumentDestination;
 import no.mnemonic.messaging.documentchannel.kafka.KafkaDocumentDestination;
 import no.mnemonic.messaging.documentchannel.kafka.KafkaProducerProvider;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
-import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
@@ -22,6 +22,8 @@ public class FactKafkaDestinationProvider implements LifecycleAspect, Provider<D
   private final String producerTopic;
   private final boolean producerEnabled;
 
+  private boolean binaryFormat;
+
   @Inject
   public FactKafkaDestinationProvider(
           @Named("grafeo.seb.kafka.port") int port,
@@ -56,6 +58,12 @@ public class FactKafkaDestinationProvider implements LifecycleAspect, Provider<D
     });
   }
 
+  @Inject(optional = true)
+  public FactKafkaDestinationProvider setBinaryFormat(@Named("grafeo.seb.kafka.producer.binary.format") boolean binaryFormat) {
+    this.binaryFormat = binaryFormat;
+    return this;
+  }
+
   private KafkaDocumentDestination<FactSEB> createKafkaDocumentDestination() {
     return KafkaDocumentDestination.<FactSEB>builder()
             .setProducerProvider(createKafkaProducerProvider())
@@ -69,7 +77,7 @@ public class FactKafkaDestinationProvider implements LifecycleAspect, Provider<D
     return KafkaProducerProvider.builder()
             .setKafkaHosts(contactPoints)
             .setKafkaPort(port)
-            .addSerializer(FactSEB.class, new FactKafkaSerializer())
+            .addSerializer(FactSEB.class, new FactKafkaSerializer(binaryFormat))
             .build();
   }
 }
@@ -7,24 +7,52 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serializer;
 
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat.*;
+
 class FactKafkaSerializer implements Serializer<FactSEB> {
 
   private static final Logger LOGGER = Logging.getLogger(FactKafkaSerializer.class);
   private static final ObjectMapper MAPPER = JsonMapper.builder().build();
   private static final ObjectWriter WRITER = MAPPER.writerFor(FactSEB.class);
 
+  private final boolean binary;
+
+  FactKafkaSerializer() {
+    this(false);
+  }
+
+  FactKafkaSerializer(boolean binary) {
+    this.binary = binary;
+  }
+
   @Override
   public void configure(Map<String, ?> configs, boolean isKey) {
     // Noop
   }
 
+  @Override
+  public byte[] serialize(String topic, Headers headers, FactSEB data) {
+    // Mark every message with its encoding such that consumers can handle JSON and binary messages side by side.
+    String contentType = binary && data != null ? CONTENT_TYPE_BINARY : CONTENT_TYPE_JSON;
+    headers.remove(CONTENT_TYPE_HEADER);
+    headers.add(CONTENT_TYPE_HEADER, contentType.getBytes(StandardCharsets.UTF_8));
+    return serialize(topic, data);
+  }
+
   @Override
   public byte[] serialize(String topic, FactSEB data) {
+    if (binary && data != null) {
+      return FactSEBBinaryFormat.encode(data);
+    }
+
     try {
       return WRITER.writeValueAsBytes(data);
     } catch (JsonProcessingException ex) {
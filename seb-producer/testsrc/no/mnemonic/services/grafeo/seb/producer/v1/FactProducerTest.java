@@ -1,16 +1,23 @@
 package no.mnemonic.services.grafeo.seb.producer.v1;
 
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
 import no.mnemonic.messaging.documentchannel.DocumentChannel;
 import no.mnemonic.messaging.documentchannel.DocumentDestination;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 import no.mnemonic.services.grafeo.seb.producer.v1.converters.FactConverter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +33,11 @@ public class FactProducerTest {
   @InjectMocks
   private FactProducer producer;
 
+  @AfterEach
+  public void cleanUp() {
+    producer.stopComponent();
+  }
+
   @Test
   public void testConsumeNull() {
     producer.accept(null);
@@ -41,4 +53,195 @@ public class FactProducerTest {
     verify(converter).apply(notNull());
     verify(channel).sendDocument(notNull());
   }
+
+  @Test
+  public void testConsumeObjectAsynchronously() throws Exception {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    producer.startComponent();
+
+    producer.accept(new FactRecord());
+    producer.accept(new FactRecord());
+
+    assertTrue(LambdaUtils.waitFor(() -> metric("publishedCount") == 2, 5, TimeUnit.SECONDS));
+    verify(channel, times(2)).sendDocument(notNull());
+    assertEquals(2, metric("bufferedCount"));
+  }
+
+  @Test
+  public void testConsumeContinuesAfterFailure() throws Exception {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenThrow(IllegalStateException.class).thenReturn(FactSEB.builder().build());
+    producer.startComponent();
+
+    producer.accept(new FactRecord());
+    producer.accept(new FactRecord());
+
+    assertTrue(LambdaUtils.waitFor(() -> metric("publishedCount") == 1, 5, TimeUnit.SECONDS));
+    assertEquals(1, metric("failedCount"));
+    assertEquals(1, metric("convertFailedCount"));
+    assertEquals(1, metric("bufferedCount"));
+  }
+
+  @Test
+  public void testConsumeConvertsBeforeBuffering() throws Exception {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID());
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenAnswer(i -> FactSEB.builder().setId(i.<FactRecord>getArgument(0).getId()).build());
+    producer.startComponent();
+
+    producer.accept(fact);
+    // Modifying the record afterwards must not change what is published.
+    UUID originalID = fact.getId();
+    fact.setId(UUID.randomUUID());
+
+    verify(channel, timeout(5000)).sendDocument(argThat(seb -> originalID.equals(seb.getId())));
+  }
+
+  @Test
+  public void testConsumeFlushesChannelPerBatch() throws Exception {
+    CountDownLatch release = blockPublisher(3);
+
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    release.countDown();
+
+    assertTrue(LambdaUtils.waitFor(() -> metric("publishedCount") == 3, 5, TimeUnit.SECONDS));
+    verify(channel, times(3)).sendDocument(notNull());
+    // One flush for the first record and one for the batch containing the other two records.
+    verify(channel, times(2)).flush();
+  }
+
+  @Test
+  public void testConsumeCountsFlushFailure() {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class).when(channel).flush();
+
+    assertDoesNotThrow(() -> producer.accept(new FactRecord()));
+    assertEquals(1, metric("sendFailedCount"));
+    assertEquals(0, metric("publishedCount"));
+  }
+
+  @Test
+  public void testConsumeCountsSendFailure() {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class).when(channel).sendDocument(any());
+
+    assertDoesNotThrow(() -> producer.accept(new FactRecord()));
+    assertEquals(1, metric("failedCount"));
+    assertEquals(1, metric("sendFailedCount"));
+    assertEquals(0, metric("publishedCount"));
+  }
+
+  @Test
+  public void testStopDoesNotLoseConcurrentlyAcceptedFacts() throws Exception {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    producer.startComponent();
+
+    int count = 1000;
+    Thread producerThread = new Thread(() -> {
+      for (int i = 0; i < count; i++) {
+        producer.accept(new FactRecord().setId(UUID.randomUUID()));
+      }
+    });
+    producerThread.start();
+    producer.stopComponent();
+    producerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+    assertEquals(count, metric("publishedCount"));
+  }
+
+  @Test
+  public void testStopFlushesBuffer() {
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    producer.startComponent();
+
+    producer.accept(new FactRecord());
+    producer.stopComponent();
+
+    verify(channel).sendDocument(notNull());
+  }
+
+  @Test
+  public void testOverflowBlockIsDefault() throws Exception {
+    CountDownLatch release = blockPublisher(1);
+
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    // Buffer is full, thus, the caller blocks until the publisher continues.
+    Thread blocked = new Thread(() -> producer.accept(new FactRecord().setId(UUID.randomUUID())));
+    blocked.start();
+
+    assertTrue(LambdaUtils.waitFor(() -> metric("blockedCount") == 1, 5, TimeUnit.SECONDS));
+    assertTrue(blocked.isAlive());
+    release.countDown();
+    blocked.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertTrue(LambdaUtils.waitFor(() -> metric("publishedCount") == 3, 5, TimeUnit.SECONDS));
+    assertEquals(0, metric("callerRunsCount"));
+  }
+
+  @Test
+  public void testOverflowCallerRuns() throws Exception {
+    producer.setOverflowPolicy("CallerRuns");
+    CountDownLatch release = blockPublisher(1);
+
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    // Buffer is full, thus, the record is published on the caller's thread.
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+
+    assertEquals(1, metric("callerRunsCount"));
+    release.countDown();
+  }
+
+  @Test
+  public void testOverflowDrop() throws Exception {
+    producer.setOverflowPolicy("Drop");
+    CountDownLatch release = blockPublisher(1);
+
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+
+    assertEquals(1, metric("droppedCount"));
+    release.countDown();
+    assertTrue(LambdaUtils.waitFor(() -> metric("publishedCount") == 2, 5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testInvalidOverflowPolicy() {
+    assertThrows(IllegalArgumentException.class, () -> producer.setOverflowPolicy("Unknown"));
+  }
+
+  /**
+   * Starts the producer with a buffer of the given capacity and blocks the publisher thread on the first record.
+   * Afterwards the buffer is empty, and 'capacity' more records fit into it before it overflows.
+   */
+  private CountDownLatch blockPublisher(int capacity) throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    doAnswer(invocation -> {
+      sending.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).doNothing().when(channel).sendDocument(any());
+
+    producer.setBufferCapacity(capacity).startComponent();
+    producer.accept(new FactRecord().setId(UUID.randomUUID()));
+    assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+    return release;
+  }
+
+  private long metric(String name) {
+    try {
+      return producer.getMetrics().getData(name).longValue();
+    } catch (Exception ex) {
+      return -1;
+    }
+  }
 }
@@ -4,10 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
+import static no.mnemonic.services.grafeo.seb.model.v1.FactSEBBinaryFormat.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class FactKafkaSerializerTest {
@@ -32,4 +37,28 @@ public class FactKafkaSerializerTest {
     assertNotNull(actual);
     assertEquals(expected.getId(), actual.getId());
   }
+
+  @Test
+  public void testSerializeAddsJsonContentTypeHeader() throws Exception {
+    FactSEB expected = FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .build();
+
+    Headers headers = new RecordHeaders();
+    FactSEB actual = READER.readValue(serializer.serialize("test", headers, expected));
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(CONTENT_TYPE_JSON, new String(headers.lastHeader(CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSerializeBinary() {
+    FactSEB expected = FactSEB.builder()
+            .setId(UUID.randomUUID())
+            .build();
+
+    Headers headers = new RecordHeaders();
+    FactSEB actual = FactSEBBinaryFormat.decode(new FactKafkaSerializer(true).serialize("test", headers, expected));
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(CONTENT_TYPE_BINARY, new String(headers.lastHeader(CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+  }
 }
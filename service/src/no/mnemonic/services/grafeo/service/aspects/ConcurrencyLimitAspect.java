@@ -0,0 +1,74 @@
+package no.mnemonic.services.grafeo.service.aspects;
+
+import com.google.inject.matcher.Matchers;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.api.ServiceContext;
+import no.mnemonic.services.common.auth.model.Credentials;
+import no.mnemonic.services.grafeo.auth.properties.model.SubjectCredentials;
+import no.mnemonic.services.grafeo.service.Service;
+import no.mnemonic.services.grafeo.service.container.AdaptiveConcurrencyLimiter;
+import org.aopalliance.intercept.MethodInvocation;
+
+import jakarta.inject.Inject;
+
+/**
+ * The ConcurrencyLimitAspect makes sure that a service method is only executed if the {@link AdaptiveConcurrencyLimiter}
+ * permits it, otherwise the request is rejected with a ServiceOverloadedException. Only the outermost service method
+ * call is limited, i.e. service methods called from within the service don't acquire another permit. Requests
+ * received on the expedite port aren't limited at all.
+ */
+public class ConcurrencyLimitAspect extends AbstractAspect {
+
+  private static final ThreadLocal<Boolean> INSIDE_LIMIT = ThreadLocal.withInitial(() -> false);
+
+  @Inject
+  private AdaptiveConcurrencyLimiter limiter;
+
+  @Override
+  protected void configure() {
+    requestInjection(this);
+    bindInterceptor(Matchers.subclassesOf(Service.class), matchServiceMethod(), this);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    // Requests on the expedite port must never be rejected, they bypass the limits completely.
+    if (INSIDE_LIMIT.get() || isExpedite()) {
+      return invocation.proceed();
+    }
+
+    // The limits are kept per port, identified by the priority the service proxy assigned to the request.
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(ServiceContext.getServiceContext().getThreadPriority(),
+            resolveClient(getRequestHeader(invocation).getCredentials()), invocation.getMethod().getName());
+    boolean streaming = false;
+    try {
+      INSIDE_LIMIT.set(true);
+      Object result = invocation.proceed();
+      if (result instanceof ResultSet) {
+        // Results are streamed after the method returned, keep the permit until the result has been consumed.
+        streaming = true;
+        return limiter.releaseAfterStreaming(permit, (ResultSet<?>) result);
+      }
+
+      return result;
+    } finally {
+      INSIDE_LIMIT.remove();
+      if (!streaming) permit.close();
+    }
+  }
+
+  private boolean isExpedite() {
+    // The service proxy marks the thread executing a request with the priority of the port the request arrived on.
+    return ServiceContext.getServiceContext().getThreadPriority() == ServiceContext.Priority.expedite;
+  }
+
+  private String resolveClient(Credentials credentials) {
+    if (credentials instanceof SubjectCredentials) {
+      return String.valueOf(((SubjectCredentials) credentials).getSubjectID());
+    }
+
+    // Unknown credentials are all limited together.
+    return credentials != null ? credentials.getClass().getName() : "anonymous";
+  }
+
+}
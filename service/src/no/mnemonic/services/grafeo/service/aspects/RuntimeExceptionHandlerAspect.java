@@ -5,6 +5,7 @@ import com.google.inject.matcher.Matchers;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.services.common.api.ServiceTimeOutException;
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
 import no.mnemonic.services.grafeo.api.exceptions.UnexpectedAuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.UnhandledRuntimeException;
 import no.mnemonic.services.grafeo.service.Service;
@@ -28,7 +29,7 @@ public class RuntimeExceptionHandlerAspect extends AbstractAspect {
     try {
       // Just execute service method which might or might not throw a RuntimeException.
       return invocation.proceed();
-    } catch (UnexpectedAuthenticationFailedException | UnhandledRuntimeException | ServiceTimeOutException ex) {
+    } catch (UnexpectedAuthenticationFailedException | UnhandledRuntimeException | ServiceOverloadedException | ServiceTimeOutException ex) {
       throw ex; // Allow well-known RuntimeExceptions to pass through.
     } catch (RuntimeException ex) {
       if (containsException(ex, DriverTimeoutException.class)) {
@@ -39,6 +39,23 @@ public class ValidationAspect extends AbstractAspect {
     return invocation.proceed();
   }
 
+  /**
+   * Validate a single request object outside of a service method call, e.g. one item of a bulk request.
+   *
+   * @param request Request to validate
+   * @throws InvalidArgumentException If the request is NULL or fails validation
+   */
+  public static void validate(ValidatingRequest request) throws InvalidArgumentException {
+    InvalidArgumentException ex = new InvalidArgumentException();
+    if (request == null) {
+      throw ex.addValidationError(InvalidArgumentException.ErrorMessage.NULL, "request", "NULL");
+    }
+
+    if (validateRequest(request, ex)) {
+      throw ex;
+    }
+  }
+
   private void validateMethodParameters(MethodInvocation invocation) throws InvalidArgumentException {
     boolean isInvalid = false;
     InvalidArgumentException ex = new InvalidArgumentException();
@@ -64,7 +81,7 @@ public class ValidationAspect extends AbstractAspect {
     }
   }
 
-  private boolean validateRequest(ValidatingRequest request, InvalidArgumentException ex) {
+  private static boolean validateRequest(ValidatingRequest request, InvalidArgumentException ex) {
     Set<ConstraintViolation<ValidatingRequest>> violations = validator.validate(request);
     for (ConstraintViolation<ValidatingRequest> v : violations) {
       // Add all violations to the provided InvalidArgumentException.
@@ -0,0 +1,193 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.google.inject.Inject;
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.FactTypeByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.ObjectTypeByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.OrganizationByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.OriginByIdResponseResolver;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Component which warms up the node-local caches during startup, before the service starts accepting requests.
+ * <p>
+ * It preloads all FactTypes, ObjectTypes and Origins into the DAO caches and the response caches, resolves the
+ * Organizations referenced by Origins and optionally loads a configured list of frequently requested Objects into
+ * the Object cache. Components accepting requests should declare a {@link Dependency} on this component, thus, they
+ * are only started after the warm-up has finished and a restarted node doesn't produce a burst of Cassandra reads.
+ * <p>
+ * The warm-up is best effort. Failures are logged and the service starts with (partially) cold caches.
+ */
+@Singleton
+public class CacheWarmer implements LifecycleAspect, MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(CacheWarmer.class);
+
+  @Dependency
+  private final FactManager factManager;
+  @Dependency
+  private final ObjectManager objectManager;
+  @Dependency
+  private final OriginManager originManager;
+  // Objects are cached in Hazelcast, thus, it must be started before warming up.
+  @Dependency
+  private final HazelcastInstance hazelcastInstance;
+  private final ObjectFactDao objectFactDao;
+  private final FactTypeByIdResponseResolver factTypeResolver;
+  private final ObjectTypeByIdResponseResolver objectTypeResolver;
+  private final OriginByIdResponseResolver originResolver;
+  private final OrganizationByIdResponseResolver organizationResolver;
+
+  private final AtomicBoolean ready = new AtomicBoolean();
+  private final AtomicLong warmedUpCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private final AtomicLong warmUpDuration = new AtomicLong();
+
+  private boolean enabled = true;
+  private Set<UUID> hotObjectIDs = SetUtils.set();
+
+  @Inject
+  public CacheWarmer(FactManager factManager,
+                     ObjectManager objectManager,
+                     OriginManager originManager,
+                     HazelcastInstance hazelcastInstance,
+                     ObjectFactDao objectFactDao,
+                     FactTypeByIdResponseResolver factTypeResolver,
+                     ObjectTypeByIdResponseResolver objectTypeResolver,
+                     OriginByIdResponseResolver originResolver,
+                     OrganizationByIdResponseResolver organizationResolver) {
+    this.factManager = factManager;
+    this.objectManager = objectManager;
+    this.originManager = originManager;
+    this.hazelcastInstance = hazelcastInstance;
+    this.objectFactDao = objectFactDao;
+    this.factTypeResolver = factTypeResolver;
+    this.objectTypeResolver = objectTypeResolver;
+    this.originResolver = originResolver;
+    this.organizationResolver = organizationResolver;
+  }
+
+  @Override
+  public void startComponent() {
+    if (!enabled) {
+      ready.set(true);
+      return;
+    }
+
+    LOGGER.info("Start warming up caches.");
+    long start = System.currentTimeMillis();
+
+    warmUp("FactTypes", () -> factManager.preloadFactTypes()
+            .stream()
+            .map(FactTypeEntity::getId)
+            .collect(Collectors.toList()), factTypeResolver::apply);
+    warmUp("ObjectTypes", () -> objectManager.preloadObjectTypes()
+            .stream()
+            .map(ObjectTypeEntity::getId)
+            .collect(Collectors.toList()), objectTypeResolver::apply);
+
+    List<OriginEntity> origins = loadOrigins();
+    warmUp("Origins", () -> origins.stream()
+            .map(OriginEntity::getId)
+            .collect(Collectors.toList()), originResolver::apply);
+    warmUp("Organizations", () -> origins.stream()
+            .map(OriginEntity::getOrganizationID)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList()), organizationResolver::apply);
+
+    warmUp("Objects", () -> List.copyOf(hotObjectIDs), objectFactDao::getObject);
+
+    warmUpDuration.set(System.currentTimeMillis() - start);
+    ready.set(true);
+    LOGGER.info("Finished warming up caches with %d entries in %d ms (%d failed).", warmedUpCount.get(), warmUpDuration.get(), failedCount.get());
+  }
+
+  @Override
+  public void stopComponent() {
+    ready.set(false);
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("ready", ready.get() ? 1 : 0)
+            .addData("warmedUpCount", warmedUpCount.get())
+            .addData("failedCount", failedCount.get())
+            .addData("warmUpDuration", warmUpDuration.get());
+  }
+
+  @Inject(optional = true)
+  public CacheWarmer setEnabled(@Named("grafeo.service.cache.warmup.enabled") boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public CacheWarmer setHotObjectIDs(@Named("grafeo.service.cache.warmup.object.ids") String hotObjectIDs) {
+    this.hotObjectIDs = SetUtils.set(hotObjectIDs.split(","))
+            .stream()
+            .map(String::trim)
+            .filter(id -> !StringUtils.isBlank(id))
+            .map(UUID::fromString)
+            .collect(Collectors.toSet());
+    return this;
+  }
+
+  private List<OriginEntity> loadOrigins() {
+    try {
+      return originManager.preloadOrigins();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to fetch Origins while warming up caches.");
+      return List.of();
+    }
+  }
+
+  private void warmUp(String name, Supplier<List<UUID>> ids, Consumer<UUID> loader) {
+    List<UUID> toLoad;
+    try {
+      toLoad = ids.get();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to fetch %s while warming up caches.", name);
+      return;
+    }
+
+    for (UUID id : toLoad) {
+      try {
+        loader.accept(id);
+        warmedUpCount.incrementAndGet();
+      } catch (Exception ex) {
+        failedCount.incrementAndGet();
+        LOGGER.warning(ex, "Failed to warm up cache for %s with id = %s.", name, id);
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@ import com.google.inject.TypeLiteral;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.bindings.DaoCache;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactExistenceFilter;
 
 import java.util.Map;
 import java.util.UUID;
@@ -33,5 +34,8 @@ public class DaoCachesModule extends AbstractModule {
             .annotatedWith(DaoCache.class)
             .toProvider(DistributedFactByHashDaoCache.class)
             .in(Scopes.SINGLETON);
+    bind(FactExistenceFilter.class)
+            .to(DistributedFactExistenceFilter.class)
+            .in(Scopes.SINGLETON);
   }
 }
@@ -7,6 +7,10 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.UUID;
 
+/**
+ * Most lookups by hash are for new Facts which don't exist yet. Those lookups are only coalesced node-locally by the
+ * resolver because a cluster-wide lock doesn't pay off if nothing is loaded.
+ */
 @Singleton
 public class DistributedFactByHashDaoCache extends AbstractHazelcastMapProvider<String, UUID> {
 
@@ -14,6 +18,6 @@ public class DistributedFactByHashDaoCache extends AbstractHazelcastMapProvider<
 
   @Inject
   public DistributedFactByHashDaoCache(HazelcastInstance hazelcastInstance) {
-    super(hazelcastInstance, FACT_BY_HASH_MAP_NAME);
+    super(hazelcastInstance, FACT_BY_HASH_MAP_NAME, false);
   }
 }
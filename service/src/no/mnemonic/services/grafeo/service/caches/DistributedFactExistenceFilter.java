@@ -0,0 +1,394 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import com.google.inject.Inject;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableMessageListener;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactExistenceFilter;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+
+/**
+ * {@link FactExistenceFilter} implementation which holds a node-local Bloom filter of all stored Facts.
+ * <p>
+ * The filter is kept up-to-date incrementally by publishing the hash value of every stored Fact on a reliable Hazelcast
+ * topic which all nodes use to update their local filter. Facts are never deleted, thus, the filter never needs to be
+ * rebuilt while the node is running.
+ * <p>
+ * Nodes share snapshots of their filter through a Hazelcast map. A snapshot contains the sequence of the last topic
+ * update included in the filter. On startup a node loads the snapshot and replays all later updates from the topic.
+ * Only if no usable snapshot exists (e.g. when the whole cluster is started, or the topic doesn't hold all updates
+ * since the snapshot anymore) one node builds the filter from the fact_existence table in Cassandra and shares it,
+ * while all other nodes wait for its snapshot. Until the filter has been loaded it answers 'maybe' for every Fact.
+ * <p>
+ * If a node falls so far behind that it would miss updates the listener is cancelled, the filter answers 'maybe'
+ * again and is loaded again. Snapshots are refreshed periodically (every hour by default, configured with
+ * 'grafeo.dao.fact.existence.filter.snapshot.interval') such that the topic holds all updates since the snapshot.
+ * <p>
+ * The filter is sized with 'grafeo.dao.fact.existence.filter.expected.insertions'. When the filter is built from
+ * Cassandra it's sized for at least twice the number of Facts in the current filter, thus, it grows with the data.
+ * <p>
+ * Updates published by other nodes arrive asynchronously. If the same Fact is created on two nodes within this short
+ * window both will treat the Fact as new, which is the same behaviour as without the filter.
+ * <p>
+ * The filter is disabled by default and must be enabled with 'grafeo.dao.fact.existence.filter.enabled'.
+ */
+@Singleton
+public class DistributedFactExistenceFilter implements FactExistenceFilter, LifecycleAspect, MetricAspect {
+
+  public static final String FACT_EXISTENCE_TOPIC_NAME = "ACT.Service.Topic.FactExistence";
+  public static final String FACT_EXISTENCE_TOPIC_RINGBUFFER_NAME = TOPIC_RB_PREFIX + FACT_EXISTENCE_TOPIC_NAME;
+  public static final String FACT_EXISTENCE_SNAPSHOT_MAP_NAME = "ACT.Service.Map.FactExistenceSnapshot";
+
+  private static final Logger LOGGER = Logging.getLogger(DistributedFactExistenceFilter.class);
+
+  private static final Funnel<CharSequence> FUNNEL = Funnels.stringFunnel(StandardCharsets.UTF_8);
+  private static final String SNAPSHOT_KEY = "snapshot";
+  private static final long DEFAULT_EXPECTED_INSERTIONS = 50_000_000;
+  private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final long DEFAULT_SNAPSHOT_INTERVAL = 1;
+  // Time to wait for another node to share its filter, or before retrying after a failure.
+  private static final long RETRY_INTERVAL_SECONDS = 60;
+  // Time to wait for replaying the topic updates after loading a snapshot.
+  private static final long REPLAY_TIMEOUT_SECONDS = 60;
+
+  @Dependency
+  private final HazelcastInstance hazelcastInstance;
+  @Dependency
+  private final FactManager factManager;
+
+  private final AtomicBoolean ready = new AtomicBoolean();
+  private final AtomicLong definitelyNewCount = new AtomicLong();
+  private final AtomicLong mightContainCount = new AtomicLong();
+
+  private boolean enabled;
+  private long expectedInsertions = DEFAULT_EXPECTED_INSERTIONS;
+  private double falsePositiveProbability = DEFAULT_FALSE_POSITIVE_PROBABILITY;
+  private long snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+
+  // Filter used to answer requests. It's replaced when it has been loaded again.
+  private volatile BloomFilter<String> filter;
+  // Filter being built from Cassandra. It receives all updates while it's being built.
+  private volatile BloomFilter<String> nextFilter;
+  // Sequence of the last topic update applied to the filter.
+  private volatile long lastSequence = -1;
+  private ITopic<String> topic;
+  private Ringbuffer<Object> ringbuffer;
+  private IMap<String, byte[]> snapshots;
+  private volatile UUID listenerID;
+  private ScheduledExecutorService executor;
+
+  @Inject
+  public DistributedFactExistenceFilter(HazelcastInstance hazelcastInstance, FactManager factManager) {
+    this.hazelcastInstance = hazelcastInstance;
+    this.factManager = factManager;
+  }
+
+  @Override
+  public void startComponent() {
+    if (!enabled) return;
+
+    // BloomFilter is thread-safe, thus, it can be updated from the topic listener, the loading and request threads.
+    filter = createBloomFilter(expectedInsertions);
+    topic = hazelcastInstance.getReliableTopic(FACT_EXISTENCE_TOPIC_NAME);
+    ringbuffer = hazelcastInstance.getRingbuffer(FACT_EXISTENCE_TOPIC_RINGBUFFER_NAME);
+    snapshots = hazelcastInstance.getMap(FACT_EXISTENCE_SNAPSHOT_MAP_NAME);
+
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.submit(this::load);
+    if (snapshotInterval > 0) {
+      executor.scheduleWithFixedDelay(this::shareSnapshot, snapshotInterval, snapshotInterval, TimeUnit.HOURS);
+    }
+  }
+
+  @Override
+  public void stopComponent() {
+    if (!enabled) return;
+
+    ready.set(false);
+    executor.shutdownNow();
+    removeListener();
+  }
+
+  @Override
+  public boolean mightContain(String factHash) {
+    if (!ready.get() || StringUtils.isBlank(factHash) || filter.mightContain(factHash)) {
+      mightContainCount.incrementAndGet();
+      return true;
+    }
+
+    definitelyNewCount.incrementAndGet();
+    return false;
+  }
+
+  @Override
+  public void put(String factHash) {
+    if (!enabled || StringUtils.isBlank(factHash)) return;
+
+    // Update the local filter immediately and let all other nodes know about the new Fact.
+    putLocal(factHash);
+    topic.publish(factHash);
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    MetricsData metrics = new MetricsData()
+            .addData("ready", ready.get() ? 1 : 0)
+            .addData("definitelyNewCount", definitelyNewCount.get())
+            .addData("mightContainCount", mightContainCount.get());
+
+    BloomFilter<String> currentFilter = filter;
+    if (currentFilter != null) {
+      metrics.addData("approximateElementCount", currentFilter.approximateElementCount())
+              .addData("expectedFpp", currentFilter.expectedFpp());
+    }
+
+    return metrics;
+  }
+
+  @Inject(optional = true)
+  public DistributedFactExistenceFilter setEnabled(@Named("grafeo.dao.fact.existence.filter.enabled") boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public DistributedFactExistenceFilter setExpectedInsertions(@Named("grafeo.dao.fact.existence.filter.expected.insertions") long expectedInsertions) {
+    this.expectedInsertions = expectedInsertions;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public DistributedFactExistenceFilter setFalsePositiveProbability(@Named("grafeo.dao.fact.existence.filter.fpp") double falsePositiveProbability) {
+    this.falsePositiveProbability = falsePositiveProbability;
+    return this;
+  }
+
+  /**
+   * Set the interval between sharing snapshots of the filter with the cluster. A value of 0 disables periodic snapshots.
+   *
+   * @param snapshotInterval Snapshot interval in hours (default 1)
+   * @return this
+   */
+  @Inject(optional = true)
+  public DistributedFactExistenceFilter setSnapshotInterval(@Named("grafeo.dao.fact.existence.filter.snapshot.interval") long snapshotInterval) {
+    this.snapshotInterval = snapshotInterval;
+    return this;
+  }
+
+  private BloomFilter<String> createBloomFilter(long insertions) {
+    return BloomFilter.create(FUNNEL, insertions, falsePositiveProbability);
+  }
+
+  private void putLocal(String factHash) {
+    // Read 'nextFilter' before 'filter'. If no build is running yet the build will pick up the Fact from Cassandra,
+    // and after a build has finished 'filter' is already the new filter.
+    BloomFilter<String> next = nextFilter;
+    filter.put(factHash);
+    if (next != null) next.put(factHash);
+  }
+
+  private void load() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        if (loadSnapshot()) return;
+
+        // Only one node builds the filter from Cassandra, all other nodes wait for its snapshot.
+        if (snapshots.tryLock(SNAPSHOT_KEY)) {
+          try {
+            if (!loadSnapshot()) build();
+            return;
+          } finally {
+            snapshots.unlock(SNAPSHOT_KEY);
+          }
+        }
+
+        LOGGER.info("Fact existence filter is being built by another node, waiting for its snapshot.");
+        Thread.sleep(TimeUnit.SECONDS.toMillis(RETRY_INTERVAL_SECONDS));
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      // Keep answering 'maybe' for all Facts until the filter has been loaded. This is always correct, only slower.
+      LOGGER.error(ex, "Failed to load Fact existence filter. Try again in %d seconds.", RETRY_INTERVAL_SECONDS);
+      executor.schedule(this::load, RETRY_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  private boolean loadSnapshot() throws IOException, InterruptedException {
+    byte[] snapshot = snapshots.get(SNAPSHOT_KEY);
+    if (snapshot == null) return false;
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+    long sequence = in.readLong();
+    // All updates after the snapshot must still be available from the topic, otherwise the snapshot is incomplete.
+    if (sequence + 1 < ringbuffer.headSequence()) {
+      LOGGER.info("Snapshot of Fact existence filter is outdated (sequence = %d).", sequence);
+      return false;
+    }
+
+    filter = BloomFilter.readFrom(in, FUNNEL);
+    // Replay all updates after the snapshot and only answer requests once all of them have been applied.
+    long tailSequence = ringbuffer.tailSequence();
+    registerListener(sequence);
+    if (!LambdaUtils.waitFor(() -> lastSequence >= tailSequence, REPLAY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      LOGGER.warning("Could not replay updates of Fact existence filter since snapshot (sequence = %d).", sequence);
+      removeListener();
+      return false;
+    }
+
+    ready.set(true);
+    LOGGER.info("Loaded Fact existence filter from snapshot (sequence = %d).", sequence);
+    return true;
+  }
+
+  private void build() throws IOException {
+    LOGGER.info("Start building Fact existence filter from Cassandra.");
+
+    // Make room for the Facts added since the current filter has been built.
+    BloomFilter<String> next = createBloomFilter(Math.max(expectedInsertions, 2 * filter.approximateElementCount()));
+    nextFilter = next;
+    try {
+      // Listen for updates from the cluster before reading from Cassandra in order to not miss any Facts.
+      registerListener(ringbuffer.tailSequence());
+
+      long count = 0;
+      Iterator<String> hashes = factManager.fetchFactHashes();
+      while (hashes.hasNext() && !Thread.currentThread().isInterrupted()) {
+        next.put(hashes.next());
+        count++;
+      }
+
+      if (Thread.currentThread().isInterrupted()) return;
+      // Swap filters before resetting 'nextFilter', see putLocal().
+      filter = next;
+      ready.set(true);
+      LOGGER.info("Finished building Fact existence filter with %d Facts.", count);
+      if (count > expectedInsertions) {
+        LOGGER.warning("Fact existence filter holds more Facts (%d) than expected (%d). Increase 'grafeo.dao.fact.existence.filter.expected.insertions'.",
+                count, expectedInsertions);
+      }
+    } finally {
+      nextFilter = null;
+    }
+
+    writeSnapshot();
+  }
+
+  private void shareSnapshot() {
+    if (!ready.get()) return;
+
+    try {
+      writeSnapshot();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to share snapshot of Fact existence filter.");
+    }
+  }
+
+  private void writeSnapshot() throws IOException {
+    // Read the sequence before serializing the filter. Updates after this sequence might be included as well, but
+    // replaying them is harmless. Subtract one in order to be safe if the sequence is stored before the update is applied.
+    long sequence = Math.max(lastSequence - 1, -1);
+
+    ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(snapshot);
+    out.writeLong(sequence);
+    filter.writeTo(out);
+    out.flush();
+
+    snapshots.set(SNAPSHOT_KEY, snapshot.toByteArray());
+    LOGGER.info("Shared snapshot of Fact existence filter (sequence = %d).", sequence);
+  }
+
+  private void registerListener(long sequence) {
+    removeListener();
+    lastSequence = sequence;
+    listenerID = topic.addMessageListener(new FactExistenceListener(sequence + 1));
+  }
+
+  private void removeListener() {
+    UUID currentListenerID = listenerID;
+    if (currentListenerID != null) topic.removeMessageListener(currentListenerID);
+    listenerID = null;
+  }
+
+  private void recover() {
+    // The listener has missed updates, thus, the filter might answer wrongly until it has been loaded again.
+    ready.set(false);
+    removeListener();
+    load();
+  }
+
+  private class FactExistenceListener implements ReliableMessageListener<String> {
+
+    private final long initialSequence;
+
+    private FactExistenceListener(long initialSequence) {
+      this.initialSequence = initialSequence;
+    }
+
+    @Override
+    public void onMessage(Message<String> message) {
+      putLocal(message.getMessageObject());
+    }
+
+    @Override
+    public long retrieveInitialSequence() {
+      return initialSequence;
+    }
+
+    @Override
+    public void storeSequence(long sequence) {
+      lastSequence = sequence;
+    }
+
+    @Override
+    public boolean isLossTolerant() {
+      // Cancel the listener instead of silently skipping updates if it cannot keep up.
+      return false;
+    }
+
+    @Override
+    public boolean isTerminal(Throwable failure) {
+      return false;
+    }
+
+    @Override
+    public void onCancel() {
+      ScheduledExecutorService currentExecutor = executor;
+      if (!enabled || currentExecutor == null || currentExecutor.isShutdown()) return;
+
+      LOGGER.warning("Fact existence listener has been cancelled, loading Fact existence filter again.");
+      currentExecutor.submit(DistributedFactExistenceFilter.this::recover);
+    }
+  }
+}
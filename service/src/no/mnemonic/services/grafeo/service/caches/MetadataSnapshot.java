@@ -0,0 +1,69 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import no.mnemonic.services.grafeo.api.model.v1.FactType;
+import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
+import no.mnemonic.services.grafeo.api.model.v1.Origin;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the small metadata tables (FactTypes, ObjectTypes and Origins) converted into their response
+ * models. A snapshot is never modified after creation, instead a new snapshot with a higher version replaces it.
+ */
+public class MetadataSnapshot {
+
+  /**
+   * Snapshot without any entries which is used until the first snapshot has been loaded.
+   */
+  public static final MetadataSnapshot EMPTY = new MetadataSnapshot(0, Map.of(), Map.of(), Map.of());
+
+  private final long version;
+  private final Map<UUID, FactType> factTypes;
+  private final Map<UUID, ObjectType> objectTypes;
+  private final Map<UUID, Origin> origins;
+
+  public MetadataSnapshot(long version, Map<UUID, FactType> factTypes, Map<UUID, ObjectType> objectTypes, Map<UUID, Origin> origins) {
+    this.version = version;
+    this.factTypes = Map.copyOf(factTypes);
+    this.objectTypes = Map.copyOf(objectTypes);
+    this.origins = Map.copyOf(origins);
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public int getFactTypeCount() {
+    return factTypes.size();
+  }
+
+  public int getObjectTypeCount() {
+    return objectTypes.size();
+  }
+
+  public int getOriginCount() {
+    return origins.size();
+  }
+
+  /**
+   * Returns the FactType with the given ID or null if it isn't part of this snapshot.
+   */
+  public FactType getFactType(UUID id) {
+    return id != null ? factTypes.get(id) : null;
+  }
+
+  /**
+   * Returns the ObjectType with the given ID or null if it isn't part of this snapshot.
+   */
+  public ObjectType getObjectType(UUID id) {
+    return id != null ? objectTypes.get(id) : null;
+  }
+
+  /**
+   * Returns the Origin with the given ID or null if it isn't part of this snapshot.
+   */
+  public Origin getOrigin(UUID id) {
+    return id != null ? origins.get(id) : null;
+  }
+}
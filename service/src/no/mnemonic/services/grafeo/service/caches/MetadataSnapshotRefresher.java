@@ -0,0 +1,162 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.services.grafeo.api.model.v1.FactType;
+import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
+import no.mnemonic.services.grafeo.api.model.v1.Origin;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.FactTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.OriginResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.OriginResolver;
+
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Component which holds the current {@link MetadataSnapshot} and periodically replaces it with a freshly loaded one.
+ * <p>
+ * The first snapshot is loaded during startup, afterwards a new snapshot is loaded in the background and swapped in
+ * atomically. Readers always see one consistent snapshot and never block on Cassandra. Metadata created or changed
+ * after the last refresh isn't part of the current snapshot, thus, callers must fall back to their usual resolution
+ * for missing entries. If a refresh fails the previous snapshot is kept.
+ * <p>
+ * The refresh interval is configured with 'grafeo.service.metadata.snapshot.refresh.interval.seconds' (0 disables
+ * the snapshot completely).
+ */
+@Singleton
+public class MetadataSnapshotRefresher implements Supplier<MetadataSnapshot>, LifecycleAspect, MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(MetadataSnapshotRefresher.class);
+
+  private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 60;
+
+  @Dependency
+  private final FactManager factManager;
+  @Dependency
+  private final ObjectManager objectManager;
+  @Dependency
+  private final OriginManager originManager;
+  // The converters depend on response resolvers which read from the snapshot, thus, use Providers to break the cycle.
+  private final Provider<FactTypeResponseConverter> factTypeConverter;
+  private final Provider<ObjectTypeResponseConverter> objectTypeConverter;
+  private final Provider<OriginResponseConverter> originConverter;
+  private final Provider<OriginResolver> originResolver;
+
+  private final AtomicReference<MetadataSnapshot> snapshot = new AtomicReference<>(MetadataSnapshot.EMPTY);
+  private final AtomicLong refreshFailures = new AtomicLong();
+  private final AtomicLong lastRefreshDuration = new AtomicLong();
+
+  private long refreshIntervalSeconds = DEFAULT_REFRESH_INTERVAL_SECONDS;
+  private ScheduledExecutorService refreshExecutor;
+
+  @Inject
+  public MetadataSnapshotRefresher(FactManager factManager,
+                                   ObjectManager objectManager,
+                                   OriginManager originManager,
+                                   Provider<FactTypeResponseConverter> factTypeConverter,
+                                   Provider<ObjectTypeResponseConverter> objectTypeConverter,
+                                   Provider<OriginResponseConverter> originConverter,
+                                   Provider<OriginResolver> originResolver) {
+    this.factManager = factManager;
+    this.objectManager = objectManager;
+    this.originManager = originManager;
+    this.factTypeConverter = factTypeConverter;
+    this.objectTypeConverter = objectTypeConverter;
+    this.originConverter = originConverter;
+    this.originResolver = originResolver;
+  }
+
+  @Override
+  public void startComponent() {
+    if (refreshIntervalSeconds <= 0) return;
+
+    // Load the first snapshot synchronously in order to serve the first requests from the snapshot.
+    refresh();
+    refreshExecutor = Executors.newSingleThreadScheduledExecutor();
+    refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (refreshExecutor != null) refreshExecutor.shutdownNow();
+  }
+
+  @Override
+  public MetadataSnapshot get() {
+    return snapshot.get();
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    MetadataSnapshot current = snapshot.get();
+    return new MetricsData()
+            .addData("version", current.getVersion())
+            .addData("factTypes", current.getFactTypeCount())
+            .addData("objectTypes", current.getObjectTypeCount())
+            .addData("origins", current.getOriginCount())
+            .addData("lastRefreshDuration", lastRefreshDuration.get())
+            .addData("refreshFailures", refreshFailures.get());
+  }
+
+  @Inject(optional = true)
+  public MetadataSnapshotRefresher setRefreshIntervalSeconds(@Named("grafeo.service.metadata.snapshot.refresh.interval.seconds") long refreshIntervalSeconds) {
+    this.refreshIntervalSeconds = refreshIntervalSeconds;
+    return this;
+  }
+
+  void refresh() {
+    long start = System.currentTimeMillis();
+
+    try {
+      Map<UUID, ObjectType> objectTypes = new HashMap<>();
+      for (ObjectTypeEntity entity : objectManager.fetchObjectTypes()) {
+        objectTypes.put(entity.getId(), objectTypeConverter.get().apply(entity));
+      }
+
+      Map<UUID, FactType> factTypes = new HashMap<>();
+      for (FactTypeEntity entity : factManager.fetchFactTypes()) {
+        factTypes.put(entity.getId(), factTypeConverter.get().apply(entity));
+      }
+
+      Map<UUID, Origin> origins = new HashMap<>();
+      for (OriginEntity entity : originManager.fetchOrigins()) {
+        // Use OriginResolver in order to also update Origins representing users from the access controller.
+        OriginEntity resolved = originResolver.get().apply(entity.getId());
+        origins.put(entity.getId(), originConverter.get().apply(resolved != null ? resolved : entity));
+      }
+
+      MetadataSnapshot next = new MetadataSnapshot(snapshot.get().getVersion() + 1, factTypes, objectTypes, origins);
+      snapshot.set(next);
+      lastRefreshDuration.set(System.currentTimeMillis() - start);
+      LOGGER.debug("Refreshed metadata snapshot to version %d.", next.getVersion());
+    } catch (Exception ex) {
+      // Keep serving the previous snapshot, the next refresh will try again.
+      refreshFailures.incrementAndGet();
+      LOGGER.warning(ex, "Failed to refresh metadata snapshot. Keep using version %d.", snapshot.get().getVersion());
+    }
+  }
+}
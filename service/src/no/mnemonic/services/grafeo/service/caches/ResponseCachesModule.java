@@ -7,6 +7,7 @@ import no.mnemonic.services.grafeo.api.model.v1.*;
 import jakarta.inject.Singleton;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Module which configures all response caches used in the service implementation.
@@ -30,5 +31,12 @@ public class ResponseCachesModule extends AbstractModule {
     bind(new TypeLiteral<Map<UUID, Subject>>() {})
             .toProvider(LocalSubjectResponseCache.class)
             .in(Singleton.class);
+
+    // Snapshot of the metadata tables which is refreshed in the background.
+    bind(MetadataSnapshotRefresher.class).in(Singleton.class);
+    bind(new TypeLiteral<Supplier<MetadataSnapshot>>() {}).to(MetadataSnapshotRefresher.class);
+
+    // Warm up the caches during startup.
+    bind(CacheWarmer.class).in(Singleton.class);
   }
 }
@@ -0,0 +1,238 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterators;
+import com.google.inject.Inject;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.services.grafeo.dao.api.criteria.IndexSelectCriteria;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for search results on one local node. It serves repeated identical searches (e.g. from dashboards)
+ * without querying ElasticSearch and Cassandra again.
+ * <p>
+ * Results are keyed by the resolved {@link FactSearchCriteria} which includes the access control criteria of the
+ * calling user, thus, cached results are never shared between users with different access. Results with more than the
+ * configured maximum number of values are not cached but streamed as usual.
+ * <p>
+ * Results are only cached for a few seconds and are invalidated whenever Facts are added, retracted or their ACL
+ * changes. Instead of clearing the whole cache on every write the cache keeps generation counters per FactType and
+ * per Object which are bumped by {@link #invalidate(FactRecord)}. The key of a cached result includes the generation of
+ * all FactTypes and Objects the search is restricted to, thus, a write only invalidates the results of searches it can
+ * actually influence. Searches which are neither restricted by FactType nor Object use a generation bumped by every
+ * write. Counters are striped by ID in order to bound their memory usage, a collision only causes an unnecessary miss.
+ * <p>
+ * The cache is disabled by default, set 'grafeo.service.search.cache.ttl.seconds' to enable it.
+ */
+@Singleton
+public class SearchResultCache implements MetricAspect {
+
+  static final int DEFAULT_MAX_RESULT_SIZE = 1000;
+  // Limits the total number of values held by the cache in order to bound its memory usage.
+  private static final int MAXIMUM_CACHED_VALUES = 50_000;
+  private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+  private static final int GENERATION_STRIPES = 4096;
+
+  private final Ticker ticker;
+  // Bumped by every write, used for searches not restricted by FactType or Object.
+  private final AtomicLong generation = new AtomicLong();
+  // Bumped by writes of Facts with a given FactType or bound to a given Object.
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder uncacheableCount = new LongAdder();
+  private final LongAdder invalidationCount = new LongAdder();
+
+  private long timeToLiveSeconds;
+  private int maxResultSize = DEFAULT_MAX_RESULT_SIZE;
+  private volatile Cache<Key, CachedResult> cache;
+
+  @Inject
+  public SearchResultCache() {
+    this(Ticker.systemTicker());
+  }
+
+  SearchResultCache(Ticker ticker) {
+    this.ticker = ticker;
+  }
+
+  /**
+   * Return the cached result of a search or execute the search and cache its result.
+   *
+   * @param search   Name of the search, distinguishes different searches using the same criteria
+   * @param criteria Criteria of the search including the access control criteria of the calling user
+   * @param options  Additional options influencing the result which are not part of the criteria (may be null)
+   * @param executor Executes the search if no cached result is available
+   * @param <T>      Type of search result
+   * @return Search result
+   */
+  public <T> ResultSet<T> search(String search, FactSearchCriteria criteria, Object options, Supplier<ResultSet<T>> executor) {
+    Cache<Key, CachedResult> current = cache;
+    if (current == null) return executor.get();
+
+    // Read the generation before executing the search. If the search runs concurrently with a write its result is
+    // cached under the outdated generation and won't be returned to later searches.
+    Key key = new Key(search, normalize(criteria), options, generation(criteria));
+    CachedResult cached = current.getIfPresent(key);
+    if (cached != null) {
+      hitCount.increment();
+      return cached.toResultSet();
+    }
+
+    missCount.increment();
+    ResultSet<T> result = executor.get();
+
+    // Consume the result up to the maximum size. If there are more values the result is too large to be cached.
+    Iterator<T> iterator = result.iterator();
+    List<T> values = new ArrayList<>();
+    while (iterator.hasNext() && values.size() <= maxResultSize) {
+      values.add(iterator.next());
+    }
+
+    if (values.size() > maxResultSize) {
+      uncacheableCount.increment();
+      // Return the already consumed values followed by the remaining values which will be streamed out.
+      return StreamingResultSet.<T>builder()
+              .setCount(result.getCount())
+              .setLimit(result.getLimit())
+              .setOffset(result.getOffset())
+              .setValues(Iterators.concat(values.iterator(), iterator))
+              .build();
+    }
+
+    CachedResult entry = new CachedResult(result.getCount(), result.getLimit(), result.getOffset(), Collections.unmodifiableList(values));
+    current.put(key, entry);
+
+    return entry.toResultSet();
+  }
+
+  /**
+   * Invalidate all cached results which might include the given Fact. Must be called whenever a Fact is written which
+   * can influence search results, i.e. when a Fact is added, retracted or its ACL changes.
+   *
+   * @param fact Written Fact
+   */
+  public void invalidate(FactRecord fact) {
+    if (fact == null) return;
+
+    generation.incrementAndGet();
+    bumpGeneration(fact.getTypeID());
+    bumpGeneration(ObjectUtils.ifNotNull(fact.getSourceObject(), ObjectRecord::getId));
+    bumpGeneration(ObjectUtils.ifNotNull(fact.getDestinationObject(), ObjectRecord::getId));
+    invalidationCount.increment();
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    Cache<Key, CachedResult> current = cache;
+    return new MetricsData()
+            .addData("size", current != null ? current.size() : 0)
+            .addData("hitCount", hitCount.longValue())
+            .addData("missCount", missCount.longValue())
+            .addData("uncacheableCount", uncacheableCount.longValue())
+            .addData("invalidationCount", invalidationCount.longValue());
+  }
+
+  @Inject(optional = true)
+  public SearchResultCache setTimeToLiveSeconds(@Named("grafeo.service.search.cache.ttl.seconds") long timeToLiveSeconds) {
+    this.timeToLiveSeconds = timeToLiveSeconds;
+    this.cache = timeToLiveSeconds > 0 ? createCache() : null;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public SearchResultCache setMaxResultSize(@Named("grafeo.service.search.cache.max.result.size") int maxResultSize) {
+    this.maxResultSize = maxResultSize;
+    return this;
+  }
+
+  private Cache<Key, CachedResult> createCache() {
+    return CacheBuilder.newBuilder()
+            .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+            .maximumWeight(MAXIMUM_CACHED_VALUES)
+            .weigher((Key key, CachedResult value) -> Math.max(1, value.values().size()))
+            .ticker(ticker)
+            .build();
+  }
+
+  private long generation(FactSearchCriteria criteria) {
+    Set<UUID> factTypes = SetUtils.set(criteria.getFactTypeID());
+    Set<UUID> objects = SetUtils.set(criteria.getObjectID());
+    if (factTypes.isEmpty() && objects.isEmpty()) return generation.get();
+
+    // Generations only increase, thus, the sum changes whenever any of the involved generations changes.
+    long sum = 0;
+    for (UUID factType : factTypes) {
+      sum += generations.get(stripe(factType));
+    }
+    for (UUID object : objects) {
+      sum += generations.get(stripe(object));
+    }
+    return sum;
+  }
+
+  private void bumpGeneration(UUID id) {
+    if (id == null) return;
+    generations.incrementAndGet(stripe(id));
+  }
+
+  private static int stripe(UUID id) {
+    return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+  }
+
+  private static FactSearchCriteria normalize(FactSearchCriteria criteria) {
+    // If no time range is requested the selected indices are calculated based on the current time. Indices are
+    // created daily, thus, truncate to full days in order to make the criteria comparable.
+    IndexSelectCriteria indexSelectCriteria = criteria.getIndexSelectCriteria();
+    return criteria.toBuilder()
+            .setIndexSelectCriteria(IndexSelectCriteria.builder()
+                    .setIndexStartTimestamp(truncateToDay(indexSelectCriteria.getIndexStartTimestamp()))
+                    .setIndexEndTimestamp(truncateToDay(indexSelectCriteria.getIndexEndTimestamp()))
+                    .build())
+            .build();
+  }
+
+  private static long truncateToDay(long timestamp) {
+    return timestamp - Math.floorMod(timestamp, DAY_MILLIS);
+  }
+
+  private record Key(String search, FactSearchCriteria criteria, Object options, long generation) {
+  }
+
+  private record CachedResult(int count, int limit, int offset, List<?> values) {
+    private <T> ResultSet<T> toResultSet() {
+      //noinspection unchecked
+      return StreamingResultSet.<T>builder()
+              .setCount(count)
+              .setLimit(limit)
+              .setOffset(offset)
+              .setValues((List<T>) values)
+              .build();
+    }
+  }
+}
@@ -0,0 +1,359 @@
+package no.mnemonic.services.grafeo.service.container;
+
+import com.google.inject.Inject;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.api.ServiceContext;
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of concurrent requests handled by the service backend, per service proxy port and per client.
+ * <p>
+ * The standard and bulk ports have their own limits, such that bulk traffic can't starve interactive requests and
+ * vice versa. Within each port every client has its own limit as well, such that one client can't occupy the whole
+ * port. Requests on the expedite port are never limited.
+ * <p>
+ * Instead of fixed limits the limiter follows a gradient scheme: For every operation (service method) it compares the
+ * recent average latency with the long-term average latency of the same operation. While both are similar the limit
+ * grows, once requests become slower than usual because they start queueing for resources the limit shrinks
+ * proportionally. Tracking latencies per operation keeps fast lookups and slow searches from distorting each other.
+ * Requests exceeding the current limit are rejected immediately with a {@link ServiceOverloadedException} instead of
+ * waiting for a thread until they time out. The fixed thread pools of {@link GrafeoServiceProxyServer} remain as upper
+ * bounds.
+ * <p>
+ * The limiter is disabled by default and must be enabled with 'grafeo.service.proxy.concurrency.limit.enabled'.
+ */
+@Singleton
+public class AdaptiveConcurrencyLimiter implements MetricAspect {
+
+  // Same as the default thread pool sizes of the standard and bulk ports.
+  static final int DEFAULT_MAX_STANDARD_LIMIT = 20;
+  static final int DEFAULT_MAX_BULK_LIMIT = 5;
+  static final int DEFAULT_MAX_CLIENT_LIMIT = 10;
+  static final int INITIAL_LIMIT = 5;
+  // Limits of clients without requests during this time are forgotten.
+  static final long CLIENT_IDLE_TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+  // Permits of streamed results which are never consumed completely are released after this time.
+  static final long STREAMING_TIMEOUT = TimeUnit.MINUTES.toNanos(5);
+  private static final long HOUSEKEEPING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+  private final LongSupplier clock;
+  private final Map<ServiceContext.Priority, GradientLimit> portLimits = new ConcurrentHashMap<>();
+  private final Map<String, GradientLimit> clientLimits = new ConcurrentHashMap<>();
+  private final Map<String, OperationLatency> operationLatencies = new ConcurrentHashMap<>();
+  private final Map<Permit, Boolean> streamingPermits = new ConcurrentHashMap<>();
+  private final AtomicLong lastHousekeeping;
+
+  private final LongAdder acceptedCount = new LongAdder();
+  private final LongAdder rejectedPortCount = new LongAdder();
+  private final LongAdder rejectedClientCount = new LongAdder();
+  private final LongAdder expiredStreamingCount = new LongAdder();
+
+  private boolean enabled = false;
+  private int maxStandardLimit = DEFAULT_MAX_STANDARD_LIMIT;
+  private int maxBulkLimit = DEFAULT_MAX_BULK_LIMIT;
+  private int maxClientLimit = DEFAULT_MAX_CLIENT_LIMIT;
+
+  @Inject
+  public AdaptiveConcurrencyLimiter() {
+    this(System::nanoTime);
+  }
+
+  AdaptiveConcurrencyLimiter(LongSupplier clock) {
+    this.clock = clock;
+    this.lastHousekeeping = new AtomicLong(clock.getAsLong());
+  }
+
+  /**
+   * Acquire a permit for executing one request of a client. The returned permit must be closed once the request
+   * has been handled, also in the case of an exception.
+   *
+   * @param port      Service proxy port the request was received on (identified by its priority)
+   * @param client    Identifies the client sending the request
+   * @param operation Identifies the operation executed by the request (e.g. the service method)
+   * @return Permit to execute the request
+   * @throws ServiceOverloadedException If either the port's limit or the client's limit on that port has been reached
+   */
+  public Permit acquire(ServiceContext.Priority port, String client, String operation) {
+    // Requests on the expedite port must never be rejected.
+    if (!enabled || port == ServiceContext.Priority.expedite) return new Permit(null, null, null, 0);
+    ServiceContext.Priority effectivePort = port != null ? port : ServiceContext.Priority.standard;
+
+    long now = clock.getAsLong();
+    housekeeping(now);
+
+    int maxPortLimit = effectivePort == ServiceContext.Priority.bulk ? maxBulkLimit : maxStandardLimit;
+    GradientLimit perPort = portLimits.computeIfAbsent(effectivePort, p -> new GradientLimit(maxPortLimit, now));
+    GradientLimit perClient = clientLimits.computeIfAbsent(effectivePort + "/" + client,
+            c -> new GradientLimit(Math.min(maxClientLimit, maxPortLimit), now));
+
+    if (!perClient.tryAcquire(now)) {
+      rejectedClientCount.increment();
+      throw new ServiceOverloadedException("Too many concurrent requests from the same user. Please try again later.",
+              "service.overloaded.client");
+    }
+
+    if (!perPort.tryAcquire(now)) {
+      perClient.release(now);
+      rejectedPortCount.increment();
+      throw new ServiceOverloadedException("Service is overloaded and rejected the request. Please try again later.",
+              "service.overloaded");
+    }
+
+    acceptedCount.increment();
+    // Track latencies per port as well, bulk requests are expected to be slower than standard requests.
+    OperationLatency latency = operationLatencies.computeIfAbsent(effectivePort + "/" + operation, o -> new OperationLatency());
+    return new Permit(perPort, perClient, latency, now);
+  }
+
+  /**
+   * Keep a permit acquired until a streamed result has been consumed, i.e. until its iterator has been exhausted or
+   * failed. Permits of results which are abandoned without being consumed completely are released after a timeout.
+   *
+   * @param permit Permit acquired for the request producing the result
+   * @param result Result returned by the request
+   * @param <T>    Type of result values
+   * @return Result which releases the permit once it has been consumed
+   */
+  public <T> ResultSet<T> releaseAfterStreaming(Permit permit, ResultSet<T> result) {
+    if (permit.perPort == null || result == null) {
+      permit.close();
+      return result;
+    }
+
+    streamingPermits.put(permit, Boolean.TRUE);
+    return StreamingResultSet.<T>builder()
+            .setLimit(result.getLimit())
+            .setCount(result.getCount())
+            .setOffset(result.getOffset())
+            .setValues(new ReleasingIterator<>(result.iterator(), permit))
+            .build();
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    GradientLimit standard = portLimits.get(ServiceContext.Priority.standard);
+    GradientLimit bulk = portLimits.get(ServiceContext.Priority.bulk);
+    return new MetricsData()
+            .addData("standard.limit", standard != null ? standard.getLimit() : Math.min(INITIAL_LIMIT, maxStandardLimit))
+            .addData("standard.inFlight", standard != null ? standard.getInFlight() : 0)
+            .addData("bulk.limit", bulk != null ? bulk.getLimit() : Math.min(INITIAL_LIMIT, maxBulkLimit))
+            .addData("bulk.inFlight", bulk != null ? bulk.getInFlight() : 0)
+            .addData("clients", clientLimits.size())
+            .addData("streaming", streamingPermits.size())
+            .addData("acceptedCount", acceptedCount.longValue())
+            .addData("rejectedPortCount", rejectedPortCount.longValue())
+            .addData("rejectedClientCount", rejectedClientCount.longValue())
+            .addData("expiredStreamingCount", expiredStreamingCount.longValue());
+  }
+
+  @Inject(optional = true)
+  public AdaptiveConcurrencyLimiter setEnabled(@Named("grafeo.service.proxy.concurrency.limit.enabled") boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public AdaptiveConcurrencyLimiter setMaxStandardLimit(@Named("grafeo.service.proxy.concurrency.limit.standard.max") int maxStandardLimit) {
+    this.maxStandardLimit = Math.max(1, maxStandardLimit);
+    return this;
+  }
+
+  @Inject(optional = true)
+  public AdaptiveConcurrencyLimiter setMaxBulkLimit(@Named("grafeo.service.proxy.concurrency.limit.bulk.max") int maxBulkLimit) {
+    this.maxBulkLimit = Math.max(1, maxBulkLimit);
+    return this;
+  }
+
+  @Inject(optional = true)
+  public AdaptiveConcurrencyLimiter setMaxClientLimit(@Named("grafeo.service.proxy.concurrency.limit.client.max") int maxClientLimit) {
+    this.maxClientLimit = Math.max(1, maxClientLimit);
+    return this;
+  }
+
+  private void housekeeping(long now) {
+    long last = lastHousekeeping.get();
+    // Only one thread performs the housekeeping per interval.
+    if (now - last < HOUSEKEEPING_INTERVAL || !lastHousekeeping.compareAndSet(last, now)) return;
+
+    for (Permit permit : streamingPermits.keySet()) {
+      if (now - permit.start > STREAMING_TIMEOUT && permit.expire()) {
+        expiredStreamingCount.increment();
+      }
+    }
+
+    clientLimits.values().removeIf(limit -> limit.isIdle(now - CLIENT_IDLE_TIMEOUT));
+  }
+
+  /**
+   * Permit to execute one request. Closing the permit releases it and feeds the request's latency into the limits.
+   */
+  public class Permit implements AutoCloseable {
+    private final GradientLimit perPort;
+    private final GradientLimit perClient;
+    private final OperationLatency latency;
+    private final long start;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(GradientLimit perPort, GradientLimit perClient, OperationLatency latency, long start) {
+      this.perPort = perPort;
+      this.perClient = perClient;
+      this.latency = latency;
+      this.start = start;
+    }
+
+    @Override
+    public void close() {
+      if (perPort == null || !released.compareAndSet(false, true)) return;
+      streamingPermits.remove(this);
+
+      long now = clock.getAsLong();
+      double gradient = latency.update(now - start);
+      perPort.release(now, gradient);
+      perClient.release(now, gradient);
+    }
+
+    private boolean expire() {
+      if (!released.compareAndSet(false, true)) return false;
+      streamingPermits.remove(this);
+
+      // Don't feed the latency of an abandoned result into the limits, it doesn't say anything about the service.
+      long now = clock.getAsLong();
+      perPort.release(now);
+      perClient.release(now);
+      return true;
+    }
+  }
+
+  private static class ReleasingIterator<T> implements Iterator<T> {
+    private final Iterator<T> delegate;
+    private final Permit permit;
+
+    private ReleasingIterator(Iterator<T> delegate, Permit permit) {
+      this.delegate = delegate;
+      this.permit = permit;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        boolean hasNext = delegate.hasNext();
+        if (!hasNext) permit.close();
+        return hasNext;
+      } catch (RuntimeException ex) {
+        permit.close();
+        throw ex;
+      }
+    }
+
+    @Override
+    public T next() {
+      try {
+        return delegate.next();
+      } catch (RuntimeException ex) {
+        permit.close();
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Tracks the latency of one operation and calculates the gradient between its long-term and its recent latency.
+   */
+  static class OperationLatency {
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 500;
+    // Allow the recent latency to exceed the long-term latency by this factor before shrinking the limit.
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    // Guarded by 'this'.
+    private double shortLatency;
+    private double longLatency;
+    private long samples;
+
+    synchronized double update(long latency) {
+      if (latency <= 0) return 1.0;
+
+      samples++;
+      shortLatency += (latency - shortLatency) / Math.min(samples, SHORT_WINDOW);
+      longLatency += (latency - longLatency) / Math.min(samples, LONG_WINDOW);
+      // When the latency recovers let the long-term average follow faster, otherwise it would stay inflated for long.
+      if (longLatency > 2 * shortLatency) {
+        longLatency *= 0.95;
+      }
+
+      return Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+    }
+  }
+
+  /**
+   * Concurrency limit which adjusts itself based on the latency gradients of completed requests.
+   */
+  static class GradientLimit {
+    private static final double SMOOTHING = 0.2;
+
+    private final int maxLimit;
+
+    // Guarded by 'this'.
+    private double limit;
+    private int inFlight;
+    private long lastUsed;
+
+    GradientLimit(int maxLimit, long now) {
+      this.maxLimit = maxLimit;
+      this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+      this.lastUsed = now;
+    }
+
+    synchronized boolean tryAcquire(long now) {
+      lastUsed = now;
+      if (inFlight >= (int) limit) return false;
+      inFlight++;
+      return true;
+    }
+
+    synchronized void release(long now) {
+      lastUsed = now;
+      inFlight--;
+    }
+
+    synchronized void release(long now, double gradient) {
+      int concurrent = inFlight;
+      release(now);
+
+      double newLimit = limit * gradient + Math.sqrt(limit);
+      // Don't grow the limit if it isn't used, otherwise it would grow without bounds while the service is idle.
+      if (newLimit > limit && concurrent < limit / 2) return;
+
+      limit = Math.max(1, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    synchronized boolean isIdle(long idleSince) {
+      return inFlight == 0 && lastUsed < idleSince;
+    }
+
+    synchronized int getLimit() {
+      return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+      return inFlight;
+    }
+  }
+}
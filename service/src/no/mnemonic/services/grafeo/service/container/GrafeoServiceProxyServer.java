@@ -15,6 +15,7 @@ import no.mnemonic.services.common.api.proxy.serializer.Serializer;
 import no.mnemonic.services.common.api.proxy.server.ServiceInvocationHandler;
 import no.mnemonic.services.common.api.proxy.server.ServiceProxy;
 import no.mnemonic.services.grafeo.api.service.v1.GrafeoService;
+import no.mnemonic.services.grafeo.service.caches.CacheWarmer;
 
 import jakarta.inject.Named;
 import java.util.concurrent.ExecutorService;
@@ -25,13 +26,23 @@ import java.util.concurrent.Executors;
  */
 public class GrafeoServiceProxyServer implements LifecycleAspect, MetricAspect {
 
+  /**
+   * Name of the optional binding of an additional {@link Serializer} offered to clients (e.g. a binary serializer).
+   */
+  public static final String BINARY_MESSAGE_SERIALIZER = "grafeo.service.proxy.binary.message.serializer";
+
   private static final Logger LOGGER = Logging.getLogger(GrafeoServiceProxyServer.class);
 
   @Dependency
   private final GrafeoService service;
   @Dependency
   private final ServiceSessionFactory sessionFactory;
+  // Only start accepting requests after the caches have been warmed up.
+  @Dependency
+  private final CacheWarmer cacheWarmer;
   private final Serializer messageSerializer;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private Serializer binaryMessageSerializer;
 
   private final int standardPort;
   private final int bulkPort;
@@ -50,13 +61,17 @@ public class GrafeoServiceProxyServer implements LifecycleAspect, MetricAspect {
   public GrafeoServiceProxyServer(
           GrafeoService service,
           ServiceSessionFactory sessionFactory,
+          CacheWarmer cacheWarmer,
           Serializer messageSerializer,
+          AdaptiveConcurrencyLimiter concurrencyLimiter,
           @Named("grafeo.service.proxy.standard.port") int standardPort,
           @Named("grafeo.service.proxy.bulk.port") int bulkPort,
           @Named("grafeo.service.proxy.expedite.port") int expeditePort) {
     this.service = service;
     this.sessionFactory = sessionFactory;
+    this.cacheWarmer = cacheWarmer;
     this.messageSerializer = messageSerializer;
+    this.concurrencyLimiter = concurrencyLimiter;
     this.standardPort = standardPort;
     this.bulkPort = bulkPort;
     this.expeditePort = expeditePort;
@@ -65,12 +80,14 @@ public class GrafeoServiceProxyServer implements LifecycleAspect, MetricAspect {
   @Override
   public void startComponent() {
     executor = Executors.newFixedThreadPool(maxConcurrentRequestsStandard + maxConcurrentRequestsBulk + maxConcurrentRequestsExpedite);
-    invocationHandler = ServiceInvocationHandler.<GrafeoService>builder()
+    var invocationHandlerBuilder = ServiceInvocationHandler.<GrafeoService>builder()
             .setExecutorService(executor)
             .setProxiedService(service)
             .setSessionFactory(sessionFactory)
-            .addSerializer(messageSerializer)
-            .build();
+            .addSerializer(messageSerializer);
+    // The invocation handler picks the serializer requested by the client, thus, offering both is backwards compatible.
+    if (binaryMessageSerializer != null) invocationHandlerBuilder.addSerializer(binaryMessageSerializer);
+    invocationHandler = invocationHandlerBuilder.build();
     serviceProxy = ServiceProxy.builder()
             .addInvocationHandler(GrafeoService.class, invocationHandler)
             .setStandardPort(standardPort)
@@ -96,10 +113,18 @@ public class GrafeoServiceProxyServer implements LifecycleAspect, MetricAspect {
     if (serviceProxy != null) metrics.addSubMetrics("serviceProxy", serviceProxy.getMetrics());
     if (invocationHandler != null) metrics.addSubMetrics("invocationHandler", invocationHandler.getMetrics());
     if (messageSerializer != null) metrics.addSubMetrics("xstreamMessageSerializer", messageSerializer.getMetrics());
+    if (concurrencyLimiter != null) metrics.addSubMetrics("concurrencyLimiter", concurrencyLimiter.getMetrics());
+    if (binaryMessageSerializer != null) metrics.addSubMetrics("binaryMessageSerializer", binaryMessageSerializer.getMetrics());
 
     return metrics;
   }
 
+  @Inject(optional = true)
+  public GrafeoServiceProxyServer setBinaryMessageSerializer(@Named(BINARY_MESSAGE_SERIALIZER) Serializer binaryMessageSerializer) {
+    this.binaryMessageSerializer = binaryMessageSerializer;
+    return this;
+  }
+
   @Inject(optional = true)
   public GrafeoServiceProxyServer setMaxConcurrentRequestsStandard(
           @Named("grafeo.service.proxy.max.concurrent.requests.standard") int maxConcurrentRequestsStandard) {
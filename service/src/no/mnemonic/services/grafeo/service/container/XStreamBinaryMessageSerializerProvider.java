@@ -0,0 +1,19 @@
+package no.mnemonic.services.grafeo.service.container;
+
+import no.mnemonic.services.common.api.proxy.serializer.Serializer;
+import no.mnemonic.services.grafeo.api.service.v1.XStreamBinarySerializer;
+
+/**
+ * Provides a {@link Serializer} implementation based on XStream's binary format intended to be used by
+ * {@link GrafeoServiceProxyServer}. It uses the same white-list as {@link XStreamMessageSerializerProvider}.
+ */
+public class XStreamBinaryMessageSerializerProvider extends XStreamMessageSerializerProvider {
+
+  @Override
+  public Serializer get() {
+    XStreamBinarySerializer.Builder builder = XStreamBinarySerializer.builder();
+    allowedClasses().forEach(builder::setAllowedClass);
+    allowedClassesRegex().forEach(builder::setAllowedClassesRegex);
+    return builder.build();
+  }
+}
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.container;
 
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.api.proxy.serializer.Serializer;
 import no.mnemonic.services.common.api.proxy.serializer.XStreamSerializer;
 import no.mnemonic.services.grafeo.api.service.v1.RequestHeader;
@@ -17,21 +18,40 @@ public class XStreamMessageSerializerProvider implements Provider<Serializer> {
 
   @Override
   public Serializer get() {
-    XStreamSerializer.XStreamSerializerBuilder builder = XStreamSerializer.builder()
+    XStreamSerializer.XStreamSerializerBuilder builder = XStreamSerializer.builder();
+    allowedClasses().forEach(builder::setAllowedClass);
+    allowedClassesRegex().forEach(builder::setAllowedClassesRegex);
+    return builder.build();
+  }
+
+  /**
+   * Returns all classes in the XStream white-list, including the classes specified by subclasses.
+   *
+   * @return Allowed classes
+   */
+  protected final Set<Class<?>> allowedClasses() {
+    Set<Class<?>> allowedClasses = SetUtils.set(
             // Common Java classes used in requests (required for collections holding those).
-            .setAllowedClass(String.class)
-            .setAllowedClass(UUID.class)
+            String.class,
+            UUID.class,
             // RequestHeader and SubjectCredentials are part of every service request.
-            .setAllowedClass(RequestHeader.class)
-            .setAllowedClass(SubjectCredentials.class)
-            // Allow all request classes defined in the API.
-            .setAllowedClassesRegex("no.mnemonic.services.grafeo.api.request.*");
-
+            RequestHeader.class,
+            SubjectCredentials.class
+    );
     // Add additional classes to white-list as specified by subclasses.
-    additionalAllowedClasses().forEach(builder::setAllowedClass);
-    additionalAllowedClassesRegex().forEach(builder::setAllowedClassesRegex);
+    return SetUtils.union(allowedClasses, additionalAllowedClasses());
+  }
 
-    return builder.build();
+  /**
+   * Returns all classes in the XStream white-list as regular expressions, including the ones specified by subclasses.
+   *
+   * @return Allowed classes (as regular expressions)
+   */
+  protected final Set<String> allowedClassesRegex() {
+    // Allow all request classes defined in the API.
+    Set<String> allowedClassesRegex = SetUtils.set("no.mnemonic.services.grafeo.api.request.*");
+    // Add additional classes to white-list as specified by subclasses.
+    return SetUtils.union(allowedClassesRegex, additionalAllowedClassesRegex());
   }
 
   /**
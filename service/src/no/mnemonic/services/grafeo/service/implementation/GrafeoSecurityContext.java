@@ -1,8 +1,8 @@
 package no.mnemonic.services.grafeo.service.implementation;
 
-import com.google.common.collect.Streams;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
@@ -11,11 +11,13 @@ import no.mnemonic.services.grafeo.api.model.v1.Organization;
 import no.mnemonic.services.grafeo.auth.IdentitySPI;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.services.grafeo.service.contexts.SecurityContext;
 
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Specific SecurityContext for the GrafeoService.
@@ -86,12 +88,10 @@ public class GrafeoSecurityContext extends SecurityContext {
       throw new AccessDeniedException("No access to Object.");
     }
 
-    // Iterate through all bound Facts and return the first accessible Fact.
-    // The user needs access to at least one bound Fact to have access to the Object.
-    Optional<FactRecord> accessibleFact = Streams.stream(objectFactDao.retrieveObjectFacts(object.getId()))
-            .filter(this::hasReadPermission)
-            .findFirst();
-    if (!accessibleFact.isPresent()) {
+    // The user needs access to at least one bound Fact to have access to the Object. Instead of iterating
+    // through all bound Facts use the Object's access summary which aggregates the access information of those Facts.
+    ObjectAccessSummaryRecord summary = objectFactDao.getObjectAccessSummary(object.getId());
+    if (summary == null || !hasReadPermission(summary)) {
       // User does not have access to any Facts bound to this Object.
       throw new AccessDeniedException("No access to Object.");
     }
@@ -192,6 +192,38 @@ public class GrafeoSecurityContext extends SecurityContext {
     }
   }
 
+  private boolean hasReadPermission(ObjectAccessSummaryRecord summary) {
+    Set<FactRecord.AccessMode> accessModes = SetUtils.set(summary.getAccessModes());
+    if (accessModes.contains(FactRecord.AccessMode.Public) && hasPermission(() -> checkPermission(FunctionConstants.viewGrafeoFact))) {
+      // At least one bound Fact is public and the user is generally allowed to view Facts.
+      return true;
+    }
+
+    Set<UUID> currentUserIdentities = getCurrentUserIdentities();
+    if (SetUtils.set(summary.getSubjectIDs()).stream().anyMatch(currentUserIdentities::contains)) {
+      // User is in the ACL of at least one non-public bound Fact, either granted directly or to a parent group.
+      return true;
+    }
+
+    // Fallback to role-based access control and verify that user has access to Facts of at least one organization.
+    return SetUtils.set(summary.getOrganizationIDs())
+            .stream()
+            .anyMatch(organizationID -> hasPermission(() -> checkPermission(FunctionConstants.viewGrafeoFact, organizationID)));
+  }
+
+  private boolean hasPermission(PermissionCheck check) {
+    try {
+      check.check();
+      return true;
+    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+      return false;
+    }
+  }
+
+  private interface PermissionCheck {
+    void check() throws AccessDeniedException, AuthenticationFailedException;
+  }
+
   public static class Builder {
     private AccessController accessController;
     private IdentitySPI identityResolver;
@@ -47,6 +47,7 @@ public class SearchFactRequestConverter {
                     dimension -> FactSearchCriteria.NumberFieldStrategy.valueOf(dimension.name()),
                     FactSearchCriteria.NumberFieldStrategy.certainty))
             .setLimit(ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT))
+            .setCountStrategy(ObjectUtils.ifNotNull(request.getCountStrategy(), strategy -> FactSearchCriteria.CountStrategy.valueOf(strategy.name())))
             .setAccessControlCriteria(accessControlCriteriaResolver.get())
             .setIndexSelectCriteria(indexSelectCriteriaResolver.validateAndCreateCriteria(request.getStartTimestamp(), request.getEndTimestamp()))
             .build();
@@ -3,6 +3,8 @@ package no.mnemonic.services.grafeo.service.implementation.converters.response;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.api.model.v1.Object;
 import no.mnemonic.services.grafeo.api.model.v1.*;
@@ -16,9 +18,9 @@ import no.mnemonic.services.grafeo.service.implementation.resolvers.response.Ori
 import no.mnemonic.services.grafeo.service.implementation.resolvers.response.SubjectByIdResponseResolver;
 
 import jakarta.inject.Inject;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class FactResponseConverter implements Function<FactRecord, Fact> {
 
@@ -55,14 +57,47 @@ public class FactResponseConverter implements Function<FactRecord, Fact> {
   @Override
   public Fact apply(FactRecord record) {
     if (record == null) return null;
+    return convert(record, new SingleRecordLookup());
+  }
+
+  /**
+   * Convert a page of FactRecords at once. In contrast to calling {@link #apply(FactRecord)} for every record all
+   * 'inReferenceTo' Facts of the page are fetched in one batch, and the retractions of all Facts of the page (including
+   * the 'inReferenceTo' Facts) are fetched in one batch as well. Everything else is resolved as for single records.
+   *
+   * @param records Page of FactRecords
+   * @return Converted Facts in the same order as the given records
+   */
+  public List<Fact> applyAll(List<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return ListUtils.list();
+
+    List<FactRecord> inReferenceTo = fetchInReferenceTo(records);
+    // Only Facts with a retracted hint require a lookup, fetch the meta Facts for all of them at once.
+    List<FactRecord> page = new ArrayList<>(records);
+    page.addAll(inReferenceTo);
+    factRetractionHandler.prefetchRetractions(page);
+
+    PageLookup lookup = new PageLookup();
+    for (FactRecord fact : inReferenceTo) {
+      // Convert 'inReferenceTo' Fact, but avoid resolving recursive 'inReferenceTo' Facts.
+      lookup.inReferenceTo.put(fact.getId(), convert(fact.setInReferenceToID(null), lookup));
+    }
+
+    return records.stream()
+            .filter(Objects::nonNull)
+            .map(record -> convert(record, lookup))
+            .collect(Collectors.toList());
+  }
+
+  private Fact convert(FactRecord record, Lookup lookup) {
     return Fact.builder()
             .setId(record.getId())
             .setType(ObjectUtils.ifNotNull(factTypeConverter.apply(record.getTypeID()), FactType::toInfo))
             .setValue(record.getValue())
-            .setInReferenceTo(ObjectUtils.ifNotNull(convertInReferenceTo(record.getInReferenceToID()), Fact::toInfo))
-            .setOrganization(ObjectUtils.ifNotNull(organizationConverter.apply(record.getOrganizationID()), Organization::toInfo))
-            .setAddedBy(ObjectUtils.ifNotNull(subjectConverter.apply(record.getAddedByID()), Subject::toInfo))
-            .setLastSeenBy(ObjectUtils.ifNotNull(subjectConverter.apply(record.getLastSeenByID()), Subject::toInfo))
+            .setInReferenceTo(ObjectUtils.ifNotNull(lookup.inReferenceTo(record.getInReferenceToID()), Fact::toInfo))
+            .setOrganization(ObjectUtils.ifNotNull(lookup.organization(record.getOrganizationID()), Organization::toInfo))
+            .setAddedBy(ObjectUtils.ifNotNull(lookup.subject(record.getAddedByID()), Subject::toInfo))
+            .setLastSeenBy(ObjectUtils.ifNotNull(lookup.subject(record.getLastSeenByID()), Subject::toInfo))
             .setOrigin(ObjectUtils.ifNotNull(originConverter.apply(record.getOriginID()), Origin::toInfo))
             .setTrust(record.getTrust())
             .setConfidence(record.getConfidence())
@@ -72,7 +107,7 @@ public class FactResponseConverter implements Function<FactRecord, Fact> {
             .setSourceObject(ObjectUtils.ifNotNull(objectConverter.apply(record.getSourceObject()), Object::toInfo))
             .setDestinationObject(ObjectUtils.ifNotNull(objectConverter.apply(record.getDestinationObject()), Object::toInfo))
             .setBidirectionalBinding(record.isBidirectionalBinding())
-            .setFlags(convertFlags(record))
+            .setFlags(lookup.isRetracted(record) ? SetUtils.set(Fact.Flag.Retracted) : SetUtils.set())
             .build();
   }
 
@@ -90,7 +125,67 @@ public class FactResponseConverter implements Function<FactRecord, Fact> {
     return apply(inReferenceTo.setInReferenceToID(null));
   }
 
-  private Set<Fact.Flag> convertFlags(FactRecord record) {
-    return factRetractionHandler.isRetracted(record) ? SetUtils.set(Fact.Flag.Retracted) : SetUtils.set();
+  private List<FactRecord> fetchInReferenceTo(List<FactRecord> records) {
+    Set<UUID> inReferenceToIDs = records.stream()
+            .filter(Objects::nonNull)
+            .map(FactRecord::getInReferenceToID)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    if (inReferenceToIDs.isEmpty()) return ListUtils.list();
+
+    // Fetch all 'inReferenceTo' Facts of the page in one batch. Facts the user doesn't have access to are omitted.
+    List<FactRecord> accessible = new ArrayList<>();
+    objectFactDao.getFacts(inReferenceToIDs).forEachRemaining(inReferenceTo -> {
+      if (!securityContext.hasReadPermission(inReferenceTo)) {
+        LOGGER.debug("Removed inReferenceTo Fact from result because user does not have access to it (id = %s).", inReferenceTo.getId());
+        return;
+      }
+
+      accessible.add(inReferenceTo);
+    });
+
+    return accessible;
+  }
+
+  private interface Lookup {
+    Fact inReferenceTo(UUID id);
+
+    Organization organization(UUID id);
+
+    Subject subject(UUID id);
+
+    boolean isRetracted(FactRecord record);
+  }
+
+  private class SingleRecordLookup implements Lookup {
+    @Override
+    public Fact inReferenceTo(UUID id) {
+      return convertInReferenceTo(id);
+    }
+
+    @Override
+    public Organization organization(UUID id) {
+      return organizationConverter.apply(id);
+    }
+
+    @Override
+    public Subject subject(UUID id) {
+      return subjectConverter.apply(id);
+    }
+
+    @Override
+    public boolean isRetracted(FactRecord record) {
+      return factRetractionHandler.isRetracted(record);
+    }
+  }
+
+  private class PageLookup extends SingleRecordLookup {
+    private final Map<UUID, Fact> inReferenceTo = new HashMap<>();
+
+    @Override
+    public Fact inReferenceTo(UUID id) {
+      // Only contains the Facts fetched for the page, i.e. missing or inaccessible Facts are omitted.
+      return id != null ? inReferenceTo.get(id) : null;
+    }
   }
 }
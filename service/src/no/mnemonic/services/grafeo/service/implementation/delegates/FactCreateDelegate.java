@@ -1,22 +1,31 @@
 package no.mnemonic.services.grafeo.service.implementation.delegates;
 
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
 import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactError;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactResult;
 import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.model.v1.Organization;
 import no.mnemonic.services.grafeo.api.model.v1.Subject;
 import no.mnemonic.services.grafeo.api.request.v1.CreateFactRequest;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactsRequest;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
+import no.mnemonic.services.grafeo.service.aspects.ValidationAspect;
 import no.mnemonic.services.grafeo.service.contexts.TriggerContext;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
@@ -27,11 +36,12 @@ import no.mnemonic.services.grafeo.service.implementation.resolvers.request.Obje
 
 import jakarta.inject.Inject;
 import java.time.Clock;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 
 public class FactCreateDelegate implements Delegate {
 
+  private static final Logger LOGGER = Logging.getLogger(FactCreateDelegate.class);
+
   private final Clock clock = Clock.systemUTC();
 
   private final GrafeoSecurityContext securityContext;
@@ -45,6 +55,15 @@ public class FactCreateDelegate implements Delegate {
   private OriginEntity requestedOrigin;
   private Organization requestedOrganization;
 
+  // Resolved entities are remembered while creating multiple Facts with the same delegate instance.
+  private final Map<String, OriginEntity> resolvedOrigins = new HashMap<>();
+  private final Map<String, Organization> resolvedOrganizations = new HashMap<>();
+  private final Map<String, FactTypeEntity> resolvedFactTypes = new HashMap<>();
+  private final Map<String, ObjectRecord> resolvedObjects = new HashMap<>();
+  private final Map<List<String>, List<UUID>> resolvedSubjects = new HashMap<>();
+  private final Set<UUID> permittedOrganizations = new HashSet<>();
+  private final Map<String, Fact> savedFacts = new HashMap<>();
+
   @Inject
   public FactCreateDelegate(GrafeoSecurityContext securityContext,
                             TriggerContext triggerContext,
@@ -62,32 +81,145 @@ public class FactCreateDelegate implements Delegate {
 
   public Fact handle(CreateFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    Fact addedFact = createFact(request);
+
+    // Register TriggerEvent before returning added Fact.
+    triggerContext.registerTriggerEvent(createTriggerEvent(addedFact));
+
+    return addedFact;
+  }
+
+  public ResultSet<CreateFactResult> handle(CreateFactsRequest request) {
+    // All Facts are created with the same delegate instance, thus, Origins, Organizations, FactTypes, Objects and
+    // Subjects shared between the Facts are only resolved once per request. All Facts are created within the service
+    // call, i.e. covered by the same aspects (e.g. TriggerContext) as creating a single Fact.
+    List<CreateFactResult> results = new ArrayList<>(request.getFacts().size());
+    for (int i = 0; i < request.getFacts().size(); i++) {
+      results.add(createFact(i, request.getFacts().get(i)));
+    }
+
+    return StreamingResultSet.<CreateFactResult>builder()
+            .setCount(results.size())
+            .setValues(results)
+            .build();
+  }
+
+  private Fact createFact(CreateFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     // First resolve some objects which are required later on. This will also validate those request parameters.
-    requestedOrigin = factCreateHandler.resolveOrigin(request.getOrigin());
-    requestedOrganization = factCreateHandler.resolveOrganization(request.getOrganization(), requestedOrigin);
-    requestedFactType = factTypeRequestResolver.resolveFactType(request.getType());
+    requestedOrigin = resolveOrigin(request.getOrigin());
+    requestedOrganization = resolveOrganization(request.getOrganization(), requestedOrigin);
+    requestedFactType = resolveFactType(request.getType());
 
     // Verify that user is allowed to add Facts for the requested organization.
-    securityContext.checkPermission(FunctionConstants.addGrafeoFact, requestedOrganization.getId());
+    checkAddPermission(requestedOrganization);
 
     // Validate that requested Fact matches its FactType.
     factCreateHandler.assertValidFactValue(requestedFactType, request.getValue());
     assertValidFactObjectBindings(request);
 
     // Save everything in database.
-    Fact addedFact = factCreateHandler.saveFact(toFactRecord(request), request.getComment(),
-            ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
+    return saveFact(toFactRecord(request), request);
+  }
 
-    // Register TriggerEvent before returning added Fact.
-    registerTriggerEvent(addedFact);
+  private CreateFactResult createFact(int index, CreateFactRequest request) {
+    CreateFactResult.Builder result = CreateFactResult.builder().setIndex(index);
+    try {
+      // The Facts of a bulk request aren't validated by the ValidationAspect, thus, validate each Fact here.
+      ValidationAspect.validate(request);
+      Fact addedFact = createFact(request);
+      triggerContext.registerTriggerEvent(createTriggerEvent(addedFact));
+      return result.setFact(addedFact).build();
+    } catch (AccessDeniedException ex) {
+      // Don't fail the whole request, just report the error for this one Fact.
+      return result.addError(new CreateFactError(ex.getMessage(), "access.denied", null, null)).build();
+    } catch (AuthenticationFailedException ex) {
+      return result.addError(new CreateFactError(ex.getMessage(), "authentication.failed", null, null)).build();
+    } catch (InvalidArgumentException ex) {
+      ex.getValidationErrors().forEach(error -> result.addError(new CreateFactError(
+              error.getMessage(), error.getMessageTemplate(), error.getProperty(), error.getValue())));
+      return result.build();
+    } catch (RuntimeException ex) {
+      // Unexpected errors must neither abort the stream nor hide the results of the remaining Facts.
+      LOGGER.error(ex, "Could not create Fact at index %d of bulk request.", index);
+      return result.addError(new CreateFactError("Could not create Fact because of an internal error.", "fact.create.failed", null, null)).build();
+    }
+  }
 
-    return addedFact;
+  private OriginEntity resolveOrigin(String origin)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    OriginEntity resolved = resolvedOrigins.get(origin);
+    if (resolved != null) return resolved;
+
+    resolved = factCreateHandler.resolveOrigin(origin);
+    resolvedOrigins.put(origin, resolved);
+    return resolved;
+  }
+
+  private Organization resolveOrganization(String organization, OriginEntity origin)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    // The resolved Organization depends on the Origin if no Organization is requested.
+    String key = organization + "|" + ObjectUtils.ifNotNull(origin, OriginEntity::getId);
+    Organization resolved = resolvedOrganizations.get(key);
+    if (resolved != null) return resolved;
+
+    resolved = factCreateHandler.resolveOrganization(organization, origin);
+    resolvedOrganizations.put(key, resolved);
+    return resolved;
+  }
+
+  private FactTypeEntity resolveFactType(String type) throws InvalidArgumentException {
+    FactTypeEntity resolved = resolvedFactTypes.get(type);
+    if (resolved != null) return resolved;
+
+    resolved = factTypeRequestResolver.resolveFactType(type);
+    resolvedFactTypes.put(type, resolved);
+    return resolved;
+  }
+
+  private ObjectRecord resolveObject(String object, String property) throws InvalidArgumentException {
+    ObjectRecord resolved = resolvedObjects.get(object);
+    if (resolved != null) return resolved;
+
+    resolved = objectRequestResolver.resolveObject(object, property);
+    // Don't remember unresolvable Objects, such that the error is reported for every requested property.
+    if (resolved != null) resolvedObjects.put(object, resolved);
+    return resolved;
+  }
+
+  private List<UUID> resolveSubjects(List<String> acl) throws AuthenticationFailedException, InvalidArgumentException {
+    List<UUID> resolved = resolvedSubjects.get(acl);
+    if (resolved != null) return resolved;
+
+    resolved = ListUtils.list(factCreateHandler.resolveSubjects(acl), Subject::getId);
+    resolvedSubjects.put(acl, resolved);
+    return resolved;
+  }
+
+  private void checkAddPermission(Organization organization) throws AccessDeniedException, AuthenticationFailedException {
+    if (permittedOrganizations.contains(organization.getId())) return;
+
+    securityContext.checkPermission(FunctionConstants.addGrafeoFact, organization.getId());
+    permittedOrganizations.add(organization.getId());
+  }
+
+  private Fact saveFact(FactRecord fact, CreateFactRequest request)
+          throws AuthenticationFailedException, InvalidArgumentException {
+    // Requesting the same Fact multiple times in one request would only refresh the Fact again. Skip that and reuse the
+    // already saved Fact unless the request adds a comment or ACL entries.
+    boolean plain = request.getComment() == null && CollectionUtils.isEmpty(request.getAcl());
+    String hash = FactRecordHasher.toHash(fact);
+    if (plain && savedFacts.containsKey(hash)) return savedFacts.get(hash);
+
+    Fact saved = factCreateHandler.saveFact(fact, request.getComment(), resolveSubjects(request.getAcl()));
+    savedFacts.put(hash, saved);
+    return saved;
   }
 
   private void assertValidFactObjectBindings(CreateFactRequest request) throws InvalidArgumentException {
     // Validate that either source or destination or both are set. One field can be NULL to support bindings of cardinality 1.
-    ObjectRecord source = objectRequestResolver.resolveObject(request.getSourceObject(), "sourceObject");
-    ObjectRecord destination = objectRequestResolver.resolveObject(request.getDestinationObject(), "destinationObject");
+    ObjectRecord source = resolveObject(request.getSourceObject(), "sourceObject");
+    ObjectRecord destination = resolveObject(request.getDestinationObject(), "destinationObject");
     if (source == null && destination == null) {
       throw new InvalidArgumentException()
               .addValidationError("Requested source Object could not be resolved.", "invalid.source.object", "sourceObject", request.getSourceObject())
@@ -117,8 +249,8 @@ public class FactCreateDelegate implements Delegate {
   }
 
   private FactRecord toFactRecord(CreateFactRequest request) throws InvalidArgumentException {
-    ObjectRecord source = objectRequestResolver.resolveObject(request.getSourceObject(), "sourceObject");
-    ObjectRecord destination = objectRequestResolver.resolveObject(request.getDestinationObject(), "destinationObject");
+    ObjectRecord source = resolveObject(request.getSourceObject(), "sourceObject");
+    ObjectRecord destination = resolveObject(request.getDestinationObject(), "destinationObject");
 
     // Ensure that 'timestamp' and 'lastSeenTimestamp' are the same for newly created Facts.
     final long now = clock.millis();
@@ -154,12 +286,11 @@ public class FactCreateDelegate implements Delegate {
     return false;
   }
 
-  private void registerTriggerEvent(Fact addedFact) {
-    GrafeoServiceEvent event = GrafeoServiceEvent.forEvent(GrafeoServiceEvent.EventName.FactAdded)
+  private GrafeoServiceEvent createTriggerEvent(Fact addedFact) {
+    return GrafeoServiceEvent.forEvent(GrafeoServiceEvent.EventName.FactAdded)
             .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
             .setAccessMode(addedFact.getAccessMode())
             .addContextParameter(GrafeoServiceEvent.ContextParameter.AddedFact.name(), addedFact)
             .build();
-    triggerContext.registerTriggerEvent(event);
   }
 }
@@ -15,6 +15,7 @@ import no.mnemonic.services.grafeo.auth.SubjectSPI;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.AclEntryResponseConverter;
@@ -30,18 +31,21 @@ public class FactGrantAccessDelegate implements Delegate {
   private final FactRequestResolver factRequestResolver;
   private final SubjectSPI subjectResolver;
   private final AclEntryResponseConverter aclEntryResponseConverter;
+  private final SearchResultCache searchResultCache;
 
   @Inject
   public FactGrantAccessDelegate(GrafeoSecurityContext securityContext,
                                  ObjectFactDao objectFactDao,
                                  FactRequestResolver factRequestResolver,
                                  SubjectSPI subjectResolver,
-                                 AclEntryResponseConverter aclEntryResponseConverter) {
+                                 AclEntryResponseConverter aclEntryResponseConverter,
+                                 SearchResultCache searchResultCache) {
     this.securityContext = securityContext;
     this.objectFactDao = objectFactDao;
     this.factRequestResolver = factRequestResolver;
     this.subjectResolver = subjectResolver;
     this.aclEntryResponseConverter = aclEntryResponseConverter;
+    this.searchResultCache = searchResultCache;
   }
 
   public AclEntry handle(GrantFactAccessRequest request)
@@ -98,6 +102,9 @@ public class FactGrantAccessDelegate implements Delegate {
             .setSubjectID(subject)
             .setTimestamp(System.currentTimeMillis());
 
-    return objectFactDao.storeFactAclEntry(fact, entry);
+    FactAclEntryRecord storedEntry = objectFactDao.storeFactAclEntry(fact, entry);
+    // Granting access changes which users can see the Fact in their search results.
+    searchResultCache.invalidate(fact);
+    return storedEntry;
   }
 }
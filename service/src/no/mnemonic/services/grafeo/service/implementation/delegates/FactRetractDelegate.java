@@ -14,6 +14,7 @@ import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.contexts.TriggerContext;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
@@ -38,6 +39,7 @@ public class FactRetractDelegate implements Delegate {
   private final FactRequestResolver factRequestResolver;
   private final FactCreateHandler factCreateHandler;
   private final FactResponseConverter factResponseConverter;
+  private final SearchResultCache searchResultCache;
 
   private FactTypeEntity retractionFactType;
   private OriginEntity requestedOrigin;
@@ -50,7 +52,8 @@ public class FactRetractDelegate implements Delegate {
                              FactTypeRequestResolver factTypeRequestResolver,
                              FactRequestResolver factRequestResolver,
                              FactCreateHandler factCreateHandler,
-                             FactResponseConverter factResponseConverter) {
+                             FactResponseConverter factResponseConverter,
+                             SearchResultCache searchResultCache) {
     this.securityContext = securityContext;
     this.triggerContext = triggerContext;
     this.objectFactDao = objectFactDao;
@@ -58,6 +61,7 @@ public class FactRetractDelegate implements Delegate {
     this.factRequestResolver = factRequestResolver;
     this.factCreateHandler = factCreateHandler;
     this.factResponseConverter = factResponseConverter;
+    this.searchResultCache = searchResultCache;
   }
 
   public Fact handle(RetractFactRequest request)
@@ -79,6 +83,7 @@ public class FactRetractDelegate implements Delegate {
     Fact retractionFact = factCreateHandler.saveFact(toFactRecord(request, factToRetract), request.getComment(),
             ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
     factToRetract = objectFactDao.retractFact(factToRetract);
+    searchResultCache.invalidate(factToRetract);
 
     // Register TriggerEvent before returning Retraction Fact.
     registerTriggerEvent(retractionFact, factResponseConverter.apply(factToRetract));
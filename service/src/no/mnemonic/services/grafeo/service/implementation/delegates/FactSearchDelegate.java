@@ -7,6 +7,7 @@ import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
 import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.request.v1.SearchFactRequest;
 import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.request.SearchFactRequestConverter;
@@ -19,14 +20,17 @@ public class FactSearchDelegate implements Delegate {
   private final GrafeoSecurityContext securityContext;
   private final SearchFactRequestConverter requestConverter;
   private final FactSearchHandler factSearchHandler;
+  private final SearchResultCache searchResultCache;
 
   @Inject
   public FactSearchDelegate(GrafeoSecurityContext securityContext,
                             SearchFactRequestConverter requestConverter,
-                            FactSearchHandler factSearchHandler) {
+                            FactSearchHandler factSearchHandler,
+                            SearchResultCache searchResultCache) {
     this.securityContext = securityContext;
     this.requestConverter = requestConverter;
     this.factSearchHandler = factSearchHandler;
+    this.searchResultCache = searchResultCache;
   }
 
   public ResultSet<Fact> handle(SearchFactRequest request)
@@ -38,6 +42,7 @@ public class FactSearchDelegate implements Delegate {
       throw new AccessDeniedException("Unbounded searches are not allowed. Specify at least one search parameter (in addition to 'limit').");
     }
 
-    return factSearchHandler.search(criteria, request.getIncludeRetracted());
+    return searchResultCache.search("searchFacts", criteria, request.getIncludeRetracted(),
+            () -> factSearchHandler.search(criteria, request.getIncludeRetracted()));
   }
 }
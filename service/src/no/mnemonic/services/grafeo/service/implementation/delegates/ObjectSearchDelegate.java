@@ -15,10 +15,12 @@ import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.request.SearchObjectRequestConverter;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.helpers.ObjectStatisticsPrefetcher;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.AccessControlCriteriaResolver;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.response.FactTypeByIdResponseResolver;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.response.ObjectTypeByIdResponseResolver;
@@ -26,6 +28,7 @@ import no.mnemonic.services.grafeo.service.implementation.resolvers.response.Obj
 import jakarta.inject.Inject;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ObjectSearchDelegate implements Delegate {
 
@@ -35,6 +38,8 @@ public class ObjectSearchDelegate implements Delegate {
   private final SearchObjectRequestConverter requestConverter;
   private final FactTypeByIdResponseResolver factTypeConverter;
   private final ObjectTypeByIdResponseResolver objectTypeConverter;
+  private final SearchResultCache searchResultCache;
+  private final ObjectStatisticsPrefetcher statisticsPrefetcher;
 
   @Inject
   public ObjectSearchDelegate(GrafeoSecurityContext securityContext,
@@ -42,13 +47,17 @@ public class ObjectSearchDelegate implements Delegate {
                               ObjectFactDao objectFactDao,
                               SearchObjectRequestConverter requestConverter,
                               FactTypeByIdResponseResolver factTypeConverter,
-                              ObjectTypeByIdResponseResolver objectTypeConverter) {
+                              ObjectTypeByIdResponseResolver objectTypeConverter,
+                              SearchResultCache searchResultCache,
+                              ObjectStatisticsPrefetcher statisticsPrefetcher) {
     this.securityContext = securityContext;
     this.accessControlCriteriaResolver = accessControlCriteriaResolver;
     this.objectFactDao = objectFactDao;
     this.requestConverter = requestConverter;
     this.factTypeConverter = factTypeConverter;
     this.objectTypeConverter = objectTypeConverter;
+    this.searchResultCache = searchResultCache;
+    this.statisticsPrefetcher = statisticsPrefetcher;
   }
 
   public ResultSet<Object> handle(SearchObjectRequest request)
@@ -60,6 +69,10 @@ public class ObjectSearchDelegate implements Delegate {
       throw new AccessDeniedException("Unbounded searches are not allowed. Specify at least one search parameter (in addition to 'limit').");
     }
 
+    return searchResultCache.search("searchObjects", criteria, request.isIncludeStatistics(), () -> search(request, criteria));
+  }
+
+  private ResultSet<Object> search(SearchObjectRequest request, FactSearchCriteria criteria) {
     ResultContainer<ObjectRecord> searchResult = objectFactDao.searchObjects(criteria);
 
     // Return search result and add statistics while iterating over the result.
@@ -74,6 +87,7 @@ public class ObjectSearchDelegate implements Delegate {
   /**
    * This iterator wraps the search result iterator and while the result is consumed it converts the input from
    * ObjectRecord to the Object model. At the same time it adds the statistics about Facts to the returned Objects.
+   * The statistics of the next batches are calculated in the background while the current batch is consumed.
    */
   private class AddStatisticsIterator implements Iterator<Object> {
 
@@ -85,6 +99,7 @@ public class ObjectSearchDelegate implements Delegate {
     private final ResultContainer<ObjectRecord> input;
     private final SearchObjectRequest request;
     private final IndexSelectCriteria indexSelectCriteria;
+    private final Deque<PendingBatch> pending = new ArrayDeque<>();
     private Iterator<Object> output;
 
     private AddStatisticsIterator(ResultContainer<ObjectRecord> input,
@@ -111,17 +126,15 @@ public class ObjectSearchDelegate implements Delegate {
     }
 
     private Iterator<Object> nextOutputBatch() {
-      List<ObjectRecord> currentBatch = new ArrayList<>(MAXIMUM_BATCH_SIZE);
-
-      int currentBatchSize = 0;
-      // Consume input until no more data is available or maximum batch size has be reached.
-      while (input.hasNext() && currentBatchSize < MAXIMUM_BATCH_SIZE) {
-        currentBatch.add(input.next());
-        currentBatchSize++;
+      // Read ahead and start calculating the statistics of the next batches before converting the current batch.
+      int maxInFlight = request.isIncludeStatistics() ? statisticsPrefetcher.getMaxInFlight() : 1;
+      while (pending.size() < maxInFlight && input.hasNext()) {
+        pending.add(readBatch());
       }
 
+      PendingBatch currentBatch = pending.poll();
       // Return early because calculating the statistics will fail without any Object IDs.
-      if (currentBatch.isEmpty()) {
+      if (currentBatch == null) {
         return Collections.emptyIterator();
       }
 
@@ -130,29 +143,53 @@ public class ObjectSearchDelegate implements Delegate {
       // non-accessible Objects because of an error in the ElasticSearch access control implementation would only leak
       // the information that the Object exists (plus potentially the Fact statistics) and will not give further access
       // to any Facts.
-      return currentBatch.stream()
-              .map(new ObjectResponseConverter(objectTypeConverter, factTypeConverter, initializeStatisticsResolver(currentBatch)))
+      return currentBatch.records.stream()
+              .map(new ObjectResponseConverter(objectTypeConverter, factTypeConverter, currentBatch.statisticsResolver()))
               .iterator();
     }
 
-    private Function<UUID, Collection<ObjectStatisticsContainer.FactStatistic>> initializeStatisticsResolver(List<ObjectRecord> currentBatch) {
-      Function<UUID, Collection<ObjectStatisticsContainer.FactStatistic>> resolver = id -> Collections.emptyList();
+    private PendingBatch readBatch() {
+      List<ObjectRecord> batch = new ArrayList<>(MAXIMUM_BATCH_SIZE);
 
-      // Only include statistics if the user has explicitly asked for it.
-      if (request.isIncludeStatistics()) {
-        // Use the Object IDs to retrieve the Fact statistics for one batch of Objects.
-        ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
-                .setObjectID(SetUtils.set(currentBatch, ObjectRecord::getId))
-                .setStartTimestamp(request.getStartTimestamp())
-                .setEndTimestamp(request.getEndTimestamp())
-                .setAccessControlCriteria(accessControlCriteriaResolver.get())
-                .setIndexSelectCriteria(indexSelectCriteria)
-                .build();
-        ObjectStatisticsContainer statistics = objectFactDao.calculateObjectStatistics(criteria);
-        resolver = statistics::getStatistics;
+      int batchSize = 0;
+      // Consume input until no more data is available or maximum batch size has be reached.
+      while (input.hasNext() && batchSize < MAXIMUM_BATCH_SIZE) {
+        batch.add(input.next());
+        batchSize++;
       }
 
-      return resolver;
+      return new PendingBatch(batch, initializeStatistics(batch));
+    }
+
+    private Supplier<ObjectStatisticsContainer> initializeStatistics(List<ObjectRecord> batch) {
+      // Only include statistics if the user has explicitly asked for it.
+      if (!request.isIncludeStatistics()) return null;
+
+      // Use the Object IDs to retrieve the Fact statistics for one batch of Objects. The criteria are created on the
+      // calling thread because resolving the AccessControlCriteria requires the current security context.
+      ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
+              .setObjectID(SetUtils.set(batch, ObjectRecord::getId))
+              .setStartTimestamp(request.getStartTimestamp())
+              .setEndTimestamp(request.getEndTimestamp())
+              .setAccessControlCriteria(accessControlCriteriaResolver.get())
+              .setIndexSelectCriteria(indexSelectCriteria)
+              .build();
+      return statisticsPrefetcher.submit(() -> objectFactDao.calculateObjectStatistics(criteria));
+    }
+  }
+
+  private static class PendingBatch {
+    private final List<ObjectRecord> records;
+    private final Supplier<ObjectStatisticsContainer> statistics;
+
+    private PendingBatch(List<ObjectRecord> records, Supplier<ObjectStatisticsContainer> statistics) {
+      this.records = records;
+      this.statistics = statistics;
+    }
+
+    private Function<UUID, Collection<ObjectStatisticsContainer.FactStatistic>> statisticsResolver() {
+      if (statistics == null) return id -> Collections.emptyList();
+      return statistics.get()::getStatistics;
     }
   }
 }
@@ -20,6 +20,7 @@ import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactResponseConverter;
 import no.mnemonic.services.grafeo.service.providers.LockProvider;
@@ -53,6 +54,7 @@ public class FactCreateHandler {
   private final ObjectFactDao objectFactDao;
   private final FactResponseConverter factResponseConverter;
   private final LockProvider lockProvider;
+  private final SearchResultCache searchResultCache;
 
   private Clock clock = Clock.systemUTC();
 
@@ -64,7 +66,8 @@ public class FactCreateHandler {
                            ValidatorFactory validatorFactory,
                            ObjectFactDao objectFactDao,
                            FactResponseConverter factResponseConverter,
-                           LockProvider lockProvider) {
+                           LockProvider lockProvider,
+                           SearchResultCache searchResultCache) {
     this.securityContext = securityContext;
     this.subjectResolver = subjectResolver;
     this.organizationResolver = organizationResolver;
@@ -73,6 +76,7 @@ public class FactCreateHandler {
     this.objectFactDao = objectFactDao;
     this.factResponseConverter = factResponseConverter;
     this.lockProvider = lockProvider;
+    this.searchResultCache = searchResultCache;
   }
 
   /**
@@ -246,6 +250,9 @@ public class FactCreateHandler {
       }
     }
 
+    // Cached search results including the Fact might be missing it or contain outdated information of the refreshed Fact.
+    searchResultCache.invalidate(effectiveFact);
+
     return factResponseConverter.apply(effectiveFact);
   }
 
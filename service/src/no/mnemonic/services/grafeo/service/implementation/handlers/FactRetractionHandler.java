@@ -10,10 +10,7 @@ import no.mnemonic.services.grafeo.service.implementation.resolvers.request.Fact
 import no.mnemonic.services.grafeo.service.scopes.ServiceRequestScope;
 
 import jakarta.inject.Inject;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -24,6 +21,7 @@ import java.util.stream.Collectors;
 public class FactRetractionHandler {
 
   private final Map<UUID, Boolean> retractionCache = new ConcurrentHashMap<>();
+  private final Map<UUID, List<FactRecord>> retractionsCache = new ConcurrentHashMap<>();
 
   private final FactTypeRequestResolver factTypeRequestResolver;
   private final GrafeoSecurityContext securityContext;
@@ -55,11 +53,9 @@ public class FactRetractionHandler {
   public boolean isRetracted(FactRecord fact) {
     if (fact == null) return false;
 
-    boolean retractedHint = SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint);
-
     // If it's known that the Fact has never been retracted store this information immediately.
     // This will save a lot of calls to Cassandra!
-    if (!retractedHint) {
+    if (!hasRetractedHint(fact)) {
       retractionCache.put(fact.getId(), false);
     }
 
@@ -68,8 +64,41 @@ public class FactRetractionHandler {
     return retractionCache.computeIfAbsent(fact.getId(), this::computeRetraction);
   }
 
+  /**
+   * Fetch the retractions of multiple Facts in one batch, e.g. all Facts of a search result page, such that subsequent
+   * calls to {@link #isRetracted(FactRecord)} for those Facts don't need to fetch the retractions one Fact at a time.
+   * Only Facts with a retracted hint need to be looked up. Retractions of retractions are fetched in one batch per level.
+   *
+   * @param facts FactRecords to fetch retractions for
+   */
+  public void prefetchRetractions(Collection<FactRecord> facts) {
+    if (CollectionUtils.isEmpty(facts)) return;
+
+    Set<UUID> pending = new HashSet<>();
+    for (FactRecord fact : facts) {
+      if (fact == null || !hasRetractedHint(fact)) continue;
+      if (retractionCache.containsKey(fact.getId()) || retractionsCache.containsKey(fact.getId())) continue;
+      pending.add(fact.getId());
+    }
+
+    while (!pending.isEmpty()) {
+      Map<UUID, List<FactRecord>> retractions = fetchRetractions(pending);
+      retractionsCache.putAll(retractions);
+      pending = retractions.values()
+              .stream()
+              .flatMap(List::stream)
+              .map(FactRecord::getId)
+              .filter(id -> !retractionsCache.containsKey(id))
+              .collect(Collectors.toSet());
+    }
+  }
+
+  private boolean hasRetractedHint(FactRecord fact) {
+    return SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint);
+  }
+
   private boolean computeRetraction(UUID factID) {
-    List<FactRecord> retractions = fetchRetractions(factID);
+    List<FactRecord> retractions = retractionsCache.computeIfAbsent(factID, this::fetchRetractions);
     if (CollectionUtils.isEmpty(retractions)) {
       // No accessible retractions, thus, the Fact isn't retracted.
       return false;
@@ -89,4 +118,17 @@ public class FactRetractionHandler {
             .filter(securityContext::hasReadPermission)
             .collect(Collectors.toList());
   }
+
+  private Map<UUID, List<FactRecord>> fetchRetractions(Set<UUID> factIDs) {
+    // Same as above, but fetch the meta Facts of all given Facts at once. Meta Facts reference their Fact via 'inReferenceToID'.
+    UUID retractionFactType = factTypeRequestResolver.resolveRetractionFactType().getId();
+    Map<UUID, List<FactRecord>> retractions = new HashMap<>();
+    factIDs.forEach(id -> retractions.put(id, new ArrayList<>()));
+    Streams.stream(objectFactDao.retrieveMetaFacts(factIDs))
+            .filter(meta -> Objects.equals(meta.getTypeID(), retractionFactType))
+            .filter(securityContext::hasReadPermission)
+            .filter(meta -> retractions.containsKey(meta.getInReferenceToID()))
+            .forEach(meta -> retractions.get(meta.getInReferenceToID()).add(meta));
+    return retractions;
+  }
 }
@@ -1,5 +1,7 @@
 package no.mnemonic.services.grafeo.service.implementation.handlers;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
@@ -23,6 +25,7 @@ import java.util.Iterator;
 public class FactSearchHandler {
 
   private static final int MAXIMUM_SEARCH_LIMIT = 10_000;
+  private static final int CONVERSION_PAGE_SIZE = 100;
 
   private final FactRetractionHandler retractionHandler;
   private final ObjectFactDao objectFactDao;
@@ -57,12 +60,15 @@ public class FactSearchHandler {
 
     // When consuming the search result apply filter to include or exclude retracted Facts.
     // Additionally, make sure that the user has access to all returned Facts.
-    Iterator<Fact> facts = searchResult.stream()
+    Iterator<FactRecord> records = searchResult.stream()
             .filter(fact -> includeRetracted(fact, includeRetracted))
             .filter(securityContext::hasReadPermission)
-            .map(factResponseConverter)
             .limit(limit > 0 ? limit : Long.MAX_VALUE)
             .iterator();
+    // Convert the Facts in pages which allows resolving referenced data once per page instead of once per Fact.
+    Iterator<Fact> facts = Streams.stream(Iterators.partition(records, CONVERSION_PAGE_SIZE))
+            .flatMap(page -> factResponseConverter.applyAll(page).stream())
+            .iterator();
 
     // Note that 'count' might be slightly off when retracted Facts are excluded from the result, because retracted
     // Facts are included in the count from ElasticSearch and are only removed when streaming out the results.
@@ -0,0 +1,105 @@
+package no.mnemonic.services.grafeo.service.implementation.helpers;
+
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Helper which calculates Object statistics in the background while the Object search result is streamed.
+ * <p>
+ * All searches share a fixed number of threads, and every search keeps at most a configured number of statistics
+ * calculations in flight. If the prefetcher hasn't been started or prefetching is disabled the statistics are
+ * calculated on the calling thread once they are requested.
+ */
+@Singleton
+public class ObjectStatisticsPrefetcher implements LifecycleAspect {
+
+  private static final int DEFAULT_THREADS = 8;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+  private int threads = DEFAULT_THREADS;
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+  private ExecutorService executor;
+
+  @Override
+  public void startComponent() {
+    if (threads < 1 || maxInFlight <= 1) return;
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor == null) return;
+    executor.shutdownNow();
+    executor = null;
+  }
+
+  /**
+   * Returns how many statistics calculations one search should keep in flight (1 if prefetching is disabled).
+   *
+   * @return Maximum number of concurrent statistics calculations per search
+   */
+  public int getMaxInFlight() {
+    return executor != null ? maxInFlight : 1;
+  }
+
+  /**
+   * Start calculating statistics in the background. The returned Supplier blocks until the calculation has finished.
+   * Exceptions thrown by the calculation are re-thrown from the Supplier.
+   *
+   * @param calculation Calculation of the statistics (must not depend on the state of the calling thread)
+   * @return Supplier of the calculated statistics
+   */
+  public Supplier<ObjectStatisticsContainer> submit(Supplier<ObjectStatisticsContainer> calculation) {
+    ExecutorService currentExecutor = executor;
+    if (currentExecutor == null) return calculation;
+
+    Future<ObjectStatisticsContainer> future = currentExecutor.submit(calculation::get);
+    return () -> await(future);
+  }
+
+  /**
+   * Set the number of threads shared by all searches to calculate Object statistics.
+   *
+   * @param threads Number of threads (default 8)
+   * @return this
+   */
+  @Inject(optional = true)
+  public ObjectStatisticsPrefetcher setThreads(@Named("grafeo.service.object.statistics.prefetch.threads") int threads) {
+    this.threads = threads;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of statistics calculations one search keeps in flight. A value of 1 disables prefetching.
+   *
+   * @param maxInFlight Maximum number of concurrent calculations per search (default 2)
+   * @return this
+   */
+  @Inject(optional = true)
+  public ObjectStatisticsPrefetcher setMaxInFlight(@Named("grafeo.service.object.statistics.prefetch.max.in.flight") int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  private ObjectStatisticsContainer await(Future<ObjectStatisticsContainer> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calculating Object statistics.", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw new IllegalStateException("Failed to calculate Object statistics.", ex.getCause());
+    }
+  }
+}
@@ -3,31 +3,41 @@ package no.mnemonic.services.grafeo.service.implementation.resolvers.response;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.grafeo.api.model.v1.FactType;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactTypeResponseConverter;
 
 import jakarta.inject.Inject;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class FactTypeByIdResponseResolver implements Function<UUID, FactType> {
 
   private final FactManager factManager;
   private final FactTypeResponseConverter factTypeResponseConverter;
   private final Map<UUID, FactType> responseCache;
+  private final Supplier<MetadataSnapshot> metadataSnapshot;
 
   @Inject
   public FactTypeByIdResponseResolver(FactManager factManager,
                                       FactTypeResponseConverter factTypeResponseConverter,
-                                      Map<UUID, FactType> responseCache) {
+                                      Map<UUID, FactType> responseCache,
+                                      Supplier<MetadataSnapshot> metadataSnapshot) {
     this.factManager = factManager;
     this.factTypeResponseConverter = factTypeResponseConverter;
     this.responseCache = responseCache;
+    this.metadataSnapshot = metadataSnapshot;
   }
 
   @Override
   public FactType apply(UUID id) {
     if (id == null) return null;
+
+    // Serve from the metadata snapshot first, it only misses for FactTypes added after the last refresh.
+    FactType snapshot = metadataSnapshot.get().getFactType(id);
+    if (snapshot != null) return snapshot;
+
     return responseCache.computeIfAbsent(id, this::resolveUncached);
   }
 
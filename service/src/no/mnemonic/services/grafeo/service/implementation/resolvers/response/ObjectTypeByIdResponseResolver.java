@@ -3,31 +3,41 @@ package no.mnemonic.services.grafeo.service.implementation.resolvers.response;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectTypeResponseConverter;
 
 import jakarta.inject.Inject;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ObjectTypeByIdResponseResolver implements Function<UUID, ObjectType> {
 
   private final ObjectManager objectManager;
   private final ObjectTypeResponseConverter objectTypeResponseConverter;
   private final Map<UUID, ObjectType> responseCache;
+  private final Supplier<MetadataSnapshot> metadataSnapshot;
 
   @Inject
   public ObjectTypeByIdResponseResolver(ObjectManager objectManager,
                                         ObjectTypeResponseConverter objectTypeResponseConverter,
-                                        Map<UUID, ObjectType> responseCache) {
+                                        Map<UUID, ObjectType> responseCache,
+                                        Supplier<MetadataSnapshot> metadataSnapshot) {
     this.objectManager = objectManager;
     this.objectTypeResponseConverter = objectTypeResponseConverter;
     this.responseCache = responseCache;
+    this.metadataSnapshot = metadataSnapshot;
   }
 
   @Override
   public ObjectType apply(UUID id) {
     if (id == null) return null;
+
+    // Serve from the metadata snapshot first, it only misses for ObjectTypes added after the last refresh.
+    ObjectType snapshot = metadataSnapshot.get().getObjectType(id);
+    if (snapshot != null) return snapshot;
+
     return responseCache.computeIfAbsent(id, this::resolveUncached);
   }
 
@@ -2,6 +2,7 @@ package no.mnemonic.services.grafeo.service.implementation.resolvers.response;
 
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.grafeo.api.model.v1.Origin;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.OriginResponseConverter;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.OriginResolver;
 
@@ -9,25 +10,34 @@ import jakarta.inject.Inject;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class OriginByIdResponseResolver implements Function<UUID, Origin> {
 
   private final OriginResolver originResolver;
   private final OriginResponseConverter originResponseConverter;
   private final Map<UUID, Origin> responseCache;
+  private final Supplier<MetadataSnapshot> metadataSnapshot;
 
   @Inject
   public OriginByIdResponseResolver(OriginResolver originResolver,
                                     OriginResponseConverter originResponseConverter,
-                                    Map<UUID, Origin> responseCache) {
+                                    Map<UUID, Origin> responseCache,
+                                    Supplier<MetadataSnapshot> metadataSnapshot) {
     this.originResolver = originResolver;
     this.originResponseConverter = originResponseConverter;
     this.responseCache = responseCache;
+    this.metadataSnapshot = metadataSnapshot;
   }
 
   @Override
   public Origin apply(UUID id) {
     if (id == null) return null;
+
+    // Serve from the metadata snapshot first, it only misses for Origins added after the last refresh.
+    Origin snapshot = metadataSnapshot.get().getOrigin(id);
+    if (snapshot != null) return snapshot;
+
     return responseCache.computeIfAbsent(id, this::resolveUncached);
   }
 
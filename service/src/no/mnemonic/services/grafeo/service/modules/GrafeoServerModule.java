@@ -2,10 +2,13 @@ package no.mnemonic.services.grafeo.service.modules;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
+import com.google.inject.name.Names;
 import no.mnemonic.services.common.api.ServiceSessionFactory;
 import no.mnemonic.services.common.api.proxy.serializer.Serializer;
+import no.mnemonic.services.grafeo.service.aspects.ConcurrencyLimitAspect;
 import no.mnemonic.services.grafeo.service.container.GrafeoServiceProxyServer;
 import no.mnemonic.services.grafeo.service.container.NoopServiceSessionFactory;
+import no.mnemonic.services.grafeo.service.container.XStreamBinaryMessageSerializerProvider;
 import no.mnemonic.services.grafeo.service.container.XStreamMessageSerializerProvider;
 
 /**
@@ -20,8 +23,15 @@ public class GrafeoServerModule extends AbstractModule {
     if (!skipDefaultMessageSerializer) {
       // Omit default MessageSerializer if the module is configured using withoutDefaultMessageSerializer().
       bind(Serializer.class).toProvider(XStreamMessageSerializerProvider.class);
+      // The binary serializer is always offered in addition, clients decide which one they use.
+      bind(Serializer.class)
+              .annotatedWith(Names.named(GrafeoServiceProxyServer.BINARY_MESSAGE_SERIALIZER))
+              .toProvider(XStreamBinaryMessageSerializerProvider.class);
     }
 
+    // Reject requests exceeding the adaptive concurrency limits instead of queueing them.
+    install(new ConcurrencyLimitAspect());
+
     // The service implementation doesn't have sessions, thus, just use a noop session.
     bind(ServiceSessionFactory.class).to(NoopServiceSessionFactory.class);
     // Bind server class which will make the GrafeoService available via HTTP.
@@ -30,8 +40,8 @@ public class GrafeoServerModule extends AbstractModule {
   }
 
   /**
-   * Instruct the module to omit the default MessageSerializer implementation. In this case an alternative
-   * implementation must be configured in Guice.
+   * Instruct the module to omit the default MessageSerializer implementations. In this case an alternative
+   * implementation must be configured in Guice (the binary serializer is optional).
    *
    * @return this
    */
@@ -14,6 +14,7 @@ import no.mnemonic.services.grafeo.service.aspects.*;
 import no.mnemonic.services.grafeo.service.caches.DaoCachesModule;
 import no.mnemonic.services.grafeo.service.caches.ResponseCachesModule;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoServiceImpl;
+import no.mnemonic.services.grafeo.service.implementation.helpers.ObjectStatisticsPrefetcher;
 import no.mnemonic.services.grafeo.service.providers.HazelcastBasedLockProvider;
 import no.mnemonic.services.grafeo.service.providers.HazelcastInstanceProvider;
 import no.mnemonic.services.grafeo.service.providers.LockProvider;
@@ -71,6 +72,7 @@ public class GrafeoServiceModule extends AbstractModule {
     bind(LockProvider.class).to(HazelcastBasedLockProvider.class).in(Scopes.SINGLETON);
     bind(ValidatorFactory.class).to(DefaultValidatorFactory.class).in(Scopes.SINGLETON);
     bind(GrafeoService.class).to(GrafeoServiceImpl.class).in(Scopes.SINGLETON);
+    bind(ObjectStatisticsPrefetcher.class).in(Scopes.SINGLETON);
   }
 
   @Provides
@@ -15,6 +15,9 @@ import java.util.Map;
 /**
  * Base class for a {@link Provider} which returns a {@link Map} instance backed by Hazelcast.
  * <p>
+ * By default loads of missing keys using {@link Map#computeIfAbsent} are coalesced across the cluster,
+ * see {@link SingleFlightHazelcastMap}. Maps which are mostly queried for missing keys can opt out of this.
+ * <p>
  * Implements collecting metrics from the underlying {@link IMap}.
  *
  * @param <K> Type of map key
@@ -24,20 +27,26 @@ public abstract class AbstractHazelcastMapProvider<K, V> implements Provider<Map
 
   private final HazelcastInstance hazelcastInstance;
   private final String mapName;
+  private final boolean singleFlight;
 
   protected AbstractHazelcastMapProvider(HazelcastInstance hazelcastInstance, String mapName) {
+    this(hazelcastInstance, mapName, true);
+  }
+
+  protected AbstractHazelcastMapProvider(HazelcastInstance hazelcastInstance, String mapName, boolean singleFlight) {
     this.hazelcastInstance = hazelcastInstance;
     this.mapName = mapName;
+    this.singleFlight = singleFlight;
   }
 
   @Override
   public Map<K, V> get() {
-    return hazelcastInstance.getMap(mapName);
+    return singleFlight ? new SingleFlightHazelcastMap<>(getMap()) : getMap();
   }
 
   @Override
   public Metrics getMetrics() throws MetricException {
-    IMap<K, V> map = (IMap<K, V>) get();
+    IMap<K, V> map = getMap();
 
     LocalMapStats stats = map.getLocalMapStats();
     MetricsData metrics = new MetricsData()
@@ -71,4 +80,8 @@ public abstract class AbstractHazelcastMapProvider<K, V> implements Provider<Map
 
     return metrics;
   }
+
+  private IMap<K, V> getMap() {
+    return hazelcastInstance.getMap(mapName);
+  }
 }
@@ -12,6 +12,8 @@ import java.time.Duration;
 import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
 import static no.mnemonic.services.grafeo.service.caches.DistributedFactByHashDaoCache.FACT_BY_HASH_MAP_NAME;
 import static no.mnemonic.services.grafeo.service.caches.DistributedFactByIdDaoCache.FACT_BY_ID_MAP_NAME;
+import static no.mnemonic.services.grafeo.service.caches.DistributedFactExistenceFilter.FACT_EXISTENCE_SNAPSHOT_MAP_NAME;
+import static no.mnemonic.services.grafeo.service.caches.DistributedFactExistenceFilter.FACT_EXISTENCE_TOPIC_RINGBUFFER_NAME;
 import static no.mnemonic.services.grafeo.service.caches.DistributedObjectByIdDaoCache.OBJECT_BY_ID_MAP_NAME;
 import static no.mnemonic.services.grafeo.service.caches.DistributedObjectByTypeValueDaoCache.OBJECT_BY_TYPE_VALUE_MAP_NAME;
 import static no.mnemonic.services.grafeo.service.providers.HazelcastBasedLockProvider.LOCK_MAP_NAME;
@@ -23,6 +25,9 @@ import static no.mnemonic.services.grafeo.service.providers.HazelcastBasedLockPr
  */
 public class HazelcastServiceConfiguration {
 
+  static final String MAP_INVALIDATION_BATCH_ENABLED = "hazelcast.map.invalidation.batch.enabled";
+  static final String MAP_INVALIDATION_BATCH_FREQUENCY_SECONDS = "hazelcast.map.invalidation.batch.frequency.seconds";
+
   private Duration daoCacheFactTimeToLive = Duration.ofMinutes(15);
   private Duration daoCacheObjectTimeToIdle = Duration.ofMinutes(15);
   private Duration daoCacheFactNearCacheTimeToLive = Duration.ofMinutes(5);
@@ -32,6 +37,8 @@ public class HazelcastServiceConfiguration {
   private int daoCacheFactNearCacheMaximumCacheSize = 100_000;
   private int daoCacheObjectNearCacheMaximumCacheSize = 200_000;
   private int esEngineFactMaximumQueueSize = 1_000;
+  private Duration daoCacheNearCacheInvalidationDelay = Duration.ofSeconds(1);
+  private int factExistenceFilterTopicCapacity = 1_000_000;
 
   /**
    * Apply the required service configuration to an existing Hazelcast {@link Config} object.
@@ -44,6 +51,8 @@ public class HazelcastServiceConfiguration {
     applySerializationConfig(cfg);
     applyQueueConfig(cfg);
     applyMapConfig(cfg);
+    applyRingbufferConfig(cfg);
+    applyNearCacheInvalidationConfig(cfg);
   }
 
   @Inject(optional = true)
@@ -100,6 +109,18 @@ public class HazelcastServiceConfiguration {
     return this;
   }
 
+  @Inject(optional = true)
+  public HazelcastServiceConfiguration setDaoCacheNearCacheInvalidationDelay(@Named("grafeo.dao.cache.near.cache.invalidation.delay") long delay) {
+    this.daoCacheNearCacheInvalidationDelay = Duration.ofSeconds(delay);
+    return this;
+  }
+
+  @Inject(optional = true)
+  public HazelcastServiceConfiguration setFactExistenceFilterTopicCapacity(@Named("grafeo.dao.fact.existence.filter.topic.capacity") int capacity) {
+    this.factExistenceFilterTopicCapacity = capacity;
+    return this;
+  }
+
   private void applySerializationConfig(Config cfg) {
     SerializationConfig serializationConfig = cfg.getSerializationConfig();
 
@@ -125,6 +146,30 @@ public class HazelcastServiceConfiguration {
     cfg.addMapConfig(createMapConfigForFactDaoCache(FACT_BY_ID_MAP_NAME));
     cfg.addMapConfig(createMapConfigForObjectDaoCache(OBJECT_BY_ID_MAP_NAME));
     cfg.addMapConfig(createMapConfigForObjectDaoCache(OBJECT_BY_TYPE_VALUE_MAP_NAME));
+    // Keep a backup of the shared snapshot such that it survives the loss of a single node.
+    cfg.getMapConfig(FACT_EXISTENCE_SNAPSHOT_MAP_NAME).setBackupCount(1);
+  }
+
+  private void applyRingbufferConfig(Config cfg) {
+    // The topic must hold all updates since the last shared snapshot of the Fact existence filter. Otherwise, nodes
+    // cannot load the snapshot and the filter needs to be built from Cassandra again.
+    cfg.getRingbufferConfig(FACT_EXISTENCE_TOPIC_RINGBUFFER_NAME)
+            .setBackupCount(1)
+            .setCapacity(factExistenceFilterTopicCapacity);
+  }
+
+  private void applyNearCacheInvalidationConfig(Config cfg) {
+    // This only tunes how fast invalidations reach the near caches, it doesn't trigger any invalidation itself.
+    // The DAO evicts a Fact from the cache map after a refresh, retraction, new ACL entry or comment. The map then
+    // sends invalidation events to the near caches of all nodes. By default, Hazelcast batches these events for up to
+    // 10s, send them more promptly instead (a delay of 0 disables batching). Invalidation events are delivered on a
+    // best-effort basis, thus, the near cache TTL still bounds how long a stale entry can survive.
+    if (daoCacheNearCacheInvalidationDelay.isZero()) {
+      cfg.setProperty(MAP_INVALIDATION_BATCH_ENABLED, "false");
+    } else {
+      cfg.setProperty(MAP_INVALIDATION_BATCH_ENABLED, "true");
+      cfg.setProperty(MAP_INVALIDATION_BATCH_FREQUENCY_SECONDS, String.valueOf(daoCacheNearCacheInvalidationDelay.getSeconds()));
+    }
   }
 
   private SerializerConfig createSerializerConfig(Class<?> type, int typeID) {
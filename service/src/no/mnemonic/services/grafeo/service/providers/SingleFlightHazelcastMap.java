@@ -0,0 +1,102 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ForwardingMap;
+import com.hazelcast.map.IMap;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link Map} wrapping a Hazelcast {@link IMap} which coalesces loads of missing keys across the whole cluster.
+ * <p>
+ * {@link IMap#computeIfAbsent(Object, Function)} executes the mapping function on every node (and thread) which misses
+ * a key. Instead, {@link #computeIfAbsent(Object, Function)} acquires Hazelcast's lock on the missing key, thus, only
+ * one thread in the cluster executes the mapping function while all others wait for the lock and afterwards read the
+ * loaded value from the map. If the lock cannot be acquired in time the value is loaded without holding the lock.
+ * <p>
+ * If the mapping function didn't return a value for a key nothing is stored which other threads could read, thus,
+ * subsequent loads of the same key skip the lock for a while. This avoids a cluster-wide lock for every lookup of keys
+ * which typically don't exist. The mapping function is still executed, i.e. a value which appears later is found.
+ * <p>
+ * All other operations are forwarded to the {@link IMap} unchanged.
+ *
+ * @param <K> Type of map key
+ * @param <V> Type of map value
+ */
+public class SingleFlightHazelcastMap<K, V> extends ForwardingMap<K, V> {
+
+  private static final Logger LOGGER = Logging.getLogger(SingleFlightHazelcastMap.class);
+
+  // Loads are single reads from Cassandra, thus, waiting for a few seconds should be more than enough.
+  private static final long LOCK_WAIT_TIMEOUT_SECONDS = 5;
+  // Fail-safe in case a lock isn't released, e.g. because a node dies while loading.
+  private static final long LOCK_LEASE_TIMEOUT_SECONDS = 30;
+  // Keys for which the mapping function didn't return a value are loaded without lock for this time.
+  private static final long ABSENT_KEY_TIMEOUT_SECONDS = 60;
+  private static final int ABSENT_KEY_MAXIMUM_SIZE = 10_000;
+
+  private final IMap<K, V> map;
+  private final Cache<K, Boolean> absentKeys = CacheBuilder.newBuilder()
+          .expireAfterWrite(ABSENT_KEY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+          .maximumSize(ABSENT_KEY_MAXIMUM_SIZE)
+          .build();
+
+  public SingleFlightHazelcastMap(IMap<K, V> map) {
+    this.map = map;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = map.get(key);
+    if (value != null) return value;
+    if (absentKeys.getIfPresent(key) != null) return load(key, mappingFunction);
+
+    boolean locked = tryLock(key);
+    try {
+      // Another node might have loaded the value while waiting for the lock.
+      value = map.get(key);
+      if (value != null) return value;
+
+      return load(key, mappingFunction);
+    } finally {
+      if (locked) map.unlock(key);
+    }
+  }
+
+  @Override
+  protected Map<K, V> delegate() {
+    return map;
+  }
+
+  private V load(K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = mappingFunction.apply(key);
+    if (value == null) {
+      absentKeys.put(key, Boolean.TRUE);
+      return null;
+    }
+
+    map.set(key, value);
+    absentKeys.invalidate(key);
+    return value;
+  }
+
+  private boolean tryLock(K key) {
+    try {
+      if (map.tryLock(key, LOCK_WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS, LOCK_LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        return true;
+      }
+
+      LOGGER.warning("Could not acquire lock for key %s in map %s. Load value without lock.", key, map.getName());
+      return false;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOGGER.warning("Interrupted while acquiring lock for key %s in map %s. Load value without lock.", key, map.getName());
+      return false;
+    }
+  }
+}
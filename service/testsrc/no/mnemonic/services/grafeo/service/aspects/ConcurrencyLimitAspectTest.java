@@ -0,0 +1,126 @@
+package no.mnemonic.services.grafeo.service.aspects;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.auth.model.Credentials;
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
+import no.mnemonic.services.grafeo.api.service.v1.RequestHeader;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+import no.mnemonic.services.grafeo.auth.properties.model.SubjectCredentials;
+import no.mnemonic.services.grafeo.service.Service;
+import no.mnemonic.services.grafeo.service.TestSecurityContext;
+import no.mnemonic.services.grafeo.service.container.AdaptiveConcurrencyLimiter;
+import no.mnemonic.services.grafeo.service.contexts.SecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitAspectTest {
+
+  @Mock
+  private AdaptiveConcurrencyLimiter limiter;
+  @Mock
+  private AdaptiveConcurrencyLimiter.Permit permit;
+
+  private RequestHeader rh;
+
+  @BeforeEach
+  public void setUp() {
+    rh = RequestHeader.builder()
+            .setCredentials(SubjectCredentials.builder().setSubjectID(42).build())
+            .build();
+  }
+
+  @Test
+  public void testAcquireAndReleasePermit() {
+    when(limiter.acquire(any(), any(), any())).thenReturn(permit);
+
+    assertEquals("Called!", createService().method(rh, "Called!"));
+    verify(limiter).acquire(any(), eq("42"), eq("method"));
+    verify(permit).close();
+  }
+
+  @Test
+  public void testAcquirePermitOnlyForOutermostCall() {
+    when(limiter.acquire(any(), any(), any())).thenReturn(permit);
+
+    assertEquals("Called!", createService().nestedMethod(rh, "Called!"));
+    verify(limiter, times(1)).acquire(any(), any(), any());
+    verify(permit, times(1)).close();
+  }
+
+  @Test
+  public void testRejectRequest() {
+    when(limiter.acquire(any(), any(), any())).thenThrow(new ServiceOverloadedException("test", "test"));
+
+    TestService service = createService();
+    assertThrows(ServiceOverloadedException.class, () -> service.method(rh, "Called!"));
+    assertFalse(service.called);
+  }
+
+  @Test
+  public void testKeepPermitWhileStreamingResult() {
+    ResultSet<String> result = StreamingResultSet.<String>builder().build();
+    ResultSet<String> wrapped = StreamingResultSet.<String>builder().build();
+    when(limiter.acquire(any(), any(), any())).thenReturn(permit);
+    when(limiter.releaseAfterStreaming(permit, result)).thenReturn(wrapped);
+
+    assertSame(wrapped, createService().streamingMethod(rh, result));
+    verify(limiter).acquire(any(), eq("42"), eq("streamingMethod"));
+    verify(permit, never()).close();
+  }
+
+  @Test
+  public void testReleasePermitOnException() {
+    when(limiter.acquire(any(), any(), any())).thenReturn(permit);
+
+    assertThrows(IllegalStateException.class, () -> createService().failingMethod(rh));
+    verify(permit).close();
+  }
+
+  private TestService createService() {
+    return Guice.createInjector(new TestModule()).getInstance(TestService.class);
+  }
+
+  private class TestModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(AdaptiveConcurrencyLimiter.class).toInstance(limiter);
+      install(new ConcurrencyLimitAspect());
+    }
+  }
+
+  static class TestService implements Service {
+    private boolean called;
+
+    String method(RequestHeader rh, String value) {
+      called = true;
+      return value;
+    }
+
+    String nestedMethod(RequestHeader rh, String value) {
+      return method(rh, value);
+    }
+
+    ResultSet<String> streamingMethod(RequestHeader rh, ResultSet<String> result) {
+      return result;
+    }
+
+    String failingMethod(RequestHeader rh) {
+      throw new IllegalStateException("test");
+    }
+
+    @Override
+    public SecurityContext createSecurityContext(Credentials credentials) {
+      return new TestSecurityContext();
+    }
+  }
+}
@@ -7,6 +7,7 @@ import com.google.inject.Guice;
 import no.mnemonic.services.common.api.ServiceTimeOutException;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
 import no.mnemonic.services.grafeo.api.exceptions.UnexpectedAuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.UnhandledRuntimeException;
 import no.mnemonic.services.grafeo.api.service.v1.RequestHeader;
@@ -43,6 +44,7 @@ public class RuntimeExceptionHandlerAspectTest {
     assertThrows(UnexpectedAuthenticationFailedException.class, () -> service.method(RequestHeader.builder().build(), new UnexpectedAuthenticationFailedException("test")));
     assertThrows(UnhandledRuntimeException.class, () -> service.method(RequestHeader.builder().build(), new UnhandledRuntimeException("test")));
     assertThrows(ServiceTimeOutException.class, () -> service.method(RequestHeader.builder().build(), new ServiceTimeOutException("test", "test")));
+    assertThrows(ServiceOverloadedException.class, () -> service.method(RequestHeader.builder().build(), new ServiceOverloadedException("test", "test")));
   }
 
   @Test
@@ -0,0 +1,117 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.FactTypeByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.ObjectTypeByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.OrganizationByIdResponseResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.OriginByIdResponseResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmerTest {
+
+  @Mock
+  private FactManager factManager;
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private OriginManager originManager;
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private ObjectFactDao objectFactDao;
+  @Mock
+  private FactTypeByIdResponseResolver factTypeResolver;
+  @Mock
+  private ObjectTypeByIdResponseResolver objectTypeResolver;
+  @Mock
+  private OriginByIdResponseResolver originResolver;
+  @Mock
+  private OrganizationByIdResponseResolver organizationResolver;
+
+  private CacheWarmer warmer;
+
+  @BeforeEach
+  public void setUp() {
+    warmer = new CacheWarmer(factManager, objectManager, originManager, hazelcastInstance, objectFactDao,
+            factTypeResolver, objectTypeResolver, originResolver, organizationResolver);
+  }
+
+  @Test
+  public void testWarmUpDisabled() {
+    warmer.setEnabled(false).startComponent();
+    verifyNoInteractions(factManager, objectManager, originManager, objectFactDao,
+            factTypeResolver, objectTypeResolver, originResolver, organizationResolver);
+  }
+
+  @Test
+  public void testWarmUpTypes() {
+    FactTypeEntity factType = new FactTypeEntity().setId(UUID.randomUUID());
+    ObjectTypeEntity objectType = new ObjectTypeEntity().setId(UUID.randomUUID());
+    when(factManager.preloadFactTypes()).thenReturn(ListUtils.list(factType));
+    when(objectManager.preloadObjectTypes()).thenReturn(ListUtils.list(objectType));
+
+    warmer.startComponent();
+
+    verify(factTypeResolver).apply(factType.getId());
+    verify(objectTypeResolver).apply(objectType.getId());
+  }
+
+  @Test
+  public void testWarmUpOriginsAndOrganizations() {
+    UUID organizationID = UUID.randomUUID();
+    OriginEntity first = new OriginEntity().setId(UUID.randomUUID()).setOrganizationID(organizationID);
+    OriginEntity second = new OriginEntity().setId(UUID.randomUUID()).setOrganizationID(organizationID);
+    OriginEntity third = new OriginEntity().setId(UUID.randomUUID());
+    when(originManager.preloadOrigins()).thenReturn(ListUtils.list(first, second, third));
+
+    warmer.startComponent();
+
+    verify(originResolver).apply(first.getId());
+    verify(originResolver).apply(second.getId());
+    verify(originResolver).apply(third.getId());
+    verify(organizationResolver).apply(organizationID);
+    verifyNoMoreInteractions(organizationResolver);
+  }
+
+  @Test
+  public void testWarmUpHotObjects() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+
+    warmer.setHotObjectIDs(String.format("%s, %s,", first, second)).startComponent();
+
+    verify(objectFactDao).getObject(first);
+    verify(objectFactDao).getObject(second);
+  }
+
+  @Test
+  public void testWarmUpContinuesOnFailure() {
+    FactTypeEntity first = new FactTypeEntity().setId(UUID.randomUUID());
+    FactTypeEntity second = new FactTypeEntity().setId(UUID.randomUUID());
+    when(factManager.preloadFactTypes()).thenReturn(ListUtils.list(first, second));
+    when(factTypeResolver.apply(first.getId())).thenThrow(IllegalStateException.class);
+    when(objectManager.preloadObjectTypes()).thenThrow(IllegalStateException.class);
+    when(originManager.preloadOrigins()).thenThrow(IllegalStateException.class);
+
+    assertDoesNotThrow(() -> warmer.startComponent());
+    verify(factTypeResolver).apply(second.getId());
+  }
+}
@@ -0,0 +1,179 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.service.providers.HazelcastInstanceProvider;
+import no.mnemonic.services.grafeo.service.providers.HazelcastServiceConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.services.grafeo.service.caches.DistributedFactExistenceFilter.FACT_EXISTENCE_SNAPSHOT_MAP_NAME;
+import static no.mnemonic.services.grafeo.service.caches.DistributedFactExistenceFilter.FACT_EXISTENCE_TOPIC_NAME;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DistributedFactExistenceFilterTest {
+
+  private static HazelcastInstanceProvider hazelcastInstanceProvider;
+  private final FactManager factManager = mock(FactManager.class);
+  private DistributedFactExistenceFilter filter;
+
+  @BeforeAll
+  public static void initialize() {
+    hazelcastInstanceProvider = new HazelcastInstanceProvider(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "224.2.2.3",
+            54327,
+            false,
+            new HazelcastServiceConfiguration())
+            .setLoggingType("jdk");
+    hazelcastInstanceProvider.startComponent();
+  }
+
+  @AfterAll
+  public static void shutdown() {
+    if (hazelcastInstanceProvider != null) hazelcastInstanceProvider.stopComponent();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    if (filter != null) filter.stopComponent();
+    // Don't leak the shared snapshot into other tests.
+    hazelcastInstanceProvider.get().getMap(FACT_EXISTENCE_SNAPSHOT_MAP_NAME).clear();
+  }
+
+  @Test
+  public void testDisabledFilterAlwaysMightContain() {
+    filter = new DistributedFactExistenceFilter(hazelcastInstanceProvider.get(), factManager);
+    filter.startComponent();
+
+    assertTrue(filter.mightContain("hash"));
+    assertDoesNotThrow(() -> filter.put("hash"));
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testFilterMightContainBeforeRebuildFinished() {
+    when(factManager.fetchFactHashes()).thenAnswer(i -> {
+      Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+      return ListUtils.list("known").iterator();
+    });
+    filter = createEnabledFilter();
+
+    assertTrue(filter.mightContain("unknown"));
+  }
+
+  @Test
+  public void testFilterRebuildsFromCassandra() {
+    when(factManager.fetchFactHashes()).thenReturn(ListUtils.list("known").iterator());
+    filter = createEnabledFilter();
+    waitUntilDefinitelyNew("unknown");
+
+    assertTrue(filter.mightContain("known"));
+    assertFalse(filter.mightContain("unknown"));
+  }
+
+  @Test
+  public void testFilterStaysDisabledOnFailedRebuild() {
+    when(factManager.fetchFactHashes()).thenThrow(RuntimeException.class);
+    filter = createEnabledFilter();
+    verify(factManager, timeout(5000)).fetchFactHashes();
+
+    assertTrue(filter.mightContain("unknown"));
+  }
+
+  @Test
+  public void testPutFact() {
+    when(factManager.fetchFactHashes()).thenReturn(Collections.emptyIterator());
+    filter = createEnabledFilter();
+    waitUntilDefinitelyNew("new");
+
+    filter.put("new");
+    assertTrue(filter.mightContain("new"));
+  }
+
+  @Test
+  public void testPutFactDuringRebuild() {
+    CountDownLatch latch = new CountDownLatch(1);
+    when(factManager.fetchFactHashes()).thenAnswer(i -> {
+      latch.await(5, TimeUnit.SECONDS);
+      return Collections.emptyIterator();
+    });
+    filter = createEnabledFilter();
+    verify(factManager, timeout(5000)).fetchFactHashes();
+
+    // The Fact is stored while the rebuild is running but isn't returned from Cassandra anymore.
+    filter.put("new");
+    latch.countDown();
+    waitUntilDefinitelyNew("unknown");
+
+    assertTrue(filter.mightContain("new"));
+  }
+
+  @Test
+  public void testReceiveFactFromCluster() {
+    when(factManager.fetchFactHashes()).thenReturn(Collections.emptyIterator());
+    filter = createEnabledFilter();
+    waitUntilDefinitelyNew("remote");
+
+    // Simulate that another node has stored a Fact.
+    hazelcastInstanceProvider.get().getReliableTopic(FACT_EXISTENCE_TOPIC_NAME).publish("remote");
+    assertTrue(LambdaUtils.waitFor(() -> filter.mightContain("remote"), 5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testFilterLoadsSnapshotFromCluster() {
+    when(factManager.fetchFactHashes()).thenReturn(ListUtils.list("known").iterator());
+    filter = createEnabledFilter();
+    waitUntilDefinitelyNew("unknown");
+    filter.stopComponent();
+
+    // Another node starting up must use the shared snapshot instead of reading from Cassandra.
+    FactManager otherFactManager = mock(FactManager.class);
+    filter = createEnabledFilter(otherFactManager);
+    waitUntilDefinitelyNew("unknown");
+
+    assertTrue(filter.mightContain("known"));
+    verifyNoInteractions(otherFactManager);
+  }
+
+  @Test
+  public void testFilterAppliesUpdatesAfterSnapshot() {
+    when(factManager.fetchFactHashes()).thenReturn(Collections.emptyIterator());
+    filter = createEnabledFilter();
+    waitUntilDefinitelyNew("new");
+    filter.stopComponent();
+
+    // The Fact is stored after the snapshot has been shared, thus, it's only known from the topic.
+    hazelcastInstanceProvider.get().getReliableTopic(FACT_EXISTENCE_TOPIC_NAME).publish("new");
+    filter = createEnabledFilter(mock(FactManager.class));
+    waitUntilDefinitelyNew("unknown");
+
+    assertTrue(filter.mightContain("new"));
+  }
+
+  private DistributedFactExistenceFilter createEnabledFilter() {
+    return createEnabledFilter(factManager);
+  }
+
+  private DistributedFactExistenceFilter createEnabledFilter(FactManager factManager) {
+    DistributedFactExistenceFilter enabledFilter = new DistributedFactExistenceFilter(hazelcastInstanceProvider.get(), factManager)
+            .setEnabled(true)
+            .setExpectedInsertions(1000);
+    enabledFilter.startComponent();
+    return enabledFilter;
+  }
+
+  private void waitUntilDefinitelyNew(String factHash) {
+    assertTrue(LambdaUtils.waitFor(() -> !filter.mightContain(factHash), 5, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,115 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.api.model.v1.FactType;
+import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
+import no.mnemonic.services.grafeo.api.model.v1.Origin;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.FactTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.OriginResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.OriginResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MetadataSnapshotRefresherTest {
+
+  @Mock
+  private FactManager factManager;
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private OriginManager originManager;
+  @Mock
+  private FactTypeResponseConverter factTypeConverter;
+  @Mock
+  private ObjectTypeResponseConverter objectTypeConverter;
+  @Mock
+  private OriginResponseConverter originConverter;
+  @Mock
+  private OriginResolver originResolver;
+
+  private MetadataSnapshotRefresher refresher;
+
+  @BeforeEach
+  public void setUp() {
+    refresher = new MetadataSnapshotRefresher(factManager, objectManager, originManager,
+            () -> factTypeConverter, () -> objectTypeConverter, () -> originConverter, () -> originResolver);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    refresher.stopComponent();
+  }
+
+  @Test
+  public void testDisabledRefresherServesEmptySnapshot() {
+    refresher.setRefreshIntervalSeconds(0).startComponent();
+
+    assertSame(MetadataSnapshot.EMPTY, refresher.get());
+    verifyNoInteractions(factManager, objectManager, originManager);
+  }
+
+  @Test
+  public void testStartLoadsSnapshot() {
+    FactTypeEntity factTypeEntity = new FactTypeEntity().setId(UUID.randomUUID());
+    ObjectTypeEntity objectTypeEntity = new ObjectTypeEntity().setId(UUID.randomUUID());
+    OriginEntity originEntity = new OriginEntity().setId(UUID.randomUUID());
+    FactType factType = FactType.builder().setId(factTypeEntity.getId()).build();
+    ObjectType objectType = ObjectType.builder().setId(objectTypeEntity.getId()).build();
+    Origin origin = Origin.builder().setId(originEntity.getId()).build();
+
+    when(factManager.fetchFactTypes()).thenReturn(ListUtils.list(factTypeEntity));
+    when(objectManager.fetchObjectTypes()).thenReturn(ListUtils.list(objectTypeEntity));
+    when(originManager.fetchOrigins()).thenReturn(ListUtils.list(originEntity));
+    when(factTypeConverter.apply(factTypeEntity)).thenReturn(factType);
+    when(objectTypeConverter.apply(objectTypeEntity)).thenReturn(objectType);
+    when(originResolver.apply(originEntity.getId())).thenReturn(originEntity);
+    when(originConverter.apply(originEntity)).thenReturn(origin);
+
+    refresher.startComponent();
+
+    MetadataSnapshot snapshot = refresher.get();
+    assertEquals(1, snapshot.getVersion());
+    assertSame(factType, snapshot.getFactType(factTypeEntity.getId()));
+    assertSame(objectType, snapshot.getObjectType(objectTypeEntity.getId()));
+    assertSame(origin, snapshot.getOrigin(originEntity.getId()));
+    assertNull(snapshot.getFactType(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testRefreshSwapsSnapshot() {
+    refresher.refresh();
+    MetadataSnapshot first = refresher.get();
+    refresher.refresh();
+    MetadataSnapshot second = refresher.get();
+
+    assertNotSame(first, second);
+    assertEquals(first.getVersion() + 1, second.getVersion());
+  }
+
+  @Test
+  public void testFailedRefreshKeepsPreviousSnapshot() {
+    refresher.refresh();
+    MetadataSnapshot previous = refresher.get();
+
+    when(factManager.fetchFactTypes()).thenThrow(IllegalStateException.class);
+    assertDoesNotThrow(() -> refresher.refresh());
+    assertSame(previous, refresher.get());
+  }
+}
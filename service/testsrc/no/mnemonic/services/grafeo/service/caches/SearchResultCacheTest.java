@@ -0,0 +1,183 @@
+package no.mnemonic.services.grafeo.service.caches;
+
+import com.google.common.base.Ticker;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+import no.mnemonic.services.grafeo.dao.api.criteria.AccessControlCriteria;
+import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.services.grafeo.dao.api.criteria.IndexSelectCriteria;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchResultCacheTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final AtomicInteger executions = new AtomicInteger();
+  private final UUID currentUser = UUID.randomUUID();
+  private final UUID organization = UUID.randomUUID();
+
+  private SearchResultCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    Ticker ticker = new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    };
+    cache = new SearchResultCache(ticker).setTimeToLiveSeconds(10);
+  }
+
+  @Test
+  public void testCacheDisabledByDefault() {
+    SearchResultCache disabled = new SearchResultCache();
+    disabled.search("search", createCriteria(currentUser, 0), null, executor("a", "b"));
+    disabled.search("search", createCriteria(currentUser, 0), null, executor("a", "b"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheIdenticalSearch() {
+    ResultSet<String> first = cache.search("search", createCriteria(currentUser, 0), null, executor("a", "b"));
+    ResultSet<String> second = cache.search("search", createCriteria(currentUser, 0), null, executor("a", "b"));
+
+    assertEquals(1, executions.get());
+    assertEquals(ListUtils.list("a", "b"), toList(first));
+    assertEquals(ListUtils.list("a", "b"), toList(second));
+    assertEquals(2, second.getCount());
+    assertEquals(25, second.getLimit());
+  }
+
+  @Test
+  public void testCacheSearchWithinSameDay() {
+    long startOfDay = TimeUnit.DAYS.toMillis(20000);
+    cache.search("search", createCriteria(currentUser, startOfDay + 1000), null, executor("a"));
+    cache.search("search", createCriteria(currentUser, startOfDay + 2000), null, executor("a"));
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  public void testCacheDistinguishesUsers() {
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    cache.search("search", createCriteria(UUID.randomUUID(), 0), null, executor("a"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheDistinguishesSearchAndOptions() {
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    cache.search("other", createCriteria(currentUser, 0), null, executor("a"));
+    cache.search("search", createCriteria(currentUser, 0), true, executor("a"));
+    assertEquals(3, executions.get());
+  }
+
+  @Test
+  public void testCacheEntryExpires() {
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheInvalidateUnrestrictedSearch() {
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    cache.invalidate(new FactRecord().setTypeID(UUID.randomUUID()));
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheInvalidateSearchByFactType() {
+    UUID factType = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(currentUser, 0).toBuilder().addFactTypeID(factType).build();
+    cache.search("search", criteria, null, executor("a"));
+    cache.invalidate(new FactRecord().setTypeID(factType));
+    cache.search("search", criteria, null, executor("a"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheInvalidateSearchByObject() {
+    UUID object = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(currentUser, 0).toBuilder().addObjectID(object).build();
+    cache.search("search", criteria, null, executor("a"));
+    cache.invalidate(new FactRecord()
+            .setTypeID(UUID.randomUUID())
+            .setDestinationObject(new ObjectRecord().setId(object)));
+    cache.search("search", criteria, null, executor("a"));
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  public void testCacheKeepsUnrelatedSearchOnInvalidate() {
+    FactSearchCriteria criteria = createCriteria(currentUser, 0).toBuilder()
+            .addFactTypeID(UUID.fromString("00000000-0000-0000-0000-000000000001"))
+            .addObjectID(UUID.fromString("00000000-0000-0000-0000-000000000002"))
+            .build();
+    cache.search("search", criteria, null, executor("a"));
+    cache.invalidate(new FactRecord()
+            .setTypeID(UUID.fromString("00000000-0000-0000-0000-000000000003"))
+            .setSourceObject(new ObjectRecord().setId(UUID.fromString("00000000-0000-0000-0000-000000000004"))));
+    cache.search("search", criteria, null, executor("a"));
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  public void testSkipCachingLargeResult() {
+    cache.setMaxResultSize(2);
+
+    ResultSet<String> result = cache.search("search", createCriteria(currentUser, 0), null, executor("a", "b", "c"));
+    assertEquals(ListUtils.list("a", "b", "c"), toList(result));
+    assertEquals(3, result.getCount());
+
+    cache.search("search", createCriteria(currentUser, 0), null, executor("a", "b", "c"));
+    assertEquals(2, executions.get());
+  }
+
+  private Supplier<ResultSet<String>> executor(String... values) {
+    return () -> {
+      executions.incrementAndGet();
+      return StreamingResultSet.<String>builder()
+              .setCount(values.length)
+              .setLimit(25)
+              .setValues(ListUtils.list(values))
+              .build();
+    };
+  }
+
+  private List<String> toList(ResultSet<String> result) {
+    List<String> values = new ArrayList<>();
+    result.iterator().forEachRemaining(values::add);
+    return values;
+  }
+
+  private FactSearchCriteria createCriteria(UUID user, long indexTimestamp) {
+    return FactSearchCriteria.builder()
+            .addObjectValue("value")
+            .setLimit(25)
+            .setAccessControlCriteria(AccessControlCriteria.builder()
+                    .addCurrentUserIdentity(user)
+                    .addAvailableOrganizationID(organization)
+                    .build())
+            .setIndexSelectCriteria(IndexSelectCriteria.builder()
+                    .setIndexStartTimestamp(indexTimestamp)
+                    .setIndexEndTimestamp(indexTimestamp)
+                    .build())
+            .build();
+  }
+}
@@ -0,0 +1,269 @@
+package no.mnemonic.services.grafeo.service.container;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.common.api.ServiceContext;
+import no.mnemonic.services.grafeo.api.exceptions.ServiceOverloadedException;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static no.mnemonic.services.grafeo.service.container.AdaptiveConcurrencyLimiter.INITIAL_LIMIT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  private static final ServiceContext.Priority STANDARD = ServiceContext.Priority.standard;
+  private static final ServiceContext.Priority BULK = ServiceContext.Priority.bulk;
+  private static final ServiceContext.Priority EXPEDITE = ServiceContext.Priority.expedite;
+
+  private final AtomicLong clock = new AtomicLong();
+  private AdaptiveConcurrencyLimiter limiter;
+
+  @BeforeEach
+  public void setUp() {
+    limiter = new AdaptiveConcurrencyLimiter(clock::get).setEnabled(true);
+  }
+
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    AdaptiveConcurrencyLimiter defaultLimiter = new AdaptiveConcurrencyLimiter(clock::get).setMaxStandardLimit(1);
+    for (int i = 0; i < 10; i++) {
+      assertNotNull(defaultLimiter.acquire(STANDARD, "client", "operation"));
+    }
+
+    assertEquals(0L, defaultLimiter.getMetrics().getData("acceptedCount").longValue());
+  }
+
+  @Test
+  public void testAcquireAndRelease() throws Exception {
+    try (AdaptiveConcurrencyLimiter.Permit ignored = limiter.acquire(STANDARD, "client", "operation")) {
+      assertEquals(1L, metric("standard.inFlight"));
+    }
+
+    assertEquals(0L, metric("standard.inFlight"));
+    assertEquals(1L, metric("acceptedCount"));
+  }
+
+  @Test
+  public void testRejectWhenClientLimitReached() throws Exception {
+    limiter.setMaxClientLimit(2);
+    limiter.acquire(STANDARD, "client", "operation");
+    limiter.acquire(STANDARD, "client", "operation");
+
+    ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(STANDARD, "client", "operation"));
+    assertEquals("service.overloaded.client", ex.getMessageTemplate());
+    assertEquals(1L, metric("rejectedClientCount"));
+    // Other clients aren't affected.
+    assertNotNull(limiter.acquire(STANDARD, "other", "operation"));
+  }
+
+  @Test
+  public void testRejectWhenPortLimitReached() throws Exception {
+    for (int i = 0; i < INITIAL_LIMIT; i++) {
+      limiter.acquire(STANDARD, "client" + i, "operation");
+    }
+
+    ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(STANDARD, "another", "operation"));
+    assertEquals("service.overloaded", ex.getMessageTemplate());
+    assertEquals(1L, metric("rejectedPortCount"));
+  }
+
+  @Test
+  public void testRejectionDoesNotLeakClientPermit() throws Exception {
+    limiter.setMaxStandardLimit(1).setMaxClientLimit(1);
+    limiter.acquire(STANDARD, "client1", "operation");
+
+    assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(STANDARD, "client2", "operation"));
+    assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(STANDARD, "client2", "operation"));
+    // The second rejection must be caused by the port limit again, not by a leaked client permit.
+    assertEquals(2L, metric("rejectedPortCount"));
+  }
+
+  @Test
+  public void testPortsHaveSeparateLimits() throws Exception {
+    limiter.setMaxBulkLimit(1);
+    limiter.acquire(BULK, "client1", "operation");
+
+    // The bulk port is exhausted, but requests on the standard port are still accepted.
+    assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(BULK, "client2", "operation"));
+    assertNotNull(limiter.acquire(STANDARD, "client2", "operation"));
+    assertEquals(1L, metric("bulk.inFlight"));
+    assertEquals(1L, metric("standard.inFlight"));
+    assertEquals(1L, metric("rejectedPortCount"));
+  }
+
+  @Test
+  public void testClientLimitIsKeptPerPort() throws Exception {
+    limiter.setMaxClientLimit(1);
+    limiter.acquire(BULK, "client", "operation");
+
+    // The client's bulk requests don't count against its limit on the standard port.
+    assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(BULK, "client", "operation"));
+    assertNotNull(limiter.acquire(STANDARD, "client", "operation"));
+    assertEquals(1L, metric("rejectedClientCount"));
+  }
+
+  @Test
+  public void testExpediteIsNeverLimited() throws Exception {
+    limiter.setMaxStandardLimit(1).setMaxBulkLimit(1).setMaxClientLimit(1);
+    for (int i = 0; i < 10; i++) {
+      assertNotNull(limiter.acquire(EXPEDITE, "client", "operation"));
+    }
+
+    assertEquals(0L, metric("acceptedCount"));
+  }
+
+  @Test
+  public void testAcquireWhenDisabled() throws Exception {
+    limiter.setEnabled(false).setMaxStandardLimit(1);
+    for (int i = 0; i < 10; i++) {
+      assertNotNull(limiter.acquire(STANDARD, "client", "operation"));
+    }
+
+    assertEquals(0L, metric("acceptedCount"));
+  }
+
+  @Test
+  public void testLimitGrowsWhileLatencyIsStable() throws Exception {
+    // Keep the limit fully used with constant latency.
+    for (int round = 0; round < 50; round++) {
+      executeConcurrently(limiter.getMetrics().getData("standard.limit").intValue(), 10);
+    }
+
+    assertTrue(metric("standard.limit") > INITIAL_LIMIT);
+  }
+
+  @Test
+  public void testLimitShrinksWhenLatencyIncreases() throws Exception {
+    for (int round = 0; round < 50; round++) {
+      executeConcurrently(limiter.getMetrics().getData("standard.limit").intValue(), 10);
+    }
+    long grownLimit = metric("standard.limit");
+
+    for (int round = 0; round < 50; round++) {
+      executeConcurrently(limiter.getMetrics().getData("standard.limit").intValue(), 100);
+    }
+
+    assertTrue(metric("standard.limit") < grownLimit);
+  }
+
+  @Test
+  public void testLimitDoesNotGrowWhenUnused() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      executeConcurrently(1, 10);
+    }
+
+    assertEquals(INITIAL_LIMIT, metric("standard.limit"));
+  }
+
+  @Test
+  public void testLimitGrowsWithMixedOperations() throws Exception {
+    // Fast lookups and slow searches must not be compared against each other.
+    for (int round = 0; round < 50; round++) {
+      int limit = limiter.getMetrics().getData("standard.limit").intValue();
+      List<AdaptiveConcurrencyLimiter.Permit> lookups = acquire(limit / 2, "lookup");
+      List<AdaptiveConcurrencyLimiter.Permit> searches = acquire(limit - limit / 2, "search");
+      clock.addAndGet(10);
+      lookups.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+      clock.addAndGet(990);
+      searches.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+    }
+
+    assertEquals(AdaptiveConcurrencyLimiter.DEFAULT_MAX_STANDARD_LIMIT, metric("standard.limit"));
+  }
+
+  @Test
+  public void testCloseReleasesPermitOnlyOnce() throws Exception {
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(STANDARD, "client", "operation");
+    limiter.acquire(STANDARD, "client", "operation");
+    permit.close();
+    permit.close();
+
+    assertEquals(1L, metric("standard.inFlight"));
+  }
+
+  @Test
+  public void testKeepPermitUntilStreamedResultIsConsumed() throws Exception {
+    ResultSet<String> result = limiter.releaseAfterStreaming(limiter.acquire(STANDARD, "client", "operation"),
+            StreamingResultSet.<String>builder().setCount(2).setValues(ListUtils.list("a", "b")).build());
+    assertEquals(2, result.getCount());
+    assertEquals(1L, metric("standard.inFlight"));
+    assertEquals(1L, metric("streaming"));
+
+    assertEquals(ListUtils.list("a", "b"), ListUtils.list(result.iterator()));
+    assertEquals(0L, metric("standard.inFlight"));
+    assertEquals(0L, metric("streaming"));
+  }
+
+  @Test
+  public void testReleasePermitWhenStreamingFails() throws Exception {
+    Iterator<String> failing = new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        throw new IllegalStateException("test");
+      }
+
+      @Override
+      public String next() {
+        throw new IllegalStateException("test");
+      }
+    };
+    ResultSet<String> result = limiter.releaseAfterStreaming(limiter.acquire(STANDARD, "client", "operation"),
+            StreamingResultSet.<String>builder().setValues(failing).build());
+
+    assertThrows(IllegalStateException.class, () -> result.iterator().hasNext());
+    assertEquals(0L, metric("standard.inFlight"));
+  }
+
+  @Test
+  public void testExpireAbandonedStreamedResult() throws Exception {
+    limiter.releaseAfterStreaming(limiter.acquire(STANDARD, "client", "operation"),
+            StreamingResultSet.<String>builder().setValues(ListUtils.list("a")).build());
+
+    clock.addAndGet(AdaptiveConcurrencyLimiter.STREAMING_TIMEOUT + 1);
+    limiter.acquire(STANDARD, "other", "operation").close();
+
+    assertEquals(0L, metric("standard.inFlight"));
+    assertEquals(1L, metric("expiredStreamingCount"));
+  }
+
+  @Test
+  public void testEvictIdleClients() throws Exception {
+    limiter.acquire(STANDARD, "idle", "operation").close();
+    AdaptiveConcurrencyLimiter.Permit busy = limiter.acquire(STANDARD, "busy", "operation");
+    assertEquals(2L, metric("clients"));
+
+    clock.addAndGet(AdaptiveConcurrencyLimiter.CLIENT_IDLE_TIMEOUT + 1);
+    limiter.acquire(STANDARD, "other", "operation").close();
+
+    // Only the idle client is forgotten, the client with a request in flight is kept.
+    assertEquals(2L, metric("clients"));
+    busy.close();
+  }
+
+  private void executeConcurrently(int requests, long latency) {
+    List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(requests, "operation");
+    clock.addAndGet(latency);
+    permits.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+  }
+
+  private List<AdaptiveConcurrencyLimiter.Permit> acquire(int requests, String operation) {
+    List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      permits.add(limiter.acquire(STANDARD, "client" + permits.size() + operation, operation));
+    }
+
+    return permits;
+  }
+
+  private long metric(String name) throws Exception {
+    return limiter.getMetrics().getData(name).longValue();
+  }
+
+}
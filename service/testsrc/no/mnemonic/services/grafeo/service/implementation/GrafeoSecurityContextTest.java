@@ -1,6 +1,5 @@
 package no.mnemonic.services.grafeo.service.implementation;
 
-import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.common.auth.model.OrganizationIdentity;
@@ -11,6 +10,7 @@ import no.mnemonic.services.grafeo.auth.IdentitySPI;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectAccessSummaryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
 import org.junit.jupiter.api.BeforeEach;
@@ -167,9 +167,14 @@ public class GrafeoSecurityContextTest {
     assertThrows(AccessDeniedException.class, () -> context.checkReadPermission((ObjectRecord) null));
   }
 
+  @Test
+  public void testCheckReadPermissionForObjectRecordWithoutAccessSummary() {
+    assertThrows(AccessDeniedException.class, () -> context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID())));
+  }
+
   @Test
   public void testCheckReadPermissionForObjectRecordWithoutBoundFact() {
-    when(objectFactDao.retrieveObjectFacts(notNull())).thenReturn(Collections.emptyIterator());
+    when(objectFactDao.getObjectAccessSummary(notNull())).thenReturn(new ObjectAccessSummaryRecord());
     assertThrows(AccessDeniedException.class, () -> context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID())));
   }
 
@@ -184,17 +189,42 @@ public class GrafeoSecurityContextTest {
     ObjectRecord object = mockCheckPermissionForObjectRecord(true);
     context.checkReadPermission(object);
     verify(accessController).hasPermission(credentials, viewGrafeoFact);
+    verify(objectFactDao, never()).retrieveObjectFacts(any());
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordWithAccessThroughAcl() throws Exception {
+    ObjectAccessSummaryRecord summary = new ObjectAccessSummaryRecord()
+            .addAccessMode(FactRecord.AccessMode.Explicit)
+            .addSubjectID(mockCurrentUserIdentities());
+    when(objectFactDao.getObjectAccessSummary(notNull())).thenReturn(summary);
+
+    context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
+    verify(accessController, never()).hasPermission(eq(credentials), eq(viewGrafeoFact), any());
   }
 
   @Test
-  public void testCheckReadPermissionForObjectRecordWithAccessToSecondFact() throws Exception {
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+  public void testCheckReadPermissionForObjectRecordWithoutAccessThroughAcl() throws Exception {
+    ObjectAccessSummaryRecord summary = new ObjectAccessSummaryRecord()
+            .addAccessMode(FactRecord.AccessMode.Explicit)
+            .addSubjectID(UUID.randomUUID());
+    when(objectFactDao.getObjectAccessSummary(notNull())).thenReturn(summary);
 
-    when(objectFactDao.retrieveObjectFacts(notNull())).thenReturn(ListUtils.list(fact, fact, fact).iterator());
-    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(false, true, false);
+    assertThrows(AccessDeniedException.class, () -> context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID())));
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordWithAccessToSecondOrganization() throws Exception {
+    ObjectAccessSummaryRecord summary = new ObjectAccessSummaryRecord()
+            .addAccessMode(FactRecord.AccessMode.RoleBased)
+            .addOrganizationID(UUID.randomUUID())
+            .addOrganizationID(UUID.randomUUID());
+    when(objectFactDao.getObjectAccessSummary(notNull())).thenReturn(summary);
+    when(identityResolver.resolveOrganizationIdentity(any())).thenReturn(organization);
+    when(accessController.hasPermission(credentials, viewGrafeoFact, organization)).thenReturn(false, true);
 
     context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
-    verify(accessController, times(2)).hasPermission(credentials, viewGrafeoFact);
+    verify(accessController, times(2)).hasPermission(credentials, viewGrafeoFact, organization);
   }
 
   @Test
@@ -286,10 +316,10 @@ public class GrafeoSecurityContextTest {
 
   private ObjectRecord mockCheckPermissionForObjectRecord(boolean result) throws Exception {
     ObjectRecord object = new ObjectRecord().setId(UUID.randomUUID());
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    ObjectAccessSummaryRecord summary = new ObjectAccessSummaryRecord().addAccessMode(FactRecord.AccessMode.Public);
 
-    // Mock retrieval of bound Facts.
-    when(objectFactDao.retrieveObjectFacts(notNull())).thenReturn(ListUtils.list(fact).iterator());
+    // Mock retrieval of the access summary.
+    when(objectFactDao.getObjectAccessSummary(notNull())).thenReturn(summary);
     // Mock access to bound Facts.
     when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(result);
 
@@ -56,6 +56,7 @@ public class SearchFactRequestConverterTest {
     FactSearchCriteria criteria = converter.apply(new SearchFactRequest());
     assertEquals(SetUtils.set(FactSearchCriteria.NumberFieldStrategy.certainty), criteria.getNumberFieldStrategy());
     assertEquals(25, criteria.getLimit());
+    assertEquals(FactSearchCriteria.CountStrategy.exact, criteria.getCountStrategy());
     assertNotNull(criteria.getAccessControlCriteria());
     assertNotNull(criteria.getIndexSelectCriteria());
   }
@@ -188,4 +189,10 @@ public class SearchFactRequestConverterTest {
     FactSearchCriteria criteria = converter.apply(new SearchFactRequest().setLimit(123));
     assertEquals(123, criteria.getLimit());
   }
+
+  @Test
+  public void testConvertRequestWithCountStrategy() throws Exception {
+    FactSearchCriteria criteria = converter.apply(new SearchFactRequest().setCountStrategy(SearchFactRequest.CountStrategy.approximate));
+    assertEquals(FactSearchCriteria.CountStrategy.approximate, criteria.getCountStrategy());
+  }
 }
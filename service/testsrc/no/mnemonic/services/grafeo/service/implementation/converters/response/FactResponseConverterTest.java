@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.implementation.converters.response;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.api.model.v1.Object;
 import no.mnemonic.services.grafeo.api.model.v1.*;
@@ -15,10 +16,12 @@ import no.mnemonic.services.grafeo.service.implementation.resolvers.response.Sub
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -185,6 +188,91 @@ public class FactResponseConverterTest {
     verify(factRetractionHandler).isRetracted(record);
   }
 
+  @Test
+  public void testConvertPageEmpty() {
+    assertEquals(0, converter.applyAll(null).size());
+    assertEquals(0, converter.applyAll(ListUtils.list()).size());
+  }
+
+  @Test
+  public void testConvertPageKeepsOrder() {
+    FactRecord first = createRecord();
+    FactRecord second = createRecord();
+
+    List<Fact> models = converter.applyAll(ListUtils.list(first, second));
+
+    assertEquals(2, models.size());
+    assertModelCommon(first, models.get(0));
+    assertModelCommon(second, models.get(1));
+  }
+
+  @Test
+  public void testConvertPageResolvesSubjectsAndOrganizations() {
+    UUID subjectID = UUID.randomUUID();
+    UUID organizationID = UUID.randomUUID();
+    FactRecord first = createRecord().setAddedByID(subjectID).setLastSeenByID(subjectID).setOrganizationID(organizationID);
+    FactRecord second = createRecord().setAddedByID(subjectID).setLastSeenByID(subjectID).setOrganizationID(organizationID);
+
+    List<Fact> models = converter.applyAll(ListUtils.list(first, second));
+
+    assertEquals(subjectID, models.get(1).getAddedBy().getId());
+    assertEquals(subjectID, models.get(1).getLastSeenBy().getId());
+    assertEquals(organizationID, models.get(1).getOrganization().getId());
+  }
+
+  @Test
+  public void testConvertPageFetchesInReferenceToFactsInBatch() {
+    UUID accessibleID = UUID.randomUUID();
+    UUID inaccessibleID = UUID.randomUUID();
+    FactRecord first = createRecord().setInReferenceToID(accessibleID);
+    FactRecord second = createRecord().setInReferenceToID(inaccessibleID);
+    FactRecord third = createRecord().setInReferenceToID(accessibleID);
+    FactRecord accessible = createRecord().setId(accessibleID);
+    FactRecord inaccessible = createRecord().setId(inaccessibleID);
+    when(objectFactDao.getFacts(notNull())).thenReturn(ListUtils.list(accessible, inaccessible).iterator());
+    when(securityContext.hasReadPermission(accessible)).thenReturn(true);
+    when(securityContext.hasReadPermission(inaccessible)).thenReturn(false);
+
+    List<Fact> models = converter.applyAll(ListUtils.list(first, second, third));
+
+    assertEquals(accessibleID, models.get(0).getInReferenceTo().getId());
+    assertNull(models.get(1).getInReferenceTo());
+    assertEquals(accessibleID, models.get(2).getInReferenceTo().getId());
+    verify(objectFactDao).getFacts(SetUtils.set(accessibleID, inaccessibleID));
+    verify(objectFactDao, never()).getFact(any());
+  }
+
+  @Test
+  public void testConvertPageResolvesRetraction() {
+    FactRecord retracted = createRecord().addFlag(FactRecord.Flag.RetractedHint);
+    FactRecord notRetracted = createRecord();
+    when(factRetractionHandler.isRetracted(retracted)).thenReturn(true);
+    when(factRetractionHandler.isRetracted(notRetracted)).thenReturn(false);
+
+    List<Fact> models = converter.applyAll(ListUtils.list(retracted, notRetracted));
+
+    assertEquals(SetUtils.set(Fact.Flag.Retracted), models.get(0).getFlags());
+    assertEquals(SetUtils.set(), models.get(1).getFlags());
+    // The retractions of the whole page are fetched in one batch before the Facts are converted.
+    InOrder order = inOrder(factRetractionHandler);
+    order.verify(factRetractionHandler).prefetchRetractions(ListUtils.list(retracted, notRetracted));
+    order.verify(factRetractionHandler).isRetracted(retracted);
+    order.verify(factRetractionHandler).isRetracted(notRetracted);
+  }
+
+  @Test
+  public void testConvertPagePrefetchesRetractionsOfInReferenceToFacts() {
+    UUID inReferenceToID = UUID.randomUUID();
+    FactRecord record = createRecord().setInReferenceToID(inReferenceToID);
+    FactRecord inReferenceTo = createRecord().setId(inReferenceToID).addFlag(FactRecord.Flag.RetractedHint);
+    when(objectFactDao.getFacts(notNull())).thenReturn(ListUtils.list(inReferenceTo).iterator());
+    when(securityContext.hasReadPermission(inReferenceTo)).thenReturn(true);
+
+    converter.applyAll(ListUtils.list(record));
+
+    verify(factRetractionHandler).prefetchRetractions(ListUtils.list(record, inReferenceTo));
+  }
+
   private FactRecord createRecord() {
     return new FactRecord()
             .setId(UUID.randomUUID())
@@ -1,12 +1,17 @@
 package no.mnemonic.services.grafeo.service.implementation.delegates;
 
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
+import no.mnemonic.services.grafeo.api.model.v1.CreateFactResult;
 import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.model.v1.Organization;
 import no.mnemonic.services.grafeo.api.model.v1.Subject;
 import no.mnemonic.services.grafeo.api.request.v1.AccessMode;
 import no.mnemonic.services.grafeo.api.request.v1.CreateFactRequest;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactsRequest;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
@@ -28,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -345,6 +351,129 @@ public class FactCreateDelegateTest {
     }));
   }
 
+  @Test
+  public void testCreateFactsResolvesSharedEntitiesOnce() throws Exception {
+    mockCreateNewFact();
+
+    ResultSet<CreateFactResult> results = delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest())
+            .addFact(createRequest().setValue("otherValue")));
+    List<CreateFactResult> resultList = ListUtils.list(results.iterator());
+    assertEquals(2, resultList.size());
+    assertNotNull(resultList.get(0).getFact());
+    assertNotNull(resultList.get(1).getFact());
+
+    verify(factCreateHandler).resolveOrigin(origin.getName());
+    verify(factCreateHandler).resolveOrganization(organization.getName(), origin);
+    verify(factCreateHandler).resolveSubjects(notNull());
+    verify(factTypeRequestResolver).resolveFactType(resolveFactType.getName());
+    verify(objectRequestResolver).resolveObject(eq(ip.getId().toString()), anyString());
+    verify(objectRequestResolver).resolveObject(eq(domain.getId().toString()), anyString());
+    verify(securityContext).checkPermission(FunctionConstants.addGrafeoFact, organization.getId());
+    verify(factCreateHandler, times(2)).saveFact(any(), any(), any());
+    verify(triggerContext, times(2)).registerTriggerEvent(any());
+  }
+
+  @Test
+  public void testCreateFactsCreatesFactsWithinServiceCall() throws Exception {
+    mockCreateNewFact();
+
+    // All Facts must be created before the result is returned, i.e. while the service aspects are still active.
+    delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest())
+            .addFact(createRequest().setValue("otherValue")));
+
+    verify(factCreateHandler, times(2)).saveFact(any(), any(), any());
+    verify(triggerContext, times(2)).registerTriggerEvent(any());
+  }
+
+  @Test
+  public void testCreateFactsValidatesEachFact() throws Exception {
+    mockCreateNewFact();
+
+    List<CreateFactResult> results = ListUtils.list(delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest().setType(null))
+            .addFact(createRequest())).iterator());
+    assertEquals(2, results.size());
+
+    assertNull(results.get(0).getFact());
+    assertEquals(1, results.get(0).getErrors().size());
+    assertEquals("type", results.get(0).getErrors().get(0).getProperty());
+    assertNotNull(results.get(1).getFact());
+    verify(factCreateHandler, times(1)).saveFact(any(), any(), any());
+  }
+
+  @Test
+  public void testCreateFactsReportsUnexpectedErrorPerFact() throws Exception {
+    mockCreateNewFact();
+    doThrow(IllegalStateException.class).when(factCreateHandler)
+            .saveFact(argThat(record -> record != null && Objects.equals("failing", record.getValue())), any(), any());
+
+    List<CreateFactResult> results = ListUtils.list(delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest().setValue("failing"))
+            .addFact(createRequest())).iterator());
+    assertEquals(2, results.size());
+
+    assertNull(results.get(0).getFact());
+    assertEquals("fact.create.failed", results.get(0).getErrors().get(0).getMessageTemplate());
+    assertNotNull(results.get(1).getFact());
+  }
+
+  @Test
+  public void testCreateFactsReportsErrorsPerFact() throws Exception {
+    mockCreateNewFact();
+    doThrow(new InvalidArgumentException().addValidationError("message", "fact.not.valid", "value", "invalid"))
+            .when(factCreateHandler).assertValidFactValue(any(), eq("invalid"));
+
+    List<CreateFactResult> results = ListUtils.list(delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest().setValue("invalid"))
+            .addFact(createRequest())).iterator());
+    assertEquals(2, results.size());
+
+    assertEquals(0, results.get(0).getIndex());
+    assertNull(results.get(0).getFact());
+    assertEquals(1, results.get(0).getErrors().size());
+    assertEquals("fact.not.valid", results.get(0).getErrors().get(0).getMessageTemplate());
+    assertEquals("value", results.get(0).getErrors().get(0).getProperty());
+
+    assertEquals(1, results.get(1).getIndex());
+    assertNotNull(results.get(1).getFact());
+    assertTrue(CollectionUtils.isEmpty(results.get(1).getErrors()));
+    verify(factCreateHandler, times(1)).saveFact(any(), any(), any());
+  }
+
+  @Test
+  public void testCreateFactsReportsAccessDeniedPerFact() throws Exception {
+    mockCreateNewFact();
+    doThrow(new AccessDeniedException("denied")).when(securityContext).checkPermission(FunctionConstants.addGrafeoFact, organization.getId());
+
+    List<CreateFactResult> results = ListUtils.list(delegate.handle(new CreateFactsRequest()
+            .addFact(createRequest())
+            .addFact(createRequest())).iterator());
+    assertEquals(2, results.size());
+    results.forEach(result -> {
+      assertNull(result.getFact());
+      assertEquals("access.denied", result.getErrors().get(0).getMessageTemplate());
+    });
+    verify(factCreateHandler, never()).saveFact(any(), any(), any());
+  }
+
+  @Test
+  public void testCreateFactsSavesDuplicateFactOnlyOnce() throws Exception {
+    mockCreateNewFact();
+
+    CreateFactRequest request = createRequest()
+            .setComment(null)
+            .setAcl(null);
+    List<CreateFactResult> results = ListUtils.list(delegate.handle(new CreateFactsRequest()
+            .addFact(request)
+            .addFact(request)).iterator());
+    assertEquals(2, results.size());
+    assertSame(results.get(0).getFact(), results.get(1).getFact());
+
+    verify(factCreateHandler, times(1)).saveFact(any(), any(), any());
+  }
+
   private void mockCreateNewFact() throws Exception {
     mockFetchingOrganization();
     mockFetchingSubject();
@@ -11,6 +11,7 @@ import no.mnemonic.services.grafeo.auth.SubjectSPI;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.AclEntryResponseConverter;
@@ -43,6 +44,8 @@ public class FactGrantAccessDelegateTest {
   private AclEntryResponseConverter aclEntryResponseConverter;
   @Mock
   private GrafeoSecurityContext securityContext;
+  @Mock
+  private SearchResultCache searchResultCache;
   @InjectMocks
   private FactGrantAccessDelegate delegate;
 
@@ -131,6 +134,7 @@ public class FactGrantAccessDelegateTest {
     verify(objectFactDao).storeFactAclEntry(same(fact), matchFactAclEntryRecord(currentUser));
     verify(subjectResolver).resolveSubject(notNull(), eq(subject.getId()));
     verify(aclEntryResponseConverter).apply(matchFactAclEntryRecord(currentUser));
+    verify(searchResultCache).invalidate(same(fact));
   }
 
   @Test
@@ -10,6 +10,7 @@ import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.contexts.TriggerContext;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
@@ -52,6 +53,8 @@ public class FactRetractDelegateTest {
   private GrafeoSecurityContext securityContext;
   @Mock
   private TriggerContext triggerContext;
+  @Mock
+  private SearchResultCache searchResultCache;
   @InjectMocks
   private FactRetractDelegate delegate;
 
@@ -92,6 +95,7 @@ public class FactRetractDelegateTest {
 
     verify(factCreateHandler).saveFact(matchFactRecord(request), any(), any());
     verify(objectFactDao).retractFact(argThat(e -> Objects.equals(e.getId(), request.getFact())));
+    verify(searchResultCache).invalidate(argThat(e -> Objects.equals(e.getId(), request.getFact())));
   }
 
   @Test
@@ -12,20 +12,25 @@ import no.mnemonic.services.grafeo.dao.api.criteria.IndexSelectCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.request.SearchObjectRequestConverter;
+import no.mnemonic.services.grafeo.service.implementation.helpers.ObjectStatisticsPrefetcher;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.AccessControlCriteriaResolver;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.response.FactTypeByIdResponseResolver;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.response.ObjectTypeByIdResponseResolver;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
@@ -55,6 +60,10 @@ public class ObjectSearchDelegateTest {
   private GrafeoSecurityContext securityContext;
   @Mock
   private AccessControlCriteriaResolver accessControlCriteriaResolver;
+  @Spy
+  private SearchResultCache searchResultCache = new SearchResultCache();
+  @Spy
+  private ObjectStatisticsPrefetcher statisticsPrefetcher = new ObjectStatisticsPrefetcher();
   @InjectMocks
   private ObjectSearchDelegate delegate;
 
@@ -69,6 +78,11 @@ public class ObjectSearchDelegateTest {
             .build());
   }
 
+  @AfterEach
+  public void tearDown() {
+    statisticsPrefetcher.stopComponent();
+  }
+
   @Test
   public void testSearchObjectsWithoutViewPermission() throws Exception {
     doThrow(AccessDeniedException.class).when(securityContext).checkPermission(FunctionConstants.viewGrafeoFact);
@@ -172,6 +186,37 @@ public class ObjectSearchDelegateTest {
     }));
   }
 
+  @Test
+  public void testSearchObjectsPrefetchesStatisticsOfNextBatch() throws Exception {
+    int count = 2001;
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(count));
+    when(objectFactDao.calculateObjectStatistics(any())).thenReturn(ObjectStatisticsContainer.builder().build());
+    when(accessControlCriteriaResolver.get()).thenReturn(accessControlCriteria);
+    statisticsPrefetcher.setThreads(2).setMaxInFlight(2).startComponent();
+
+    ResultSet<Object> result = delegate.handle(new SearchObjectRequest().setIncludeStatistics(true));
+    Iterator<Object> iterator = result.iterator();
+    assertNotNull(iterator.next());
+    // The statistics of the second batch are calculated while the first batch is consumed.
+    verify(objectFactDao, timeout(1000).times(2)).calculateObjectStatistics(notNull());
+
+    assertEquals(count - 1, ListUtils.list(iterator).size());
+    verify(objectFactDao, times(3)).calculateObjectStatistics(notNull());
+    verify(accessControlCriteriaResolver, times(3)).get();
+  }
+
+  @Test
+  public void testSearchObjectsPrefetchingSkippedWithoutStatistics() throws Exception {
+    int count = 2001;
+    when(objectFactDao.searchObjects(any())).thenReturn(createSearchResult(count));
+    statisticsPrefetcher.setThreads(2).setMaxInFlight(2).startComponent();
+
+    ResultSet<Object> result = delegate.handle(new SearchObjectRequest().setIncludeStatistics(false));
+    assertEquals(count, ListUtils.list(result.iterator()).size());
+
+    verify(objectFactDao, never()).calculateObjectStatistics(any());
+  }
+
   private ResultContainer<ObjectRecord> createSearchResult(int count) {
     List<ObjectRecord> records = new ArrayList<>();
     for (int i = 0; i < count; i++) {
@@ -18,6 +18,7 @@ import no.mnemonic.services.grafeo.dao.cassandra.OriginManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
+import no.mnemonic.services.grafeo.service.caches.SearchResultCache;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactResponseConverter;
 import no.mnemonic.services.grafeo.service.providers.LockProvider;
@@ -66,6 +67,8 @@ public class FactCreateHandlerTest {
   private Credentials credentials;
   @Mock
   private Clock clock;
+  @Mock
+  private SearchResultCache searchResultCache;
   @InjectMocks
   private FactCreateHandler handler;
 
@@ -370,6 +373,7 @@ public class FactCreateHandlerTest {
     verify(objectFactDao, never()).refreshFact(any());
     verify(factResponseConverter).apply(factToSave);
     verify(lockProvider).acquireLock("FactCreateHandler", FactRecordHasher.toHash(factToSave));
+    verify(searchResultCache).invalidate(factToSave);
   }
 
   @Test
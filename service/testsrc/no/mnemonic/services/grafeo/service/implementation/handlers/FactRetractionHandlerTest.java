@@ -40,7 +40,8 @@ public class FactRetractionHandlerTest {
     // Common mocks used by most tests.
     lenient().when(factTypeRequestResolver.resolveRetractionFactType()).thenReturn(new FactTypeEntity().setId(retractionFactTypeID));
     lenient().when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
-    lenient().when(objectFactDao.retrieveMetaFacts(any())).thenReturn(Collections.emptyIterator());
+    lenient().when(objectFactDao.retrieveMetaFacts(any(UUID.class))).thenReturn(Collections.emptyIterator());
+    lenient().when(objectFactDao.retrieveMetaFacts(anyCollection())).thenReturn(Collections.emptyIterator());
   }
 
   @Test
@@ -161,4 +162,54 @@ public class FactRetractionHandlerTest {
 
     verify(securityContext).hasReadPermission(retraction);
   }
+
+  @Test
+  public void testPrefetchRetractionsWithNullInput() {
+    handler.prefetchRetractions(null);
+    handler.prefetchRetractions(list());
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testPrefetchRetractionsSkipsFactsWithoutRetractedHint() {
+    handler.prefetchRetractions(list(new FactRecord().setId(UUID.randomUUID())));
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testPrefetchRetractionsFetchesMetaFactsInBatches() {
+    FactRecord retracted = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord notRetracted = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction1 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setInReferenceToID(retracted.getId());
+    FactRecord retraction2 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setInReferenceToID(notRetracted.getId());
+    FactRecord retraction3 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setInReferenceToID(retraction2.getId());
+
+    // retracted ------> retraction1
+    // notRetracted ---> retraction2 ---> retraction3
+    when(objectFactDao.retrieveMetaFacts(set(retracted.getId(), notRetracted.getId()))).thenReturn(list(retraction1, retraction2).iterator());
+    when(objectFactDao.retrieveMetaFacts(set(retraction1.getId(), retraction2.getId()))).thenReturn(list(retraction3).iterator());
+
+    handler.prefetchRetractions(list(retracted, notRetracted));
+    assertTrue(handler.isRetracted(retracted));
+    assertFalse(handler.isRetracted(notRetracted));
+
+    // One batch per level of retractions, no lookups of single Facts.
+    verify(objectFactDao).retrieveMetaFacts(set(retracted.getId(), notRetracted.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction1.getId(), retraction2.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction3.getId()));
+    verify(objectFactDao, never()).retrieveMetaFacts(any(UUID.class));
+  }
+
+  @Test
+  public void testPrefetchRetractionsFiltersNonAccessibleFacts() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setInReferenceToID(fact.getId());
+    when(objectFactDao.retrieveMetaFacts(set(fact.getId()))).thenReturn(list(retraction).iterator());
+    when(securityContext.hasReadPermission(retraction)).thenReturn(false);
+
+    handler.prefetchRetractions(list(fact));
+    assertFalse(handler.isRetracted(fact));
+
+    verify(objectFactDao, never()).retrieveMetaFacts(any(UUID.class));
+  }
 }
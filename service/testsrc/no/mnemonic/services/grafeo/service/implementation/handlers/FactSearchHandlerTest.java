@@ -23,8 +23,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
@@ -45,7 +47,10 @@ public class FactSearchHandlerTest {
 
   @BeforeEach
   public void setUp() {
-    lenient().when(factResponseConverter.apply(notNull())).thenReturn(Fact.builder().build());
+    lenient().when(factResponseConverter.applyAll(notNull())).thenAnswer(i -> ((List<?>) i.getArgument(0))
+            .stream()
+            .map(record -> Fact.builder().build())
+            .collect(Collectors.toList()));
     lenient().when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
   }
 
@@ -128,7 +133,7 @@ public class FactSearchHandlerTest {
     assertEquals(2, ListUtils.list(result.iterator()).size());
 
     verify(securityContext, times(3)).hasReadPermission(isA(FactRecord.class));
-    verify(factResponseConverter, times(2)).apply(isA(FactRecord.class));
+    verify(factResponseConverter).applyAll(argThat(page -> page.size() == 2));
   }
 
   @Test
@@ -143,7 +148,19 @@ public class FactSearchHandlerTest {
     assertEquals(25, ListUtils.list(result.iterator()).size());
 
     verify(securityContext, times(25)).hasReadPermission(isA(FactRecord.class));
-    verify(factResponseConverter, times(25)).apply(isA(FactRecord.class));
+    verify(factResponseConverter).applyAll(argThat(page -> page.size() == 25));
+  }
+
+  @Test
+  public void testSearchFactsConvertsInPages() {
+    mockSearch(250);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(1000));
+    ResultSet<Fact> result = handler.search(criteria, null);
+
+    assertEquals(250, ListUtils.list(result.iterator()).size());
+    verify(factResponseConverter, times(2)).applyAll(argThat(page -> page.size() == 100));
+    verify(factResponseConverter).applyAll(argThat(page -> page.size() == 50));
   }
 
   @Test
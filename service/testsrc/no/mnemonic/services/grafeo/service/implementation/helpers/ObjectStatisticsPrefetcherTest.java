@@ -0,0 +1,79 @@
+package no.mnemonic.services.grafeo.service.implementation.helpers;
+
+import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectStatisticsPrefetcherTest {
+
+  private final ObjectStatisticsPrefetcher prefetcher = new ObjectStatisticsPrefetcher()
+          .setThreads(2)
+          .setMaxInFlight(2);
+
+  @AfterEach
+  public void tearDown() {
+    prefetcher.stopComponent();
+  }
+
+  @Test
+  public void testMaxInFlightWhenNotStarted() {
+    assertEquals(1, prefetcher.getMaxInFlight());
+  }
+
+  @Test
+  public void testMaxInFlightWhenPrefetchingDisabled() {
+    prefetcher.setMaxInFlight(1).startComponent();
+    assertEquals(1, prefetcher.getMaxInFlight());
+  }
+
+  @Test
+  public void testMaxInFlightWhenStarted() {
+    prefetcher.startComponent();
+    assertEquals(2, prefetcher.getMaxInFlight());
+  }
+
+  @Test
+  public void testSubmitCalculatesLazilyWhenNotStarted() {
+    ObjectStatisticsContainer statistics = ObjectStatisticsContainer.builder().build();
+    CountDownLatch latch = new CountDownLatch(1);
+    Supplier<ObjectStatisticsContainer> result = prefetcher.submit(() -> {
+      latch.countDown();
+      return statistics;
+    });
+
+    assertEquals(1, latch.getCount());
+    assertSame(statistics, result.get());
+    assertEquals(0, latch.getCount());
+  }
+
+  @Test
+  public void testSubmitCalculatesInBackground() throws Exception {
+    prefetcher.startComponent();
+    ObjectStatisticsContainer statistics = ObjectStatisticsContainer.builder().build();
+    CountDownLatch latch = new CountDownLatch(1);
+    Supplier<ObjectStatisticsContainer> result = prefetcher.submit(() -> {
+      latch.countDown();
+      return statistics;
+    });
+
+    // The calculation is started without requesting the result.
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertSame(statistics, result.get());
+  }
+
+  @Test
+  public void testSubmitPropagatesException() {
+    prefetcher.startComponent();
+    Supplier<ObjectStatisticsContainer> result = prefetcher.submit(() -> {
+      throw new IllegalArgumentException("test");
+    });
+
+    assertThrows(IllegalArgumentException.class, result::get);
+  }
+}
@@ -4,6 +4,7 @@ import no.mnemonic.services.grafeo.api.model.v1.FactType;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,12 +27,25 @@ public class FactTypeByIdResponseResolverTest {
   private FactTypeResponseConverter factTypeResponseConverter;
 
   private Map<UUID, FactType> responseCache;
+  private MetadataSnapshot metadataSnapshot;
   private FactTypeByIdResponseResolver converter;
 
   @BeforeEach
   public void setup() {
     responseCache = new HashMap<>();
-    converter = new FactTypeByIdResponseResolver(factManager, factTypeResponseConverter, responseCache);
+    metadataSnapshot = MetadataSnapshot.EMPTY;
+    converter = new FactTypeByIdResponseResolver(factManager, factTypeResponseConverter, responseCache, () -> metadataSnapshot);
+  }
+
+  @Test
+  public void testConvertFactTypeFromSnapshot() {
+    UUID id = UUID.randomUUID();
+    FactType model = FactType.builder().setId(id).build();
+    metadataSnapshot = new MetadataSnapshot(1, Map.of(id, model), Map.of(), Map.of());
+
+    assertSame(model, converter.apply(id));
+    assertTrue(responseCache.isEmpty());
+    verifyNoInteractions(factManager, factTypeResponseConverter);
   }
 
   @Test
@@ -4,6 +4,7 @@ import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectTypeResponseConverter;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,12 +27,25 @@ public class ObjectTypeByIdResponseResolverTest {
   private ObjectTypeResponseConverter objectTypeResponseConverter;
 
   private Map<UUID, ObjectType> responseCache;
+  private MetadataSnapshot metadataSnapshot;
   private ObjectTypeByIdResponseResolver converter;
 
   @BeforeEach
   public void setup() {
     responseCache = new HashMap<>();
-    converter = new ObjectTypeByIdResponseResolver(objectManager, objectTypeResponseConverter, responseCache);
+    metadataSnapshot = MetadataSnapshot.EMPTY;
+    converter = new ObjectTypeByIdResponseResolver(objectManager, objectTypeResponseConverter, responseCache, () -> metadataSnapshot);
+  }
+
+  @Test
+  public void testConvertObjectTypeFromSnapshot() {
+    UUID id = UUID.randomUUID();
+    ObjectType model = ObjectType.builder().setId(id).build();
+    metadataSnapshot = new MetadataSnapshot(1, Map.of(), Map.of(id, model), Map.of());
+
+    assertSame(model, converter.apply(id));
+    assertTrue(responseCache.isEmpty());
+    verifyNoInteractions(objectManager, objectTypeResponseConverter);
   }
 
   @Test
@@ -4,6 +4,7 @@ import no.mnemonic.services.grafeo.api.model.v1.Origin;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.OriginResponseConverter;
 import no.mnemonic.services.grafeo.service.implementation.resolvers.OriginResolver;
+import no.mnemonic.services.grafeo.service.caches.MetadataSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,12 +27,25 @@ public class OriginByIdResponseResolverTest {
   private OriginResponseConverter originResponseConverter;
 
   private Map<UUID, Origin> responseCache;
+  private MetadataSnapshot metadataSnapshot;
   private OriginByIdResponseResolver converter;
 
   @BeforeEach
   public void setup() {
     responseCache = new HashMap<>();
-    converter = new OriginByIdResponseResolver(originResolver, originResponseConverter, responseCache);
+    metadataSnapshot = MetadataSnapshot.EMPTY;
+    converter = new OriginByIdResponseResolver(originResolver, originResponseConverter, responseCache, () -> metadataSnapshot);
+  }
+
+  @Test
+  public void testConvertOriginFromSnapshot() {
+    UUID id = UUID.randomUUID();
+    Origin model = Origin.builder().setId(id).build();
+    metadataSnapshot = new MetadataSnapshot(1, Map.of(), Map.of(), Map.of(id, model));
+
+    assertSame(model, converter.apply(id));
+    assertTrue(responseCache.isEmpty());
+    verifyNoInteractions(originResolver, originResponseConverter);
   }
 
   @Test
@@ -0,0 +1,28 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import com.hazelcast.config.Config;
+import org.junit.jupiter.api.Test;
+
+import static no.mnemonic.services.grafeo.service.providers.HazelcastServiceConfiguration.MAP_INVALIDATION_BATCH_ENABLED;
+import static no.mnemonic.services.grafeo.service.providers.HazelcastServiceConfiguration.MAP_INVALIDATION_BATCH_FREQUENCY_SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HazelcastServiceConfigurationTest {
+
+  @Test
+  public void testApplyNearCacheInvalidationDelay() {
+    Config cfg = new Config();
+    new HazelcastServiceConfiguration().setDaoCacheNearCacheInvalidationDelay(3).apply(cfg);
+
+    assertEquals("true", cfg.getProperty(MAP_INVALIDATION_BATCH_ENABLED));
+    assertEquals("3", cfg.getProperty(MAP_INVALIDATION_BATCH_FREQUENCY_SECONDS));
+  }
+
+  @Test
+  public void testApplyNearCacheInvalidationWithoutDelay() {
+    Config cfg = new Config();
+    new HazelcastServiceConfiguration().setDaoCacheNearCacheInvalidationDelay(0).apply(cfg);
+
+    assertEquals("false", cfg.getProperty(MAP_INVALIDATION_BATCH_ENABLED));
+  }
+}
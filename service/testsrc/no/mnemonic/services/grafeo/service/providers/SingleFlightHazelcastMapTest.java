@@ -0,0 +1,141 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import com.hazelcast.map.IMap;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightHazelcastMapTest {
+
+  private static HazelcastInstanceProvider hazelcastInstanceProvider;
+  private IMap<String, String> hazelcastMap;
+  private SingleFlightHazelcastMap<String, String> map;
+
+  @BeforeAll
+  public static void initialize() {
+    hazelcastInstanceProvider = new HazelcastInstanceProvider(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "224.2.2.3",
+            54327,
+            false,
+            new HazelcastServiceConfiguration())
+            .setLoggingType("jdk");
+    hazelcastInstanceProvider.startComponent();
+  }
+
+  @AfterAll
+  public static void shutdown() {
+    if (hazelcastInstanceProvider != null) hazelcastInstanceProvider.stopComponent();
+  }
+
+  @BeforeEach
+  public void setUp() {
+    hazelcastMap = hazelcastInstanceProvider.get().getMap(UUID.randomUUID().toString());
+    map = new SingleFlightHazelcastMap<>(hazelcastMap);
+  }
+
+  @Test
+  public void testComputeIfAbsentReturnsExistingValue() {
+    hazelcastMap.put("key", "existing");
+    assertEquals("existing", map.computeIfAbsent("key", key -> fail("Mapping function must not be called.")));
+  }
+
+  @Test
+  public void testComputeIfAbsentStoresLoadedValue() {
+    assertEquals("loaded", map.computeIfAbsent("key", key -> "loaded"));
+    assertEquals("loaded", hazelcastMap.get("key"));
+    assertFalse(hazelcastMap.isLocked("key"));
+  }
+
+  @Test
+  public void testComputeIfAbsentDoesNotStoreNull() {
+    assertNull(map.computeIfAbsent("key", key -> null));
+    assertFalse(hazelcastMap.containsKey("key"));
+    assertFalse(hazelcastMap.isLocked("key"));
+  }
+
+  @Test
+  public void testComputeIfAbsentSkipsLockForAbsentKey() throws Exception {
+    assertNull(map.computeIfAbsent("key", key -> null));
+
+    hazelcastMap.lock("key");
+    try {
+      // The lock is held by the current thread, but another thread would block on it.
+      CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("key", key -> "loaded"));
+      assertEquals("loaded", result.get(1, TimeUnit.SECONDS));
+      assertEquals("loaded", hazelcastMap.get("key"));
+    } finally {
+      hazelcastMap.unlock("key");
+    }
+  }
+
+  @Test
+  public void testComputeIfAbsentReleasesLockOnException() {
+    assertThrows(IllegalStateException.class, () -> map.computeIfAbsent("key", key -> {
+      throw new IllegalStateException();
+    }));
+    assertFalse(hazelcastMap.isLocked("key"));
+  }
+
+  @Test
+  public void testComputeIfAbsentLoadsOnlyOnce() throws Exception {
+    int threads = 4;
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      CompletableFuture<?>[] results = new CompletableFuture[threads];
+      for (int i = 0; i < threads; i++) {
+        results[i] = CompletableFuture.supplyAsync(() -> {
+          awaitUninterruptibly(start);
+          return map.computeIfAbsent("key", key -> {
+            loads.incrementAndGet();
+            sleepUninterruptibly();
+            return "loaded";
+          });
+        }, executor);
+      }
+
+      start.countDown();
+      for (CompletableFuture<?> result : results) {
+        assertEquals("loaded", result.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testForwardsOtherOperations() {
+    map.put("key", "value");
+    assertEquals("value", hazelcastMap.get("key"));
+    assertEquals("value", map.remove("key"));
+    assertTrue(hazelcastMap.isEmpty());
+  }
+
+  private void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void sleepUninterruptibly() {
+    try {
+      Thread.sleep(200);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}